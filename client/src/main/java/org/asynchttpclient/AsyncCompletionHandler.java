@@ -17,6 +17,7 @@
 package org.asynchttpclient;
 
 import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.util.ReferenceCountUtil;
 import org.asynchttpclient.handler.ProgressAsyncHandler;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -39,41 +40,66 @@ import java.util.concurrent.Future;
 public abstract class AsyncCompletionHandler<T> implements ProgressAsyncHandler<T> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AsyncCompletionHandler.class);
+    // onThrowable can be invoked from another thread than the event loop feeding the builder, e.g. on timeout or cancellation, the builder
+    // is guarded so that releasing the retained body parts doesn't overlap accumulating them
     private final Response.ResponseBuilder builder = new Response.ResponseBuilder();
+    private boolean failed;
 
     @Override
     public State onStatusReceived(HttpResponseStatus status) throws Exception {
-        builder.reset();
-        builder.accumulate(status);
+        synchronized (builder) {
+            builder.reset();
+            builder.accumulate(status);
+        }
         return State.CONTINUE;
     }
 
     @Override
     public State onHeadersReceived(HttpHeaders headers) throws Exception {
-        builder.accumulate(headers);
+        synchronized (builder) {
+            builder.accumulate(headers);
+        }
         return State.CONTINUE;
     }
 
     @Override
     public State onBodyPartReceived(HttpResponseBodyPart content) throws Exception {
-        builder.accumulate(content);
+        synchronized (builder) {
+            if (failed) {
+                // the builder was already released, don't leak the part
+                ReferenceCountUtil.release(content);
+                return State.ABORT;
+            }
+            builder.accumulate(content);
+        }
         return State.CONTINUE;
     }
 
     @Override
     public State onTrailingHeadersReceived(HttpHeaders headers) throws Exception {
-        builder.accumulate(headers);
+        synchronized (builder) {
+            builder.accumulate(headers);
+        }
         return State.CONTINUE;
     }
 
     @Override
     public final @Nullable T onCompleted() throws Exception {
-        return onCompleted(builder.build());
+        Response response;
+        synchronized (builder) {
+            response = builder.build();
+        }
+        return onCompleted(response);
     }
 
     @Override
     public void onThrowable(Throwable t) {
         LOGGER.debug(t.getMessage(), t);
+        // release retained body parts, if any
+        synchronized (builder) {
+            failed = true;
+            builder.reset();
+        }
     }
 
     /**
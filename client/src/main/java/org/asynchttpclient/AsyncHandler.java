@@ -159,6 +159,20 @@ public interface AsyncHandler<T> {
     default void onTcpConnectAttempt(InetSocketAddress remoteAddress) {
     }
 
+    /**
+     * Notify the callback after a successful connect with TCP Fast Open, right before {@link #onTcpConnectSuccess(InetSocketAddress, Channel)}.
+     * <p>
+     * When the server doesn't accept the data along with the SYN, e.g. because the client doesn't have a Fast Open cookie for it yet,
+     * the request is simply sent once connected.
+     *
+     * @param remoteAddress the address we connected to
+     * @param earlyDataSent true if the server acknowledged the request sent along with the SYN, false if it's sent once connected,
+     *                      or if the transport can't tell
+     * @see AsyncHttpClientConfig#isTcpFastOpen()
+     */
+    default void onTcpFastOpen(InetSocketAddress remoteAddress, boolean earlyDataSent) {
+    }
+
     /**
      * Notify the callback after a successful connect
      *
@@ -211,6 +225,7 @@ public interface AsyncHandler<T> {
 
     /**
      * Notify the callback when a new connection was successfully fetched from the pool.
+     * With HTTP/2, it's notified with the stream the request is sent on, whether the connection was shared or just opened.
      *
      * @param connection the connection
      */
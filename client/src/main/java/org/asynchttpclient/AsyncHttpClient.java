@@ -17,6 +17,7 @@
 package org.asynchttpclient;
 
 import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 import java.util.function.Predicate;
 
@@ -293,6 +294,29 @@ public interface AsyncHttpClient extends Closeable {
      */
     void flushChannelPoolPartitions(Predicate<Object> predicate);
 
+    /**
+     * Open up to {@code count} connections for the request's target and add them to the pool, so that the first requests don't pay the
+     * connect and TLS handshake latency.
+     * <p>
+     * Connections are only opened while the connection limits allow it right away, so pre-warming never delays or fails actual requests.
+     *
+     * @param request the request whose target, virtual host and proxy define the pool partition
+     * @param count   the number of connections to open
+     * @return a future completed with the number of connections added to the pool
+     */
+    CompletableFuture<Integer> prewarm(Request request, int count);
+
+    /**
+     * Keep at least {@code minIdle} idle connections in the pool for the request's target.
+     * Missing connections are opened in the background by the pool cleaner task, like {@link #prewarm(Request, int)} does.
+     *
+     * @param request the request whose target, virtual host and proxy define the pool partition
+     * @param minIdle the minimum number of idle connections, 0 to stop maintaining them
+     * @throws UnsupportedOperationException if the configured {@link org.asynchttpclient.channel.ChannelPool} doesn't support it
+     * @throws IllegalStateException         if keep-alive is disabled, as connections aren't pooled then
+     */
+    void setMinIdleConnections(Request request, int minIdle);
+
     /**
      * Return the config associated to this client.
      *
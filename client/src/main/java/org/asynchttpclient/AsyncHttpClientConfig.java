@@ -21,8 +21,10 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.handler.ssl.SslContext;
+import io.netty.resolver.NameResolver;
 import io.netty.util.HashedWheelTimer;
 import io.netty.util.Timer;
+import org.asynchttpclient.channel.AddressSelectionPolicy;
 import org.asynchttpclient.channel.ChannelPool;
 import org.asynchttpclient.channel.KeepAliveStrategy;
 import org.asynchttpclient.cookie.CookieStore;
@@ -31,15 +33,22 @@ import org.asynchttpclient.filter.RequestFilter;
 import org.asynchttpclient.filter.ResponseFilter;
 import org.asynchttpclient.netty.EagerResponseBodyPart;
 import org.asynchttpclient.netty.LazyResponseBodyPart;
+import org.asynchttpclient.netty.RetainedNettyResponse;
+import org.asynchttpclient.netty.RetainedResponseBodyPart;
 import org.asynchttpclient.netty.channel.ConnectionSemaphoreFactory;
+import org.asynchttpclient.netty.channel.DefaultChannelPool;
+import org.asynchttpclient.netty.channel.EventLoopAffineChannelPool;
+import org.asynchttpclient.netty.channel.IdleOrderedChannelPool;
 import org.asynchttpclient.proxy.ProxyServer;
 import org.asynchttpclient.proxy.ProxyServerSelector;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.net.InetAddress;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ThreadFactory;
 import java.util.function.Consumer;
 
@@ -78,6 +87,33 @@ public interface AsyncHttpClientConfig {
      */
     int getAcquireFreeChannelTimeout();
 
+    /**
+     * @return the percentage of failed requests to a pool partition, over {@link #getCircuitBreakerWindow()}, above which its circuit opens
+     * and new connections to it fail fast, or 0 if circuit breaking is disabled
+     */
+    int getCircuitBreakerFailureRateThreshold();
+
+    /**
+     * @return the number of requests to a pool partition that must have completed within {@link #getCircuitBreakerWindow()} before its failure rate
+     * is considered
+     */
+    int getCircuitBreakerMinimumRequests();
+
+    /**
+     * @return the window over which the failure rate of a pool partition is computed
+     */
+    Duration getCircuitBreakerWindow();
+
+    /**
+     * @return how long a circuit stays open before letting probe requests through
+     */
+    Duration getCircuitBreakerOpenDuration();
+
+    /**
+     * @return the maximum number of probe requests let through a half-open circuit, the first of them to succeed closes it
+     */
+    int getCircuitBreakerHalfOpenProbes();
+
 
     /**
      * Return the maximum time an {@link AsyncHttpClient} can wait when connecting to a remote host
@@ -86,6 +122,14 @@ public interface AsyncHttpClientConfig {
      */
     Duration getConnectTimeout();
 
+    /**
+     * Return the delay after which a new connect attempt to the next resolved address is started while the previous ones are still pending
+     * (Happy Eyeballs, RFC 8305). Zero or negative means addresses are tried one after the other.
+     *
+     * @return the delay between two concurrent connect attempts to the same host
+     */
+    Duration getConnectionAttemptDelay();
+
     /**
      * Return the maximum time an {@link AsyncHttpClient} can stay idle.
      *
@@ -228,6 +272,47 @@ public interface AsyncHttpClientConfig {
      */
     int getMaxRequestRetry();
 
+    /**
+     * @return the delay after which a duplicate of an idempotent request still waiting for its response is sent, racing the original one,
+     * when the latency percentile of the host isn't known yet, or zero to only hedge on the latency percentile
+     * @see #getHedgingLatencyPercentile()
+     */
+    Duration getHedgingDelay();
+
+    /**
+     * @return the percentile of the recent response latencies of a host after which a duplicate of an idempotent request is sent,
+     * taking precedence over {@link #getHedgingDelay()} once enough responses were received, or 0 to only hedge after the fixed delay
+     */
+    int getHedgingLatencyPercentile();
+
+    /**
+     * @return the maximum number of duplicate requests sent by hedging, as a percentage of the hedgeable requests
+     */
+    int getHedgingBudgetPercent();
+
+    /**
+     * @return the base delay of the exponential backoff between the retries of the default {@link RetryPolicy}, zero to retry immediately
+     */
+    Duration getRetryBackoff();
+
+    /**
+     * @return the maximum delay between the retries of the default {@link RetryPolicy}
+     */
+    Duration getRetryMaxBackoff();
+
+    /**
+     * @return the maximum number of retries, as a percentage of the requests, enforced for the whole client and for each pool partition,
+     * on top of an initial allowance of 10 retries, or a negative value, the default, to only limit them with {@link #getMaxRequestRetry()}
+     */
+    int getRetryBudgetPercent();
+
+    /**
+     * @return the policy deciding if and when failed requests are retried, null to use a {@link DefaultRetryPolicy} built from
+     * {@link #getRetryBackoff()} and {@link #getRetryMaxBackoff()}
+     */
+    @Nullable
+    RetryPolicy getRetryPolicy();
+
     /**
      * @return the disableUrlEncodingForBoundRequests
      */
@@ -251,8 +336,53 @@ public interface AsyncHttpClientConfig {
      */
     Duration getConnectionTtl();
 
+    /**
+     * @return the maximum random amount the {@link #getConnectionTtl()} of each connection is shortened by, so that the connections opened
+     * together don't expire together
+     */
+    Duration getConnectionTtlJitter();
+
+    /**
+     * @return the maximum number of requests sent on a connection, after which it's closed once its response is received instead of going
+     * back to the pool, or a value lower than 1 for no limit
+     */
+    int getMaxRequestsPerConnection();
+
+    /**
+     * @return true to check, without blocking, that a pooled connection wasn't closed by the server before sending a request on it, see
+     * {@link #getPooledConnectionStrictValidationIdleTime()}
+     */
+    boolean isValidatePooledConnections();
+
+    /**
+     * @return the idle time after which a pooled connection gets a strict validation when {@link #isValidatePooledConnections()}: the state
+     * of the socket is queried from the kernel where the transport allows it, i.e. with epoll, the other transports only get the cheap check
+     */
+    Duration getPooledConnectionStrictValidationIdleTime();
+
     boolean isUseOpenSsl();
 
+    /**
+     * @return true to offer HTTP/2 with ALPN on TLS connections, so that concurrent requests to the same host are multiplexed as streams over a single connection
+     */
+    boolean isHttp2Enabled();
+
+    /**
+     * @return true to speak HTTP/2 without upgrade (h2c with prior knowledge) on cleartext connections, requires {@link #isHttp2Enabled()}
+     */
+    boolean isHttp2PriorKnowledge();
+
+    /**
+     * @return the hosts to which idempotent requests without a body are pipelined over keep-alive HTTP/1.1 connections, none by default.
+     * Only list hosts known to handle pipelining correctly.
+     */
+    Set<String> getPipeliningHosts();
+
+    /**
+     * @return the maximum number of requests in flight on a pipelined connection, including the one whose response is being received
+     */
+    int getMaxPipelinedRequests();
+
     boolean isUseInsecureTrustManager();
 
     /**
@@ -287,6 +417,17 @@ public interface AsyncHttpClientConfig {
      */
     int getSslSessionTimeout();
 
+    /**
+     * @return the number of threads the expensive TLS handshake tasks (certificate validation, key exchange) are offloaded to,
+     * 0 to run them on the event loop
+     */
+    int getSslHandshakeThreads();
+
+    /**
+     * @return the maximum number of TLS handshake tasks waiting for a handshake thread, above which they run on the event loop
+     */
+    int getSslHandshakeQueueSize();
+
     int getHttpClientCodecMaxInitialLineLength();
 
     int getHttpClientCodecMaxHeaderSize();
@@ -334,6 +475,18 @@ public interface AsyncHttpClientConfig {
     @Nullable
     ChannelPool getChannelPool();
 
+    /**
+     * @return the factory used to create the {@link ChannelPool} when keep-alive is enabled and no pool is configured with {@link #getChannelPool()}
+     */
+    ChannelPoolFactory getChannelPoolFactory();
+
+    /**
+     * @return the {@link NameResolver} used for requests that don't set their own one, for example a {@link org.asynchttpclient.resolver.CachingNameResolver}.
+     * If null, the request's resolver is used.
+     */
+    @Nullable
+    NameResolver<InetAddress> getNameResolver();
+
     @Nullable
     ConnectionSemaphoreFactory getConnectionSemaphoreFactory();
 
@@ -352,6 +505,13 @@ public interface AsyncHttpClientConfig {
 
     KeepAliveStrategy getKeepAliveStrategy();
 
+    /**
+     * @return the policy ordering the addresses a host resolves to before connecting, and ejecting the failing ones, or null to connect in
+     * the order returned by the name resolver
+     */
+    @Nullable
+    AddressSelectionPolicy getAddressSelectionPolicy();
+
     boolean isValidateResponseHeaders();
 
     boolean isAggregateWebSocketFrameFragments();
@@ -364,6 +524,12 @@ public interface AsyncHttpClientConfig {
 
     boolean isSoKeepAlive();
 
+    /**
+     * @return true if new plaintext connections should be opened with TCP Fast Open when the Epoll or the io_uring native transport is used,
+     * so that the request is sent along with the SYN
+     */
+    boolean isTcpFastOpen();
+
     int getSoLinger();
 
     int getSoSndBuf();
@@ -389,8 +555,57 @@ public interface AsyncHttpClientConfig {
             public HttpResponseBodyPart newResponseBodyPart(ByteBuf buf, boolean last) {
                 return new LazyResponseBodyPart(buf, last);
             }
+        },
+
+        /**
+         * Retain the received chunks instead of copying them. {@link AsyncCompletionHandler}s then get a {@link RetainedNettyResponse}
+         * whose body is a composite of those chunks and that must be released once consumed, typically with
+         * {@link io.netty.util.ReferenceCountUtil#release(Object)} as responses without a body aren't reference counted.
+         * Custom {@link AsyncHandler}s must release the {@link RetainedResponseBodyPart}s they receive.
+         */
+        RETAINED {
+            @Override
+            public HttpResponseBodyPart newResponseBodyPart(ByteBuf buf, boolean last) {
+                return new RetainedResponseBodyPart(buf, last);
+            }
         };
 
         public abstract HttpResponseBodyPart newResponseBodyPart(ByteBuf buf, boolean last);
     }
+
+    enum ChannelPoolFactory {
+
+        DEFAULT {
+            @Override
+            public ChannelPool newChannelPool(AsyncHttpClientConfig config, Timer nettyTimer) {
+                return new DefaultChannelPool(config, nettyTimer);
+            }
+        },
+
+        /**
+         * A pool whose idle channel detector only visits expired channels, meant for pools with a large number of idle channels.
+         *
+         * @see IdleOrderedChannelPool
+         */
+        IDLE_ORDERED {
+            @Override
+            public ChannelPool newChannelPool(AsyncHttpClientConfig config, Timer nettyTimer) {
+                return new IdleOrderedChannelPool(config, nettyTimer);
+            }
+        },
+
+        /**
+         * A {@link #DEFAULT} pool that prefers channels registered on the caller's event loop, meant for clients called from Netty handlers.
+         *
+         * @see EventLoopAffineChannelPool
+         */
+        EVENT_LOOP_AFFINE {
+            @Override
+            public ChannelPool newChannelPool(AsyncHttpClientConfig config, Timer nettyTimer) {
+                return new EventLoopAffineChannelPool(new DefaultChannelPool(config, nettyTimer));
+            }
+        };
+
+        public abstract ChannelPool newChannelPool(AsyncHttpClientConfig config, Timer nettyTimer);
+    }
 }
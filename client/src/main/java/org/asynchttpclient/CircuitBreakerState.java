@@ -0,0 +1,37 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+/**
+ * The state of the circuit breaker of a pool partition.
+ *
+ * @see AsyncHttpClientConfig#getCircuitBreakerFailureRateThreshold()
+ */
+public enum CircuitBreakerState {
+
+    /**
+     * Requests go through, their failure rate is monitored.
+     */
+    CLOSED,
+    /**
+     * Requests needing a new connection fail fast with a {@link org.asynchttpclient.exception.CircuitBreakerOpenException}.
+     */
+    OPEN,
+    /**
+     * The open duration has elapsed, a limited number of probe requests go through to decide whether to close or to open the circuit again.
+     */
+    HALF_OPEN
+}
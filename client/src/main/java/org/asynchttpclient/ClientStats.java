@@ -25,9 +25,40 @@ import java.util.Objects;
 public class ClientStats {
 
     private final Map<String, HostStats> statsPerHost;
+    private final long tlsSessionResumedCount;
+    private final long tlsFullHandshakeCount;
+    private final long totalTlsHandshakeTimeMillis;
+    private final int tlsHandshakeQueueSize;
+    private final Map<String, CircuitBreakerState> circuitBreakerStatesPerPartition;
+    private final long circuitBreakerRejectedCount;
+    private final long staleConnectionDiscardedCount;
 
     public ClientStats(Map<String, HostStats> statsPerHost) {
+        this(statsPerHost, 0, 0, 0, 0);
+    }
+
+    public ClientStats(Map<String, HostStats> statsPerHost, long tlsSessionResumedCount, long tlsFullHandshakeCount, long totalTlsHandshakeTimeMillis,
+                       int tlsHandshakeQueueSize) {
+        this(statsPerHost, tlsSessionResumedCount, tlsFullHandshakeCount, totalTlsHandshakeTimeMillis, tlsHandshakeQueueSize, Collections.emptyMap(), 0);
+    }
+
+    public ClientStats(Map<String, HostStats> statsPerHost, long tlsSessionResumedCount, long tlsFullHandshakeCount, long totalTlsHandshakeTimeMillis,
+                       int tlsHandshakeQueueSize, Map<String, CircuitBreakerState> circuitBreakerStatesPerPartition, long circuitBreakerRejectedCount) {
+        this(statsPerHost, tlsSessionResumedCount, tlsFullHandshakeCount, totalTlsHandshakeTimeMillis, tlsHandshakeQueueSize, circuitBreakerStatesPerPartition,
+                circuitBreakerRejectedCount, 0);
+    }
+
+    public ClientStats(Map<String, HostStats> statsPerHost, long tlsSessionResumedCount, long tlsFullHandshakeCount, long totalTlsHandshakeTimeMillis,
+                       int tlsHandshakeQueueSize, Map<String, CircuitBreakerState> circuitBreakerStatesPerPartition, long circuitBreakerRejectedCount,
+                       long staleConnectionDiscardedCount) {
         this.statsPerHost = Collections.unmodifiableMap(statsPerHost);
+        this.tlsSessionResumedCount = tlsSessionResumedCount;
+        this.tlsFullHandshakeCount = tlsFullHandshakeCount;
+        this.totalTlsHandshakeTimeMillis = totalTlsHandshakeTimeMillis;
+        this.tlsHandshakeQueueSize = tlsHandshakeQueueSize;
+        this.circuitBreakerStatesPerPartition = Collections.unmodifiableMap(circuitBreakerStatesPerPartition);
+        this.circuitBreakerRejectedCount = circuitBreakerRejectedCount;
+        this.staleConnectionDiscardedCount = staleConnectionDiscardedCount;
     }
 
     /**
@@ -72,6 +103,68 @@ public class ClientStats {
                 .sum();
     }
 
+    /**
+     * @return A long representing the number of times requests were retried.
+     */
+    public long getTotalRetryCount() {
+        return statsPerHost
+                .values()
+                .stream()
+                .mapToLong(HostStats::getHostRetryCount)
+                .sum();
+    }
+
+    /**
+     * @return The number of TLS handshakes that resumed a session cached for the peer, i.e. the session cache hits.
+     */
+    public long getTlsSessionResumedCount() {
+        return tlsSessionResumedCount;
+    }
+
+    /**
+     * @return The number of TLS handshakes that negotiated a new session, i.e. the session cache misses.
+     */
+    public long getTlsFullHandshakeCount() {
+        return tlsFullHandshakeCount;
+    }
+
+    /**
+     * @return The time spent in successful TLS handshakes, to be divided by the sum of {@link #getTlsSessionResumedCount()} and
+     * {@link #getTlsFullHandshakeCount()} to get the average handshake duration.
+     */
+    public long getTotalTlsHandshakeTimeMillis() {
+        return totalTlsHandshakeTimeMillis;
+    }
+
+    /**
+     * @return The number of TLS handshake tasks waiting for a handshake thread, always 0 when handshake tasks run on the event loop.
+     */
+    public int getTlsHandshakeQueueSize() {
+        return tlsHandshakeQueueSize;
+    }
+
+    /**
+     * @return A map from pool partition key to the state of its circuit breaker, for the partitions that recently had failed requests.
+     * The returned map is unmodifiable.
+     */
+    public Map<String, CircuitBreakerState> getCircuitBreakerStatesPerPartition() {
+        return circuitBreakerStatesPerPartition;
+    }
+
+    /**
+     * @return The number of requests that failed fast because the circuit breaker of their pool partition was open.
+     */
+    public long getCircuitBreakerRejectedCount() {
+        return circuitBreakerRejectedCount;
+    }
+
+    /**
+     * @return The number of pooled connections that were found stale when leased, and closed instead of being handed a request.
+     */
+    public long getStaleConnectionDiscardedCount() {
+        return staleConnectionDiscardedCount;
+    }
+
     @Override
     public String toString() {
         return "There are " + getTotalConnectionCount() +
@@ -88,11 +181,19 @@ public class ClientStats {
             return false;
         }
         final ClientStats that = (ClientStats) o;
-        return Objects.equals(statsPerHost, that.statsPerHost);
+        return Objects.equals(statsPerHost, that.statsPerHost)
+                && tlsSessionResumedCount == that.tlsSessionResumedCount
+                && tlsFullHandshakeCount == that.tlsFullHandshakeCount
+                && totalTlsHandshakeTimeMillis == that.totalTlsHandshakeTimeMillis
+                && tlsHandshakeQueueSize == that.tlsHandshakeQueueSize
+                && Objects.equals(circuitBreakerStatesPerPartition, that.circuitBreakerStatesPerPartition)
+                && circuitBreakerRejectedCount == that.circuitBreakerRejectedCount
+                && staleConnectionDiscardedCount == that.staleConnectionDiscardedCount;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(statsPerHost);
+        return Objects.hash(statsPerHost, tlsSessionResumedCount, tlsFullHandshakeCount, totalTlsHandshakeTimeMillis, tlsHandshakeQueueSize,
+                circuitBreakerStatesPerPartition, circuitBreakerRejectedCount, staleConnectionDiscardedCount);
     }
 }
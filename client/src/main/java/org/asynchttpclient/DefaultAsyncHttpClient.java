@@ -30,11 +30,13 @@ import org.asynchttpclient.filter.RequestFilter;
 import org.asynchttpclient.handler.resumable.ResumableAsyncHandler;
 import org.asynchttpclient.netty.channel.ChannelManager;
 import org.asynchttpclient.netty.request.NettyRequestSender;
+import org.asynchttpclient.netty.request.RequestHedging;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -62,6 +64,7 @@ public class DefaultAsyncHttpClient implements AsyncHttpClient {
     private final AtomicBoolean closed = new AtomicBoolean(false);
     private final ChannelManager channelManager;
     private final NettyRequestSender requestSender;
+    private final @Nullable RequestHedging requestHedging;
     private final boolean allowStopNettyTimer;
     private final Timer nettyTimer;
 
@@ -107,6 +110,7 @@ public class DefaultAsyncHttpClient implements AsyncHttpClient {
 
         channelManager = new ChannelManager(config, nettyTimer);
         requestSender = new NettyRequestSender(config, channelManager, nettyTimer, new AsyncHttpClientState(closed));
+        requestHedging = RequestHedging.isEnabled(config) ? new RequestHedging(config, requestSender, nettyTimer) : null;
         channelManager.configureBootstraps(requestSender);
 
         CookieStore cookieStore = config.getCookieStore();
@@ -277,6 +281,9 @@ public class DefaultAsyncHttpClient implements AsyncHttpClient {
 
     private <T> ListenableFuture<T> execute(Request request, final AsyncHandler<T> asyncHandler) {
         try {
+            if (requestHedging != null && requestHedging.isHedgeable(request, asyncHandler)) {
+                return requestHedging.sendRequest(request, asyncHandler);
+            }
             return requestSender.sendRequest(request, asyncHandler, null);
         } catch (Exception e) {
             asyncHandler.onThrowable(e);
@@ -329,6 +336,16 @@ public class DefaultAsyncHttpClient implements AsyncHttpClient {
         getChannelPool().flushPartitions(predicate);
     }
 
+    @Override
+    public CompletableFuture<Integer> prewarm(Request request, int count) {
+        return requestSender.prewarm(request, count);
+    }
+
+    @Override
+    public void setMinIdleConnections(Request request, int minIdle) {
+        requestSender.setMinIdleConnections(request, minIdle);
+    }
+
     protected BoundRequestBuilder requestBuilder(String method, String url) {
         return new BoundRequestBuilder(this, method, config.isDisableUrlEncodingForBoundRequests()).setUrl(url).setSignatureCalculator(signatureCalculator);
     }
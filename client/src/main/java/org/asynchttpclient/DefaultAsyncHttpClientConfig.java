@@ -20,7 +20,9 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.handler.ssl.SslContext;
+import io.netty.resolver.NameResolver;
 import io.netty.util.Timer;
+import org.asynchttpclient.channel.AddressSelectionPolicy;
 import org.asynchttpclient.channel.ChannelPool;
 import org.asynchttpclient.channel.DefaultKeepAliveStrategy;
 import org.asynchttpclient.channel.KeepAliveStrategy;
@@ -36,22 +38,31 @@ import org.asynchttpclient.proxy.ProxyServerSelector;
 import org.asynchttpclient.util.ProxyUtils;
 import org.jetbrains.annotations.Nullable;
 
+import java.net.InetAddress;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ThreadFactory;
 import java.util.function.Consumer;
 
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultAcquireFreeChannelTimeout;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultAggregateWebSocketFrameFragments;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultChunkedFileChunkSize;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultCircuitBreakerFailureRateThreshold;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultCircuitBreakerHalfOpenProbes;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultCircuitBreakerMinimumRequests;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultCircuitBreakerOpenDuration;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultCircuitBreakerWindow;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultCompressionEnforced;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultConnectTimeout;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultConnectionAttemptDelay;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultConnectionPoolCleanerPeriod;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultConnectionTtl;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultConnectionTtlJitter;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultDisableHttpsEndpointIdentificationAlgorithm;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultDisableUrlEncodingForBoundRequests;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultDisableZeroCopy;
@@ -65,6 +76,11 @@ import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultFo
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHandshakeTimeout;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHashedWheelTimerSize;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHashedWheelTimerTickDuration;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHedgingBudgetPercent;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHedgingDelay;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHedgingLatencyPercentile;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHttp2Enabled;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHttp2PriorKnowledge;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHttpClientCodecInitialBufferSize;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHttpClientCodecMaxChunkSize;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultHttpClientCodecMaxHeaderSize;
@@ -74,11 +90,17 @@ import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultKe
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultKeepEncodingHeader;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultMaxConnections;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultMaxConnectionsPerHost;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultMaxPipelinedRequests;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultMaxRedirects;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultMaxRequestRetry;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultMaxRequestsPerConnection;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultPooledConnectionIdleTimeout;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultPooledConnectionStrictValidationIdleTime;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultReadTimeout;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultRequestTimeout;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultRetryBackoff;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultRetryBudgetPercent;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultRetryMaxBackoff;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultShutdownQuietPeriod;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultShutdownTimeout;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultSoKeepAlive;
@@ -86,9 +108,12 @@ import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultSo
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultSoRcvBuf;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultSoReuseAddress;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultSoSndBuf;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultSslHandshakeQueueSize;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultSslHandshakeThreads;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultSslSessionCacheSize;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultSslSessionTimeout;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultStrict302Handling;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultTcpFastOpen;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultTcpNoDelay;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultThreadPoolName;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultUseInsecureTrustManager;
@@ -99,6 +124,7 @@ import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultUs
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultUseProxyProperties;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultUseProxySelector;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultUserAgent;
+import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultValidatePooledConnections;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultValidateResponseHeaders;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultWebSocketMaxBufferSize;
 import static org.asynchttpclient.config.AsyncHttpClientConfigDefaults.defaultWebSocketMaxFrameSize;
@@ -121,6 +147,13 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
     private final String userAgent;
     private final @Nullable Realm realm;
     private final int maxRequestRetry;
+    private final Duration hedgingDelay;
+    private final int hedgingLatencyPercentile;
+    private final int hedgingBudgetPercent;
+    private final Duration retryBackoff;
+    private final Duration retryMaxBackoff;
+    private final int retryBudgetPercent;
+    private final @Nullable RetryPolicy retryPolicy;
     private final boolean disableUrlEncodingForBoundRequests;
     private final boolean useLaxCookieEncoder;
     private final boolean disableZeroCopy;
@@ -136,6 +169,7 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
 
     // timeouts
     private final Duration connectTimeout;
+    private final Duration connectionAttemptDelay;
     private final Duration requestTimeout;
     private final Duration readTimeout;
     private final Duration shutdownQuietPeriod;
@@ -146,15 +180,31 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
     private final Duration pooledConnectionIdleTimeout;
     private final Duration connectionPoolCleanerPeriod;
     private final Duration connectionTtl;
+    private final Duration connectionTtlJitter;
+    private final int maxRequestsPerConnection;
+    private final boolean validatePooledConnections;
+    private final Duration pooledConnectionStrictValidationIdleTime;
     private final int maxConnections;
     private final int maxConnectionsPerHost;
     private final int acquireFreeChannelTimeout;
+    private final int circuitBreakerFailureRateThreshold;
+    private final int circuitBreakerMinimumRequests;
+    private final Duration circuitBreakerWindow;
+    private final Duration circuitBreakerOpenDuration;
+    private final int circuitBreakerHalfOpenProbes;
     private final @Nullable ChannelPool channelPool;
+    private final ChannelPoolFactory channelPoolFactory;
+    private final @Nullable NameResolver<InetAddress> nameResolver;
     private final @Nullable ConnectionSemaphoreFactory connectionSemaphoreFactory;
     private final KeepAliveStrategy keepAliveStrategy;
+    private final @Nullable AddressSelectionPolicy addressSelectionPolicy;
 
     // ssl
     private final boolean useOpenSsl;
+    private final boolean http2Enabled;
+    private final boolean http2PriorKnowledge;
+    private final Set<String> pipeliningHosts;
+    private final int maxPipelinedRequests;
     private final boolean useInsecureTrustManager;
     private final boolean disableHttpsEndpointIdentificationAlgorithm;
     private final int handshakeTimeout;
@@ -163,6 +213,8 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
     private final boolean filterInsecureCipherSuites;
     private final int sslSessionCacheSize;
     private final int sslSessionTimeout;
+    private final int sslHandshakeThreads;
+    private final int sslHandshakeQueueSize;
     private final @Nullable SslContext sslContext;
     private final @Nullable SslEngineFactory sslEngineFactory;
 
@@ -190,6 +242,7 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
     private final boolean tcpNoDelay;
     private final boolean soReuseAddress;
     private final boolean soKeepAlive;
+    private final boolean tcpFastOpen;
     private final int soLinger;
     private final int soSndBuf;
     private final int soRcvBuf;
@@ -211,6 +264,13 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
                                          String userAgent,
                                          @Nullable Realm realm,
                                          int maxRequestRetry,
+                                         Duration hedgingDelay,
+                                         int hedgingLatencyPercentile,
+                                         int hedgingBudgetPercent,
+                                         Duration retryBackoff,
+                                         Duration retryMaxBackoff,
+                                         int retryBudgetPercent,
+                                         @Nullable RetryPolicy retryPolicy,
                                          boolean disableUrlEncodingForBoundRequests,
                                          boolean useLaxCookieEncoder,
                                          boolean disableZeroCopy,
@@ -222,6 +282,7 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
 
                                          // timeouts
                                          Duration connectTimeout,
+                                         Duration connectionAttemptDelay,
                                          Duration requestTimeout,
                                          Duration readTimeout,
                                          Duration shutdownQuietPeriod,
@@ -232,15 +293,31 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
                                          Duration pooledConnectionIdleTimeout,
                                          Duration connectionPoolCleanerPeriod,
                                          Duration connectionTtl,
+                                         Duration connectionTtlJitter,
+                                         int maxRequestsPerConnection,
+                                         boolean validatePooledConnections,
+                                         Duration pooledConnectionStrictValidationIdleTime,
                                          int maxConnections,
                                          int maxConnectionsPerHost,
                                          int acquireFreeChannelTimeout,
+                                         int circuitBreakerFailureRateThreshold,
+                                         int circuitBreakerMinimumRequests,
+                                         Duration circuitBreakerWindow,
+                                         Duration circuitBreakerOpenDuration,
+                                         int circuitBreakerHalfOpenProbes,
                                          @Nullable ChannelPool channelPool,
+                                         ChannelPoolFactory channelPoolFactory,
+                                         @Nullable NameResolver<InetAddress> nameResolver,
                                          @Nullable ConnectionSemaphoreFactory connectionSemaphoreFactory,
                                          KeepAliveStrategy keepAliveStrategy,
+                                         @Nullable AddressSelectionPolicy addressSelectionPolicy,
 
                                          // ssl
                                          boolean useOpenSsl,
+                                         boolean http2Enabled,
+                                         boolean http2PriorKnowledge,
+                                         Set<String> pipeliningHosts,
+                                         int maxPipelinedRequests,
                                          boolean useInsecureTrustManager,
                                          boolean disableHttpsEndpointIdentificationAlgorithm,
                                          int handshakeTimeout,
@@ -249,6 +326,8 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
                                          boolean filterInsecureCipherSuites,
                                          int sslSessionCacheSize,
                                          int sslSessionTimeout,
+                                         int sslHandshakeThreads,
+                                         int sslHandshakeQueueSize,
                                          @Nullable SslContext sslContext,
                                          @Nullable SslEngineFactory sslEngineFactory,
 
@@ -265,6 +344,7 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
                                          boolean tcpNoDelay,
                                          boolean soReuseAddress,
                                          boolean soKeepAlive,
+                                         boolean tcpFastOpen,
                                          int soLinger,
                                          int soSndBuf,
                                          int soRcvBuf,
@@ -301,6 +381,13 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         this.userAgent = userAgent;
         this.realm = realm;
         this.maxRequestRetry = maxRequestRetry;
+        this.hedgingDelay = hedgingDelay;
+        this.hedgingLatencyPercentile = hedgingLatencyPercentile;
+        this.hedgingBudgetPercent = hedgingBudgetPercent;
+        this.retryBackoff = retryBackoff;
+        this.retryMaxBackoff = retryMaxBackoff;
+        this.retryBudgetPercent = retryBudgetPercent;
+        this.retryPolicy = retryPolicy;
         this.disableUrlEncodingForBoundRequests = disableUrlEncodingForBoundRequests;
         this.useLaxCookieEncoder = useLaxCookieEncoder;
         this.disableZeroCopy = disableZeroCopy;
@@ -316,6 +403,7 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
 
         // timeouts
         this.connectTimeout = connectTimeout;
+        this.connectionAttemptDelay = connectionAttemptDelay;
         this.requestTimeout = requestTimeout;
         this.readTimeout = readTimeout;
         this.shutdownQuietPeriod = shutdownQuietPeriod;
@@ -326,15 +414,31 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         this.pooledConnectionIdleTimeout = pooledConnectionIdleTimeout;
         this.connectionPoolCleanerPeriod = connectionPoolCleanerPeriod;
         this.connectionTtl = connectionTtl;
+        this.connectionTtlJitter = connectionTtlJitter;
+        this.maxRequestsPerConnection = maxRequestsPerConnection;
+        this.validatePooledConnections = validatePooledConnections;
+        this.pooledConnectionStrictValidationIdleTime = pooledConnectionStrictValidationIdleTime;
         this.maxConnections = maxConnections;
         this.maxConnectionsPerHost = maxConnectionsPerHost;
         this.acquireFreeChannelTimeout = acquireFreeChannelTimeout;
+        this.circuitBreakerFailureRateThreshold = circuitBreakerFailureRateThreshold;
+        this.circuitBreakerMinimumRequests = circuitBreakerMinimumRequests;
+        this.circuitBreakerWindow = circuitBreakerWindow;
+        this.circuitBreakerOpenDuration = circuitBreakerOpenDuration;
+        this.circuitBreakerHalfOpenProbes = circuitBreakerHalfOpenProbes;
         this.channelPool = channelPool;
+        this.channelPoolFactory = channelPoolFactory;
+        this.nameResolver = nameResolver;
         this.connectionSemaphoreFactory = connectionSemaphoreFactory;
         this.keepAliveStrategy = keepAliveStrategy;
+        this.addressSelectionPolicy = addressSelectionPolicy;
 
         // ssl
         this.useOpenSsl = useOpenSsl;
+        this.http2Enabled = http2Enabled;
+        this.http2PriorKnowledge = http2PriorKnowledge;
+        this.pipeliningHosts = pipeliningHosts;
+        this.maxPipelinedRequests = maxPipelinedRequests;
         this.useInsecureTrustManager = useInsecureTrustManager;
         this.disableHttpsEndpointIdentificationAlgorithm = disableHttpsEndpointIdentificationAlgorithm;
         this.handshakeTimeout = handshakeTimeout;
@@ -343,6 +447,8 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         this.filterInsecureCipherSuites = filterInsecureCipherSuites;
         this.sslSessionCacheSize = sslSessionCacheSize;
         this.sslSessionTimeout = sslSessionTimeout;
+        this.sslHandshakeThreads = sslHandshakeThreads;
+        this.sslHandshakeQueueSize = sslHandshakeQueueSize;
         this.sslContext = sslContext;
         this.sslEngineFactory = sslEngineFactory;
 
@@ -359,6 +465,7 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         this.tcpNoDelay = tcpNoDelay;
         this.soReuseAddress = soReuseAddress;
         this.soKeepAlive = soKeepAlive;
+        this.tcpFastOpen = tcpFastOpen;
         this.soLinger = soLinger;
         this.soSndBuf = soSndBuf;
         this.soRcvBuf = soRcvBuf;
@@ -436,6 +543,41 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         return maxRequestRetry;
     }
 
+    @Override
+    public Duration getHedgingDelay() {
+        return hedgingDelay;
+    }
+
+    @Override
+    public int getHedgingLatencyPercentile() {
+        return hedgingLatencyPercentile;
+    }
+
+    @Override
+    public int getHedgingBudgetPercent() {
+        return hedgingBudgetPercent;
+    }
+
+    @Override
+    public Duration getRetryBackoff() {
+        return retryBackoff;
+    }
+
+    @Override
+    public Duration getRetryMaxBackoff() {
+        return retryMaxBackoff;
+    }
+
+    @Override
+    public int getRetryBudgetPercent() {
+        return retryBudgetPercent;
+    }
+
+    @Override
+    public @Nullable RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
     @Override
     public boolean isDisableUrlEncodingForBoundRequests() {
         return disableUrlEncodingForBoundRequests;
@@ -488,6 +630,11 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         return connectTimeout;
     }
 
+    @Override
+    public Duration getConnectionAttemptDelay() {
+        return connectionAttemptDelay;
+    }
+
     @Override
     public Duration getRequestTimeout() {
         return requestTimeout;
@@ -529,6 +676,26 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         return connectionTtl;
     }
 
+    @Override
+    public Duration getConnectionTtlJitter() {
+        return connectionTtlJitter;
+    }
+
+    @Override
+    public int getMaxRequestsPerConnection() {
+        return maxRequestsPerConnection;
+    }
+
+    @Override
+    public boolean isValidatePooledConnections() {
+        return validatePooledConnections;
+    }
+
+    @Override
+    public Duration getPooledConnectionStrictValidationIdleTime() {
+        return pooledConnectionStrictValidationIdleTime;
+    }
+
     @Override
     public int getMaxConnections() {
         return maxConnections;
@@ -544,11 +711,46 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         return acquireFreeChannelTimeout;
     }
 
+    @Override
+    public int getCircuitBreakerFailureRateThreshold() {
+        return circuitBreakerFailureRateThreshold;
+    }
+
+    @Override
+    public int getCircuitBreakerMinimumRequests() {
+        return circuitBreakerMinimumRequests;
+    }
+
+    @Override
+    public Duration getCircuitBreakerWindow() {
+        return circuitBreakerWindow;
+    }
+
+    @Override
+    public Duration getCircuitBreakerOpenDuration() {
+        return circuitBreakerOpenDuration;
+    }
+
+    @Override
+    public int getCircuitBreakerHalfOpenProbes() {
+        return circuitBreakerHalfOpenProbes;
+    }
+
     @Override
     public @Nullable ChannelPool getChannelPool() {
         return channelPool;
     }
 
+    @Override
+    public ChannelPoolFactory getChannelPoolFactory() {
+        return channelPoolFactory;
+    }
+
+    @Override
+    public @Nullable NameResolver<InetAddress> getNameResolver() {
+        return nameResolver;
+    }
+
     @Override
     public @Nullable ConnectionSemaphoreFactory getConnectionSemaphoreFactory() {
         return connectionSemaphoreFactory;
@@ -559,6 +761,11 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         return keepAliveStrategy;
     }
 
+    @Override
+    public @Nullable AddressSelectionPolicy getAddressSelectionPolicy() {
+        return addressSelectionPolicy;
+    }
+
     @Override
     public boolean isValidateResponseHeaders() {
         return validateResponseHeaders;
@@ -570,6 +777,26 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         return useOpenSsl;
     }
 
+    @Override
+    public boolean isHttp2Enabled() {
+        return http2Enabled;
+    }
+
+    @Override
+    public boolean isHttp2PriorKnowledge() {
+        return http2PriorKnowledge;
+    }
+
+    @Override
+    public Set<String> getPipeliningHosts() {
+        return pipeliningHosts;
+    }
+
+    @Override
+    public int getMaxPipelinedRequests() {
+        return maxPipelinedRequests;
+    }
+
     @Override
     public boolean isUseInsecureTrustManager() {
         return useInsecureTrustManager;
@@ -610,6 +837,16 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         return sslSessionTimeout;
     }
 
+    @Override
+    public int getSslHandshakeThreads() {
+        return sslHandshakeThreads;
+    }
+
+    @Override
+    public int getSslHandshakeQueueSize() {
+        return sslHandshakeQueueSize;
+    }
+
     @Override
     public @Nullable SslContext getSslContext() {
         return sslContext;
@@ -663,6 +900,11 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         return soKeepAlive;
     }
 
+    @Override
+    public boolean isTcpFastOpen() {
+        return tcpFastOpen;
+    }
+
     @Override
     public int getSoLinger() {
         return soLinger;
@@ -792,6 +1034,13 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         private String userAgent = defaultUserAgent();
         private @Nullable Realm realm;
         private int maxRequestRetry = defaultMaxRequestRetry();
+        private Duration hedgingDelay = defaultHedgingDelay();
+        private int hedgingLatencyPercentile = defaultHedgingLatencyPercentile();
+        private int hedgingBudgetPercent = defaultHedgingBudgetPercent();
+        private Duration retryBackoff = defaultRetryBackoff();
+        private Duration retryMaxBackoff = defaultRetryMaxBackoff();
+        private int retryBudgetPercent = defaultRetryBudgetPercent();
+        private @Nullable RetryPolicy retryPolicy;
         private boolean disableUrlEncodingForBoundRequests = defaultDisableUrlEncodingForBoundRequests();
         private boolean useLaxCookieEncoder = defaultUseLaxCookieEncoder();
         private boolean disableZeroCopy = defaultDisableZeroCopy();
@@ -809,6 +1058,7 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
 
         // timeouts
         private Duration connectTimeout = defaultConnectTimeout();
+        private Duration connectionAttemptDelay = defaultConnectionAttemptDelay();
         private Duration requestTimeout = defaultRequestTimeout();
         private Duration readTimeout = defaultReadTimeout();
         private Duration shutdownQuietPeriod = defaultShutdownQuietPeriod();
@@ -819,15 +1069,31 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         private Duration pooledConnectionIdleTimeout = defaultPooledConnectionIdleTimeout();
         private Duration connectionPoolCleanerPeriod = defaultConnectionPoolCleanerPeriod();
         private Duration connectionTtl = defaultConnectionTtl();
+        private Duration connectionTtlJitter = defaultConnectionTtlJitter();
+        private int maxRequestsPerConnection = defaultMaxRequestsPerConnection();
+        private boolean validatePooledConnections = defaultValidatePooledConnections();
+        private Duration pooledConnectionStrictValidationIdleTime = defaultPooledConnectionStrictValidationIdleTime();
         private int maxConnections = defaultMaxConnections();
         private int maxConnectionsPerHost = defaultMaxConnectionsPerHost();
         private int acquireFreeChannelTimeout = defaultAcquireFreeChannelTimeout();
+        private int circuitBreakerFailureRateThreshold = defaultCircuitBreakerFailureRateThreshold();
+        private int circuitBreakerMinimumRequests = defaultCircuitBreakerMinimumRequests();
+        private Duration circuitBreakerWindow = defaultCircuitBreakerWindow();
+        private Duration circuitBreakerOpenDuration = defaultCircuitBreakerOpenDuration();
+        private int circuitBreakerHalfOpenProbes = defaultCircuitBreakerHalfOpenProbes();
         private @Nullable ChannelPool channelPool;
+        private ChannelPoolFactory channelPoolFactory = ChannelPoolFactory.DEFAULT;
+        private @Nullable NameResolver<InetAddress> nameResolver;
         private @Nullable ConnectionSemaphoreFactory connectionSemaphoreFactory;
         private KeepAliveStrategy keepAliveStrategy = new DefaultKeepAliveStrategy();
+        private @Nullable AddressSelectionPolicy addressSelectionPolicy;
 
         // ssl
         private boolean useOpenSsl = defaultUseOpenSsl();
+        private boolean http2Enabled = defaultHttp2Enabled();
+        private boolean http2PriorKnowledge = defaultHttp2PriorKnowledge();
+        private Set<String> pipeliningHosts = Collections.emptySet();
+        private int maxPipelinedRequests = defaultMaxPipelinedRequests();
         private boolean useInsecureTrustManager = defaultUseInsecureTrustManager();
         private boolean disableHttpsEndpointIdentificationAlgorithm = defaultDisableHttpsEndpointIdentificationAlgorithm();
         private int handshakeTimeout = defaultHandshakeTimeout();
@@ -836,6 +1102,8 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         private boolean filterInsecureCipherSuites = defaultFilterInsecureCipherSuites();
         private int sslSessionCacheSize = defaultSslSessionCacheSize();
         private int sslSessionTimeout = defaultSslSessionTimeout();
+        private int sslHandshakeThreads = defaultSslHandshakeThreads();
+        private int sslHandshakeQueueSize = defaultSslHandshakeQueueSize();
         private @Nullable SslContext sslContext;
         private @Nullable SslEngineFactory sslEngineFactory;
 
@@ -847,6 +1115,7 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
         private boolean tcpNoDelay = defaultTcpNoDelay();
         private boolean soReuseAddress = defaultSoReuseAddress();
         private boolean soKeepAlive = defaultSoKeepAlive();
+        private boolean tcpFastOpen = defaultTcpFastOpen();
         private int soLinger = defaultSoLinger();
         private int soSndBuf = defaultSoSndBuf();
         private int soRcvBuf = defaultSoRcvBuf();
@@ -885,6 +1154,13 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
             userAgent = config.getUserAgent();
             realm = config.getRealm();
             maxRequestRetry = config.getMaxRequestRetry();
+            hedgingDelay = config.getHedgingDelay();
+            hedgingLatencyPercentile = config.getHedgingLatencyPercentile();
+            hedgingBudgetPercent = config.getHedgingBudgetPercent();
+            retryBackoff = config.getRetryBackoff();
+            retryMaxBackoff = config.getRetryMaxBackoff();
+            retryBudgetPercent = config.getRetryBudgetPercent();
+            retryPolicy = config.getRetryPolicy();
             disableUrlEncodingForBoundRequests = config.isDisableUrlEncodingForBoundRequests();
             useLaxCookieEncoder = config.isUseLaxCookieEncoder();
             disableZeroCopy = config.isDisableZeroCopy();
@@ -900,6 +1176,7 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
 
             // timeouts
             connectTimeout = config.getConnectTimeout();
+            connectionAttemptDelay = config.getConnectionAttemptDelay();
             requestTimeout = config.getRequestTimeout();
             readTimeout = config.getReadTimeout();
             shutdownQuietPeriod = config.getShutdownQuietPeriod();
@@ -910,15 +1187,31 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
             pooledConnectionIdleTimeout = config.getPooledConnectionIdleTimeout();
             connectionPoolCleanerPeriod = config.getConnectionPoolCleanerPeriod();
             connectionTtl = config.getConnectionTtl();
+            connectionTtlJitter = config.getConnectionTtlJitter();
+            maxRequestsPerConnection = config.getMaxRequestsPerConnection();
+            validatePooledConnections = config.isValidatePooledConnections();
+            pooledConnectionStrictValidationIdleTime = config.getPooledConnectionStrictValidationIdleTime();
             maxConnections = config.getMaxConnections();
             maxConnectionsPerHost = config.getMaxConnectionsPerHost();
             channelPool = config.getChannelPool();
+            channelPoolFactory = config.getChannelPoolFactory();
+            nameResolver = config.getNameResolver();
             connectionSemaphoreFactory = config.getConnectionSemaphoreFactory();
             keepAliveStrategy = config.getKeepAliveStrategy();
+            addressSelectionPolicy = config.getAddressSelectionPolicy();
             acquireFreeChannelTimeout = config.getAcquireFreeChannelTimeout();
+            circuitBreakerFailureRateThreshold = config.getCircuitBreakerFailureRateThreshold();
+            circuitBreakerMinimumRequests = config.getCircuitBreakerMinimumRequests();
+            circuitBreakerWindow = config.getCircuitBreakerWindow();
+            circuitBreakerOpenDuration = config.getCircuitBreakerOpenDuration();
+            circuitBreakerHalfOpenProbes = config.getCircuitBreakerHalfOpenProbes();
 
             // ssl
             useOpenSsl = config.isUseOpenSsl();
+            http2Enabled = config.isHttp2Enabled();
+            http2PriorKnowledge = config.isHttp2PriorKnowledge();
+            pipeliningHosts = config.getPipeliningHosts();
+            maxPipelinedRequests = config.getMaxPipelinedRequests();
             useInsecureTrustManager = config.isUseInsecureTrustManager();
             disableHttpsEndpointIdentificationAlgorithm = config.isDisableHttpsEndpointIdentificationAlgorithm();
             handshakeTimeout = config.getHandshakeTimeout();
@@ -927,6 +1220,8 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
             filterInsecureCipherSuites = config.isFilterInsecureCipherSuites();
             sslSessionCacheSize = config.getSslSessionCacheSize();
             sslSessionTimeout = config.getSslSessionTimeout();
+            sslHandshakeThreads = config.getSslHandshakeThreads();
+            sslHandshakeQueueSize = config.getSslHandshakeQueueSize();
             sslContext = config.getSslContext();
             sslEngineFactory = config.getSslEngineFactory();
 
@@ -943,6 +1238,7 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
             tcpNoDelay = config.isTcpNoDelay();
             soReuseAddress = config.isSoReuseAddress();
             soKeepAlive = config.isSoKeepAlive();
+            tcpFastOpen = config.isTcpFastOpen();
             soLinger = config.getSoLinger();
             soSndBuf = config.getSoSndBuf();
             soRcvBuf = config.getSoRcvBuf();
@@ -1030,6 +1326,70 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
             return this;
         }
 
+        /**
+         * @param hedgingDelay the delay after which a duplicate of an idempotent request is sent, zero by default to disable hedging
+         * @return the same builder instance
+         */
+        public Builder setHedgingDelay(Duration hedgingDelay) {
+            this.hedgingDelay = hedgingDelay;
+            return this;
+        }
+
+        /**
+         * @param hedgingLatencyPercentile the latency percentile, between 1 and 99, after which a duplicate of an idempotent request is sent,
+         *                                 0 by default
+         * @return the same builder instance
+         */
+        public Builder setHedgingLatencyPercentile(int hedgingLatencyPercentile) {
+            this.hedgingLatencyPercentile = hedgingLatencyPercentile;
+            return this;
+        }
+
+        /**
+         * @param hedgingBudgetPercent the maximum number of duplicate requests, as a percentage of the hedgeable requests, 10 by default
+         * @return the same builder instance
+         */
+        public Builder setHedgingBudgetPercent(int hedgingBudgetPercent) {
+            this.hedgingBudgetPercent = hedgingBudgetPercent;
+            return this;
+        }
+
+        /**
+         * @param retryBackoff the base delay of the exponential backoff between retries, zero by default to retry immediately
+         * @return the same builder instance
+         */
+        public Builder setRetryBackoff(Duration retryBackoff) {
+            this.retryBackoff = retryBackoff;
+            return this;
+        }
+
+        /**
+         * @param retryMaxBackoff the maximum delay between retries, 10 seconds by default
+         * @return the same builder instance
+         */
+        public Builder setRetryMaxBackoff(Duration retryMaxBackoff) {
+            this.retryMaxBackoff = retryMaxBackoff;
+            return this;
+        }
+
+        /**
+         * @param retryBudgetPercent the maximum number of retries, as a percentage of the requests, -1 by default to not limit them
+         * @return the same builder instance
+         */
+        public Builder setRetryBudgetPercent(int retryBudgetPercent) {
+            this.retryBudgetPercent = retryBudgetPercent;
+            return this;
+        }
+
+        /**
+         * @param retryPolicy the policy deciding if and when failed requests are retried
+         * @return the same builder instance
+         */
+        public Builder setRetryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
         public Builder setDisableUrlEncodingForBoundRequests(boolean disableUrlEncodingForBoundRequests) {
             this.disableUrlEncodingForBoundRequests = disableUrlEncodingForBoundRequests;
             return this;
@@ -1106,6 +1466,18 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
             return this;
         }
 
+        /**
+         * Enable racing connect attempts (Happy Eyeballs, RFC 8305) when a host resolves to multiple addresses:
+         * IPv6 and IPv4 addresses are interleaved, a new attempt is started every {@code connectionAttemptDelay}, and the first connected channel wins.
+         *
+         * @param connectionAttemptDelay the delay between two attempts, zero or negative to try addresses one after the other
+         * @return the same builder instance
+         */
+        public Builder setConnectionAttemptDelay(Duration connectionAttemptDelay) {
+            this.connectionAttemptDelay = connectionAttemptDelay;
+            return this;
+        }
+
         public Builder setRequestTimeout(Duration requestTimeout) {
             this.requestTimeout = requestTimeout;
             return this;
@@ -1147,6 +1519,44 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
             return this;
         }
 
+        /**
+         * @param connectionTtlJitter the maximum random amount the TTL of each connection is shortened by, zero by default
+         * @return the same builder instance
+         */
+        public Builder setConnectionTtlJitter(Duration connectionTtlJitter) {
+            this.connectionTtlJitter = connectionTtlJitter;
+            return this;
+        }
+
+        /**
+         * @param maxRequestsPerConnection the maximum number of requests sent on a connection, 0 by default for no limit
+         * @return the same builder instance
+         */
+        public Builder setMaxRequestsPerConnection(int maxRequestsPerConnection) {
+            this.maxRequestsPerConnection = maxRequestsPerConnection;
+            return this;
+        }
+
+        /**
+         * Discard the pooled connections that were closed or half-closed by the server instead of sending them a request that would fail.
+         *
+         * @param validatePooledConnections true to validate the pooled connections when leasing them, false by default
+         * @return the same builder instance
+         */
+        public Builder setValidatePooledConnections(boolean validatePooledConnections) {
+            this.validatePooledConnections = validatePooledConnections;
+            return this;
+        }
+
+        /**
+         * @param pooledConnectionStrictValidationIdleTime the idle time after which a pooled connection gets a strict validation, 5 seconds by default
+         * @return the same builder instance
+         */
+        public Builder setPooledConnectionStrictValidationIdleTime(Duration pooledConnectionStrictValidationIdleTime) {
+            this.pooledConnectionStrictValidationIdleTime = pooledConnectionStrictValidationIdleTime;
+            return this;
+        }
+
         public Builder setMaxConnections(int maxConnections) {
             this.maxConnections = maxConnections;
             return this;
@@ -1168,11 +1578,79 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
             return this;
         }
 
+        /**
+         * @param circuitBreakerFailureRateThreshold the percentage of failed requests, between 1 and 100, opening the circuit of a pool partition,
+         *                                           0 by default to disable circuit breaking
+         * @return the same builder instance
+         */
+        public Builder setCircuitBreakerFailureRateThreshold(int circuitBreakerFailureRateThreshold) {
+            this.circuitBreakerFailureRateThreshold = circuitBreakerFailureRateThreshold;
+            return this;
+        }
+
+        /**
+         * @param circuitBreakerMinimumRequests the number of completed requests within the window below which a circuit never opens, 20 by default
+         * @return the same builder instance
+         */
+        public Builder setCircuitBreakerMinimumRequests(int circuitBreakerMinimumRequests) {
+            this.circuitBreakerMinimumRequests = circuitBreakerMinimumRequests;
+            return this;
+        }
+
+        /**
+         * @param circuitBreakerWindow the window over which the failure rate is computed, 10 seconds by default
+         * @return the same builder instance
+         */
+        public Builder setCircuitBreakerWindow(Duration circuitBreakerWindow) {
+            this.circuitBreakerWindow = circuitBreakerWindow;
+            return this;
+        }
+
+        /**
+         * @param circuitBreakerOpenDuration how long a circuit stays open before letting probe requests through, 10 seconds by default
+         * @return the same builder instance
+         */
+        public Builder setCircuitBreakerOpenDuration(Duration circuitBreakerOpenDuration) {
+            this.circuitBreakerOpenDuration = circuitBreakerOpenDuration;
+            return this;
+        }
+
+        /**
+         * @param circuitBreakerHalfOpenProbes the maximum number of probe requests let through a half-open circuit, 1 by default
+         * @return the same builder instance
+         */
+        public Builder setCircuitBreakerHalfOpenProbes(int circuitBreakerHalfOpenProbes) {
+            this.circuitBreakerHalfOpenProbes = circuitBreakerHalfOpenProbes;
+            return this;
+        }
+
         public Builder setChannelPool(ChannelPool channelPool) {
             this.channelPool = channelPool;
             return this;
         }
 
+        /**
+         * Set the factory used to create the connection pool when no {@link ChannelPool} is set.
+         *
+         * @param channelPoolFactory the factory, {@link ChannelPoolFactory#DEFAULT} by default
+         * @return the same builder instance
+         */
+        public Builder setChannelPoolFactory(ChannelPoolFactory channelPoolFactory) {
+            this.channelPoolFactory = channelPoolFactory;
+            return this;
+        }
+
+        /**
+         * Set the {@link NameResolver} used for requests that don't set their own one.
+         *
+         * @param nameResolver the resolver, for example a {@link org.asynchttpclient.resolver.CachingNameResolver}
+         * @return the same builder instance
+         */
+        public Builder setNameResolver(NameResolver<InetAddress> nameResolver) {
+            this.nameResolver = nameResolver;
+            return this;
+        }
+
         public Builder setConnectionSemaphoreFactory(ConnectionSemaphoreFactory connectionSemaphoreFactory) {
             this.connectionSemaphoreFactory = connectionSemaphoreFactory;
             return this;
@@ -1183,12 +1661,61 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
             return this;
         }
 
+        /**
+         * @param addressSelectionPolicy the policy picking which resolved address new connections are opened to, null by default
+         * @return the same builder instance
+         */
+        public Builder setAddressSelectionPolicy(AddressSelectionPolicy addressSelectionPolicy) {
+            this.addressSelectionPolicy = addressSelectionPolicy;
+            return this;
+        }
+
         // ssl
         public Builder setUseOpenSsl(boolean useOpenSsl) {
             this.useOpenSsl = useOpenSsl;
             return this;
         }
 
+        /**
+         * Offer HTTP/2 with ALPN on TLS connections. HTTP/1.1 is still used with servers that don't select h2.
+         *
+         * @param http2Enabled true to offer HTTP/2, false by default
+         * @return the same builder instance
+         */
+        public Builder setHttp2Enabled(boolean http2Enabled) {
+            this.http2Enabled = http2Enabled;
+            return this;
+        }
+
+        /**
+         * Speak HTTP/2 right away on cleartext connections, for servers known to support h2c. Only used when HTTP/2 is enabled.
+         *
+         * @param http2PriorKnowledge true to use h2c with prior knowledge, false by default
+         * @return the same builder instance
+         */
+        public Builder setHttp2PriorKnowledge(boolean http2PriorKnowledge) {
+            this.http2PriorKnowledge = http2PriorKnowledge;
+            return this;
+        }
+
+        /**
+         * @param pipeliningHosts the hosts, compared case-insensitively, to which GET and HEAD requests without a body are pipelined
+         * @return the same builder instance
+         */
+        public Builder setPipeliningHosts(Set<String> pipeliningHosts) {
+            this.pipeliningHosts = pipeliningHosts;
+            return this;
+        }
+
+        /**
+         * @param maxPipelinedRequests the maximum number of requests in flight on a pipelined connection, 4 by default
+         * @return the same builder instance
+         */
+        public Builder setMaxPipelinedRequests(int maxPipelinedRequests) {
+            this.maxPipelinedRequests = maxPipelinedRequests;
+            return this;
+        }
+
         public Builder setUseInsecureTrustManager(boolean useInsecureTrustManager) {
             this.useInsecureTrustManager = useInsecureTrustManager;
             return this;
@@ -1229,6 +1756,24 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
             return this;
         }
 
+        /**
+         * @param sslHandshakeThreads the number of threads TLS handshake tasks are offloaded to, 0 by default to run them on the event loop
+         * @return the same builder instance
+         */
+        public Builder setSslHandshakeThreads(int sslHandshakeThreads) {
+            this.sslHandshakeThreads = sslHandshakeThreads;
+            return this;
+        }
+
+        /**
+         * @param sslHandshakeQueueSize the maximum number of TLS handshake tasks waiting for a handshake thread, 1024 by default
+         * @return the same builder instance
+         */
+        public Builder setSslHandshakeQueueSize(int sslHandshakeQueueSize) {
+            this.sslHandshakeQueueSize = sslHandshakeQueueSize;
+            return this;
+        }
+
         public Builder setSslContext(final SslContext sslContext) {
             this.sslContext = sslContext;
             return this;
@@ -1297,6 +1842,16 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
             return this;
         }
 
+        /**
+         * @param tcpFastOpen if new plaintext connections should be opened with TCP Fast Open on Linux native transports, false by default.
+         *                    It requires the net.ipv4.tcp_fastopen sysctl to enable client support
+         * @return the same builder instance
+         */
+        public Builder setTcpFastOpen(boolean tcpFastOpen) {
+            this.tcpFastOpen = tcpFastOpen;
+            return this;
+        }
+
         public Builder setSoLinger(int soLinger) {
             this.soLinger = soLinger;
             return this;
@@ -1436,6 +1991,13 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
                     userAgent,
                     realm,
                     maxRequestRetry,
+                    hedgingDelay,
+                    hedgingLatencyPercentile,
+                    hedgingBudgetPercent,
+                    retryBackoff,
+                    retryMaxBackoff,
+                    retryBudgetPercent,
+                    retryPolicy,
                     disableUrlEncodingForBoundRequests,
                     useLaxCookieEncoder,
                     disableZeroCopy,
@@ -1445,6 +2007,7 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
                     aggregateWebSocketFrameFragments,
                     enablewebSocketCompression,
                     connectTimeout,
+                    connectionAttemptDelay,
                     requestTimeout,
                     readTimeout,
                     shutdownQuietPeriod,
@@ -1453,13 +2016,29 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
                     pooledConnectionIdleTimeout,
                     connectionPoolCleanerPeriod,
                     connectionTtl,
+                    connectionTtlJitter,
+                    maxRequestsPerConnection,
+                    validatePooledConnections,
+                    pooledConnectionStrictValidationIdleTime,
                     maxConnections,
                     maxConnectionsPerHost,
                     acquireFreeChannelTimeout,
+                    circuitBreakerFailureRateThreshold,
+                    circuitBreakerMinimumRequests,
+                    circuitBreakerWindow,
+                    circuitBreakerOpenDuration,
+                    circuitBreakerHalfOpenProbes,
                     channelPool,
+                    channelPoolFactory,
+                    nameResolver,
                     connectionSemaphoreFactory,
                     keepAliveStrategy,
+                    addressSelectionPolicy,
                     useOpenSsl,
+                    http2Enabled,
+                    http2PriorKnowledge,
+                    pipeliningHosts,
+                    maxPipelinedRequests,
                     useInsecureTrustManager,
                     disableHttpsEndpointIdentificationAlgorithm,
                     handshakeTimeout,
@@ -1468,6 +2047,8 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
                     filterInsecureCipherSuites,
                     sslSessionCacheSize,
                     sslSessionTimeout,
+                    sslHandshakeThreads,
+                    sslHandshakeQueueSize,
                     sslContext,
                     sslEngineFactory,
                     requestFilters.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(requestFilters),
@@ -1478,6 +2059,7 @@ public class DefaultAsyncHttpClientConfig implements AsyncHttpClientConfig {
                     tcpNoDelay,
                     soReuseAddress,
                     soKeepAlive,
+                    tcpFastOpen,
                     soLinger,
                     soSndBuf,
                     soRcvBuf,
@@ -46,6 +46,7 @@ public class DefaultRequest implements Request {
     private final Uri uri;
     private final @Nullable InetAddress address;
     private final @Nullable InetAddress localAddress;
+    private final @Nullable String unixDomainSocketPath;
     private final HttpHeaders headers;
     private final List<Cookie> cookies;
     private final byte @Nullable [] byteData;
@@ -75,6 +76,7 @@ public class DefaultRequest implements Request {
                           Uri uri,
                           @Nullable InetAddress address,
                           @Nullable InetAddress localAddress,
+                          @Nullable String unixDomainSocketPath,
                           HttpHeaders headers,
                           List<Cookie> cookies,
                           byte @Nullable [] byteData,
@@ -101,6 +103,7 @@ public class DefaultRequest implements Request {
         this.uri = uri;
         this.address = address;
         this.localAddress = localAddress;
+        this.unixDomainSocketPath = unixDomainSocketPath;
         this.headers = headers;
         this.cookies = cookies;
         this.byteData = byteData;
@@ -150,6 +153,11 @@ public class DefaultRequest implements Request {
         return localAddress;
     }
 
+    @Override
+    public @Nullable String getUnixDomainSocketPath() {
+        return unixDomainSocketPath;
+    }
+
     @Override
     public HttpHeaders getHeaders() {
         return headers;
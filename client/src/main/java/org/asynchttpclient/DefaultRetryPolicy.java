@@ -0,0 +1,125 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import io.netty.handler.codec.http.HttpHeaders;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static io.netty.handler.codec.http.HttpHeaderNames.RETRY_AFTER;
+import static org.asynchttpclient.util.HttpUtils.isIdempotent;
+
+/**
+ * The default {@link RetryPolicy}.
+ * <p>
+ * A request that failed without a response is retried, unless it's configured to only retry the idempotent requests that may have
+ * reached the server. A request that received a response is retried if it's idempotent and the status code is one of the retryable
+ * ones, none by default, honoring the {@code Retry-After} header as long as it doesn't exceed the maximum backoff.
+ * <p>
+ * The delay before a retry is drawn at random between zero and an exponential backoff (the base delay, doubled at each retry, capped
+ * at the maximum backoff), so that the clients that failed at the same time don't retry at the same time.
+ */
+public class DefaultRetryPolicy implements RetryPolicy {
+
+    private final long backoffNanos;
+    private final long maxBackoffNanos;
+    private final Set<Integer> retryableStatusCodes;
+    private final boolean idempotentOnlyOnceSent;
+
+    public DefaultRetryPolicy(Duration backoff, Duration maxBackoff) {
+        this(backoff, maxBackoff, Collections.emptySet());
+    }
+
+    /**
+     * @param backoff              the base delay of the exponential backoff, zero to retry immediately
+     * @param maxBackoff           the maximum delay before a retry
+     * @param retryableStatusCodes the status codes of the responses for which an idempotent request is retried, e.g. 502, 503 and 504
+     */
+    public DefaultRetryPolicy(Duration backoff, Duration maxBackoff, Set<Integer> retryableStatusCodes) {
+        this(backoff, maxBackoff, retryableStatusCodes, false);
+    }
+
+    /**
+     * @param idempotentOnlyOnceSent true to not retry the non-idempotent requests, e.g. a POST, that failed after they may have reached the
+     *                               server, as the server might have processed them; false to retry them like any other, as the client
+     *                               always did
+     */
+    public DefaultRetryPolicy(Duration backoff, Duration maxBackoff, Set<Integer> retryableStatusCodes, boolean idempotentOnlyOnceSent) {
+        this.idempotentOnlyOnceSent = idempotentOnlyOnceSent;
+        backoffNanos = backoff.toNanos();
+        maxBackoffNanos = maxBackoff.toNanos();
+        this.retryableStatusCodes = Collections.unmodifiableSet(new HashSet<>(retryableStatusCodes));
+    }
+
+    @Override
+    public @Nullable Duration retryDelayOnFailure(Request request, Throwable cause, boolean requestSent, int retryCount) {
+        if (idempotentOnlyOnceSent && requestSent && !isIdempotent(request.getMethod())) {
+            return null;
+        }
+        return backoff(retryCount);
+    }
+
+    @Override
+    public @Nullable Duration retryDelayOnStatus(Request request, HttpResponseStatus status, HttpHeaders headers, int retryCount) {
+        if (!retryableStatusCodes.contains(status.getStatusCode()) || !isIdempotent(request.getMethod())) {
+            return null;
+        }
+        Duration backoff = backoff(retryCount);
+        Duration retryAfter = retryAfter(headers.get(RETRY_AFTER));
+        if (retryAfter == null || retryAfter.compareTo(backoff) <= 0) {
+            return backoff;
+        }
+        // don't retry if the server asks to wait for longer than the maximum backoff
+        return retryAfter.toNanos() <= maxBackoffNanos ? retryAfter : null;
+    }
+
+    /**
+     * @return a random delay between zero and the exponential backoff of the retry
+     */
+    protected Duration backoff(int retryCount) {
+        if (backoffNanos <= 0) {
+            return Duration.ZERO;
+        }
+        long ceiling = retryCount >= Long.numberOfLeadingZeros(backoffNanos) - 1 ? maxBackoffNanos : Math.min(backoffNanos << retryCount, maxBackoffNanos);
+        return Duration.ofNanos(ThreadLocalRandom.current().nextLong(Math.max(ceiling, 1)));
+    }
+
+    private static @Nullable Duration retryAfter(@Nullable String value) {
+        if (value == null) {
+            return null;
+        }
+        value = value.trim();
+        try {
+            return Duration.ofSeconds(Math.max(Long.parseLong(value), 0));
+        } catch (NumberFormatException e) {
+            // not delay-seconds, try an HTTP-date
+        }
+        try {
+            Duration delay = Duration.between(ZonedDateTime.now(), ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME));
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
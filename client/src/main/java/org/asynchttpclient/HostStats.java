@@ -24,10 +24,16 @@ public class HostStats {
 
     private final long activeConnectionCount;
     private final long idleConnectionCount;
+    private final long retryCount;
 
     public HostStats(long activeConnectionCount, long idleConnectionCount) {
+        this(activeConnectionCount, idleConnectionCount, 0);
+    }
+
+    public HostStats(long activeConnectionCount, long idleConnectionCount, long retryCount) {
         this.activeConnectionCount = activeConnectionCount;
         this.idleConnectionCount = idleConnectionCount;
+        this.retryCount = retryCount;
     }
 
     /**
@@ -52,6 +58,13 @@ public class HostStats {
         return idleConnectionCount;
     }
 
+    /**
+     * @return A long representing the number of times the requests to the host were retried.
+     */
+    public long getHostRetryCount() {
+        return retryCount;
+    }
+
     @Override
     public String toString() {
         return "There are " + getHostConnectionCount() +
@@ -68,11 +81,12 @@ public class HostStats {
             return false;
         }
         final HostStats hostStats = (HostStats) o;
-        return activeConnectionCount == hostStats.activeConnectionCount && idleConnectionCount == hostStats.idleConnectionCount;
+        return activeConnectionCount == hostStats.activeConnectionCount && idleConnectionCount == hostStats.idleConnectionCount
+                && retryCount == hostStats.retryCount;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(activeConnectionCount, idleConnectionCount);
+        return Objects.hash(activeConnectionCount, idleConnectionCount, retryCount);
     }
 }
@@ -76,6 +76,13 @@ public interface Request {
     @Nullable
     InetAddress getLocalAddress();
 
+    /**
+     * @return the path of the Unix domain socket to connect to instead of the uri's host and port, the uri still being used for the request line
+     * and the Host header
+     */
+    @Nullable
+    String getUnixDomainSocketPath();
+
     /**
      * @return the HTTP headers
      */
@@ -71,6 +71,7 @@ public abstract class RequestBuilderBase<T extends RequestBuilderBase<T>> {
     protected @Nullable Uri uri;
     protected @Nullable InetAddress address;
     protected @Nullable InetAddress localAddress;
+    protected @Nullable String unixDomainSocketPath;
     protected HttpHeaders headers;
     protected @Nullable ArrayList<Cookie> cookies;
     protected byte @Nullable [] byteData;
@@ -114,6 +115,7 @@ public abstract class RequestBuilderBase<T extends RequestBuilderBase<T>> {
         uri = prototype.getUri();
         address = prototype.getAddress();
         localAddress = prototype.getLocalAddress();
+        unixDomainSocketPath = prototype.getUnixDomainSocketPath();
         headers = new DefaultHttpHeaders(validateHeaders);
         headers.add(prototype.getHeaders());
         if (isNonEmpty(prototype.getCookies())) {
@@ -169,6 +171,18 @@ public abstract class RequestBuilderBase<T extends RequestBuilderBase<T>> {
         return asDerivedType();
     }
 
+    /**
+     * Connect to a Unix domain socket, e.g. the one of a local sidecar, instead of the uri's host and port.
+     * Connections are pooled per socket path. This requires the Epoll or the KQueue native transport.
+     *
+     * @param unixDomainSocketPath the path of the socket, or null to connect to the uri's host and port
+     * @return this builder
+     */
+    public T setUnixDomainSocketPath(@Nullable String unixDomainSocketPath) {
+        this.unixDomainSocketPath = unixDomainSocketPath;
+        return asDerivedType();
+    }
+
     public T setVirtualHost(String virtualHost) {
         this.virtualHost = virtualHost;
         return asDerivedType();
@@ -592,6 +606,7 @@ public abstract class RequestBuilderBase<T extends RequestBuilderBase<T>> {
         rb.uri = uri;
         rb.address = address;
         rb.localAddress = localAddress;
+        rb.unixDomainSocketPath = unixDomainSocketPath;
         rb.byteData = byteData;
         rb.compositeByteData = compositeByteData;
         rb.stringData = stringData;
@@ -638,6 +653,14 @@ public abstract class RequestBuilderBase<T extends RequestBuilderBase<T>> {
         return uriEncoder.encode(tempUri, queryParams);
     }
 
+    private static ChannelPoolPartitioning channelPoolPartitioning(ChannelPoolPartitioning partitioning, @Nullable String unixDomainSocketPath) {
+        // the partitioning might come from a request targeting another socket
+        if (partitioning instanceof ChannelPoolPartitioning.UnixDomainSocketChannelPoolPartitioning) {
+            partitioning = ((ChannelPoolPartitioning.UnixDomainSocketChannelPoolPartitioning) partitioning).getDelegate();
+        }
+        return unixDomainSocketPath != null ? new ChannelPoolPartitioning.UnixDomainSocketChannelPoolPartitioning(partitioning, unixDomainSocketPath) : partitioning;
+    }
+
     public Request build() {
         updateCharset();
         RequestBuilderBase<?> rb = executeSignatureCalculator();
@@ -652,6 +675,7 @@ public abstract class RequestBuilderBase<T extends RequestBuilderBase<T>> {
                 finalUri,
                 rb.address,
                 rb.localAddress,
+                rb.unixDomainSocketPath,
                 rb.headers,
                 cookiesCopy,
                 rb.byteData,
@@ -672,7 +696,7 @@ public abstract class RequestBuilderBase<T extends RequestBuilderBase<T>> {
                 rb.readTimeout,
                 rb.rangeOffset,
                 rb.charset,
-                rb.channelPoolPartitioning,
+                channelPoolPartitioning(rb.channelPoolPartitioning, rb.unixDomainSocketPath),
                 rb.nameResolver);
     }
 }
@@ -19,7 +19,10 @@ package org.asynchttpclient;
 import io.netty.buffer.ByteBuf;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.cookie.Cookie;
+import io.netty.util.ReferenceCountUtil;
 import org.asynchttpclient.netty.NettyResponse;
+import org.asynchttpclient.netty.RetainedNettyResponse;
+import org.asynchttpclient.netty.RetainedResponseBodyPart;
 import org.asynchttpclient.uri.Uri;
 import org.jetbrains.annotations.Nullable;
 
@@ -202,6 +205,8 @@ public interface Response {
         public void accumulate(HttpResponseBodyPart bodyPart) {
             if (bodyPart.length() > 0) {
                 bodyParts.add(bodyPart);
+            } else {
+                ReferenceCountUtil.release(bodyPart);
             }
         }
 
@@ -211,13 +216,25 @@ public interface Response {
          * @return a {@link Response} instance
          */
         public @Nullable Response build() {
-            return status == null ? null : new NettyResponse(status, headers, bodyParts);
+            if (status == null) {
+                return null;
+            }
+            if (!bodyParts.isEmpty() && bodyParts.get(0) instanceof RetainedResponseBodyPart) {
+                // the response takes ownership of the parts
+                Response response = new RetainedNettyResponse(status, headers, new ArrayList<>(bodyParts));
+                bodyParts.clear();
+                return response;
+            }
+            return new NettyResponse(status, headers, bodyParts);
         }
 
         /**
-         * Reset the internal state of this builder.
+         * Reset the internal state of this builder, releasing the body parts that haven't been handed over to a {@link Response}.
          */
         public void reset() {
+            for (HttpResponseBodyPart bodyPart : bodyParts) {
+                ReferenceCountUtil.release(bodyPart);
+            }
             bodyParts.clear();
             status = null;
             headers = null;
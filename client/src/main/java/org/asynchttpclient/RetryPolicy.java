@@ -0,0 +1,55 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import io.netty.handler.codec.http.HttpHeaders;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+
+/**
+ * Decides if and when a request is retried.
+ * <p>
+ * The policy is only consulted for the retries the client is able to perform: as long as {@link AsyncHttpClientConfig#getMaxRequestRetry()}
+ * isn't reached, the request can be sent again, and the retry budget (see {@link AsyncHttpClientConfig#getRetryBudgetPercent()}) isn't exhausted.
+ * The retries are scheduled on the client timer. The callbacks are invoked from the event loops, implementations must be thread-safe
+ * and must not block.
+ *
+ * @see DefaultRetryPolicy
+ */
+public interface RetryPolicy {
+
+    /**
+     * @param request     the request that failed without a response
+     * @param cause       the cause of the failure
+     * @param requestSent false if the request failed before being written, e.g. while connecting, true if it may have reached the server
+     * @param retryCount  the number of times the request was already retried
+     * @return the delay before retrying the request, or null to not retry it
+     */
+    @Nullable
+    Duration retryDelayOnFailure(Request request, Throwable cause, boolean requestSent, int retryCount);
+
+    /**
+     * @param request    the request that received a response
+     * @param status     the status of the response
+     * @param headers    the headers of the response
+     * @param retryCount the number of times the request was already retried
+     * @return the delay before retrying the request, in which case the response is discarded, or null to hand the response over to the
+     * {@link AsyncHandler}
+     */
+    @Nullable
+    Duration retryDelayOnStatus(Request request, HttpResponseStatus status, HttpHeaders headers, int retryCount);
+}
@@ -31,6 +31,20 @@ public interface SslEngineFactory {
      */
     SSLEngine newSslEngine(AsyncHttpClientConfig config, String peerHost, int peerPort);
 
+    /**
+     * Creates a new {@link SSLEngine} for a connection that may or may not be switched to HTTP/2.
+     * Defaults to {@link #newSslEngine(AsyncHttpClientConfig, String, int)}, so that the protocols offered with ALPN are the ones configured on the engine.
+     *
+     * @param config     the client config
+     * @param peerHost   the peer hostname
+     * @param peerPort   the peer port
+     * @param allowHttp2 false if the connection must stick to HTTP/1.1, e.g. for WebSockets, so h2 must not be offered with ALPN
+     * @return new engine
+     */
+    default SSLEngine newSslEngine(AsyncHttpClientConfig config, String peerHost, int peerPort, boolean allowHttp2) {
+        return newSslEngine(config, peerHost, peerPort);
+    }
+
     /**
      * Perform any necessary one-time configuration. This will be called just once before {@code newSslEngine} is called
      * for the first time.
@@ -0,0 +1,71 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.channel;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+/**
+ * Picks which of the addresses a host was resolved to new connections are opened to, based on what was observed on the previous requests.
+ * <p>
+ * The policy is shared by all the hosts of the client: the addresses are the ones of the target, or of the proxy when there's one.
+ * The callbacks are invoked from the event loops, implementations must be thread-safe and must not block.
+ *
+ * @see DefaultAddressSelectionPolicy
+ */
+public interface AddressSelectionPolicy {
+
+    /**
+     * @param addresses the resolved addresses, in the order returned by the name resolver
+     * @return the addresses in the order connecting should be attempted in
+     */
+    List<InetSocketAddress> select(List<InetSocketAddress> addresses);
+
+    /**
+     * @return false if the address is currently ejected, in which case its idle pooled connections are closed instead of being reused
+     */
+    boolean isAvailable(InetSocketAddress address);
+
+    /**
+     * Notify the policy that connecting to an address failed.
+     */
+    void onConnectFailure(InetSocketAddress address, Throwable cause);
+
+    /**
+     * Notify the policy that a request was written on a connection to an address.
+     * It's followed by exactly one of {@link #onResponseReceived(InetSocketAddress, long)}, {@link #onRequestFailed(InetSocketAddress, Throwable)}
+     * or {@link #onRequestCancelled(InetSocketAddress)}.
+     */
+    void onRequestSent(InetSocketAddress address);
+
+    /**
+     * @param latencyNanos the time between the request being written and the response headers being received
+     */
+    void onResponseReceived(InetSocketAddress address, long latencyNanos);
+
+    /**
+     * @param cause the cause of the failure, null if the connection was closed before the response was received and the request retried
+     */
+    void onRequestFailed(InetSocketAddress address, @Nullable Throwable cause);
+
+    /**
+     * Notify the policy that a request written on a connection to an address was cancelled before its response was received,
+     * e.g. a losing hedged attempt. It says nothing about the health of the address.
+     */
+    void onRequestCancelled(InetSocketAddress address);
+}
@@ -19,6 +19,8 @@ import io.netty.channel.Channel;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
 
 public interface ChannelPool {
@@ -75,4 +77,28 @@ public interface ChannelPool {
      * @return The number of idle channels per host.
      */
     Map<String, Long> getIdleChannelCountPerHost();
+
+    /**
+     * @param partitionKey the partition key
+     * @return the number of idle channels in the partition
+     * @throws UnsupportedOperationException if the pool doesn't support it
+     */
+    default int getIdleChannelCount(Object partitionKey) {
+        throw new UnsupportedOperationException(getClass().getName() + " doesn't implement ChannelPool#getIdleChannelCount");
+    }
+
+    /**
+     * Keep at least {@code minIdle} idle channels in a partition.
+     * <p>
+     * The pool periodically calls {@code connector} with the number of missing channels. The connector is expected to open them and offer
+     * them to this pool, and to complete with the number of channels actually offered.
+     *
+     * @param partitionKey the partition key
+     * @param minIdle      the minimum number of idle channels, 0 to stop maintaining the partition
+     * @param connector    opens the given number of channels
+     * @throws UnsupportedOperationException if the pool doesn't support it
+     */
+    default void setMinIdle(Object partitionKey, int minIdle, IntFunction<CompletableFuture<Integer>> connector) {
+        throw new UnsupportedOperationException(getClass().getName() + " doesn't implement ChannelPool#setMinIdle, minIdle connections can't be maintained");
+    }
 }
@@ -58,6 +58,64 @@ public interface ChannelPoolPartitioning {
         }
     }
 
+    /**
+     * Partitions the connections to a Unix domain socket by socket path, on top of the partitioning of the request.
+     */
+    final class UnixDomainSocketChannelPoolPartitioning implements ChannelPoolPartitioning {
+
+        private final ChannelPoolPartitioning delegate;
+        private final String unixDomainSocketPath;
+
+        public UnixDomainSocketChannelPoolPartitioning(ChannelPoolPartitioning delegate, String unixDomainSocketPath) {
+            this.delegate = delegate;
+            this.unixDomainSocketPath = unixDomainSocketPath;
+        }
+
+        public ChannelPoolPartitioning getDelegate() {
+            return delegate;
+        }
+
+        @Override
+        public Object getPartitionKey(Uri uri, @Nullable String virtualHost, @Nullable ProxyServer proxyServer) {
+            return new UnixDomainSocketPartitionKey(unixDomainSocketPath, delegate.getPartitionKey(uri, virtualHost, proxyServer));
+        }
+    }
+
+    final class UnixDomainSocketPartitionKey {
+        private final String unixDomainSocketPath;
+        private final Object partitionKey;
+
+        UnixDomainSocketPartitionKey(String unixDomainSocketPath, Object partitionKey) {
+            this.unixDomainSocketPath = unixDomainSocketPath;
+            this.partitionKey = partitionKey;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            UnixDomainSocketPartitionKey that = (UnixDomainSocketPartitionKey) o;
+            return unixDomainSocketPath.equals(that.unixDomainSocketPath) && partitionKey.equals(that.partitionKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(unixDomainSocketPath, partitionKey);
+        }
+
+        @Override
+        public String toString() {
+            return "UnixDomainSocketPartitionKey(" +
+                    "unixDomainSocketPath=" + unixDomainSocketPath +
+                    ", partitionKey=" + partitionKey + ')';
+        }
+    }
+
     class CompositePartitionKey {
         private final String targetHostBaseUrl;
         private final @Nullable String virtualHost;
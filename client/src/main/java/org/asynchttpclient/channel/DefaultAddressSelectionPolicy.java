@@ -0,0 +1,230 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.channel;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An {@link AddressSelectionPolicy} keeping, per address, an exponentially weighted moving average of the latency, the number of requests
+ * in flight and the number of consecutive failures.
+ * <p>
+ * An address failing {@code maxConsecutiveFailures} times in a row, be it to connect or to answer, is ejected for {@code ejectionTime}:
+ * it's only tried once all the other addresses have failed. Once the ejection time has elapsed, a single failure ejects it again
+ * until it answers successfully.
+ * <p>
+ * The statistics of an address without requests in flight that wasn't used for {@code max(10 minutes, ejectionTime)} are dropped,
+ * so they don't pile up as hosts come and go.
+ */
+public class DefaultAddressSelectionPolicy implements AddressSelectionPolicy {
+
+    public static final int DEFAULT_MAX_CONSECUTIVE_FAILURES = 5;
+    public static final Duration DEFAULT_EJECTION_TIME = Duration.ofSeconds(30);
+
+    // weight of the latest sample in the moving average
+    private static final double EWMA_ALPHA = 0.3;
+    private static final long MIN_STATS_EXPIRY_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final Strategy strategy;
+    private final int maxConsecutiveFailures;
+    private final long ejectionTimeNanos;
+    private final long statsExpiryNanos;
+    private final ConcurrentHashMap<InetSocketAddress, AddressStats> stats = new ConcurrentHashMap<>();
+    private final AtomicInteger roundRobin = new AtomicInteger();
+    private final AtomicLong nextExpiryNanos;
+
+    public DefaultAddressSelectionPolicy(Strategy strategy) {
+        this(strategy, DEFAULT_MAX_CONSECUTIVE_FAILURES, DEFAULT_EJECTION_TIME);
+    }
+
+    /**
+     * @param strategy               how the available addresses are ordered
+     * @param maxConsecutiveFailures the number of consecutive failures after which an address is ejected
+     * @param ejectionTime           how long an address stays ejected
+     */
+    public DefaultAddressSelectionPolicy(Strategy strategy, int maxConsecutiveFailures, Duration ejectionTime) {
+        if (maxConsecutiveFailures < 1) {
+            throw new IllegalArgumentException("maxConsecutiveFailures must be positive, got " + maxConsecutiveFailures);
+        }
+        this.strategy = requireNonNull(strategy, "strategy");
+        this.maxConsecutiveFailures = maxConsecutiveFailures;
+        ejectionTimeNanos = ejectionTime.toNanos();
+        statsExpiryNanos = Math.max(MIN_STATS_EXPIRY_NANOS, ejectionTimeNanos);
+        nextExpiryNanos = new AtomicLong(System.nanoTime() + statsExpiryNanos);
+    }
+
+    @Override
+    public List<InetSocketAddress> select(List<InetSocketAddress> addresses) {
+        long now = System.nanoTime();
+        expireStats(now);
+
+        if (addresses.size() < 2) {
+            return addresses;
+        }
+
+        List<InetSocketAddress> available = new ArrayList<>(addresses.size());
+        List<InetSocketAddress> ejected = new ArrayList<>(0);
+        for (InetSocketAddress address : addresses) {
+            (isAvailable(address, now) ? available : ejected).add(address);
+        }
+
+        if (available.size() > 1) {
+            switch (strategy) {
+                case ROUND_ROBIN:
+                    Collections.rotate(available, -Math.floorMod(roundRobin.getAndIncrement(), available.size()));
+                    break;
+
+                case POWER_OF_TWO_CHOICES:
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    int first = random.nextInt(available.size());
+                    int second = random.nextInt(available.size() - 1);
+                    if (second >= first) {
+                        second++;
+                    }
+                    int best = score(available.get(first)) <= score(available.get(second)) ? first : second;
+                    available.add(0, available.remove(best));
+                    break;
+
+                case LEAST_OUTSTANDING:
+                    available.sort(Comparator.comparingInt(this::outstanding));
+                    break;
+
+                default:
+                    throw new IllegalStateException("Unknown strategy " + strategy);
+            }
+        }
+
+        // ejected addresses are a last resort
+        available.addAll(ejected);
+        return available;
+    }
+
+    @Override
+    public boolean isAvailable(InetSocketAddress address) {
+        return isAvailable(address, System.nanoTime());
+    }
+
+    private boolean isAvailable(InetSocketAddress address, long now) {
+        AddressStats addressStats = stats.get(address);
+        return addressStats == null || addressStats.ejectedUntilNanos - now <= 0;
+    }
+
+    @Override
+    public void onConnectFailure(InetSocketAddress address, Throwable cause) {
+        stats(address).onFailure();
+    }
+
+    @Override
+    public void onRequestSent(InetSocketAddress address) {
+        stats(address).outstanding.incrementAndGet();
+    }
+
+    @Override
+    public void onResponseReceived(InetSocketAddress address, long latencyNanos) {
+        AddressStats addressStats = stats(address);
+        addressStats.outstanding.decrementAndGet();
+        addressStats.onSuccess(latencyNanos);
+    }
+
+    @Override
+    public void onRequestFailed(InetSocketAddress address, @Nullable Throwable cause) {
+        AddressStats addressStats = stats(address);
+        addressStats.outstanding.decrementAndGet();
+        addressStats.onFailure();
+    }
+
+    @Override
+    public void onRequestCancelled(InetSocketAddress address) {
+        stats(address).outstanding.decrementAndGet();
+    }
+
+    private AddressStats stats(InetSocketAddress address) {
+        AddressStats addressStats = stats.computeIfAbsent(address, a -> new AddressStats());
+        addressStats.lastUsedNanos = System.nanoTime();
+        return addressStats;
+    }
+
+    // at most once per expiry period, by whichever thread gets there first
+    private void expireStats(long now) {
+        long next = nextExpiryNanos.get();
+        if (now - next < 0 || !nextExpiryNanos.compareAndSet(next, now + statsExpiryNanos)) {
+            return;
+        }
+        stats.values().removeIf(addressStats -> addressStats.outstanding.get() <= 0
+                && addressStats.ejectedUntilNanos - now <= 0
+                && now - addressStats.lastUsedNanos >= statsExpiryNanos);
+    }
+
+    private int outstanding(InetSocketAddress address) {
+        AddressStats addressStats = stats.get(address);
+        return addressStats != null ? Math.max(addressStats.outstanding.get(), 0) : 0;
+    }
+
+    // addresses without any sample yet score 0, so they get tried
+    private double score(InetSocketAddress address) {
+        AddressStats addressStats = stats.get(address);
+        return addressStats != null ? addressStats.ewmaNanos * (outstanding(address) + 1) : 0;
+    }
+
+    public enum Strategy {
+        /**
+         * Rotate through the available addresses.
+         */
+        ROUND_ROBIN,
+        /**
+         * Pick two available addresses at random and start with the one whose latency average, weighted by the number of requests in flight,
+         * is the lowest.
+         */
+        POWER_OF_TWO_CHOICES,
+        /**
+         * Start with the available address with the fewest requests in flight.
+         */
+        LEAST_OUTSTANDING
+    }
+
+    private final class AddressStats {
+
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile double ewmaNanos;
+        private volatile long ejectedUntilNanos = System.nanoTime();
+        private volatile long lastUsedNanos = ejectedUntilNanos;
+
+        private synchronized void onSuccess(long latencyNanos) {
+            ewmaNanos = ewmaNanos == 0 ? latencyNanos : ewmaNanos + EWMA_ALPHA * (latencyNanos - ewmaNanos);
+            consecutiveFailures.set(0);
+        }
+
+        private void onFailure() {
+            if (consecutiveFailures.incrementAndGet() >= maxConsecutiveFailures) {
+                ejectedUntilNanos = System.nanoTime() + ejectionTimeNanos;
+            }
+        }
+    }
+}
@@ -20,6 +20,8 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
 
 /**
@@ -75,6 +77,16 @@ public enum NoopChannelPool implements ChannelPool {
     public void flushPartitions(Predicate<Object> predicate) {
     }
 
+    /**
+     * @throws IllegalStateException if {@code minIdle} is positive, since this {@link NoopChannelPool} can't keep idle channels
+     */
+    @Override
+    public void setMinIdle(Object partitionKey, int minIdle, IntFunction<CompletableFuture<Integer>> connector) {
+        if (minIdle > 0) {
+            throw new IllegalStateException("Idle connections can't be maintained with keep-alive disabled");
+        }
+    }
+
     /**
      * @return always {@link Collections#emptyMap()} since this is a {@link NoopChannelPool}
      */
@@ -82,4 +94,12 @@ public enum NoopChannelPool implements ChannelPool {
     public Map<String, Long> getIdleChannelCountPerHost() {
         return Collections.emptyMap();
     }
+
+    /**
+     * @return always 0 since this is a {@link NoopChannelPool}
+     */
+    @Override
+    public int getIdleChannelCount(Object partitionKey) {
+        return 0;
+    }
 }
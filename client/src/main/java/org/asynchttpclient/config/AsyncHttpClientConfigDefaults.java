@@ -29,12 +29,22 @@ public final class AsyncHttpClientConfigDefaults {
     public static final String MAX_CONNECTIONS_CONFIG = "maxConnections";
     public static final String MAX_CONNECTIONS_PER_HOST_CONFIG = "maxConnectionsPerHost";
     public static final String ACQUIRE_FREE_CHANNEL_TIMEOUT = "acquireFreeChannelTimeout";
+    public static final String CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD_CONFIG = "circuitBreakerFailureRateThreshold";
+    public static final String CIRCUIT_BREAKER_MINIMUM_REQUESTS_CONFIG = "circuitBreakerMinimumRequests";
+    public static final String CIRCUIT_BREAKER_WINDOW_CONFIG = "circuitBreakerWindow";
+    public static final String CIRCUIT_BREAKER_OPEN_DURATION_CONFIG = "circuitBreakerOpenDuration";
+    public static final String CIRCUIT_BREAKER_HALF_OPEN_PROBES_CONFIG = "circuitBreakerHalfOpenProbes";
     public static final String CONNECTION_TIMEOUT_CONFIG = "connectTimeout";
+    public static final String CONNECTION_ATTEMPT_DELAY_CONFIG = "connectionAttemptDelay";
     public static final String POOLED_CONNECTION_IDLE_TIMEOUT_CONFIG = "pooledConnectionIdleTimeout";
     public static final String CONNECTION_POOL_CLEANER_PERIOD_CONFIG = "connectionPoolCleanerPeriod";
     public static final String READ_TIMEOUT_CONFIG = "readTimeout";
     public static final String REQUEST_TIMEOUT_CONFIG = "requestTimeout";
     public static final String CONNECTION_TTL_CONFIG = "connectionTtl";
+    public static final String CONNECTION_TTL_JITTER_CONFIG = "connectionTtlJitter";
+    public static final String MAX_REQUESTS_PER_CONNECTION_CONFIG = "maxRequestsPerConnection";
+    public static final String VALIDATE_POOLED_CONNECTIONS_CONFIG = "validatePooledConnections";
+    public static final String POOLED_CONNECTION_STRICT_VALIDATION_IDLE_TIME_CONFIG = "pooledConnectionStrictValidationIdleTime";
     public static final String FOLLOW_REDIRECT_CONFIG = "followRedirect";
     public static final String MAX_REDIRECTS_CONFIG = "maxRedirects";
     public static final String COMPRESSION_ENFORCED_CONFIG = "compressionEnforced";
@@ -52,16 +62,28 @@ public final class AsyncHttpClientConfigDefaults {
     public static final String STRICT_302_HANDLING_CONFIG = "strict302Handling";
     public static final String KEEP_ALIVE_CONFIG = "keepAlive";
     public static final String MAX_REQUEST_RETRY_CONFIG = "maxRequestRetry";
+    public static final String HEDGING_DELAY_CONFIG = "hedgingDelay";
+    public static final String HEDGING_LATENCY_PERCENTILE_CONFIG = "hedgingLatencyPercentile";
+    public static final String HEDGING_BUDGET_PERCENT_CONFIG = "hedgingBudgetPercent";
+    public static final String RETRY_BACKOFF_CONFIG = "retryBackoff";
+    public static final String RETRY_MAX_BACKOFF_CONFIG = "retryMaxBackoff";
+    public static final String RETRY_BUDGET_PERCENT_CONFIG = "retryBudgetPercent";
     public static final String DISABLE_URL_ENCODING_FOR_BOUND_REQUESTS_CONFIG = "disableUrlEncodingForBoundRequests";
     public static final String USE_LAX_COOKIE_ENCODER_CONFIG = "useLaxCookieEncoder";
     public static final String USE_OPEN_SSL_CONFIG = "useOpenSsl";
+    public static final String HTTP2_ENABLED_CONFIG = "http2Enabled";
+    public static final String HTTP2_PRIOR_KNOWLEDGE_CONFIG = "http2PriorKnowledge";
+    public static final String MAX_PIPELINED_REQUESTS_CONFIG = "maxPipelinedRequests";
     public static final String USE_INSECURE_TRUST_MANAGER_CONFIG = "useInsecureTrustManager";
     public static final String DISABLE_HTTPS_ENDPOINT_IDENTIFICATION_ALGORITHM_CONFIG = "disableHttpsEndpointIdentificationAlgorithm";
     public static final String SSL_SESSION_CACHE_SIZE_CONFIG = "sslSessionCacheSize";
     public static final String SSL_SESSION_TIMEOUT_CONFIG = "sslSessionTimeout";
+    public static final String SSL_HANDSHAKE_THREADS_CONFIG = "sslHandshakeThreads";
+    public static final String SSL_HANDSHAKE_QUEUE_SIZE_CONFIG = "sslHandshakeQueueSize";
     public static final String TCP_NO_DELAY_CONFIG = "tcpNoDelay";
     public static final String SO_REUSE_ADDRESS_CONFIG = "soReuseAddress";
     public static final String SO_KEEP_ALIVE_CONFIG = "soKeepAlive";
+    public static final String TCP_FAST_OPEN_CONFIG = "tcpFastOpen";
     public static final String SO_LINGER_CONFIG = "soLinger";
     public static final String SO_SND_BUF_CONFIG = "soSndBuf";
     public static final String SO_RCV_BUF_CONFIG = "soRcvBuf";
@@ -115,10 +137,34 @@ public final class AsyncHttpClientConfigDefaults {
         return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getInt(ASYNC_CLIENT_CONFIG_ROOT + ACQUIRE_FREE_CHANNEL_TIMEOUT);
     }
 
+    public static int defaultCircuitBreakerFailureRateThreshold() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getInt(ASYNC_CLIENT_CONFIG_ROOT + CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD_CONFIG);
+    }
+
+    public static int defaultCircuitBreakerMinimumRequests() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getInt(ASYNC_CLIENT_CONFIG_ROOT + CIRCUIT_BREAKER_MINIMUM_REQUESTS_CONFIG);
+    }
+
+    public static Duration defaultCircuitBreakerWindow() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getDuration(ASYNC_CLIENT_CONFIG_ROOT + CIRCUIT_BREAKER_WINDOW_CONFIG);
+    }
+
+    public static Duration defaultCircuitBreakerOpenDuration() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getDuration(ASYNC_CLIENT_CONFIG_ROOT + CIRCUIT_BREAKER_OPEN_DURATION_CONFIG);
+    }
+
+    public static int defaultCircuitBreakerHalfOpenProbes() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getInt(ASYNC_CLIENT_CONFIG_ROOT + CIRCUIT_BREAKER_HALF_OPEN_PROBES_CONFIG);
+    }
+
     public static Duration defaultConnectTimeout() {
         return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getDuration(ASYNC_CLIENT_CONFIG_ROOT + CONNECTION_TIMEOUT_CONFIG);
     }
 
+    public static Duration defaultConnectionAttemptDelay() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getDuration(ASYNC_CLIENT_CONFIG_ROOT + CONNECTION_ATTEMPT_DELAY_CONFIG);
+    }
+
     public static Duration defaultPooledConnectionIdleTimeout() {
         return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getDuration(ASYNC_CLIENT_CONFIG_ROOT + POOLED_CONNECTION_IDLE_TIMEOUT_CONFIG);
     }
@@ -139,6 +185,22 @@ public final class AsyncHttpClientConfigDefaults {
         return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getDuration(ASYNC_CLIENT_CONFIG_ROOT + CONNECTION_TTL_CONFIG);
     }
 
+    public static Duration defaultConnectionTtlJitter() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getDuration(ASYNC_CLIENT_CONFIG_ROOT + CONNECTION_TTL_JITTER_CONFIG);
+    }
+
+    public static int defaultMaxRequestsPerConnection() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getInt(ASYNC_CLIENT_CONFIG_ROOT + MAX_REQUESTS_PER_CONNECTION_CONFIG);
+    }
+
+    public static boolean defaultValidatePooledConnections() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getBoolean(ASYNC_CLIENT_CONFIG_ROOT + VALIDATE_POOLED_CONNECTIONS_CONFIG);
+    }
+
+    public static Duration defaultPooledConnectionStrictValidationIdleTime() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getDuration(ASYNC_CLIENT_CONFIG_ROOT + POOLED_CONNECTION_STRICT_VALIDATION_IDLE_TIME_CONFIG);
+    }
+
     public static boolean defaultFollowRedirect() {
         return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getBoolean(ASYNC_CLIENT_CONFIG_ROOT + FOLLOW_REDIRECT_CONFIG);
     }
@@ -203,6 +265,30 @@ public final class AsyncHttpClientConfigDefaults {
         return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getInt(ASYNC_CLIENT_CONFIG_ROOT + MAX_REQUEST_RETRY_CONFIG);
     }
 
+    public static Duration defaultHedgingDelay() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getDuration(ASYNC_CLIENT_CONFIG_ROOT + HEDGING_DELAY_CONFIG);
+    }
+
+    public static int defaultHedgingLatencyPercentile() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getInt(ASYNC_CLIENT_CONFIG_ROOT + HEDGING_LATENCY_PERCENTILE_CONFIG);
+    }
+
+    public static int defaultHedgingBudgetPercent() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getInt(ASYNC_CLIENT_CONFIG_ROOT + HEDGING_BUDGET_PERCENT_CONFIG);
+    }
+
+    public static Duration defaultRetryBackoff() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getDuration(ASYNC_CLIENT_CONFIG_ROOT + RETRY_BACKOFF_CONFIG);
+    }
+
+    public static Duration defaultRetryMaxBackoff() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getDuration(ASYNC_CLIENT_CONFIG_ROOT + RETRY_MAX_BACKOFF_CONFIG);
+    }
+
+    public static int defaultRetryBudgetPercent() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getInt(ASYNC_CLIENT_CONFIG_ROOT + RETRY_BUDGET_PERCENT_CONFIG);
+    }
+
     public static boolean defaultDisableUrlEncodingForBoundRequests() {
         return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getBoolean(ASYNC_CLIENT_CONFIG_ROOT + DISABLE_URL_ENCODING_FOR_BOUND_REQUESTS_CONFIG);
     }
@@ -215,6 +301,18 @@ public final class AsyncHttpClientConfigDefaults {
         return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getBoolean(ASYNC_CLIENT_CONFIG_ROOT + USE_OPEN_SSL_CONFIG);
     }
 
+    public static boolean defaultHttp2Enabled() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getBoolean(ASYNC_CLIENT_CONFIG_ROOT + HTTP2_ENABLED_CONFIG);
+    }
+
+    public static boolean defaultHttp2PriorKnowledge() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getBoolean(ASYNC_CLIENT_CONFIG_ROOT + HTTP2_PRIOR_KNOWLEDGE_CONFIG);
+    }
+
+    public static int defaultMaxPipelinedRequests() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getInt(ASYNC_CLIENT_CONFIG_ROOT + MAX_PIPELINED_REQUESTS_CONFIG);
+    }
+
     public static boolean defaultUseInsecureTrustManager() {
         return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getBoolean(ASYNC_CLIENT_CONFIG_ROOT + USE_INSECURE_TRUST_MANAGER_CONFIG);
     }
@@ -231,6 +329,14 @@ public final class AsyncHttpClientConfigDefaults {
         return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getInt(ASYNC_CLIENT_CONFIG_ROOT + SSL_SESSION_TIMEOUT_CONFIG);
     }
 
+    public static int defaultSslHandshakeThreads() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getInt(ASYNC_CLIENT_CONFIG_ROOT + SSL_HANDSHAKE_THREADS_CONFIG);
+    }
+
+    public static int defaultSslHandshakeQueueSize() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getInt(ASYNC_CLIENT_CONFIG_ROOT + SSL_HANDSHAKE_QUEUE_SIZE_CONFIG);
+    }
+
     public static boolean defaultTcpNoDelay() {
         return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getBoolean(ASYNC_CLIENT_CONFIG_ROOT + TCP_NO_DELAY_CONFIG);
     }
@@ -243,6 +349,10 @@ public final class AsyncHttpClientConfigDefaults {
         return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getBoolean(ASYNC_CLIENT_CONFIG_ROOT + SO_KEEP_ALIVE_CONFIG);
     }
 
+    public static boolean defaultTcpFastOpen() {
+        return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getBoolean(ASYNC_CLIENT_CONFIG_ROOT + TCP_FAST_OPEN_CONFIG);
+    }
+
     public static int defaultSoLinger() {
         return AsyncHttpClientConfigHelper.getAsyncHttpClientConfig().getInt(ASYNC_CLIENT_CONFIG_ROOT + SO_LINGER_CONFIG);
     }
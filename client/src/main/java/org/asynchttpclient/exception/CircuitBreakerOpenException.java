@@ -0,0 +1,31 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.exception;
+
+import java.io.IOException;
+
+/**
+ * This exception is thrown when a request needing a new connection is rejected because the circuit of its pool partition is open,
+ * after too many requests to it failed.
+ */
+public class CircuitBreakerOpenException extends IOException {
+
+    private static final long serialVersionUID = -2694170478226154733L;
+
+    public CircuitBreakerOpenException(Object partitionKey) {
+        super("Circuit breaker is open for " + partitionKey);
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.filter;
+
+import org.asynchttpclient.Request;
+import org.asynchttpclient.channel.ChannelPoolPartitioning;
+import org.asynchttpclient.uri.Uri;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link RequestFilter} routing requests across a set of backends by hashing a key of the request onto a ring of virtual nodes,
+ * so that requests with the same key always go to the same backend.
+ * <p>
+ * The scheme, host and port of the request are replaced with the ones of the selected backend, its path and query are kept.
+ * With the default {@link ChannelPoolPartitioning}, each backend then has its own pool of connections.
+ * <p>
+ * When a backend is {@link #markDown(String) marked down}, only its keys move, spread over the remaining backends by the virtual nodes,
+ * and they move back once it's {@link #markUp(String) marked up}. Requests whose key is null are left untouched.
+ */
+public class ConsistentHashRoutingFilter implements RequestFilter {
+
+    public static final int DEFAULT_VIRTUAL_NODES = 160;
+
+    private final Function<Request, String> keyFunction;
+    private final Map<String, Uri> backends;
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+    private final Set<String> downBackends = ConcurrentHashMap.newKeySet();
+
+    public ConsistentHashRoutingFilter(List<String> backendBaseUrls, Function<Request, String> keyFunction) {
+        this(backendBaseUrls, keyFunction, DEFAULT_VIRTUAL_NODES);
+    }
+
+    /**
+     * @param backendBaseUrls the base urls of the backends, e.g. {@code http://cache1:8080}
+     * @param keyFunction     computes the key of a request, e.g. its path, or returns null to leave the request untouched
+     * @param virtualNodes    the number of points each backend has on the ring, more points spread the keys more evenly
+     */
+    public ConsistentHashRoutingFilter(List<String> backendBaseUrls, Function<Request, String> keyFunction, int virtualNodes) {
+        if (backendBaseUrls.isEmpty()) {
+            throw new IllegalArgumentException("At least one backend is required");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be positive, got " + virtualNodes);
+        }
+        this.keyFunction = requireNonNull(keyFunction, "keyFunction");
+
+        Map<String, Uri> backends = new LinkedHashMap<>();
+        for (String backendBaseUrl : backendBaseUrls) {
+            Uri uri = Uri.create(backendBaseUrl);
+            String baseUrl = uri.getBaseUrl();
+            if (backends.put(baseUrl, uri) != null) {
+                throw new IllegalArgumentException("Duplicate backend " + baseUrl);
+            }
+            for (int i = 0; i < virtualNodes; i++) {
+                // on the very unlikely collision, the first backend keeps the point
+                ring.putIfAbsent(hash(baseUrl + '#' + i), baseUrl);
+            }
+        }
+        this.backends = backends;
+    }
+
+    @Override
+    public <T> FilterContext<T> filter(FilterContext<T> ctx) throws FilterException {
+        Request request = ctx.getRequest();
+        String key = keyFunction.apply(request);
+        if (key == null) {
+            return ctx;
+        }
+
+        String baseUrl = select(key);
+        if (baseUrl == null) {
+            throw new FilterException(String.format("All the backends are down, can't route Request %s", request));
+        }
+
+        Uri backend = requireNonNull(backends.get(baseUrl));
+        Uri uri = request.getUri();
+        Uri routedUri = new Uri(backend.getScheme(), uri.getUserInfo(), backend.getHost(), backend.getPort(), uri.getPath(), uri.getQuery(), uri.getFragment());
+        return new FilterContext.FilterContextBuilder<>(ctx)
+                .request(request.toBuilder().setUri(routedUri).build())
+                .build();
+    }
+
+    /**
+     * @return the base url of the backend the key is routed to, or null if all the backends are down
+     */
+    public @Nullable String select(String key) {
+        long hash = hash(key);
+        String baseUrl = firstUp(ring.tailMap(hash, true));
+        return baseUrl != null ? baseUrl : firstUp(ring.headMap(hash, false));
+    }
+
+    private @Nullable String firstUp(NavigableMap<Long, String> nodes) {
+        for (String baseUrl : nodes.values()) {
+            if (!downBackends.contains(baseUrl)) {
+                return baseUrl;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stop routing keys to a backend, they're routed to the next backends on the ring instead.
+     *
+     * @param backendBaseUrl the base url of the backend, as passed to the constructor
+     */
+    public void markDown(String backendBaseUrl) {
+        downBackends.add(baseUrl(backendBaseUrl));
+    }
+
+    /**
+     * Route the keys of a backend that was marked down to it again.
+     *
+     * @param backendBaseUrl the base url of the backend, as passed to the constructor
+     */
+    public void markUp(String backendBaseUrl) {
+        downBackends.remove(baseUrl(backendBaseUrl));
+    }
+
+    public boolean isDown(String backendBaseUrl) {
+        return downBackends.contains(baseUrl(backendBaseUrl));
+    }
+
+    /**
+     * @return the base urls of the backends
+     */
+    public List<String> getBackends() {
+        return Collections.unmodifiableList(new ArrayList<>(backends.keySet()));
+    }
+
+    private String baseUrl(String backendBaseUrl) {
+        String baseUrl = Uri.create(backendBaseUrl).getBaseUrl();
+        if (!backends.containsKey(baseUrl)) {
+            throw new IllegalArgumentException("Unknown backend " + backendBaseUrl);
+        }
+        return baseUrl;
+    }
+
+    // FNV-1a, followed by the MurmurHash3 finalizer as FNV alone doesn't spread short similar keys well
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.handler;
+
+import io.netty.channel.Channel;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.util.ReferenceCountUtil;
+import org.asynchttpclient.AsyncHandler;
+import org.asynchttpclient.HttpResponseBodyPart;
+import org.asynchttpclient.HttpResponseStatus;
+import org.asynchttpclient.Response;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * An {@link AsyncHandler} that hands the response over as soon as the headers are received, and exposes the body as an
+ * {@link InputStream} that is fed while the body is being downloaded.
+ * <p>
+ * Received chunks are queued until the stream consumes them. Once {@code maxQueuedChunks} chunks are waiting, reading from the
+ * connection is suspended (Netty auto-read is turned off) and it's resumed when the consumer has drained half of them, so a slow
+ * consumer doesn't make the client buffer the whole body in memory.
+ * <pre>
+ *     InputStreamAsyncHandler handler = new InputStreamAsyncHandler();
+ *     client.prepareGet("http://foo.com/aResource").execute(handler);
+ *     // blocks until the headers are received
+ *     Response response = handler.getResponse().get();
+ *     try (InputStream body = handler.getInputStream()) {
+ *         // consume the body
+ *     }
+ * </pre>
+ * The stream must be either read until its end or closed: closing it early aborts the request.
+ * This handler can't be reused, and the request can't be retried once the headers have been handed over.
+ */
+public class InputStreamAsyncHandler implements AsyncHandler<Response> {
+
+    public static final int DEFAULT_MAX_QUEUED_CHUNKS = 16;
+
+    private static final byte[] END = new byte[0];
+
+    private final Response.ResponseBuilder responseBuilder = new Response.ResponseBuilder();
+    private final CompletableFuture<Response> response = new CompletableFuture<>();
+    private final BlockingQueue<byte[]> chunks = new LinkedBlockingQueue<>();
+    private final int maxQueuedChunks;
+    private final int resumeThreshold;
+    private final BodyInputStream inputStream = new BodyInputStream();
+
+    private volatile @Nullable Channel channel;
+    // only written from the channel's event loop
+    private volatile boolean paused;
+    private volatile boolean closed;
+    private volatile @Nullable Throwable failure;
+
+    public InputStreamAsyncHandler() {
+        this(DEFAULT_MAX_QUEUED_CHUNKS);
+    }
+
+    /**
+     * @param maxQueuedChunks the number of received chunks not yet consumed by the stream above which reading from the connection is suspended
+     */
+    public InputStreamAsyncHandler(int maxQueuedChunks) {
+        if (maxQueuedChunks < 1) {
+            throw new IllegalArgumentException("maxQueuedChunks must be positive");
+        }
+        this.maxQueuedChunks = maxQueuedChunks;
+        resumeThreshold = maxQueuedChunks / 2;
+    }
+
+    /**
+     * @return a future completed with the status and the headers as soon as they are received: the returned {@link Response} has no body,
+     * the body has to be read from {@link #getInputStream()}
+     */
+    public CompletableFuture<Response> getResponse() {
+        return response;
+    }
+
+    /**
+     * @return the response body, whose reads block until the next chunk is received
+     */
+    public InputStream getInputStream() {
+        return inputStream;
+    }
+
+    /**
+     * @return the response body as a {@link ReadableByteChannel}, backed by {@link #getInputStream()}
+     */
+    public ReadableByteChannel getReadableByteChannel() {
+        return Channels.newChannel(inputStream);
+    }
+
+    @Override
+    public void onTcpConnectSuccess(InetSocketAddress remoteAddress, Channel connection) {
+        channel = connection;
+    }
+
+    @Override
+    public void onConnectionPooled(Channel connection) {
+        channel = connection;
+    }
+
+    @Override
+    public void onRetry() {
+        if (response.isDone()) {
+            throw new UnsupportedOperationException(getClass().getSimpleName() + " cannot retry a request once the headers have been handed over.");
+        }
+    }
+
+    @Override
+    public State onStatusReceived(HttpResponseStatus responseStatus) {
+        responseBuilder.reset();
+        responseBuilder.accumulate(responseStatus);
+        return State.CONTINUE;
+    }
+
+    @Override
+    public State onHeadersReceived(HttpHeaders headers) {
+        responseBuilder.accumulate(headers);
+        response.complete(responseBuilder.build());
+        return closed ? State.ABORT : State.CONTINUE;
+    }
+
+    @Override
+    public State onBodyPartReceived(HttpResponseBodyPart bodyPart) {
+        byte[] bytes;
+        try {
+            bytes = bodyPart.getBodyPartBytes();
+        } finally {
+            ReferenceCountUtil.release(bodyPart);
+        }
+
+        if (closed) {
+            return State.ABORT;
+        }
+
+        if (bytes.length > 0) {
+            chunks.offer(bytes);
+        }
+
+        if (bodyPart.isLast()) {
+            detach();
+        } else if (!paused && chunks.size() >= maxQueuedChunks) {
+            Channel ch = channel;
+            if (ch != null) {
+                paused = true;
+                ch.config().setAutoRead(false);
+            }
+        }
+        return State.CONTINUE;
+    }
+
+    @Override
+    public void onThrowable(Throwable t) {
+        failure = t;
+        response.completeExceptionally(t);
+        chunks.offer(END);
+        Channel ch = channel;
+        if (ch != null) {
+            ch.eventLoop().execute(this::detach);
+        }
+    }
+
+    /**
+     * @return the status and the headers, the body having been handed over to {@link #getInputStream()}, or {@code null} if no status was received
+     */
+    @Override
+    public @Nullable Response onCompleted() {
+        Response headersOnly = responseBuilder.build();
+        response.complete(headersOnly);
+        chunks.offer(END);
+        detach();
+        return headersOnly;
+    }
+
+    // make sure the channel is reading again before it's offered back to the pool, and that later reads on the stream don't toggle it
+    private void detach() {
+        Channel ch = channel;
+        channel = null;
+        if (paused) {
+            paused = false;
+            if (ch != null) {
+                ch.config().setAutoRead(true);
+            }
+        }
+    }
+
+    private void resume() {
+        Channel ch = channel;
+        if (paused && ch != null && chunks.size() <= resumeThreshold) {
+            paused = false;
+            ch.config().setAutoRead(true);
+        }
+    }
+
+    private void onChunkConsumed() {
+        if (paused && chunks.size() <= resumeThreshold) {
+            Channel ch = channel;
+            if (ch != null) {
+                // paused is only updated from the event loop, so that a resume can't be lost in a race with a pause
+                ch.eventLoop().execute(this::resume);
+            }
+        }
+    }
+
+    private final class BodyInputStream extends InputStream {
+
+        private byte @Nullable [] current;
+        private int position;
+        private boolean ended;
+
+        @Override
+        public int read() throws IOException {
+            byte[] chunk = currentChunk();
+            if (chunk == null) {
+                return -1;
+            }
+            int b = chunk[position++] & 0xFF;
+            consumed(chunk);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (len == 0) {
+                return 0;
+            }
+            byte[] chunk = currentChunk();
+            if (chunk == null) {
+                return -1;
+            }
+            int read = Math.min(len, chunk.length - position);
+            System.arraycopy(chunk, position, b, off, read);
+            position += read;
+            consumed(chunk);
+            return read;
+        }
+
+        @Override
+        public int available() throws IOException {
+            byte[] chunk = current;
+            return chunk != null ? chunk.length - position : 0;
+        }
+
+        /**
+         * Aborts the request if the body hasn't been fully received yet.
+         */
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            current = null;
+            chunks.clear();
+            // let the next chunk in so that the request gets aborted
+            Channel ch = channel;
+            if (ch != null) {
+                ch.eventLoop().execute(InputStreamAsyncHandler.this::detach);
+            }
+        }
+
+        private void consumed(byte[] chunk) {
+            if (position == chunk.length) {
+                current = null;
+            }
+        }
+
+        private byte @Nullable [] currentChunk() throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            if (current != null) {
+                return current;
+            }
+            if (ended) {
+                return null;
+            }
+
+            byte[] chunk;
+            try {
+                chunk = chunks.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+
+            if (chunk == END) {
+                ended = true;
+                Throwable t = failure;
+                if (t != null) {
+                    throw new IOException(t.getMessage(), t);
+                }
+                return null;
+            }
+            onChunkConsumed();
+            current = chunk;
+            position = 0;
+            return chunk;
+        }
+    }
+}
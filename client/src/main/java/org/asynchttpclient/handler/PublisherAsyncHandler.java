@@ -0,0 +1,309 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.handler;
+
+import io.netty.channel.Channel;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.util.ReferenceCountUtil;
+import org.asynchttpclient.AsyncHandler;
+import org.asynchttpclient.HttpResponseBodyPart;
+import org.asynchttpclient.HttpResponseStatus;
+import org.asynchttpclient.Response;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An {@link AsyncHandler} that publishes the response body to a single {@link Subscriber}, reading from the connection only when the
+ * subscriber has signalled demand.
+ * <p>
+ * Netty auto-read is turned off as soon as the headers are received and is only turned on while there is outstanding demand that the
+ * already received chunks don't cover, so the chunks buffered by the handler are bounded by what a single read produces, whatever the
+ * speed of the subscriber. The subscriber never receives more chunks than it requested.
+ * <p>
+ * The connection is read until the end of the response only if the subscriber keeps requesting: it's offered back to the pool once the last
+ * chunk has been read, with auto-read restored. Cancelling the subscription before that aborts the request and closes the connection
+ * instead of pooling it. As no data is read while the subscriber isn't requesting, a subscriber that stalls for longer than the read
+ * timeout makes the request time out.
+ * <pre>
+ *     PublisherAsyncHandler handler = new PublisherAsyncHandler();
+ *     client.prepareGet("http://foo.com/aResource").execute(handler);
+ *     Response response = handler.getResponse().get();
+ *     handler.subscribe(subscriber);
+ * </pre>
+ * This handler can't be reused, and the request can't be retried once the headers have been handed over.
+ */
+public class PublisherAsyncHandler implements AsyncHandler<Response>, Publisher<ByteBuffer> {
+
+    private final Response.ResponseBuilder responseBuilder = new Response.ResponseBuilder();
+    private final CompletableFuture<Response> response = new CompletableFuture<>();
+    private final Queue<ByteBuffer> buffered = new ConcurrentLinkedQueue<>();
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger drainWip = new AtomicInteger();
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    private volatile @Nullable Subscriber<? super ByteBuffer> subscriber;
+    private volatile @Nullable Channel connection;
+    private volatile @Nullable Channel channel;
+    private volatile boolean bodyReceived;
+    private volatile boolean cancelled;
+    private volatile @Nullable Throwable failure;
+    private volatile @Nullable Throwable subscriptionFailure;
+
+    // only accessed from the channel's event loop
+    private boolean attached;
+    private boolean autoRead;
+
+    // only accessed while draining
+    private boolean terminated;
+
+    /**
+     * @return a future completed with the status and the headers as soon as they are received: the returned {@link Response} has no body,
+     * the body is published to the subscriber
+     */
+    public CompletableFuture<Response> getResponse() {
+        return response;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException(getClass().getSimpleName() + " only supports a single subscriber"));
+            return;
+        }
+        this.subscriber = subscriber;
+        subscriber.onSubscribe(new BodySubscription());
+        // the body might have already been fully received, or the request might have failed
+        drain();
+    }
+
+    @Override
+    public void onTcpConnectSuccess(InetSocketAddress remoteAddress, Channel connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public void onConnectionPooled(Channel connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public void onRetry() {
+        if (response.isDone()) {
+            throw new UnsupportedOperationException(getClass().getSimpleName() + " cannot retry a request once the headers have been handed over.");
+        }
+    }
+
+    @Override
+    public State onStatusReceived(HttpResponseStatus responseStatus) {
+        responseBuilder.reset();
+        responseBuilder.accumulate(responseStatus);
+        return State.CONTINUE;
+    }
+
+    @Override
+    public State onHeadersReceived(HttpHeaders headers) {
+        responseBuilder.accumulate(headers);
+        response.complete(responseBuilder.build());
+        if (cancelled) {
+            return State.ABORT;
+        }
+
+        Channel ch = connection;
+        if (ch != null) {
+            channel = ch;
+            attached = true;
+            autoRead = ch.config().isAutoRead();
+            updateAutoRead();
+        }
+        return State.CONTINUE;
+    }
+
+    @Override
+    public State onBodyPartReceived(HttpResponseBodyPart bodyPart) {
+        byte[] bytes;
+        try {
+            bytes = bodyPart.getBodyPartBytes();
+        } finally {
+            ReferenceCountUtil.release(bodyPart);
+        }
+
+        if (cancelled) {
+            return State.ABORT;
+        }
+
+        if (bytes.length > 0) {
+            buffered.offer(ByteBuffer.wrap(bytes));
+        }
+
+        if (bodyPart.isLast()) {
+            bodyReceived = true;
+            detach();
+        }
+        drain();
+        updateAutoRead();
+        return State.CONTINUE;
+    }
+
+    @Override
+    public void onThrowable(Throwable t) {
+        failure = t;
+        response.completeExceptionally(t);
+        drain();
+        runOnEventLoop(this::detach);
+    }
+
+    /**
+     * @return the status and the headers, the body having been published to the subscriber, or {@code null} if no status was received
+     */
+    @Override
+    public @Nullable Response onCompleted() {
+        Response headersOnly = responseBuilder.build();
+        response.complete(headersOnly);
+        bodyReceived = true;
+        drain();
+        runOnEventLoop(this::detach);
+        return headersOnly;
+    }
+
+    private void runOnEventLoop(Runnable task) {
+        Channel ch = channel;
+        if (ch != null) {
+            if (ch.eventLoop().inEventLoop()) {
+                task.run();
+            } else {
+                ch.eventLoop().execute(task);
+            }
+        }
+    }
+
+    // make sure the channel is reading again before it's offered back to the pool, and that later demand doesn't toggle it
+    private void detach() {
+        Channel ch = channel;
+        if (attached && ch != null) {
+            attached = false;
+            if (!autoRead) {
+                autoRead = true;
+                ch.config().setAutoRead(true);
+            }
+        }
+    }
+
+    private void updateAutoRead() {
+        Channel ch = channel;
+        if (!attached || ch == null) {
+            return;
+        }
+
+        // once cancelled, let the next chunk in so that the request gets aborted
+        boolean read = cancelled || demand.get() > 0 && buffered.isEmpty();
+        if (read != autoRead) {
+            autoRead = read;
+            ch.config().setAutoRead(read);
+        }
+    }
+
+    private void drain() {
+        if (drainWip.getAndIncrement() != 0) {
+            return;
+        }
+
+        do {
+            Subscriber<? super ByteBuffer> s = subscriber;
+            if (s == null || terminated) {
+                continue;
+            }
+
+            if (cancelled) {
+                terminated = true;
+                buffered.clear();
+                Throwable t = subscriptionFailure;
+                if (t != null) {
+                    s.onError(t);
+                }
+                continue;
+            }
+
+            long requested = demand.get();
+            long emitted = 0;
+            while (emitted != requested && !cancelled) {
+                ByteBuffer chunk = buffered.poll();
+                if (chunk == null) {
+                    break;
+                }
+                s.onNext(chunk);
+                emitted++;
+            }
+            if (emitted != 0 && requested != Long.MAX_VALUE) {
+                demand.addAndGet(-emitted);
+            }
+
+            if (!cancelled && buffered.isEmpty()) {
+                Throwable t = failure;
+                if (t != null) {
+                    terminated = true;
+                    s.onError(t);
+                } else if (bodyReceived) {
+                    terminated = true;
+                    s.onComplete();
+                }
+            }
+        } while (drainWip.decrementAndGet() != 0);
+    }
+
+    private final class BodySubscription implements Subscription {
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                subscriptionFailure = new IllegalArgumentException("Subscription.request must be called with a positive number, got " + n);
+                cancel();
+                return;
+            }
+            demand.getAndUpdate(d -> d + n < 0 ? Long.MAX_VALUE : d + n);
+            drain();
+            runOnEventLoop(PublisherAsyncHandler.this::updateAutoRead);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+            runOnEventLoop(PublisherAsyncHandler.this::updateAutoRead);
+        }
+    }
+}
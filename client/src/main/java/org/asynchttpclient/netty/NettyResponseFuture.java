@@ -16,10 +16,12 @@
 package org.asynchttpclient.netty;
 
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
 import org.asynchttpclient.AsyncHandler;
 import org.asynchttpclient.ListenableFuture;
 import org.asynchttpclient.Realm;
 import org.asynchttpclient.Request;
+import org.asynchttpclient.channel.AddressSelectionPolicy;
 import org.asynchttpclient.channel.ChannelPoolPartitioning;
 import org.asynchttpclient.netty.channel.ChannelState;
 import org.asynchttpclient.netty.channel.Channels;
@@ -32,6 +34,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -84,6 +87,9 @@ public final class NettyResponseFuture<V> implements ListenableFuture<V> {
     @SuppressWarnings("rawtypes")
     private static final AtomicReferenceFieldUpdater<NettyResponseFuture, Object> PARTITION_KEY_LOCK_FIELD = AtomicReferenceFieldUpdater
             .newUpdater(NettyResponseFuture.class, Object.class, "partitionKeyLock");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<NettyResponseFuture, InetSocketAddress> EXCHANGE_ADDRESS_FIELD = AtomicReferenceFieldUpdater
+            .newUpdater(NettyResponseFuture.class, InetSocketAddress.class, "exchangeAddress");
 
     private final long start = unpreciseMillisTime();
     private final ChannelPoolPartitioning connectionPoolPartitioning;
@@ -123,6 +129,10 @@ public final class NettyResponseFuture<V> implements ListenableFuture<V> {
     private boolean reuseChannel;
     private boolean headersAlreadyWrittenOnContinue;
     private boolean dontWriteBodyBecauseExpectContinue;
+    private ChannelFuture earlyDataWrite;
+    private volatile InetSocketAddress exchangeAddress;
+    private volatile long exchangeStartNanos;
+    private volatile AddressSelectionPolicy exchangePolicy;
     private boolean allowConnect;
     private Realm realm;
     private Realm proxyRealm;
@@ -166,6 +176,24 @@ public final class NettyResponseFuture<V> implements ListenableFuture<V> {
         return PARTITION_KEY_LOCK_FIELD.getAndSet(this, null);
     }
 
+    /**
+     * Hand the partition lock over to the request whose response comes next on the same connection, so that the connection keeps
+     * counting against the connection limits until it's done with its pipelined requests.
+     */
+    public void handOverPartitionKeyLock(NettyResponseFuture<?> next) {
+        Object partitionKey = takePartitionKeyLock();
+        if (partitionKey == null) {
+            return;
+        }
+        if (!PARTITION_KEY_LOCK_FIELD.compareAndSet(next, null, partitionKey)) {
+            // can't happen as pipelined requests don't acquire any, but don't leak it
+            connectionSemaphore.releaseChannelLock(partitionKey);
+        } else if (next.isDone()) {
+            // completed meanwhile, without anything to release
+            next.releasePartitionKeyLock();
+        }
+    }
+
     // java.util.concurrent.Future
 
     @Override
@@ -187,6 +215,8 @@ public final class NettyResponseFuture<V> implements ListenableFuture<V> {
             return false;
         }
 
+        abandonExchange(null);
+
         // cancel could happen before channel was attached
         if (channel != null) {
             Channels.setDiscard(channel);
@@ -264,6 +294,9 @@ public final class NettyResponseFuture<V> implements ListenableFuture<V> {
             return;
         }
 
+        // e.g. a WebSocket upgrade, whose response isn't reported
+        abandonExchange(null);
+
         try {
             loadContent();
         } catch (ExecutionException ignored) {
@@ -283,6 +316,8 @@ public final class NettyResponseFuture<V> implements ListenableFuture<V> {
             return;
         }
 
+        abandonExchange(t);
+
         future.completeExceptionally(t);
 
         if (ON_THROWABLE_CALLED_FIELD.compareAndSet(this, 0, 1)) {
@@ -445,6 +480,56 @@ public final class NettyResponseFuture<V> implements ListenableFuture<V> {
         this.dontWriteBodyBecauseExpectContinue = dontWriteBodyBecauseExpectContinue;
     }
 
+    /**
+     * @param earlyDataWrite the write of the request on a channel that wasn't connected yet, to be sent along with the SYN with TCP Fast Open
+     */
+    public void setEarlyDataWrite(ChannelFuture earlyDataWrite) {
+        this.earlyDataWrite = earlyDataWrite;
+    }
+
+    /**
+     * @return the write of the request before connecting the channel, if any, which is then forgotten
+     */
+    public ChannelFuture takeEarlyDataWrite() {
+        ChannelFuture write = earlyDataWrite;
+        earlyDataWrite = null;
+        return write;
+    }
+
+    /**
+     * Track the request being written on a connection to the given address, until {@link #endExchange()}.
+     * If the future gets cancelled or aborted before the exchange is ended, the policy is notified of it.
+     */
+    public void startExchange(InetSocketAddress address, AddressSelectionPolicy policy) {
+        exchangePolicy = policy;
+        exchangeStartNanos = System.nanoTime();
+        exchangeAddress = address;
+    }
+
+    /**
+     * @return the address of the request being tracked, if any, which then isn't tracked anymore
+     */
+    public InetSocketAddress endExchange() {
+        return EXCHANGE_ADDRESS_FIELD.getAndSet(this, null);
+    }
+
+    // the future completes without the exchange having been ended by the response or the failure of the request, e.g. it was cancelled
+    private void abandonExchange(Throwable cause) {
+        AddressSelectionPolicy policy = exchangePolicy;
+        InetSocketAddress address = endExchange();
+        if (address != null && policy != null) {
+            if (cause != null) {
+                policy.onRequestFailed(address, cause);
+            } else {
+                policy.onRequestCancelled(address);
+            }
+        }
+    }
+
+    public long getExchangeStartNanos() {
+        return exchangeStartNanos;
+    }
+
     public boolean isConnectAllowed() {
         return allowConnect;
     }
@@ -480,6 +565,13 @@ public final class NettyResponseFuture<V> implements ListenableFuture<V> {
         return maxRetry > 0 && CURRENT_RETRY_UPDATER.incrementAndGet(this) <= maxRetry;
     }
 
+    /**
+     * @return the number of times the request was retried so far
+     */
+    public int getCurrentRetry() {
+        return currentRetry;
+    }
+
     /**
      * Return true if the {@link Future} can be recovered. There is some scenario
      * where a connection can be closed by an unexpected IOException, and in some
@@ -508,6 +600,24 @@ public final class NettyResponseFuture<V> implements ListenableFuture<V> {
 
         Object partitionKey = getPartitionKey();
         connectionSemaphore.acquireChannelLock(partitionKey);
+        onPartitionLockAcquired(partitionKey);
+    }
+
+    /**
+     * Non-blocking flavor of {@link #acquirePartitionLockLazily()}: the future is parked until a permit is available.
+     *
+     * @return a future completed once the partition lock is acquired
+     */
+    public CompletableFuture<Void> acquirePartitionLockLazilyAsync() {
+        if (connectionSemaphore == null || partitionKeyLock != null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Object partitionKey = getPartitionKey();
+        return connectionSemaphore.acquireChannelLockAsync(partitionKey).thenRun(() -> onPartitionLockAcquired(partitionKey));
+    }
+
+    private void onPartitionLockAcquired(Object partitionKey) {
         Object prevKey = PARTITION_KEY_LOCK_FIELD.getAndSet(this, partitionKey);
         if (prevKey != null) {
             // self-check
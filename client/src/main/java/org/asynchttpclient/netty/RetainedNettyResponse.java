@@ -0,0 +1,138 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.util.ReferenceCounted;
+import org.asynchttpclient.HttpResponseBodyPart;
+import org.asynchttpclient.HttpResponseStatus;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.List;
+
+/**
+ * A {@link NettyResponse} built from {@link RetainedResponseBodyPart}s, whose body is a {@link CompositeByteBuf} over the received chunks.
+ * <p>
+ * The body is never aggregated into a single array unless {@link #getResponseBodyAsBytes()} or {@link #getResponseBodyAsByteBuffer()} is called.
+ * This response owns the chunks: it must be released once the body has been consumed, and the body can't be read afterward.
+ */
+public class RetainedNettyResponse extends NettyResponse implements ReferenceCounted {
+
+    private final CompositeByteBuf body;
+
+    /**
+     * @param status    the status
+     * @param headers   the headers
+     * @param bodyParts the body parts, whose ownership is transferred to this response
+     */
+    public RetainedNettyResponse(HttpResponseStatus status, HttpHeaders headers, List<HttpResponseBodyPart> bodyParts) {
+        super(status, headers, bodyParts);
+        body = ByteBufAllocator.DEFAULT.compositeBuffer(Math.max(1, bodyParts.size()));
+        for (HttpResponseBodyPart part : bodyParts) {
+            body.addComponent(true, part.getBodyByteBuf());
+        }
+    }
+
+    @Override
+    public boolean hasResponseBody() {
+        return body.isReadable();
+    }
+
+    /**
+     * @return the body, sharing this response's reference count: it must not be released, release this response instead
+     */
+    @Override
+    public ByteBuf getResponseBodyAsByteBuf() {
+        return body.duplicate();
+    }
+
+    /**
+     * @return read-only views over the received chunks, valid until this response is released
+     */
+    public ByteBuffer[] getResponseBodyAsByteBuffers() {
+        ByteBuffer[] buffers = body.nioBuffers();
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = buffers[i].asReadOnlyBuffer();
+        }
+        return buffers;
+    }
+
+    @Override
+    public byte[] getResponseBodyAsBytes() {
+        return ByteBufUtil.getBytes(body);
+    }
+
+    @Override
+    public ByteBuffer getResponseBodyAsByteBuffer() {
+        return ByteBuffer.wrap(getResponseBodyAsBytes());
+    }
+
+    @Override
+    public String getResponseBody(Charset charset) {
+        return body.toString(charset);
+    }
+
+    @Override
+    public InputStream getResponseBodyAsStream() {
+        return new ByteBufInputStream(body.duplicate());
+    }
+
+    @Override
+    public int refCnt() {
+        return body.refCnt();
+    }
+
+    @Override
+    public RetainedNettyResponse retain() {
+        body.retain();
+        return this;
+    }
+
+    @Override
+    public RetainedNettyResponse retain(int increment) {
+        body.retain(increment);
+        return this;
+    }
+
+    @Override
+    public RetainedNettyResponse touch() {
+        body.touch();
+        return this;
+    }
+
+    @Override
+    public RetainedNettyResponse touch(Object hint) {
+        body.touch(hint);
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return body.release();
+    }
+
+    @Override
+    public boolean release(int decrement) {
+        return body.release(decrement);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.util.ReferenceCounted;
+import org.asynchttpclient.HttpResponseBodyPart;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A callback class used when an HTTP response body is received.
+ * The received chunk is retained instead of being copied, so it stays valid after the callback returns but must be released.
+ * {@link org.asynchttpclient.Response.ResponseBuilder} takes care of that, custom handlers have to call {@link #release()}.
+ */
+public class RetainedResponseBodyPart extends HttpResponseBodyPart implements ReferenceCounted {
+
+    private final ByteBuf buf;
+
+    public RetainedResponseBodyPart(ByteBuf buf, boolean last) {
+        super(last);
+        this.buf = buf.retainedSlice();
+    }
+
+    /**
+     * @return the retained chunk, owned by this part: it's released with this part
+     */
+    @Override
+    public ByteBuf getBodyByteBuf() {
+        return buf;
+    }
+
+    @Override
+    public int length() {
+        return buf.readableBytes();
+    }
+
+    @Override
+    public byte[] getBodyPartBytes() {
+        return ByteBufUtil.getBytes(buf);
+    }
+
+    @Override
+    public ByteBuffer getBodyByteBuffer() {
+        return buf.nioBuffer();
+    }
+
+    @Override
+    public int refCnt() {
+        return buf.refCnt();
+    }
+
+    @Override
+    public RetainedResponseBodyPart retain() {
+        buf.retain();
+        return this;
+    }
+
+    @Override
+    public RetainedResponseBodyPart retain(int increment) {
+        buf.retain(increment);
+        return this;
+    }
+
+    @Override
+    public RetainedResponseBodyPart touch() {
+        buf.touch();
+        return this;
+    }
+
+    @Override
+    public RetainedResponseBodyPart touch(Object hint) {
+        buf.touch(hint);
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return buf.release();
+    }
+
+    @Override
+    public boolean release(int decrement) {
+        return buf.release(decrement);
+    }
+}
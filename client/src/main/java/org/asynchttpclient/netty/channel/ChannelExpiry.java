@@ -0,0 +1,72 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import io.netty.channel.Channel;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * When pooled channels expire, shared by {@link DefaultChannelPool} and {@link IdleOrderedChannelPool}: after the connection TTL, shortened
+ * by a random jitter for each channel, or once idle for the pooled connection idle timeout, shortened by the server Keep-Alive timeout.
+ */
+final class ChannelExpiry {
+
+    // how long before the server Keep-Alive timeout a channel stops being leased, so that a request doesn't cross the server closing it
+    private static final long KEEP_ALIVE_TIMEOUT_MARGIN_MS = 1000;
+
+    final long maxIdleTime;
+    final boolean maxIdleTimeEnabled;
+    final long connectionTtl;
+    final boolean connectionTtlEnabled;
+    private final long connectionTtlJitter;
+
+    ChannelExpiry(Duration maxIdleTime, Duration connectionTtl, Duration connectionTtlJitter) {
+        this.maxIdleTime = maxIdleTime.toMillis();
+        maxIdleTimeEnabled = this.maxIdleTime > 0;
+        this.connectionTtl = connectionTtl.toMillis();
+        connectionTtlEnabled = this.connectionTtl > 0;
+        this.connectionTtlJitter = Math.max(Math.min(connectionTtlJitter.toMillis(), this.connectionTtl), 0);
+    }
+
+    /**
+     * @return the TTL of a new channel, so that the channels opened together don't expire together
+     */
+    long newChannelTtl() {
+        return connectionTtlJitter > 0 ? connectionTtl - ThreadLocalRandom.current().nextLong(connectionTtlJitter + 1) : connectionTtl;
+    }
+
+    /**
+     * @return when the channel expires if it stays idle: at the earliest of the pooled connection idle timeout and the server Keep-Alive
+     * timeout, if the server advertised one, or {@link Long#MAX_VALUE} if it never does
+     */
+    long idleDeadline(Channel channel, long now) {
+        long idleTime = maxIdleTimeEnabled ? maxIdleTime : Long.MAX_VALUE;
+        Long keepAliveTimeout = Channels.getKeepAliveTimeout(channel);
+        if (keepAliveTimeout != null) {
+            idleTime = Math.min(idleTime, keepAliveTimeout - keepAliveTimeoutMargin(keepAliveTimeout));
+        }
+        return idleTime == Long.MAX_VALUE ? Long.MAX_VALUE : now + idleTime;
+    }
+
+    /**
+     * @return how long before the server Keep-Alive timeout the channel is expired, at most half of it for short timeouts
+     */
+    static long keepAliveTimeoutMargin(long keepAliveTimeout) {
+        return Math.min(KEEP_ALIVE_TIMEOUT_MARGIN_MS, keepAliveTimeout - keepAliveTimeout / 2);
+    }
+}
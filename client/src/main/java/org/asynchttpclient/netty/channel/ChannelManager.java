@@ -21,6 +21,7 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelFactory;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
@@ -29,17 +30,30 @@ import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.ChannelGroupFuture;
 import io.netty.channel.group.DefaultChannelGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DuplexChannel;
+import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpContentDecompressor;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.websocketx.WebSocket08FrameDecoder;
 import io.netty.handler.codec.http.websocketx.WebSocket08FrameEncoder;
 import io.netty.handler.codec.http.websocketx.WebSocketFrameAggregator;
 import io.netty.handler.codec.http.websocketx.extensions.compression.WebSocketClientCompressionHandler;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.proxy.ProxyHandler;
 import io.netty.handler.proxy.Socks4ProxyHandler;
 import io.netty.handler.proxy.Socks5ProxyHandler;
+import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.stream.ChunkedWriteHandler;
 import io.netty.resolver.NameResolver;
@@ -50,17 +64,23 @@ import io.netty.util.concurrent.GlobalEventExecutor;
 import io.netty.util.concurrent.ImmediateEventExecutor;
 import io.netty.util.concurrent.Promise;
 import io.netty.util.internal.PlatformDependent;
-import org.asynchttpclient.AsyncHandler;
 import org.asynchttpclient.AsyncHttpClientConfig;
+import org.asynchttpclient.CircuitBreakerState;
 import org.asynchttpclient.ClientStats;
 import org.asynchttpclient.HostStats;
 import org.asynchttpclient.Realm;
 import org.asynchttpclient.SslEngineFactory;
+import org.asynchttpclient.channel.AddressSelectionPolicy;
 import org.asynchttpclient.channel.ChannelPool;
 import org.asynchttpclient.channel.ChannelPoolPartitioning;
 import org.asynchttpclient.channel.NoopChannelPool;
+import org.asynchttpclient.exception.CircuitBreakerOpenException;
+import org.asynchttpclient.exception.PoolAlreadyClosedException;
+import org.asynchttpclient.exception.TooManyConnectionsException;
+import org.asynchttpclient.exception.TooManyConnectionsPerHostException;
 import org.asynchttpclient.netty.NettyResponseFuture;
 import org.asynchttpclient.netty.OnLastHttpContentCallback;
+import org.asynchttpclient.netty.request.NettyRequest;
 import org.asynchttpclient.netty.handler.AsyncHttpClientHandler;
 import org.asynchttpclient.netty.handler.HttpHandler;
 import org.asynchttpclient.netty.handler.WebSocketHandler;
@@ -73,15 +93,30 @@ import org.slf4j.LoggerFactory;
 
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLSession;
+import java.io.IOException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static org.asynchttpclient.util.HttpUtils.extractKeepAliveParameter;
+
 public class ChannelManager {
 
     public static final String HTTP_CLIENT_CODEC = "http";
@@ -96,6 +131,10 @@ public class ChannelManager {
     public static final String AHC_HTTP_HANDLER = "ahc-http";
     public static final String AHC_WS_HANDLER = "ahc-ws";
     public static final String LOGGING_HANDLER = "logging";
+    public static final String HTTP2_FRAME_CODEC = "http2-frame-codec";
+    public static final String HTTP2_MULTIPLEX_HANDLER = "http2-multiplex";
+    public static final String HTTP2_STREAM_CODEC = "http2-stream-codec";
+    public static final String HTTP2_STREAM_ADAPTER = "http2-stream-adapter";
     private static final Logger LOGGER = LoggerFactory.getLogger(ChannelManager.class);
     private final AsyncHttpClientConfig config;
     private final SslEngineFactory sslEngineFactory;
@@ -103,12 +142,32 @@ public class ChannelManager {
     private final boolean allowReleaseEventLoopGroup;
     private final Bootstrap httpBootstrap;
     private final Bootstrap wsBootstrap;
+    private final boolean tcpFastOpen;
+    private final UnixDomainSocketTransportFactory unixDomainSocketTransportFactory;
+    private final Bootstrap unixDomainSocketHttpBootstrap;
+    private final Bootstrap unixDomainSocketWsBootstrap;
     private final long handshakeTimeout;
 
     private final ChannelPool channelPool;
     private final ChannelGroup openChannels;
+    private final Http2Connections http2Connections;
+    private final PipelinedConnections pipelinedConnections;
+    private final Set<String> pipeliningHosts;
+    private final LongAdder tlsSessionResumedCount = new LongAdder();
+    private final LongAdder tlsFullHandshakeCount = new LongAdder();
+    private final LongAdder tlsHandshakeTimeNanos = new LongAdder();
+    private final ThreadPoolExecutor sslHandshakeExecutor;
+    private final AddressSelectionPolicy addressSelectionPolicy;
+    private final CircuitBreakers circuitBreakers;
+    private final int maxRequestsPerConnection;
+    private final TransportFactory<? extends Channel, ? extends EventLoopGroup> transportFactory;
+    private final boolean validatePooledConnections;
+    private final long strictValidationIdleTimeNanos;
+    private final LongAdder staleConnectionDiscardedCount = new LongAdder();
+    private final ConcurrentHashMap<String, LongAdder> retryCountsPerHost = new ConcurrentHashMap<>();
 
     private AsyncHttpClientHandler wsHandler;
+    private ChannelInitializer<Channel> http2StreamInitializer;
 
     private boolean isInstanceof(Object object, String name) {
         final Class<?> clazz;
@@ -133,7 +192,7 @@ public class ChannelManager {
         ChannelPool channelPool = config.getChannelPool();
         if (channelPool == null) {
             if (config.isKeepAlive()) {
-                channelPool = new DefaultChannelPool(config, nettyTimer);
+                channelPool = config.getChannelPoolFactory().newChannelPool(config, nettyTimer);
             } else {
                 channelPool = NoopChannelPool.INSTANCE;
             }
@@ -142,11 +201,18 @@ public class ChannelManager {
         this.channelPool = channelPool;
         openChannels = new DefaultChannelGroup("asyncHttpClient", GlobalEventExecutor.INSTANCE);
         handshakeTimeout = config.getHandshakeTimeout();
+        pipelinedConnections = new PipelinedConnections(config.getMaxPipelinedRequests());
+        http2Connections = new Http2Connections(config, nettyTimer);
+        addressSelectionPolicy = config.getAddressSelectionPolicy();
+        circuitBreakers = config.getCircuitBreakerFailureRateThreshold() > 0 ? new CircuitBreakers(config) : null;
+        maxRequestsPerConnection = config.getMaxRequestsPerConnection();
+        validatePooledConnections = config.isValidatePooledConnections();
+        strictValidationIdleTimeNanos = config.getPooledConnectionStrictValidationIdleTime().toNanos();
+        pipeliningHosts = config.getPipeliningHosts().stream().map(host -> host.toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
 
         // check if external EventLoopGroup is defined
         ThreadFactory threadFactory = config.getThreadFactory() != null ? config.getThreadFactory() : new DefaultThreadFactory(config.getThreadPoolName());
         allowReleaseEventLoopGroup = config.getEventLoopGroup() == null;
-        TransportFactory<? extends Channel, ? extends EventLoopGroup> transportFactory;
 
         if (allowReleaseEventLoopGroup) {
             if (config.isUseNativeTransport()) {
@@ -171,8 +237,35 @@ public class ChannelManager {
             }
         }
 
+        if (config.getSslHandshakeThreads() > 0) {
+            sslHandshakeExecutor = new ThreadPoolExecutor(config.getSslHandshakeThreads(), config.getSslHandshakeThreads(), 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(config.getSslHandshakeQueueSize()),
+                    new DefaultThreadFactory(config.getThreadPoolName() + "-ssl-handshake", true),
+                    // when saturated, the task runs on the event loop, as if there was no handshake executor
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+        } else {
+            sslHandshakeExecutor = null;
+        }
+
         httpBootstrap = newBootstrap(transportFactory, eventLoopGroup, config);
         wsBootstrap = newBootstrap(transportFactory, eventLoopGroup, config);
+
+        // only the Linux native transports send the data written before connecting along with the SYN
+        tcpFastOpen = config.isTcpFastOpen() && (transportFactory instanceof EpollTransportFactory || transportFactory instanceof IoUringIncubatorTransportFactory);
+        if (tcpFastOpen) {
+            httpBootstrap.option(ChannelOption.TCP_FASTOPEN_CONNECT, true);
+            wsBootstrap.option(ChannelOption.TCP_FASTOPEN_CONNECT, true);
+        }
+
+        if (transportFactory instanceof UnixDomainSocketTransportFactory) {
+            unixDomainSocketTransportFactory = (UnixDomainSocketTransportFactory) transportFactory;
+            unixDomainSocketHttpBootstrap = newUnixDomainSocketBootstrap(unixDomainSocketTransportFactory, eventLoopGroup, config);
+            unixDomainSocketWsBootstrap = newUnixDomainSocketBootstrap(unixDomainSocketTransportFactory, eventLoopGroup, config);
+        } else {
+            unixDomainSocketTransportFactory = null;
+            unixDomainSocketHttpBootstrap = null;
+            unixDomainSocketWsBootstrap = null;
+        }
     }
 
     private static TransportFactory<? extends Channel, ? extends EventLoopGroup> getNativeTransportFactory(AsyncHttpClientConfig config) {
@@ -203,6 +296,10 @@ public class ChannelManager {
         return pipeline.get(SSL_HANDLER) != null;
     }
 
+    public static boolean isHttp2Stream(Channel channel) {
+        return channel instanceof Http2StreamChannel;
+    }
+
     private static Bootstrap newBootstrap(ChannelFactory<? extends Channel> channelFactory, EventLoopGroup eventLoopGroup, AsyncHttpClientConfig config) {
         Bootstrap bootstrap = new Bootstrap().channelFactory(channelFactory).group(eventLoopGroup)
                 .option(ChannelOption.ALLOCATOR, config.getAllocator() != null ? config.getAllocator() : ByteBufAllocator.DEFAULT)
@@ -236,6 +333,30 @@ public class ChannelManager {
         return bootstrap;
     }
 
+    // the TCP options, including the custom channel options, don't apply to Unix domain sockets
+    private static Bootstrap newUnixDomainSocketBootstrap(UnixDomainSocketTransportFactory transportFactory, EventLoopGroup eventLoopGroup,
+                                                          AsyncHttpClientConfig config) {
+        Bootstrap bootstrap = new Bootstrap().channelFactory(transportFactory::newUnixDomainSocketChannel).group(eventLoopGroup)
+                .option(ChannelOption.ALLOCATOR, config.getAllocator() != null ? config.getAllocator() : ByteBufAllocator.DEFAULT)
+                .option(ChannelOption.AUTO_CLOSE, false);
+
+        long connectTimeout = config.getConnectTimeout().toMillis();
+        if (connectTimeout > 0) {
+            connectTimeout = Math.min(connectTimeout, Integer.MAX_VALUE);
+            bootstrap.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout);
+        }
+
+        if (config.getSoSndBuf() >= 0) {
+            bootstrap.option(ChannelOption.SO_SNDBUF, config.getSoSndBuf());
+        }
+
+        if (config.getSoRcvBuf() >= 0) {
+            bootstrap.option(ChannelOption.SO_RCVBUF, config.getSoRcvBuf());
+        }
+
+        return bootstrap;
+    }
+
     public void configureBootstraps(NettyRequestSender requestSender) {
         final AsyncHttpClientHandler httpHandler = new HttpHandler(config, this, requestSender);
         wsHandler = new WebSocketHandler(config, this, requestSender);
@@ -285,6 +406,30 @@ public class ChannelManager {
                 }
             }
         });
+
+        http2StreamInitializer = new ChannelInitializer<Channel>() {
+            @Override
+            protected void initChannel(Channel ch) {
+                ChannelPipeline pipeline = ch.pipeline()
+                        .addLast(HTTP2_STREAM_CODEC, new Http2StreamFrameToHttpObjectCodec(false, config.isValidateResponseHeaders()))
+                        .addLast(HTTP2_STREAM_ADAPTER, Http2StreamHttpObjectAdapter.INSTANCE);
+
+                if (config.isEnableAutomaticDecompression()) {
+                    pipeline = pipeline.addLast(INFLATER_HANDLER, newHttpContentDecompressor());
+                }
+
+                pipeline.addLast(CHUNKED_WRITER_HANDLER, new ChunkedWriteHandler())
+                        .addLast(AHC_HTTP_HANDLER, httpHandler);
+
+                // give the stream reserved before opening it back
+                ch.closeFuture().addListener(future -> Http2Connections.releaseStream(ch.parent()));
+            }
+        };
+
+        if (unixDomainSocketTransportFactory != null) {
+            unixDomainSocketHttpBootstrap.handler(httpBootstrap.config().handler());
+            unixDomainSocketWsBootstrap.handler(wsBootstrap.config().handler());
+        }
     }
 
     private HttpContentDecompressor newHttpContentDecompressor() {
@@ -300,13 +445,40 @@ public class ChannelManager {
         }
     }
 
-    public final void tryToOfferChannelToPool(Channel channel, AsyncHandler<?> asyncHandler, boolean keepAlive, Object partitionKey) {
-        if (channel.isActive() && keepAlive) {
+    public final void tryToOfferChannelToPool(Channel channel, NettyResponseFuture<?> future, boolean keepAlive, Object partitionKey) {
+        if (isHttp2Stream(channel)) {
+            // a stream can't be reused, its connection is shared through the HTTP/2 connections instead of the pool
+            closeChannel(channel);
+        } else if (channel.isActive() && keepAlive) {
+            NettyResponseFuture<?> nextPipelined = pipelinedConnections.next(channel);
+            if (nextPipelined != null) {
+                // the response to the next pipelined request comes next on this channel, it can't be offered to the pool yet
+                LOGGER.debug("Handing over pipelined channel {} to {}", channel, nextPipelined);
+                future.handOverPartitionKeyLock(nextPipelined);
+                Channels.setAttribute(channel, nextPipelined);
+                return;
+            }
+
+            if (maxRequestsPerConnection > 0 && Channels.getRequestCount(channel) >= maxRequestsPerConnection) {
+                // the connection served its last request, rotate it
+                LOGGER.debug("Closing channel {} that reached the maximum number of requests per connection", channel);
+                closeChannel(channel);
+                return;
+            }
+
+            if (!Channels.hasRemainingRequests(channel)) {
+                // the server announced it won't accept any more requests on this connection
+                LOGGER.debug("Closing channel {} that reached the server Keep-Alive max", channel);
+                closeChannel(channel);
+                return;
+            }
+
             LOGGER.debug("Adding key: {} for channel {}", partitionKey, channel);
             Channels.setDiscard(channel);
+            markIdle(channel);
 
             try {
-                asyncHandler.onConnectionOffer(channel);
+                future.getAsyncHandler().onConnectionOffer(channel);
             } catch (Exception e) {
                 LOGGER.error("onConnectionOffer crashed", e);
             }
@@ -321,9 +493,299 @@ public class ChannelManager {
         }
     }
 
+    /**
+     * Record when a channel offered to the pool became idle, for validating it when it's leased.
+     */
+    void markIdle(Channel channel) {
+        if (validatePooledConnections) {
+            Channels.setIdleSince(channel, System.nanoTime());
+        }
+    }
+
     public Channel poll(Uri uri, String virtualHost, ProxyServer proxy, ChannelPoolPartitioning connectionPoolPartitioning) {
         Object partitionKey = connectionPoolPartitioning.getPartitionKey(uri, virtualHost, proxy);
-        return channelPool.poll(partitionKey);
+        Channel channel;
+        while ((channel = channelPool.poll(partitionKey)) != null) {
+            if (!isConnectedAddressAvailable(channel)) {
+                // the address this connection was opened to has been ejected, don't send it any more requests
+                LOGGER.debug("Closing pooled channel {} to ejected address", channel);
+            } else if (validatePooledConnections && isStale(channel)) {
+                LOGGER.debug("Closing stale pooled channel {}", channel);
+                staleConnectionDiscardedCount.increment();
+            } else {
+                return channel;
+            }
+            closeChannel(channel);
+        }
+        return null;
+    }
+
+    /**
+     * A pooled channel is stale when the server closed it, or shut down its output, and the event loop didn't notice yet. The channels idle
+     * for longer than the strict validation idle time, the most likely to have been closed by the server, get their socket state queried from
+     * the kernel where the transport allows it, i.e. with epoll. With the other transports, they're kept as long as they look active.
+     */
+    private boolean isStale(Channel channel) {
+        if (!channel.isActive() || channel instanceof DuplexChannel && ((DuplexChannel) channel).isInputShutdown()) {
+            return true;
+        }
+        Long idleSince = Channels.getIdleSince(channel);
+        return idleSince != null && System.nanoTime() - idleSince >= strictValidationIdleTimeNanos && transportFactory.isRemotelyClosed(channel);
+    }
+
+    private boolean isConnectedAddressAvailable(Channel channel) {
+        if (addressSelectionPolicy == null) {
+            return true;
+        }
+        InetSocketAddress address = Channels.getConnectedAddress(channel);
+        return address == null || addressSelectionPolicy.isAvailable(address);
+    }
+
+    /**
+     * @return the resolved addresses in the order connecting should be attempted in
+     */
+    public List<InetSocketAddress> selectAddresses(List<InetSocketAddress> addresses) {
+        return addressSelectionPolicy != null ? addressSelectionPolicy.select(addresses) : addresses;
+    }
+
+    public void onConnected(Channel channel, InetSocketAddress remoteAddress) {
+        if (addressSelectionPolicy != null && !remoteAddress.isUnresolved()) {
+            Channels.setConnectedAddress(channel, remoteAddress);
+        }
+    }
+
+    public void onConnectFailure(InetSocketAddress remoteAddress, Throwable cause) {
+        if (addressSelectionPolicy != null && !remoteAddress.isUnresolved()) {
+            addressSelectionPolicy.onConnectFailure(remoteAddress, cause);
+        }
+    }
+
+    /**
+     * Count the request of the future being written on the channel, for rotating the connections that reached the maximum number of requests,
+     * and start tracking it, ending the tracking of a previous write that didn't get a response, e.g. because the connection was closed and
+     * the request is being retried.
+     */
+    public void onRequestWritten(NettyResponseFuture<?> future, Channel channel) {
+        if (maxRequestsPerConnection > 0) {
+            Channels.incrementRequestCount(channel);
+        }
+        if (addressSelectionPolicy == null) {
+            return;
+        }
+        InetSocketAddress previousAddress = future.endExchange();
+        if (previousAddress != null) {
+            addressSelectionPolicy.onRequestFailed(previousAddress, null);
+        }
+        InetSocketAddress address = Channels.getConnectedAddress(channel);
+        if (address != null) {
+            addressSelectionPolicy.onRequestSent(address);
+            future.startExchange(address, addressSelectionPolicy);
+        }
+    }
+
+    public void onResponseReceived(NettyResponseFuture<?> future) {
+        if (addressSelectionPolicy != null) {
+            InetSocketAddress address = future.endExchange();
+            if (address != null) {
+                addressSelectionPolicy.onResponseReceived(address, System.nanoTime() - future.getExchangeStartNanos());
+            }
+        }
+        if (circuitBreakers != null) {
+            circuitBreakers.onSuccess(future.getPartitionKey());
+        }
+    }
+
+    /**
+     * Record the hints of the {@code Keep-Alive} header of a response that keeps its connection alive: how long the server keeps the connection
+     * open while it's idle, for the pool to expire it first, and how many more requests the server accepts on it.
+     */
+    public void onKeepAliveHints(Channel channel, HttpHeaders headers) {
+        String keepAlive = headers.get(HttpHeaderNames.KEEP_ALIVE);
+        if (keepAlive == null) {
+            // the hints of a previous response don't hold anymore
+            Channels.clearKeepAliveHints(channel);
+            return;
+        }
+        int timeout = extractKeepAliveParameter(keepAlive, "timeout");
+        Channels.setKeepAliveTimeout(channel, timeout >= 0 ? TimeUnit.SECONDS.toMillis(timeout) : null);
+        int max = extractKeepAliveParameter(keepAlive, "max");
+        Channels.setRemainingRequests(channel, max >= 0 ? max : null);
+    }
+
+    public void onRequestFailed(NettyResponseFuture<?> future, Throwable cause) {
+        if (addressSelectionPolicy != null) {
+            InetSocketAddress address = future.endExchange();
+            if (address != null) {
+                addressSelectionPolicy.onRequestFailed(address, cause);
+            }
+        }
+        if (circuitBreakers != null && isRemoteFailure(cause)) {
+            circuitBreakers.onFailure(future.getPartitionKey());
+        }
+    }
+
+    // connect failures, timeouts and connections closed by the remote peer, but not the requests rejected locally
+    private static boolean isRemoteFailure(Throwable cause) {
+        return cause instanceof TimeoutException
+                || cause instanceof IOException
+                && !(cause instanceof CircuitBreakerOpenException
+                || cause instanceof PoolAlreadyClosedException
+                || cause instanceof TooManyConnectionsException
+                || cause instanceof TooManyConnectionsPerHostException);
+    }
+
+    /**
+     * @return null if the request of the future can open a new connection, otherwise the exception to fail it with as the circuit of its
+     * partition is open
+     */
+    public IOException checkCircuitBreaker(NettyResponseFuture<?> future) {
+        return circuitBreakers != null ? circuitBreakers.tryAcquire(future.getPartitionKey()) : null;
+    }
+
+    /**
+     * Count a retry of the request of the future in the stats of its target host.
+     */
+    public void onRetry(NettyResponseFuture<?> future) {
+        retryCountsPerHost.computeIfAbsent(future.getUri().getHost(), host -> new LongAdder()).increment();
+    }
+
+    /**
+     * @return an HTTP/2 connection to the target on which a stream has been reserved, or null if there's none or they are saturated
+     */
+    public Channel pollHttp2Connection(Uri uri, String virtualHost, ProxyServer proxy, ChannelPoolPartitioning connectionPoolPartitioning) {
+        if (!config.isHttp2Enabled() || proxy != null || uri.isWebSocket()) {
+            return null;
+        }
+        Object partitionKey = connectionPoolPartitioning.getPartitionKey(uri, virtualHost, proxy);
+        return http2Connections.reserveStream(partitionKey);
+    }
+
+    /**
+     * @return true if the request can be pipelined: a GET or HEAD without a body, sent to one of the pipelining hosts without a proxy
+     */
+    public boolean isPipelinable(NettyResponseFuture<?> future) {
+        if (pipeliningHosts.isEmpty() || config.getMaxPipelinedRequests() < 2 || future.getProxyServer() != null || future.getRealm() != null) {
+            return false;
+        }
+
+        Uri uri = future.getCurrentRequest().getUri();
+        NettyRequest nettyRequest = future.getNettyRequest();
+        HttpRequest httpRequest = nettyRequest.getHttpRequest();
+        HttpMethod method = httpRequest.method();
+        boolean hasBody = nettyRequest.getBody() != null || httpRequest instanceof FullHttpRequest && ((FullHttpRequest) httpRequest).content().isReadable();
+        return (method == HttpMethod.GET || method == HttpMethod.HEAD) && !hasBody && !uri.isWebSocket()
+                && pipeliningHosts.contains(uri.getHost().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Make the channel available to the following pipelinable requests of the partition, once the request whose response comes first
+     * has been written on it. Must be called from the channel's event loop.
+     */
+    public void startPipelining(Channel channel, Object partitionKey) {
+        if (channel.isActive()) {
+            pipelinedConnections.open(channel, partitionKey);
+        }
+    }
+
+    /**
+     * @return a channel on which the request has been queued behind other pipelined requests, or null if none of them can take more.
+     * Queued requests must be written with {@link #pollUnwrittenPipelinedRequest(Channel)}, from the channel's event loop.
+     */
+    public Channel enqueuePipelinedRequest(NettyResponseFuture<?> future) {
+        return pipelinedConnections.enqueue(future.getPartitionKey(), future);
+    }
+
+    /**
+     * @return the next request queued on the channel that hasn't been written yet
+     */
+    public NettyResponseFuture<?> pollUnwrittenPipelinedRequest(Channel channel) {
+        return pipelinedConnections.pollUnwritten(channel);
+    }
+
+    /**
+     * Stop queuing requests on the channel.
+     *
+     * @return true if pipelined requests are still waiting for their responses on the channel
+     */
+    public boolean stopPipelining(Channel channel) {
+        return pipelinedConnections.stop(channel);
+    }
+
+    /**
+     * @return the pipelined requests that were still waiting for their response on a channel that has been closed
+     */
+    public List<NettyResponseFuture<?>> removeUnansweredPipelinedRequests(Channel channel) {
+        return pipelinedConnections.close(channel);
+    }
+
+    /**
+     * @return true if the server selected HTTP/2 during the TLS handshake
+     */
+    public boolean isHttp2Negotiated(SslHandler sslHandler) {
+        return config.isHttp2Enabled() && ApplicationProtocolNames.HTTP_2.equals(sslHandler.applicationProtocol());
+    }
+
+    /**
+     * @return true if the request can be written on a new connection before it's connected, so that it's sent along with the SYN with
+     * TCP Fast Open. Only plaintext requests whose body is written along with the headers qualify: the TLS handshake and the HTTP/2 preface
+     * can only be started once connected.
+     */
+    public boolean isTcpFastOpen(NettyResponseFuture<?> future) {
+        Uri uri = future.getUri();
+        NettyRequest nettyRequest = future.getNettyRequest();
+        return tcpFastOpen && future.getProxyServer() == null && !uri.isSecured() && !isHttp2PriorKnowledge(uri, null)
+                && nettyRequest.getBody() == null && nettyRequest.getHttpRequest().method() != HttpMethod.CONNECT;
+    }
+
+    /**
+     * @return true if the server acknowledged the request written along with the SYN of a channel connected with TCP Fast Open
+     */
+    public boolean isEarlyDataAccepted(Channel channel) {
+        return transportFactory.isEarlyDataAccepted(channel);
+    }
+
+    /**
+     * @return true if a new cleartext connection to the target must speak HTTP/2 right away
+     */
+    public boolean isHttp2PriorKnowledge(Uri uri, ProxyServer proxy) {
+        return config.isHttp2Enabled() && config.isHttp2PriorKnowledge() && proxy == null && !uri.isSecured() && !uri.isWebSocket();
+    }
+
+    /**
+     * Switch a new connection to HTTP/2 and share it with the other requests of the partition.
+     * One stream is reserved for the request that opened the connection.
+     */
+    public void upgradePipelineToHttp2(Channel connection, Object partitionKey) {
+        ChannelPipeline pipeline = connection.pipeline();
+        pipeline.remove(HTTP_CLIENT_CODEC);
+        if (pipeline.get(INFLATER_HANDLER) != null) {
+            pipeline.remove(INFLATER_HANDLER);
+        }
+        pipeline.remove(CHUNKED_WRITER_HANDLER);
+        pipeline.remove(AHC_HTTP_HANDLER);
+
+        pipeline.addLast(HTTP2_FRAME_CODEC, Http2FrameCodecBuilder.forClient()
+                .initialSettings(Http2Settings.defaultSettings().pushEnabled(false))
+                .build());
+        // server push is disabled, there won't be any inbound stream
+        pipeline.addLast(HTTP2_MULTIPLEX_HANDLER, new Http2MultiplexHandler(new ChannelInboundHandlerAdapter()));
+
+        http2Connections.register(connection, partitionKey);
+        http2Connections.tryReserveStream(connection);
+    }
+
+    /**
+     * Open a stream, set up like an HTTP/1.1 connection, on an HTTP/2 connection where a stream has been reserved.
+     */
+    public Future<Http2StreamChannel> openHttp2Stream(Channel connection) {
+        Future<Http2StreamChannel> whenStream = new Http2StreamChannelBootstrap(connection).handler(http2StreamInitializer).open();
+        whenStream.addListener(future -> {
+            if (!future.isSuccess()) {
+                // the stream was never initialized
+                Http2Connections.releaseStream(connection);
+            }
+        });
+        return whenStream;
     }
 
     public void removeAll(Channel connection) {
@@ -333,7 +795,13 @@ public class ChannelManager {
     private void doClose() {
         ChannelGroupFuture groupFuture = openChannels.close();
         channelPool.destroy();
-        groupFuture.addListener(future -> sslEngineFactory.destroy());
+        http2Connections.close();
+        groupFuture.addListener(future -> {
+            sslEngineFactory.destroy();
+            if (sslHandshakeExecutor != null) {
+                sslHandshakeExecutor.shutdown();
+            }
+        });
     }
 
     public void close() {
@@ -369,15 +837,35 @@ public class ChannelManager {
                 config.getHttpClientCodecInitialBufferSize());
     }
 
-    private SslHandler createSslHandler(String peerHost, int peerPort) {
-        SSLEngine sslEngine = sslEngineFactory.newSslEngine(config, peerHost, peerPort);
-        SslHandler sslHandler = new SslHandler(sslEngine);
+    private SslHandler createSslHandler(String peerHost, int peerPort, boolean allowHttp2) {
+        SSLEngine sslEngine = sslEngineFactory.newSslEngine(config, peerHost, peerPort, allowHttp2);
+        // delegated tasks, such as certificate validation, are offloaded so that they don't stall the other channels of the event loop
+        SslHandler sslHandler = sslHandshakeExecutor != null ? new SslHandler(sslEngine, sslHandshakeExecutor) : new SslHandler(sslEngine);
         if (handshakeTimeout > 0) {
             sslHandler.setHandshakeTimeoutMillis(handshakeTimeout);
         }
+
+        long handshakeStart = System.currentTimeMillis();
+        long handshakeStartNanos = System.nanoTime();
+        sslHandler.handshakeFuture().addListener(whenHandshaked -> {
+            if (whenHandshaked.isSuccess()) {
+                tlsHandshakeTimeNanos.add(System.nanoTime() - handshakeStartNanos);
+                recordTlsHandshake(sslEngine.getSession(), handshakeStart);
+            }
+        });
         return sslHandler;
     }
 
+    private void recordTlsHandshake(SSLSession session, long handshakeStart) {
+        // engines are created for the peer host and port, so the provider resumes the session cached for them if any,
+        // and a resumed session keeps the creation time of the handshake that negotiated it
+        if (session.getCreationTime() < handshakeStart) {
+            tlsSessionResumedCount.increment();
+        } else {
+            tlsFullHandshakeCount.increment();
+        }
+    }
+
     public Future<Channel> updatePipelineForHttpTunneling(ChannelPipeline pipeline, Uri requestUri) {
         Future<Channel> whenHandshaked = null;
 
@@ -387,7 +875,7 @@ public class ChannelManager {
 
         if (requestUri.isSecured()) {
             if (!isSslHandlerConfigured(pipeline)) {
-                SslHandler sslHandler = createSslHandler(requestUri.getHost(), requestUri.getExplicitPort());
+                SslHandler sslHandler = createSslHandler(requestUri.getHost(), requestUri.getExplicitPort(), false);
                 whenHandshaked = sslHandler.handshakeFuture();
                 pipeline.addBefore(INFLATER_HANDLER, SSL_HANDLER, sslHandler);
             }
@@ -428,7 +916,8 @@ public class ChannelManager {
             peerPort = uri.getExplicitPort();
         }
 
-        SslHandler sslHandler = createSslHandler(peerHost, peerPort);
+        // HTTP/2 connections are only shared when not going through a proxy
+        SslHandler sslHandler = createSslHandler(peerHost, peerPort, !hasSocksProxyHandler && !uri.isWebSocket());
         if (hasSocksProxyHandler) {
             pipeline.addAfter(SOCKS_HANDLER, SSL_HANDLER, sslHandler);
         } else {
@@ -437,6 +926,29 @@ public class ChannelManager {
         return sslHandler;
     }
 
+    /**
+     * @return the bootstrap to connect to the Unix domain socket with the given path
+     * @throws UnsupportedOperationException if the transport doesn't support Unix domain sockets
+     */
+    public Bootstrap getUnixDomainSocketBootstrap(Uri uri, String path) {
+        checkUnixDomainSocketSupport(path);
+        return uri.isWebSocket() ? unixDomainSocketWsBootstrap : unixDomainSocketHttpBootstrap;
+    }
+
+    /**
+     * @throws UnsupportedOperationException if the transport doesn't support Unix domain sockets
+     */
+    public SocketAddress newUnixDomainSocketAddress(String path) {
+        checkUnixDomainSocketSupport(path);
+        return unixDomainSocketTransportFactory.newUnixDomainSocketAddress(path);
+    }
+
+    private void checkUnixDomainSocketSupport(String path) {
+        if (unixDomainSocketTransportFactory == null) {
+            throw new UnsupportedOperationException("Unix domain sockets require the Epoll or the KQueue native transport, can't connect to " + path);
+        }
+    }
+
     public Future<Bootstrap> getBootstrap(Uri uri, NameResolver<InetAddress> nameResolver, ProxyServer proxy) {
         final Promise<Bootstrap> promise = ImmediateEventExecutor.INSTANCE.newPromise();
 
@@ -509,7 +1021,7 @@ public class ChannelManager {
         return new OnLastHttpContentCallback(future) {
             @Override
             public void call() {
-                tryToOfferChannelToPool(channel, future.getAsyncHandler(), keepAlive, partitionKey);
+                tryToOfferChannelToPool(channel, future, keepAlive, partitionKey);
             }
         };
     }
@@ -540,15 +1052,24 @@ public class ChannelManager {
 
         Map<String, Long> idleConnectionsPerHost = channelPool.getIdleChannelCountPerHost();
 
-        Map<String, HostStats> statsPerHost = totalConnectionsPerHost.entrySet()
+        Set<String> hosts = new HashSet<>(totalConnectionsPerHost.keySet());
+        hosts.addAll(retryCountsPerHost.keySet());
+
+        Map<String, HostStats> statsPerHost = hosts
                 .stream()
-                .collect(Collectors.toMap(Entry::getKey, entry -> {
-                    final long totalConnectionCount = entry.getValue();
-                    final long idleConnectionCount = idleConnectionsPerHost.getOrDefault(entry.getKey(), 0L);
+                .collect(Collectors.toMap(Function.identity(), host -> {
+                    final long totalConnectionCount = totalConnectionsPerHost.getOrDefault(host, 0L);
+                    final long idleConnectionCount = idleConnectionsPerHost.getOrDefault(host, 0L);
                     final long activeConnectionCount = totalConnectionCount - idleConnectionCount;
-                    return new HostStats(activeConnectionCount, idleConnectionCount);
+                    final LongAdder retryCount = retryCountsPerHost.get(host);
+                    return new HostStats(activeConnectionCount, idleConnectionCount, retryCount != null ? retryCount.sum() : 0);
                 }));
-        return new ClientStats(statsPerHost);
+        int tlsHandshakeQueueSize = sslHandshakeExecutor != null ? sslHandshakeExecutor.getQueue().size() : 0;
+        Map<String, CircuitBreakerState> circuitBreakerStates = circuitBreakers != null ? circuitBreakers.getStatesPerPartition() : Collections.emptyMap();
+        long circuitBreakerRejectedCount = circuitBreakers != null ? circuitBreakers.getRejectedCount() : 0;
+        return new ClientStats(statsPerHost, tlsSessionResumedCount.sum(), tlsFullHandshakeCount.sum(),
+                TimeUnit.NANOSECONDS.toMillis(tlsHandshakeTimeNanos.sum()), tlsHandshakeQueueSize, circuitBreakerStates, circuitBreakerRejectedCount,
+                staleConnectionDiscardedCount.sum());
     }
 
     public boolean isOpen() {
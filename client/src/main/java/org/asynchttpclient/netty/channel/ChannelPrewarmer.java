@@ -0,0 +1,221 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.handler.ssl.SslHandler;
+import org.asynchttpclient.netty.SimpleChannelFutureListener;
+import org.asynchttpclient.netty.SimpleFutureListener;
+import org.asynchttpclient.proxy.ProxyServer;
+import org.asynchttpclient.uri.Uri;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Opens channels ahead of requests and offers them to the {@link org.asynchttpclient.channel.ChannelPool}.
+ * <p>
+ * Each channel holds a {@link ConnectionSemaphore} permit until it's closed, exactly like channels opened for requests.
+ */
+public final class ChannelPrewarmer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChannelPrewarmer.class);
+
+    private final ChannelManager channelManager;
+    private final ConnectionSemaphore connectionSemaphore;
+
+    public ChannelPrewarmer(ChannelManager channelManager, ConnectionSemaphore connectionSemaphore) {
+        this.channelManager = channelManager;
+        this.connectionSemaphore = connectionSemaphore;
+    }
+
+    /**
+     * Acquire up to {@code count} permits, never waiting for one to be released.
+     *
+     * @param partitionKey the partition key
+     * @param count        the number of wanted permits
+     * @return the number of acquired permits
+     */
+    public int acquirePermits(Object partitionKey, int count) {
+        int permits = 0;
+        while (permits < count && connectionSemaphore.tryAcquireChannelLock(partitionKey)) {
+            permits++;
+        }
+        return permits;
+    }
+
+    public void releasePermits(Object partitionKey, int permits) {
+        for (int i = 0; i < permits; i++) {
+            connectionSemaphore.releaseChannelLock(partitionKey);
+        }
+    }
+
+    /**
+     * Open one channel per already acquired permit and offer them to the pool.
+     *
+     * @param bootstrap      the bootstrap
+     * @param remoteAddresses the resolved addresses, tried in order
+     * @param localAddress   the local address to bind to, if any
+     * @param uri            the uri the channels are opened for
+     * @param virtualHost    the virtual host, if any
+     * @param proxy          the proxy, if any
+     * @param partitionKey   the partition key
+     * @param permits        the number of acquired permits
+     * @return a future completed with the number of channels accepted by the pool
+     */
+    public CompletableFuture<Integer> openChannels(Bootstrap bootstrap, List<InetSocketAddress> remoteAddresses, @Nullable InetAddress localAddress, Uri uri,
+                                                   @Nullable String virtualHost, @Nullable ProxyServer proxy, Object partitionKey, int permits) {
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(permits);
+        AtomicInteger offered = new AtomicInteger();
+        InetSocketAddress localSocketAddress = localAddress != null ? new InetSocketAddress(localAddress, 0) : null;
+
+        for (int i = 0; i < permits; i++) {
+            new PrewarmedChannel(bootstrap, remoteAddresses, localSocketAddress, uri, virtualHost, proxy, partitionKey).connect(0).whenComplete((pooled, t) -> {
+                if (t != null) {
+                    LOGGER.debug("Failed to pre-warm a channel for {}", partitionKey, t);
+                } else if (pooled) {
+                    offered.incrementAndGet();
+                }
+                if (pending.decrementAndGet() == 0) {
+                    result.complete(offered.get());
+                }
+            });
+        }
+        return result;
+    }
+
+    private final class PrewarmedChannel {
+
+        private final Bootstrap bootstrap;
+        private final List<InetSocketAddress> remoteAddresses;
+        private final @Nullable InetSocketAddress localAddress;
+        private final Uri uri;
+        private final @Nullable String virtualHost;
+        private final @Nullable ProxyServer proxy;
+        private final Object partitionKey;
+        private final CompletableFuture<Boolean> pooled = new CompletableFuture<>();
+
+        private PrewarmedChannel(Bootstrap bootstrap, List<InetSocketAddress> remoteAddresses, @Nullable InetSocketAddress localAddress, Uri uri,
+                                 @Nullable String virtualHost, @Nullable ProxyServer proxy, Object partitionKey) {
+            this.bootstrap = bootstrap;
+            this.remoteAddresses = remoteAddresses;
+            this.localAddress = localAddress;
+            this.uri = uri;
+            this.virtualHost = virtualHost;
+            this.proxy = proxy;
+            this.partitionKey = partitionKey;
+        }
+
+        private CompletableFuture<Boolean> connect(int index) {
+            try {
+                bootstrap.connect(remoteAddresses.get(index), localAddress).addListener(new SimpleChannelFutureListener() {
+                    @Override
+                    public void onSuccess(Channel channel) {
+                        onConnected(channel, remoteAddresses.get(index));
+                    }
+
+                    @Override
+                    public void onFailure(Channel channel, Throwable cause) {
+                        channelManager.onConnectFailure(remoteAddresses.get(index), cause);
+                        if (index + 1 < remoteAddresses.size()) {
+                            connect(index + 1);
+                        } else {
+                            connectionSemaphore.releaseChannelLock(partitionKey);
+                            pooled.completeExceptionally(cause);
+                        }
+                    }
+                });
+            } catch (Exception e) {
+                // event loop shutting down
+                connectionSemaphore.releaseChannelLock(partitionKey);
+                pooled.completeExceptionally(e);
+            }
+            return pooled;
+        }
+
+        private void onConnected(Channel channel, InetSocketAddress remoteAddress) {
+            // transfer the permit to the channel
+            channel.closeFuture().addListener(future -> connectionSemaphore.releaseChannelLock(partitionKey));
+            Channels.setActiveToken(channel);
+            channelManager.onConnected(channel, remoteAddress);
+            channelManager.registerOpenChannel(channel);
+
+            // same rule as NettyConnectListener, tunneled connections are rejected upfront
+            if ((proxy == null || proxy.getProxyType().isSocks()) && uri.isSecured()) {
+                SslHandler sslHandler;
+                try {
+                    sslHandler = channelManager.addSslHandler(channel.pipeline(), uri, virtualHost, proxy != null);
+                } catch (Exception e) {
+                    fail(channel, e);
+                    return;
+                }
+                sslHandler.handshakeFuture().addListener(new SimpleFutureListener<Channel>() {
+                    @Override
+                    protected void onSuccess(Channel value) {
+                        if (channelManager.isHttp2Negotiated(sslHandler)) {
+                            share(channel);
+                        } else {
+                            offer(channel);
+                        }
+                    }
+
+                    @Override
+                    protected void onFailure(Throwable cause) {
+                        fail(channel, cause);
+                    }
+                });
+            } else if (channelManager.isHttp2PriorKnowledge(uri, proxy)) {
+                share(channel);
+            } else {
+                offer(channel);
+            }
+        }
+
+        // HTTP/2 connections are shared instead of pooled
+        private void share(Channel channel) {
+            Channels.setDiscard(channel);
+            channelManager.upgradePipelineToHttp2(channel, partitionKey);
+            // no request is waiting for the reserved stream
+            Http2Connections.releaseStream(channel);
+            pooled.complete(true);
+        }
+
+        private void offer(Channel channel) {
+            Channels.setDiscard(channel);
+            channelManager.markIdle(channel);
+            if (channelManager.getChannelPool().offer(channel, partitionKey)) {
+                pooled.complete(true);
+            } else {
+                // rejected by pool
+                channelManager.closeChannel(channel);
+                pooled.complete(false);
+            }
+        }
+
+        private void fail(Channel channel, Throwable cause) {
+            channelManager.closeChannel(channel);
+            pooled.completeExceptionally(cause);
+        }
+    }
+}
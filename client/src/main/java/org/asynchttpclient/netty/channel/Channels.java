@@ -19,15 +19,25 @@ import io.netty.channel.Channel;
 import io.netty.util.Attribute;
 import io.netty.util.AttributeKey;
 import org.asynchttpclient.netty.DiscardEvent;
+import org.asynchttpclient.uri.Uri;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+
 public final class Channels {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Channels.class);
 
     private static final AttributeKey<Object> DEFAULT_ATTRIBUTE = AttributeKey.valueOf("default");
     private static final AttributeKey<Active> ACTIVE_TOKEN_ATTRIBUTE = AttributeKey.valueOf("activeToken");
+    private static final AttributeKey<InetSocketAddress> CONNECTED_ADDRESS_ATTRIBUTE = AttributeKey.valueOf("connectedAddress");
+    private static final AttributeKey<AtomicInteger> REQUEST_COUNT_ATTRIBUTE = AttributeKey.valueOf("requestCount");
+    private static final AttributeKey<Long> IDLE_SINCE_ATTRIBUTE = AttributeKey.valueOf("idleSince");
+    private static final AttributeKey<Long> KEEP_ALIVE_TIMEOUT_ATTRIBUTE = AttributeKey.valueOf("keepAliveTimeout");
+    private static final AttributeKey<Integer> REMAINING_REQUESTS_ATTRIBUTE = AttributeKey.valueOf("remainingRequests");
 
     private Channels() {
         // Prevent outside initialization
@@ -68,5 +78,116 @@ public final class Channels {
         }
     }
 
+    /**
+     * Tag a new connection with the resolved address it was opened to.
+     */
+    public static void setConnectedAddress(Channel channel, InetSocketAddress address) {
+        channel.attr(CONNECTED_ADDRESS_ATTRIBUTE).set(address);
+    }
+
+    /**
+     * @return the resolved address the connection, or the parent connection of an HTTP/2 stream, was opened to, or null if unknown
+     */
+    public static InetSocketAddress getConnectedAddress(Channel channel) {
+        InetSocketAddress address = channel.attr(CONNECTED_ADDRESS_ATTRIBUTE).get();
+        if (address == null && channel.parent() != null) {
+            address = channel.parent().attr(CONNECTED_ADDRESS_ATTRIBUTE).get();
+        }
+        return address;
+    }
+
+    /**
+     * Count a request written on the connection.
+     */
+    public static void incrementRequestCount(Channel channel) {
+        Attribute<AtomicInteger> attr = channel.attr(REQUEST_COUNT_ATTRIBUTE);
+        AtomicInteger count = attr.get();
+        if (count == null) {
+            count = new AtomicInteger();
+            AtomicInteger previous = attr.setIfAbsent(count);
+            if (previous != null) {
+                count = previous;
+            }
+        }
+        count.incrementAndGet();
+    }
+
+    /**
+     * @return the number of requests written on the connection, only counted when there's a maximum number of requests per connection
+     */
+    public static int getRequestCount(Channel channel) {
+        AtomicInteger count = channel.attr(REQUEST_COUNT_ATTRIBUTE).get();
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * Record the {@link System#nanoTime()} the connection became idle at, when it's offered to the pool.
+     */
+    public static void setIdleSince(Channel channel, long nanoTime) {
+        channel.attr(IDLE_SINCE_ATTRIBUTE).set(nanoTime);
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} the connection became idle at, or null if it wasn't recorded
+     */
+    public static Long getIdleSince(Channel channel) {
+        return channel.attr(IDLE_SINCE_ATTRIBUTE).get();
+    }
+
+    /**
+     * Record how long the server keeps the connection open while it's idle, from the {@code timeout} of its last {@code Keep-Alive} header,
+     * null if the header didn't have one.
+     */
+    public static void setKeepAliveTimeout(Channel channel, Long timeoutMillis) {
+        channel.attr(KEEP_ALIVE_TIMEOUT_ATTRIBUTE).set(timeoutMillis);
+    }
+
+    /**
+     * @return how long, in milliseconds, the server keeps the connection open while it's idle, or null if it didn't tell
+     */
+    public static Long getKeepAliveTimeout(Channel channel) {
+        return channel.attr(KEEP_ALIVE_TIMEOUT_ATTRIBUTE).get();
+    }
+
+    /**
+     * Record how many more requests the server accepts on the connection, from the {@code max} of its last {@code Keep-Alive} header, null
+     * if the header didn't have one.
+     */
+    public static void setRemainingRequests(Channel channel, Integer remainingRequests) {
+        channel.attr(REMAINING_REQUESTS_ATTRIBUTE).set(remainingRequests);
+    }
+
+    /**
+     * Forget the hints of the previous {@code Keep-Alive} headers, once a response doesn't have one.
+     */
+    public static void clearKeepAliveHints(Channel channel) {
+        if (channel.hasAttr(KEEP_ALIVE_TIMEOUT_ATTRIBUTE)) {
+            channel.attr(KEEP_ALIVE_TIMEOUT_ATTRIBUTE).set(null);
+        }
+        if (channel.hasAttr(REMAINING_REQUESTS_ATTRIBUTE)) {
+            channel.attr(REMAINING_REQUESTS_ATTRIBUTE).set(null);
+        }
+    }
+
+    /**
+     * @return false if the server told it doesn't accept any more requests on the connection
+     */
+    public static boolean hasRemainingRequests(Channel channel) {
+        Integer remaining = channel.attr(REMAINING_REQUESTS_ATTRIBUTE).get();
+        return remaining == null || remaining > 0;
+    }
+
+    /**
+     * @return the remote address of the channel, or null if it's closed. Unix domain socket channels don't have an {@link InetSocketAddress},
+     * the unresolved host and port of the uri are returned instead.
+     */
+    public static InetSocketAddress getRemoteAddress(Channel channel, Uri uri) {
+        SocketAddress remoteAddress = channel.remoteAddress();
+        if (remoteAddress == null || remoteAddress instanceof InetSocketAddress) {
+            return (InetSocketAddress) remoteAddress;
+        }
+        return InetSocketAddress.createUnresolved(uri.getHost(), uri.getExplicitPort());
+    }
+
     private enum Active {INSTANCE}
 }
@@ -0,0 +1,191 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import org.asynchttpclient.AsyncHttpClientConfig;
+import org.asynchttpclient.CircuitBreakerState;
+import org.asynchttpclient.exception.CircuitBreakerOpenException;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.asynchttpclient.util.ThrowableUtil.unknownStackTrace;
+
+/**
+ * The circuit breakers of the pool partitions.
+ * <p>
+ * A partition is only tracked once a request to it failed, and forgotten once a whole window elapsed without failure.
+ * Its circuit opens when, within the window, enough requests completed and the rate of the failed ones reached the threshold.
+ * Once the open duration has elapsed, the circuit is half-open: a limited number of probe requests go through, the first one to
+ * succeed closes it, the first one to fail opens it again. If the probes never complete, e.g. because they were cancelled, new
+ * probes go through after another open duration.
+ */
+final class CircuitBreakers {
+
+    private final int failureRateThreshold;
+    private final int minimumRequests;
+    private final long windowNanos;
+    private final long openDurationNanos;
+    private final int halfOpenProbes;
+    private final ConcurrentHashMap<Object, CircuitBreaker> breakersPerPartition = new ConcurrentHashMap<>();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    CircuitBreakers(AsyncHttpClientConfig config) {
+        failureRateThreshold = config.getCircuitBreakerFailureRateThreshold();
+        minimumRequests = Math.max(config.getCircuitBreakerMinimumRequests(), 1);
+        windowNanos = config.getCircuitBreakerWindow().toNanos();
+        openDurationNanos = config.getCircuitBreakerOpenDuration().toNanos();
+        halfOpenProbes = Math.max(config.getCircuitBreakerHalfOpenProbes(), 1);
+    }
+
+    /**
+     * @return null if a request to the partition can go on, otherwise the exception to fail it with
+     */
+    @Nullable
+    CircuitBreakerOpenException tryAcquire(Object partitionKey) {
+        CircuitBreaker breaker = breakersPerPartition.get(partitionKey);
+        if (breaker == null || breaker.tryAcquire(System.nanoTime())) {
+            return null;
+        }
+        rejectedCount.increment();
+        return breaker.openException;
+    }
+
+    void onSuccess(Object partitionKey) {
+        CircuitBreaker breaker = breakersPerPartition.get(partitionKey);
+        if (breaker != null && breaker.onSuccess(System.nanoTime())) {
+            breakersPerPartition.remove(partitionKey, breaker);
+        }
+    }
+
+    void onFailure(Object partitionKey) {
+        breakersPerPartition.computeIfAbsent(partitionKey, CircuitBreaker::new).onFailure(System.nanoTime());
+    }
+
+    Map<String, CircuitBreakerState> getStatesPerPartition() {
+        Map<String, CircuitBreakerState> states = new HashMap<>();
+        breakersPerPartition.forEach((partitionKey, breaker) -> states.put(partitionKey.toString(), breaker.getState()));
+        return states;
+    }
+
+    long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    private final class CircuitBreaker {
+
+        // shared by the rejected requests, so failing fast doesn't fill a stack trace
+        private final CircuitBreakerOpenException openException;
+        private CircuitBreakerState state = CircuitBreakerState.CLOSED;
+        private long windowStartNanos = System.nanoTime();
+        private int successes;
+        private int failures;
+        private long openedAtNanos;
+        private int probes;
+
+        private CircuitBreaker(Object partitionKey) {
+            openException = unknownStackTrace(new CircuitBreakerOpenException(partitionKey), CircuitBreakers.class, "tryAcquire");
+        }
+
+        private synchronized CircuitBreakerState getState() {
+            return state;
+        }
+
+        private synchronized boolean tryAcquire(long now) {
+            switch (state) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (now - openedAtNanos < openDurationNanos) {
+                        return false;
+                    }
+                    state = CircuitBreakerState.HALF_OPEN;
+                    openedAtNanos = now;
+                    probes = 1;
+                    return true;
+                default:
+                    if (probes < halfOpenProbes) {
+                        probes++;
+                        return true;
+                    }
+                    if (now - openedAtNanos >= openDurationNanos) {
+                        // the previous probes never completed
+                        openedAtNanos = now;
+                        probes = 1;
+                        return true;
+                    }
+                    return false;
+            }
+        }
+
+        /**
+         * @return true if the partition is healthy and doesn't need to be tracked anymore
+         */
+        private synchronized boolean onSuccess(long now) {
+            switch (state) {
+                case HALF_OPEN:
+                    state = CircuitBreakerState.CLOSED;
+                    return true;
+                case OPEN:
+                    // a request sent before the circuit opened, the probes decide
+                    return false;
+                default:
+                    if (now - windowStartNanos >= windowNanos) {
+                        if (failures == 0) {
+                            return true;
+                        }
+                        resetWindow(now);
+                    }
+                    successes++;
+                    return false;
+            }
+        }
+
+        private synchronized void onFailure(long now) {
+            switch (state) {
+                case HALF_OPEN:
+                    open(now);
+                    break;
+                case OPEN:
+                    break;
+                default:
+                    if (now - windowStartNanos >= windowNanos) {
+                        resetWindow(now);
+                    }
+                    failures++;
+                    int completed = successes + failures;
+                    if (completed >= minimumRequests && failures * 100L >= (long) failureRateThreshold * completed) {
+                        open(now);
+                    }
+            }
+        }
+
+        private void open(long now) {
+            state = CircuitBreakerState.OPEN;
+            openedAtNanos = now;
+            resetWindow(now);
+        }
+
+        private void resetWindow(long now) {
+            windowStartNanos = now;
+            successes = 0;
+            failures = 0;
+        }
+    }
+}
@@ -15,8 +15,13 @@
  */
 package org.asynchttpclient.netty.channel;
 
+import io.netty.util.Timer;
+import org.jetbrains.annotations.Nullable;
+
 import java.io.IOException;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * A combined {@link ConnectionSemaphore} with two limits - a global limit and a per-host limit
@@ -25,8 +30,17 @@ public class CombinedConnectionSemaphore extends PerHostConnectionSemaphore {
     protected final MaxConnectionSemaphore globalMaxConnectionSemaphore;
 
     CombinedConnectionSemaphore(int maxConnections, int maxConnectionsPerHost, int acquireTimeout) {
-        super(maxConnectionsPerHost, acquireTimeout);
-        globalMaxConnectionSemaphore = new MaxConnectionSemaphore(maxConnections, acquireTimeout);
+        this(maxConnections, maxConnectionsPerHost, acquireTimeout, null);
+    }
+
+    CombinedConnectionSemaphore(int maxConnections, int maxConnectionsPerHost, int acquireTimeout, @Nullable Timer nettyTimer) {
+        this(maxConnections, maxConnectionsPerHost, acquireTimeout, nettyTimer, ForkJoinPool.commonPool());
+    }
+
+    CombinedConnectionSemaphore(int maxConnections, int maxConnectionsPerHost, int acquireTimeout, @Nullable Timer nettyTimer,
+                                Executor continuationExecutor) {
+        super(maxConnectionsPerHost, acquireTimeout, nettyTimer, continuationExecutor);
+        globalMaxConnectionSemaphore = new MaxConnectionSemaphore(maxConnections, acquireTimeout, nettyTimer, continuationExecutor);
     }
 
     @Override
@@ -34,7 +48,7 @@ public class CombinedConnectionSemaphore extends PerHostConnectionSemaphore {
         long remainingTime = acquireTimeout > 0 ? acquireGlobalTimed(partitionKey) : acquireGlobal(partitionKey);
 
         try {
-            if (remainingTime < 0 || !getFreeConnectionsForHost(partitionKey).tryAcquire(remainingTime, TimeUnit.MILLISECONDS)) {
+            if (remainingTime < 0 || !acquirePerHost(partitionKey, remainingTime)) {
                 releaseGlobal(partitionKey);
                 throw tooManyConnectionsPerHost;
             }
@@ -44,6 +58,33 @@ public class CombinedConnectionSemaphore extends PerHostConnectionSemaphore {
         }
     }
 
+    @Override
+    public CompletableFuture<Void> acquireChannelLockAsync(Object partitionKey) {
+        long beforeGlobalAcquire = System.currentTimeMillis();
+        return globalMaxConnectionSemaphore.acquireChannelLockAsync(partitionKey).thenCompose(v -> {
+            long remainingTime = acquireTimeout - (System.currentTimeMillis() - beforeGlobalAcquire);
+            // keep the zero-timeout semantics: only fail right away if a permit isn't available
+            return acquirePerHostAsync(partitionKey, acquireTimeout > 0 ? Math.max(1, remainingTime) : 0)
+                    .whenComplete((v2, t) -> {
+                        if (t != null) {
+                            releaseGlobal(partitionKey);
+                        }
+                    });
+        });
+    }
+
+    @Override
+    public boolean tryAcquireChannelLock(Object partitionKey) {
+        if (!globalMaxConnectionSemaphore.tryAcquireChannelLock(partitionKey)) {
+            return false;
+        }
+        if (!acquirePerHostAsync(partitionKey, 0).isCompletedExceptionally()) {
+            return true;
+        }
+        releaseGlobal(partitionKey);
+        return false;
+    }
+
     protected void releaseGlobal(Object partitionKey) {
         globalMaxConnectionSemaphore.releaseChannelLock(partitionKey);
     }
@@ -16,6 +16,7 @@
 package org.asynchttpclient.netty.channel;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Connections limiter.
@@ -24,5 +25,37 @@ public interface ConnectionSemaphore {
 
     void acquireChannelLock(Object partitionKey) throws IOException;
 
+    /**
+     * Acquire a permit without blocking the calling thread.
+     * <p>
+     * Implementations should park the caller in a FIFO queue until a permit is released, and fail the returned future once the acquire timeout expires.
+     * The default implementation falls back to the blocking {@link #acquireChannelLock(Object)}.
+     *
+     * @param partitionKey the partition key
+     * @return a future completed once the permit is acquired
+     */
+    default CompletableFuture<Void> acquireChannelLockAsync(Object partitionKey) {
+        try {
+            acquireChannelLock(partitionKey);
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Acquire a permit only if one is available right away, without queueing behind other waiters.
+     * <p>
+     * Used by background work, such as pool pre-warming, that must never compete with requests for permits, nor block the event loops
+     * and the timer threads it runs on. The default implementation never acquires any, so there's no pre-warming with semaphores that
+     * don't implement it.
+     *
+     * @param partitionKey the partition key
+     * @return true if the permit was acquired
+     */
+    default boolean tryAcquireChannelLock(Object partitionKey) {
+        return false;
+    }
+
     void releaseChannelLock(Object partitionKey);
 }
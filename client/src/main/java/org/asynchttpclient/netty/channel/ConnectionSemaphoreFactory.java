@@ -15,10 +15,32 @@
  */
 package org.asynchttpclient.netty.channel;
 
+import io.netty.util.Timer;
 import org.asynchttpclient.AsyncHttpClientConfig;
 
+import java.util.concurrent.Executor;
+
 @FunctionalInterface
 public interface ConnectionSemaphoreFactory {
 
     ConnectionSemaphore newConnectionSemaphore(AsyncHttpClientConfig config);
+
+    /**
+     * @param config     the client config
+     * @param nettyTimer the timer used to expire queued permit acquisitions
+     * @return a new {@link ConnectionSemaphore}
+     */
+    default ConnectionSemaphore newConnectionSemaphore(AsyncHttpClientConfig config, Timer nettyTimer) {
+        return newConnectionSemaphore(config);
+    }
+
+    /**
+     * @param config               the client config
+     * @param nettyTimer           the timer used to expire queued permit acquisitions
+     * @param continuationExecutor the executor on which queued permit acquisitions are completed, the event loop group of the client
+     * @return a new {@link ConnectionSemaphore}
+     */
+    default ConnectionSemaphore newConnectionSemaphore(AsyncHttpClientConfig config, Timer nettyTimer, Executor continuationExecutor) {
+        return newConnectionSemaphore(config, nettyTimer);
+    }
 }
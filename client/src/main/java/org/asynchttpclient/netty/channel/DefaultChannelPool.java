@@ -33,12 +33,15 @@ import java.util.Collections;
 import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -52,20 +55,23 @@ public final class DefaultChannelPool implements ChannelPool {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultChannelPool.class);
     private static final AttributeKey<ChannelCreation> CHANNEL_CREATION_ATTRIBUTE_KEY = AttributeKey.valueOf("channelCreation");
+    // don't spin the idle channel detector for servers advertising a zero timeout
+    private static final long MIN_CLEANER_PERIOD_MS = 10;
 
     private final ConcurrentHashMap<Object, ConcurrentLinkedDeque<IdleChannel>> partitions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Object, MinIdle> minIdlePartitions = new ConcurrentHashMap<>();
     private final AtomicBoolean isClosed = new AtomicBoolean(false);
+    private final AtomicBoolean idleChannelDetectorStarted = new AtomicBoolean(false);
     private final Timer nettyTimer;
-    private final long connectionTtl;
-    private final boolean connectionTtlEnabled;
-    private final long maxIdleTime;
-    private final boolean maxIdleTimeEnabled;
-    private final long cleanerPeriod;
+    private final ChannelExpiry expiry;
+    private final AtomicLong cleanerPeriod;
     private final PoolLeaseStrategy poolLeaseStrategy;
 
     public DefaultChannelPool(AsyncHttpClientConfig config, Timer hashedWheelTimer) {
         this(config.getPooledConnectionIdleTimeout(),
                 config.getConnectionTtl(),
+                config.getConnectionTtlJitter(),
+                PoolLeaseStrategy.LIFO,
                 hashedWheelTimer,
                 config.getConnectionPoolCleanerPeriod());
     }
@@ -75,35 +81,48 @@ public final class DefaultChannelPool implements ChannelPool {
     }
 
     public DefaultChannelPool(Duration maxIdleTime, Duration connectionTtl, PoolLeaseStrategy poolLeaseStrategy, Timer nettyTimer, Duration cleanerPeriod) {
-        final long maxIdleTimeInMs = maxIdleTime.toMillis();
-        final long connectionTtlInMs = connectionTtl.toMillis();
-        final long cleanerPeriodInMs = cleanerPeriod.toMillis();
-        this.maxIdleTime = maxIdleTimeInMs;
-        this.connectionTtl = connectionTtlInMs;
-        connectionTtlEnabled = connectionTtlInMs > 0;
+        this(maxIdleTime, connectionTtl, Duration.ZERO, poolLeaseStrategy, nettyTimer, cleanerPeriod);
+    }
+
+    /**
+     * @param connectionTtlJitter the maximum random amount the TTL of each channel is shortened by, so that the channels opened together
+     *                            don't expire together
+     */
+    public DefaultChannelPool(Duration maxIdleTime, Duration connectionTtl, Duration connectionTtlJitter, PoolLeaseStrategy poolLeaseStrategy, Timer nettyTimer,
+                              Duration cleanerPeriod) {
+        expiry = new ChannelExpiry(maxIdleTime, connectionTtl, connectionTtlJitter);
         this.nettyTimer = nettyTimer;
-        maxIdleTimeEnabled = maxIdleTimeInMs > 0;
         this.poolLeaseStrategy = poolLeaseStrategy;
 
-        this.cleanerPeriod = Math.min(cleanerPeriodInMs, Math.min(connectionTtlEnabled ? connectionTtlInMs : Integer.MAX_VALUE,
-                maxIdleTimeEnabled ? maxIdleTimeInMs : Integer.MAX_VALUE));
+        this.cleanerPeriod = new AtomicLong(Math.min(cleanerPeriod.toMillis(), Math.min(expiry.connectionTtlEnabled ? expiry.connectionTtl : Integer.MAX_VALUE,
+                expiry.maxIdleTimeEnabled ? expiry.maxIdleTime : Integer.MAX_VALUE)));
 
-        if (connectionTtlEnabled || maxIdleTimeEnabled) {
+        if (expiry.connectionTtlEnabled || expiry.maxIdleTimeEnabled) {
+            startIdleChannelDetector();
+        }
+    }
+
+    private void startIdleChannelDetector() {
+        if (idleChannelDetectorStarted.compareAndSet(false, true)) {
             scheduleNewIdleChannelDetector(new IdleChannelDetector());
         }
     }
 
     private void scheduleNewIdleChannelDetector(TimerTask task) {
-        nettyTimer.newTimeout(task, cleanerPeriod, TimeUnit.MILLISECONDS);
+        nettyTimer.newTimeout(task, cleanerPeriod.get(), TimeUnit.MILLISECONDS);
     }
 
     private boolean isTtlExpired(Channel channel, long now) {
-        if (!connectionTtlEnabled) {
+        if (!expiry.connectionTtlEnabled) {
             return false;
         }
 
         ChannelCreation creation = channel.attr(CHANNEL_CREATION_ATTRIBUTE_KEY).get();
-        return creation != null && now - creation.creationTime >= connectionTtl;
+        return creation != null && now - creation.creationTime >= creation.ttl;
+    }
+
+    private boolean isExpired(IdleChannel idleChannel, long now) {
+        return now >= idleChannel.idleDeadline || isTtlExpired(idleChannel.channel, now);
     }
 
     @Override
@@ -119,7 +138,7 @@ public final class DefaultChannelPool implements ChannelPool {
         }
 
         boolean offered = offer0(channel, partitionKey, now);
-        if (connectionTtlEnabled && offered) {
+        if (expiry.connectionTtlEnabled && offered) {
             registerChannelCreation(channel, partitionKey, now);
         }
 
@@ -131,13 +150,24 @@ public final class DefaultChannelPool implements ChannelPool {
         if (partition == null) {
             partition = partitions.computeIfAbsent(partitionKey, pk -> new ConcurrentLinkedDeque<>());
         }
-        return partition.offerFirst(new IdleChannel(channel, now));
+        return partition.offerFirst(new IdleChannel(channel, idleDeadline(channel, now)));
     }
 
-    private static void registerChannelCreation(Channel channel, Object partitionKey, long now) {
+    private long idleDeadline(Channel channel, long now) {
+        Long keepAliveTimeout = Channels.getKeepAliveTimeout(channel);
+        if (keepAliveTimeout != null) {
+            // the idle channel detector must run within the margin, otherwise it would close the channel after the server does
+            cleanerPeriod.accumulateAndGet(Math.max(ChannelExpiry.keepAliveTimeoutMargin(keepAliveTimeout), MIN_CLEANER_PERIOD_MS), Math::min);
+            // the channel must be expired even if the pool has no idle timeout
+            startIdleChannelDetector();
+        }
+        return expiry.idleDeadline(channel, now);
+    }
+
+    private void registerChannelCreation(Channel channel, Object partitionKey, long now) {
         Attribute<ChannelCreation> channelCreationAttribute = channel.attr(CHANNEL_CREATION_ATTRIBUTE_KEY);
         if (channelCreationAttribute.get() == null) {
-            channelCreationAttribute.set(new ChannelCreation(now, partitionKey));
+            channelCreationAttribute.set(new ChannelCreation(now, expiry.newChannelTtl(), partitionKey));
         }
     }
 
@@ -159,6 +189,11 @@ public final class DefaultChannelPool implements ChannelPool {
                 } else if (!idleChannel.takeOwnership()) {
                     idleChannel = null;
                     LOGGER.trace("Couldn't take ownership of channel, probably in the process of being expired!");
+                } else if (isExpired(idleChannel, unpreciseMillisTime())) {
+                    // don't wait for the idle channel detector to rotate it
+                    LOGGER.debug("Closing expired channel {}", idleChannel.channel);
+                    close(idleChannel.channel);
+                    idleChannel = null;
                 }
             }
         }
@@ -167,8 +202,8 @@ public final class DefaultChannelPool implements ChannelPool {
 
     @Override
     public boolean removeAll(Channel channel) {
-        ChannelCreation creation = connectionTtlEnabled ? channel.attr(CHANNEL_CREATION_ATTRIBUTE_KEY).get() : null;
-        return !isClosed.get() && creation != null && partitions.get(creation.partitionKey).remove(new IdleChannel(channel, Long.MIN_VALUE));
+        ChannelCreation creation = expiry.connectionTtlEnabled ? channel.attr(CHANNEL_CREATION_ATTRIBUTE_KEY).get() : null;
+        return !isClosed.get() && creation != null && partitions.get(creation.partitionKey).remove(new IdleChannel(channel, Long.MAX_VALUE));
     }
 
     @Override
@@ -183,6 +218,7 @@ public final class DefaultChannelPool implements ChannelPool {
         }
 
         partitions.clear();
+        minIdlePartitions.clear();
     }
 
     private static void close(Channel channel) {
@@ -223,6 +259,24 @@ public final class DefaultChannelPool implements ChannelPool {
                 .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
     }
 
+    @Override
+    public int getIdleChannelCount(Object partitionKey) {
+        ConcurrentLinkedDeque<IdleChannel> partition = partitions.get(partitionKey);
+        return partition != null ? partition.size() : 0;
+    }
+
+    @Override
+    public void setMinIdle(Object partitionKey, int minIdle, IntFunction<CompletableFuture<Integer>> connector) {
+        if (minIdle <= 0) {
+            minIdlePartitions.remove(partitionKey);
+            return;
+        }
+
+        minIdlePartitions.put(partitionKey, new MinIdle(minIdle, connector));
+        // the idle channel detector is also in charge of topping up partitions
+        startIdleChannelDetector();
+    }
+
     public enum PoolLeaseStrategy {
         LIFO {
             @Override
@@ -242,10 +296,12 @@ public final class DefaultChannelPool implements ChannelPool {
 
     private static final class ChannelCreation {
         final long creationTime;
+        final long ttl;
         final Object partitionKey;
 
-        ChannelCreation(long creationTime, Object partitionKey) {
+        ChannelCreation(long creationTime, long ttl, Object partitionKey) {
             this.creationTime = creationTime;
+            this.ttl = ttl;
             this.partitionKey = partitionKey;
         }
     }
@@ -255,13 +311,13 @@ public final class DefaultChannelPool implements ChannelPool {
         private static final AtomicIntegerFieldUpdater<IdleChannel> ownedField = AtomicIntegerFieldUpdater.newUpdater(IdleChannel.class, "owned");
 
         final Channel channel;
-        final long start;
+        final long idleDeadline;
         @SuppressWarnings("unused")
         private volatile int owned;
 
-        IdleChannel(Channel channel, long start) {
+        IdleChannel(Channel channel, long idleDeadline) {
             this.channel = requireNonNull(channel, "channel");
-            this.start = start;
+            this.idleDeadline = idleDeadline;
         }
 
         public boolean takeOwnership() {
@@ -287,7 +343,7 @@ public final class DefaultChannelPool implements ChannelPool {
     private final class IdleChannelDetector implements TimerTask {
 
         private boolean isIdleTimeoutExpired(IdleChannel idleChannel, long now) {
-            return maxIdleTimeEnabled && now - idleChannel.start >= maxIdleTime;
+            return now >= idleChannel.idleDeadline;
         }
 
         private List<IdleChannel> expiredChannels(ConcurrentLinkedDeque<IdleChannel> partition, long now) {
@@ -382,7 +438,15 @@ public final class DefaultChannelPool implements ChannelPool {
                 }
             }
 
+            topUpPartitions();
+
             scheduleNewIdleChannelDetector(timeout.task());
         }
+
+        private void topUpPartitions() {
+            for (Map.Entry<Object, MinIdle> entry : minIdlePartitions.entrySet()) {
+                entry.getValue().topUp(entry.getKey(), getIdleChannelCount(entry.getKey()));
+            }
+        }
     }
 }
@@ -15,24 +15,39 @@
  */
 package org.asynchttpclient.netty.channel;
 
+import io.netty.util.Timer;
 import org.asynchttpclient.AsyncHttpClientConfig;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 public class DefaultConnectionSemaphoreFactory implements ConnectionSemaphoreFactory {
 
     @Override
     public ConnectionSemaphore newConnectionSemaphore(AsyncHttpClientConfig config) {
+        return newConnectionSemaphore(config, null);
+    }
+
+    @Override
+    public ConnectionSemaphore newConnectionSemaphore(AsyncHttpClientConfig config, @Nullable Timer nettyTimer) {
+        return newConnectionSemaphore(config, nettyTimer, ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public ConnectionSemaphore newConnectionSemaphore(AsyncHttpClientConfig config, @Nullable Timer nettyTimer, Executor continuationExecutor) {
         int acquireFreeChannelTimeout = Math.max(0, config.getAcquireFreeChannelTimeout());
         int maxConnections = config.getMaxConnections();
         int maxConnectionsPerHost = config.getMaxConnectionsPerHost();
 
         if (maxConnections > 0 && maxConnectionsPerHost > 0) {
-            return new CombinedConnectionSemaphore(maxConnections, maxConnectionsPerHost, acquireFreeChannelTimeout);
+            return new CombinedConnectionSemaphore(maxConnections, maxConnectionsPerHost, acquireFreeChannelTimeout, nettyTimer, continuationExecutor);
         }
         if (maxConnections > 0) {
-            return new MaxConnectionSemaphore(maxConnections, acquireFreeChannelTimeout);
+            return new MaxConnectionSemaphore(maxConnections, acquireFreeChannelTimeout, nettyTimer, continuationExecutor);
         }
         if (maxConnectionsPerHost > 0) {
-            return new CombinedConnectionSemaphore(maxConnections, maxConnectionsPerHost, acquireFreeChannelTimeout);
+            return new CombinedConnectionSemaphore(maxConnections, maxConnectionsPerHost, acquireFreeChannelTimeout, nettyTimer, continuationExecutor);
         }
 
         return new NoopConnectionSemaphore();
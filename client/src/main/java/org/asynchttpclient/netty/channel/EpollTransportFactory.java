@@ -15,13 +15,22 @@
  */
 package org.asynchttpclient.netty.channel;
 
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelException;
 import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollDomainSocketChannel;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
 
+import java.net.SocketAddress;
 import java.util.concurrent.ThreadFactory;
 
-class EpollTransportFactory implements TransportFactory<EpollSocketChannel, EpollEventLoopGroup> {
+class EpollTransportFactory implements TransportFactory<EpollSocketChannel, EpollEventLoopGroup>, UnixDomainSocketTransportFactory {
+
+    // from linux/tcp.h
+    private static final int TCP_ESTABLISHED = 1;
+    private static final int TCPI_OPT_SYN_DATA = 32;
 
     static boolean isAvailable() {
         try {
@@ -41,4 +50,41 @@ class EpollTransportFactory implements TransportFactory<EpollSocketChannel, Epol
     public EpollEventLoopGroup newEventLoopGroup(int ioThreadsCount, ThreadFactory threadFactory) {
         return new EpollEventLoopGroup(ioThreadsCount, threadFactory);
     }
+
+    @Override
+    public boolean isRemotelyClosed(Channel channel) {
+        if (!(channel instanceof EpollSocketChannel)) {
+            // no TCP state for domain sockets
+            return false;
+        }
+        try {
+            // a connection the peer shut down is in CLOSE_WAIT
+            return ((EpollSocketChannel) channel).tcpInfo().state() != TCP_ESTABLISHED;
+        } catch (ChannelException e) {
+            // closed meanwhile
+            return true;
+        }
+    }
+
+    @Override
+    public boolean isEarlyDataAccepted(Channel channel) {
+        if (!(channel instanceof EpollSocketChannel)) {
+            return false;
+        }
+        try {
+            return (((EpollSocketChannel) channel).tcpInfo().options() & TCPI_OPT_SYN_DATA) != 0;
+        } catch (ChannelException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public Channel newUnixDomainSocketChannel() {
+        return new EpollDomainSocketChannel();
+    }
+
+    @Override
+    public SocketAddress newUnixDomainSocketAddress(String path) {
+        return new DomainSocketAddress(path);
+    }
 }
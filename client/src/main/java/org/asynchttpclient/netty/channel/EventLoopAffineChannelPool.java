@@ -0,0 +1,172 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
+import org.asynchttpclient.channel.ChannelPool;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+/**
+ * A {@link ChannelPool} that keeps idle channels per partition and per {@link EventLoop}.
+ * <p>
+ * When polled from an event loop thread, it first looks for a channel registered on that same event loop, so that writing the request
+ * and processing the response don't have to hop threads, and only then steals a channel from another event loop.
+ * Storage and expiry are delegated to another pool, keyed by (partition, event loop).
+ */
+public final class EventLoopAffineChannelPool implements ChannelPool {
+
+    private final ChannelPool delegate;
+    private final ConcurrentHashMap<Object, Set<EventLoop>> eventLoopsPerPartition = new ConcurrentHashMap<>();
+
+    public EventLoopAffineChannelPool(ChannelPool delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean offer(Channel channel, Object partitionKey) {
+        EventLoop eventLoop = channel.eventLoop();
+        Set<EventLoop> eventLoops = eventLoopsPerPartition.get(partitionKey);
+        if (eventLoops == null) {
+            eventLoops = eventLoopsPerPartition.computeIfAbsent(partitionKey, pk -> ConcurrentHashMap.newKeySet());
+        }
+        eventLoops.add(eventLoop);
+        return delegate.offer(channel, new AffinityKey(partitionKey, eventLoop));
+    }
+
+    @Override
+    public @Nullable Channel poll(Object partitionKey) {
+        Set<EventLoop> eventLoops = eventLoopsPerPartition.get(partitionKey);
+        if (eventLoops == null) {
+            return null;
+        }
+
+        EventLoop currentEventLoop = null;
+        for (EventLoop eventLoop : eventLoops) {
+            if (eventLoop.inEventLoop()) {
+                currentEventLoop = eventLoop;
+                Channel channel = delegate.poll(new AffinityKey(partitionKey, eventLoop));
+                if (channel != null) {
+                    return channel;
+                }
+                break;
+            }
+        }
+
+        // steal from another event loop
+        for (EventLoop eventLoop : eventLoops) {
+            if (eventLoop != currentEventLoop) {
+                Channel channel = delegate.poll(new AffinityKey(partitionKey, eventLoop));
+                if (channel != null) {
+                    return channel;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean removeAll(Channel channel) {
+        return delegate.removeAll(channel);
+    }
+
+    @Override
+    public boolean isOpen() {
+        return delegate.isOpen();
+    }
+
+    @Override
+    public void destroy() {
+        delegate.destroy();
+        eventLoopsPerPartition.clear();
+    }
+
+    @Override
+    public void flushPartitions(Predicate<Object> predicate) {
+        delegate.flushPartitions(key -> predicate.test(((AffinityKey) key).partitionKey));
+        eventLoopsPerPartition.keySet().removeIf(predicate);
+    }
+
+    @Override
+    public Map<String, Long> getIdleChannelCountPerHost() {
+        return delegate.getIdleChannelCountPerHost();
+    }
+
+    @Override
+    public int getIdleChannelCount(Object partitionKey) {
+        Set<EventLoop> eventLoops = eventLoopsPerPartition.get(partitionKey);
+        int count = 0;
+        if (eventLoops != null) {
+            for (EventLoop eventLoop : eventLoops) {
+                count += delegate.getIdleChannelCount(new AffinityKey(partitionKey, eventLoop));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The delegate tops up the partition, but new channels can be registered on any event loop: the missing channels are counted over
+     * the partitions of all of them.
+     */
+    @Override
+    public void setMinIdle(Object partitionKey, int minIdle, IntFunction<CompletableFuture<Integer>> connector) {
+        delegate.setMinIdle(partitionKey, minIdle, missing -> {
+            int actuallyMissing = minIdle - getIdleChannelCount(partitionKey);
+            return actuallyMissing > 0 ? connector.apply(actuallyMissing) : CompletableFuture.completedFuture(0);
+        });
+    }
+
+    private static final class AffinityKey {
+
+        private final Object partitionKey;
+        private final EventLoop eventLoop;
+
+        AffinityKey(Object partitionKey, EventLoop eventLoop) {
+            this.partitionKey = partitionKey;
+            this.eventLoop = eventLoop;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof AffinityKey)) {
+                return false;
+            }
+            AffinityKey that = (AffinityKey) o;
+            return partitionKey.equals(that.partitionKey) && eventLoop == that.eventLoop;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(partitionKey, eventLoop);
+        }
+
+        @Override
+        public String toString() {
+            return partitionKey + "@" + eventLoop;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import io.netty.channel.Channel;
+import io.netty.handler.codec.http2.Http2Connection;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.util.AttributeKey;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
+import org.asynchttpclient.AsyncHttpClientConfig;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.asynchttpclient.util.DateUtils.unpreciseMillisTime;
+
+/**
+ * The HTTP/2 connections requests are multiplexed over, per partition.
+ * <p>
+ * Those connections are never offered to the {@link org.asynchttpclient.channel.ChannelPool}: they are shared by concurrent requests, each
+ * of them being sent on its own stream, as long as the number of streams stays under the SETTINGS_MAX_CONCURRENT_STREAMS advertised by the
+ * server. Streams are reserved before being opened, so that concurrent requests can't exceed this limit, and a new connection is only
+ * opened once all the connections of the partition are saturated. A connection is forgotten as soon as it's closed or the server sent
+ * a GOAWAY.
+ * <p>
+ * Like pooled channels, a connection is closed once it has no stream for the pooled connection idle timeout, and no new stream is opened on
+ * it past its connection TTL, after which it's closed as soon as its last stream is.
+ */
+final class Http2Connections {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Http2Connections.class);
+    private static final AttributeKey<Streams> STREAMS = AttributeKey.valueOf("http2Streams");
+    // reserved streams of a connection being closed, so that no stream can be reserved on it anymore
+    private static final int CLOSING = -1;
+
+    private final ConcurrentHashMap<Object, Queue<Channel>> connectionsPerPartition = new ConcurrentHashMap<>();
+    private final AtomicBoolean isClosed = new AtomicBoolean(false);
+    private final AtomicBoolean idleConnectionDetectorStarted = new AtomicBoolean(false);
+    private final Timer nettyTimer;
+    private final ChannelExpiry expiry;
+    private final long cleanerPeriod;
+
+    Http2Connections(AsyncHttpClientConfig config, Timer nettyTimer) {
+        this.nettyTimer = nettyTimer;
+        expiry = new ChannelExpiry(config.getPooledConnectionIdleTimeout(), config.getConnectionTtl(), config.getConnectionTtlJitter());
+        cleanerPeriod = Math.min(config.getConnectionPoolCleanerPeriod().toMillis(), Math.min(expiry.connectionTtlEnabled ? expiry.connectionTtl : Integer.MAX_VALUE,
+                expiry.maxIdleTimeEnabled ? expiry.maxIdleTime : Integer.MAX_VALUE));
+    }
+
+    void register(Channel connection, Object partitionKey) {
+        connection.attr(STREAMS).set(new Streams(unpreciseMillisTime(), expiry.newChannelTtl()));
+        if ((expiry.connectionTtlEnabled || expiry.maxIdleTimeEnabled) && idleConnectionDetectorStarted.compareAndSet(false, true)) {
+            // only once HTTP/2 is actually used
+            scheduleNewIdleConnectionDetector(new IdleConnectionDetector());
+        }
+        connectionsPerPartition.compute(partitionKey, (pk, connections) -> {
+            if (connections == null) {
+                connections = new ConcurrentLinkedQueue<>();
+            }
+            connections.add(connection);
+            return connections;
+        });
+        connection.closeFuture().addListener(f -> connectionsPerPartition.computeIfPresent(partitionKey, (pk, connections) -> {
+            connections.remove(connection);
+            return connections.isEmpty() ? null : connections;
+        }));
+    }
+
+    /**
+     * @return a connection of the partition on which a stream has been reserved, or null if they are all saturated
+     */
+    @Nullable
+    Channel reserveStream(Object partitionKey) {
+        Queue<Channel> connections = connectionsPerPartition.get(partitionKey);
+        if (connections != null) {
+            for (Channel connection : connections) {
+                if (tryReserveStream(connection)) {
+                    return connection;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stop expiring connections, they are closed along with the client.
+     */
+    void close() {
+        isClosed.set(true);
+    }
+
+    private void scheduleNewIdleConnectionDetector(TimerTask task) {
+        nettyTimer.newTimeout(task, cleanerPeriod, TimeUnit.MILLISECONDS);
+    }
+
+    private boolean isTtlExpired(Streams streams, long now) {
+        return expiry.connectionTtlEnabled && now - streams.creationTime >= streams.ttl;
+    }
+
+    boolean tryReserveStream(Channel connection) {
+        Streams reservedStreams = connection.attr(STREAMS).get();
+        Http2FrameCodec frameCodec = connection.pipeline().get(Http2FrameCodec.class);
+        if (reservedStreams == null || frameCodec == null || !connection.isActive() || isTtlExpired(reservedStreams, unpreciseMillisTime())) {
+            return false;
+        }
+
+        Http2Connection http2Connection = frameCodec.connection();
+        if (http2Connection.goAwayReceived()) {
+            return false;
+        }
+
+        int maxStreams = http2Connection.local().maxActiveStreams();
+        for (;;) {
+            int reserved = reservedStreams.get();
+            if (reserved == CLOSING || reserved >= maxStreams) {
+                return false;
+            }
+            if (reservedStreams.compareAndSet(reserved, reserved + 1)) {
+                return true;
+            }
+        }
+    }
+
+    static void releaseStream(Channel connection) {
+        Streams reservedStreams = connection.attr(STREAMS).get();
+        if (reservedStreams != null && reservedStreams.decrementAndGet() == 0) {
+            reservedStreams.idleSince = unpreciseMillisTime();
+        }
+    }
+
+    /**
+     * The streams reserved on a connection, along with what's needed to expire it.
+     */
+    private static final class Streams extends AtomicInteger {
+
+        private static final long serialVersionUID = 1L;
+
+        final long creationTime;
+        final long ttl;
+        volatile long idleSince;
+
+        Streams(long creationTime, long ttl) {
+            this.creationTime = creationTime;
+            this.ttl = ttl;
+            idleSince = creationTime;
+        }
+    }
+
+    private final class IdleConnectionDetector implements TimerTask {
+
+        private boolean isExpired(Streams streams, long now) {
+            return expiry.maxIdleTimeEnabled && now - streams.idleSince >= expiry.maxIdleTime || isTtlExpired(streams, now);
+        }
+
+        @Override
+        public void run(Timeout timeout) {
+            if (isClosed.get()) {
+                return;
+            }
+
+            long now = unpreciseMillisTime();
+            for (Queue<Channel> connections : connectionsPerPartition.values()) {
+                for (Channel connection : connections) {
+                    Streams streams = connection.attr(STREAMS).get();
+                    // a connection with streams is busy, the CAS makes sure no stream gets reserved while it's being closed
+                    if (streams != null && streams.get() == 0 && isExpired(streams, now) && streams.compareAndSet(0, CLOSING)) {
+                        LOGGER.debug("Closing idle HTTP/2 connection {}", connection);
+                        Channels.silentlyCloseChannel(connection);
+                    }
+                }
+            }
+
+            scheduleNewIdleConnectionDetector(timeout.task());
+        }
+    }
+}
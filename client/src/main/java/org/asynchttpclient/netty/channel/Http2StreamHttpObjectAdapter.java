@@ -0,0 +1,62 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.LastHttpContent;
+
+/**
+ * Makes an HTTP/2 stream look like an HTTP/1.1 connection to the rest of the pipeline.
+ * <p>
+ * Responses without a body are decoded from HTTP/2 frames as {@link FullHttpResponse}s, they are split into a response and a last
+ * content, as {@link io.netty.handler.codec.http.HttpClientCodec} would do. Request bodies written as raw {@link ByteBuf}s, typically by
+ * the {@link io.netty.handler.stream.ChunkedWriteHandler}, are wrapped into contents.
+ */
+@Sharable
+final class Http2StreamHttpObjectAdapter extends ChannelDuplexHandler {
+
+    static final Http2StreamHttpObjectAdapter INSTANCE = new Http2StreamHttpObjectAdapter();
+
+    private Http2StreamHttpObjectAdapter() {
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (msg instanceof FullHttpResponse) {
+            FullHttpResponse response = (FullHttpResponse) msg;
+            ctx.fireChannelRead(new DefaultHttpResponse(response.protocolVersion(), response.status(), response.headers()));
+            // the content is handed over, the full response doesn't have to be released
+            LastHttpContent lastContent = new DefaultLastHttpContent(response.content());
+            lastContent.trailingHeaders().set(response.trailingHeaders());
+            ctx.fireChannelRead(lastContent);
+        } else {
+            ctx.fireChannelRead(msg);
+        }
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        ctx.write(msg instanceof ByteBuf ? new DefaultHttpContent((ByteBuf) msg) : msg, promise);
+    }
+}
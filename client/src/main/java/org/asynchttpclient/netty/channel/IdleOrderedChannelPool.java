@@ -0,0 +1,440 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
+import org.asynchttpclient.AsyncHttpClientConfig;
+import org.asynchttpclient.channel.ChannelPool;
+import org.asynchttpclient.netty.channel.DefaultChannelPool.PoolLeaseStrategy;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+import static org.asynchttpclient.util.DateUtils.unpreciseMillisTime;
+
+/**
+ * A {@link ChannelPool} meant for pools with a large number of idle channels.
+ * <p>
+ * Each partition is an intrusive doubly-linked list ordered by idle start time, the most recently offered channel first, so the idle
+ * channel detector only visits expired channels, from the tail of each partition. The list node is stored in a channel attribute and
+ * reused for the whole lifetime of the channel, so offering doesn't allocate and removing a channel, for example when it's remotely closed,
+ * is O(1).
+ * <p>
+ * The channels that expire before they would idle out, because of their TTL or of a shorter server Keep-Alive timeout, can't be found from
+ * the tail: each of them gets its own timeout, cancelled when it's leased.
+ */
+public final class IdleOrderedChannelPool implements ChannelPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdleOrderedChannelPool.class);
+    private static final AttributeKey<IdleEntry> IDLE_ENTRY_ATTRIBUTE_KEY = AttributeKey.valueOf("idleOrderedPoolEntry");
+
+    private final ConcurrentHashMap<Object, Partition> partitions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Object, MinIdle> minIdlePartitions = new ConcurrentHashMap<>();
+    private final AtomicBoolean isClosed = new AtomicBoolean(false);
+    private final AtomicBoolean idleChannelDetectorStarted = new AtomicBoolean(false);
+    private final Timer nettyTimer;
+    private final ChannelExpiry expiry;
+    private final long cleanerPeriod;
+    private final PoolLeaseStrategy poolLeaseStrategy;
+
+    public IdleOrderedChannelPool(AsyncHttpClientConfig config, Timer hashedWheelTimer) {
+        this(config.getPooledConnectionIdleTimeout(),
+                config.getConnectionTtl(),
+                config.getConnectionTtlJitter(),
+                PoolLeaseStrategy.LIFO,
+                hashedWheelTimer,
+                config.getConnectionPoolCleanerPeriod());
+    }
+
+    public IdleOrderedChannelPool(Duration maxIdleTime, Duration connectionTtl, PoolLeaseStrategy poolLeaseStrategy, Timer nettyTimer, Duration cleanerPeriod) {
+        this(maxIdleTime, connectionTtl, Duration.ZERO, poolLeaseStrategy, nettyTimer, cleanerPeriod);
+    }
+
+    /**
+     * @param connectionTtlJitter the maximum random amount the TTL of each channel is shortened by, so that the channels opened together
+     *                            don't expire together
+     */
+    public IdleOrderedChannelPool(Duration maxIdleTime, Duration connectionTtl, Duration connectionTtlJitter, PoolLeaseStrategy poolLeaseStrategy,
+                                  Timer nettyTimer, Duration cleanerPeriod) {
+        expiry = new ChannelExpiry(maxIdleTime, connectionTtl, connectionTtlJitter);
+        this.nettyTimer = nettyTimer;
+        this.poolLeaseStrategy = poolLeaseStrategy;
+        this.cleanerPeriod = Math.min(cleanerPeriod.toMillis(), expiry.maxIdleTimeEnabled ? expiry.maxIdleTime : Integer.MAX_VALUE);
+
+        if (expiry.maxIdleTimeEnabled) {
+            startIdleChannelDetector();
+        }
+    }
+
+    private void startIdleChannelDetector() {
+        if (idleChannelDetectorStarted.compareAndSet(false, true)) {
+            scheduleNewIdleChannelDetector(new IdleChannelDetector());
+        }
+    }
+
+    private void scheduleNewIdleChannelDetector(TimerTask task) {
+        nettyTimer.newTimeout(task, cleanerPeriod, TimeUnit.MILLISECONDS);
+    }
+
+    private boolean isTtlExpired(IdleEntry entry, long now) {
+        return expiry.connectionTtlEnabled && now - entry.creationTime >= entry.ttl;
+    }
+
+    private boolean isExpired(IdleEntry entry, long now) {
+        return now >= entry.idleDeadline || isTtlExpired(entry, now);
+    }
+
+    /**
+     * @return the delay after which the channel must be expired by its own timeout, or -1 if the idle channel detector finds it in time
+     */
+    private long earlyExpiryDelay(IdleEntry entry, long now, long idleDeadline) {
+        long deadline = expiry.connectionTtlEnabled ? Math.min(idleDeadline, entry.creationTime + entry.ttl) : idleDeadline;
+        if (deadline == Long.MAX_VALUE || expiry.maxIdleTimeEnabled && deadline >= now + expiry.maxIdleTime) {
+            return -1;
+        }
+        return Math.max(deadline - now, 0);
+    }
+
+    @Override
+    public boolean offer(Channel channel, Object partitionKey) {
+        if (isClosed.get()) {
+            return false;
+        }
+
+        long now = unpreciseMillisTime();
+        IdleEntry entry = channel.attr(IDLE_ENTRY_ATTRIBUTE_KEY).get();
+        if (entry == null) {
+            entry = new IdleEntry(channel, now, expiry.newChannelTtl());
+            IdleEntry existing = channel.attr(IDLE_ENTRY_ATTRIBUTE_KEY).setIfAbsent(entry);
+            if (existing != null) {
+                entry = existing;
+            } else {
+                IdleEntry closedEntry = entry;
+                channel.closeFuture().addListener(future -> remove(closedEntry));
+            }
+        }
+
+        if (isTtlExpired(entry, now) || !channel.isActive()) {
+            return false;
+        }
+
+        Partition partition = partitions.get(partitionKey);
+        if (partition == null) {
+            partition = partitions.computeIfAbsent(partitionKey, pk -> new Partition());
+        }
+        long idleDeadline = expiry.idleDeadline(channel, now);
+        return partition.linkFirst(entry, now, idleDeadline, earlyExpiryDelay(entry, now, idleDeadline));
+    }
+
+    private void expireEarly(IdleEntry entry, Timeout timeout) {
+        Partition partition = entry.partition;
+        if (!isClosed.get() && partition != null && partition.unlinkExpired(entry, timeout)) {
+            LOGGER.debug("Closing expired Channel {}", entry.channel);
+            close(entry.channel);
+        }
+    }
+
+    @Override
+    public @Nullable Channel poll(Object partitionKey) {
+        Partition partition = partitions.get(partitionKey);
+        if (partition == null) {
+            return null;
+        }
+
+        long now = unpreciseMillisTime();
+        while (true) {
+            IdleEntry entry = partition.lease(poolLeaseStrategy);
+            if (entry == null) {
+                // pool is empty
+                return null;
+            } else if (!Channels.isChannelActive(entry.channel)) {
+                LOGGER.trace("Channel is inactive, probably remotely closed!");
+            } else if (isExpired(entry, now)) {
+                // don't wait for the idle channel detector or the entry timeout to rotate it
+                LOGGER.debug("Closing expired Channel {}", entry.channel);
+                close(entry.channel);
+            } else {
+                return entry.channel;
+            }
+        }
+    }
+
+    @Override
+    public boolean removeAll(Channel channel) {
+        IdleEntry entry = channel.attr(IDLE_ENTRY_ATTRIBUTE_KEY).get();
+        return !isClosed.get() && entry != null && remove(entry);
+    }
+
+    private static boolean remove(IdleEntry entry) {
+        Partition partition = entry.partition;
+        return partition != null && partition.unlink(entry);
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !isClosed.get();
+    }
+
+    @Override
+    public void destroy() {
+        if (isClosed.getAndSet(true)) {
+            return;
+        }
+
+        partitions.clear();
+        minIdlePartitions.clear();
+    }
+
+    private static void close(Channel channel) {
+        Channels.setDiscard(channel);
+        Channels.silentlyCloseChannel(channel);
+    }
+
+    @Override
+    public void flushPartitions(Predicate<Object> predicate) {
+        for (Map.Entry<Object, Partition> partitionsEntry : partitions.entrySet()) {
+            Object partitionKey = partitionsEntry.getKey();
+            if (predicate.test(partitionKey) && partitions.remove(partitionKey, partitionsEntry.getValue())) {
+                for (Channel channel : partitionsEntry.getValue().unlinkAll()) {
+                    close(channel);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Map<String, Long> getIdleChannelCountPerHost() {
+        Map<String, Long> idleChannelCountPerHost = new HashMap<>();
+        for (Partition partition : partitions.values()) {
+            partition.countPerHost(idleChannelCountPerHost);
+        }
+        return idleChannelCountPerHost;
+    }
+
+    @Override
+    public int getIdleChannelCount(Object partitionKey) {
+        Partition partition = partitions.get(partitionKey);
+        return partition != null ? partition.size() : 0;
+    }
+
+    @Override
+    public void setMinIdle(Object partitionKey, int minIdle, IntFunction<CompletableFuture<Integer>> connector) {
+        if (minIdle <= 0) {
+            minIdlePartitions.remove(partitionKey);
+            return;
+        }
+
+        minIdlePartitions.put(partitionKey, new MinIdle(minIdle, connector));
+        // the idle channel detector is also in charge of topping up partitions
+        startIdleChannelDetector();
+    }
+
+    /**
+     * Intrusive list node, one per pooled channel, reused across offers.
+     */
+    private static final class IdleEntry {
+
+        final Channel channel;
+        final long creationTime;
+        final long ttl;
+        // guarded by partition, volatile so that remove can check it without locking
+        volatile @Nullable Partition partition;
+        long idleSince;
+        long idleDeadline;
+        @Nullable Timeout expiryTimeout;
+        @Nullable IdleEntry previous;
+        @Nullable IdleEntry next;
+
+        IdleEntry(Channel channel, long creationTime, long ttl) {
+            this.channel = channel;
+            this.creationTime = creationTime;
+            this.ttl = ttl;
+        }
+    }
+
+    /**
+     * A list of idle channels, from the most recently offered ({@code head}) to the least recently offered ({@code tail}).
+     */
+    private final class Partition {
+
+        private @Nullable IdleEntry head;
+        private @Nullable IdleEntry tail;
+        private int size;
+
+        /**
+         * @param earlyExpiryDelay when the entry must be expired by its own timeout, scheduled under the lock so that it can't outlive a lease
+         */
+        synchronized boolean linkFirst(IdleEntry entry, long now, long idleDeadline, long earlyExpiryDelay) {
+            if (entry.partition != null) {
+                // already pooled
+                return false;
+            }
+            entry.idleSince = now;
+            entry.idleDeadline = idleDeadline;
+            if (earlyExpiryDelay >= 0) {
+                entry.expiryTimeout = nettyTimer.newTimeout(timeout -> expireEarly(entry, timeout), earlyExpiryDelay, TimeUnit.MILLISECONDS);
+            }
+            entry.previous = null;
+            entry.next = head;
+            if (head != null) {
+                head.previous = entry;
+            } else {
+                tail = entry;
+            }
+            head = entry;
+            entry.partition = this;
+            size++;
+            return true;
+        }
+
+        synchronized @Nullable IdleEntry lease(PoolLeaseStrategy poolLeaseStrategy) {
+            IdleEntry entry = poolLeaseStrategy == PoolLeaseStrategy.FIFO ? tail : head;
+            if (entry != null) {
+                unlink0(entry);
+            }
+            return entry;
+        }
+
+        synchronized boolean unlink(IdleEntry entry) {
+            if (entry.partition != this) {
+                // already leased or expired in the meantime
+                return false;
+            }
+            unlink0(entry);
+            return true;
+        }
+
+        synchronized boolean unlinkExpired(IdleEntry entry, Timeout timeout) {
+            if (entry.partition != this || entry.expiryTimeout != timeout) {
+                // leased in the meantime, maybe pooled again since
+                return false;
+            }
+            unlink0(entry);
+            return true;
+        }
+
+        /**
+         * Unlink the channels that have been idle since {@code idleDeadline} or earlier.
+         */
+        synchronized void unlinkIdleSince(long idleDeadline, List<Channel> expired) {
+            while (tail != null && tail.idleSince <= idleDeadline) {
+                expired.add(tail.channel);
+                unlink0(tail);
+            }
+        }
+
+        synchronized List<Channel> unlinkAll() {
+            List<Channel> channels = new ArrayList<>();
+            while (head != null) {
+                channels.add(head.channel);
+                unlink0(head);
+            }
+            return channels;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized void countPerHost(Map<String, Long> idleChannelCountPerHost) {
+            for (IdleEntry entry = head; entry != null; entry = entry.next) {
+                SocketAddress remoteAddress = entry.channel.remoteAddress();
+                if (remoteAddress != null && remoteAddress.getClass() == InetSocketAddress.class) {
+                    idleChannelCountPerHost.merge(((InetSocketAddress) remoteAddress).getHostString(), 1L, Long::sum);
+                }
+            }
+        }
+
+        private void unlink0(IdleEntry entry) {
+            IdleEntry previous = entry.previous;
+            IdleEntry next = entry.next;
+            if (previous != null) {
+                previous.next = next;
+            } else {
+                head = next;
+            }
+            if (next != null) {
+                next.previous = previous;
+            } else {
+                tail = previous;
+            }
+            entry.previous = null;
+            entry.next = null;
+            entry.partition = null;
+            if (entry.expiryTimeout != null) {
+                entry.expiryTimeout.cancel();
+                entry.expiryTimeout = null;
+            }
+            size--;
+        }
+    }
+
+    private final class IdleChannelDetector implements TimerTask {
+
+        // only ever used from the timer thread
+        private final List<Channel> expired = new ArrayList<>();
+
+        @Override
+        public void run(Timeout timeout) {
+            if (isClosed.get()) {
+                return;
+            }
+
+            long start = unpreciseMillisTime();
+            if (expiry.maxIdleTimeEnabled) {
+                long idleDeadline = start - expiry.maxIdleTime;
+                for (Partition partition : partitions.values()) {
+                    partition.unlinkIdleSince(idleDeadline, expired);
+                }
+            }
+
+            // close outside of the partition locks
+            for (Channel channel : expired) {
+                LOGGER.debug("Closing Idle Channel {}", channel);
+                close(channel);
+            }
+
+            if (LOGGER.isDebugEnabled() && !expired.isEmpty()) {
+                LOGGER.debug("Closed {} connections in {} ms", expired.size(), unpreciseMillisTime() - start);
+            }
+            expired.clear();
+
+            for (Map.Entry<Object, MinIdle> entry : minIdlePartitions.entrySet()) {
+                entry.getValue().topUp(entry.getKey(), getIdleChannelCount(entry.getKey()));
+            }
+
+            scheduleNewIdleChannelDetector(timeout.task());
+        }
+    }
+}
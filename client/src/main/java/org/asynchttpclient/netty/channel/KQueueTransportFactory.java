@@ -15,13 +15,17 @@
  */
 package org.asynchttpclient.netty.channel;
 
+import io.netty.channel.Channel;
 import io.netty.channel.kqueue.KQueue;
+import io.netty.channel.kqueue.KQueueDomainSocketChannel;
 import io.netty.channel.kqueue.KQueueEventLoopGroup;
 import io.netty.channel.kqueue.KQueueSocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
 
+import java.net.SocketAddress;
 import java.util.concurrent.ThreadFactory;
 
-class KQueueTransportFactory implements TransportFactory<KQueueSocketChannel, KQueueEventLoopGroup> {
+class KQueueTransportFactory implements TransportFactory<KQueueSocketChannel, KQueueEventLoopGroup>, UnixDomainSocketTransportFactory {
 
     static boolean isAvailable() {
         try {
@@ -41,4 +45,14 @@ class KQueueTransportFactory implements TransportFactory<KQueueSocketChannel, KQ
     public KQueueEventLoopGroup newEventLoopGroup(int ioThreadsCount, ThreadFactory threadFactory) {
         return new KQueueEventLoopGroup(ioThreadsCount, threadFactory);
     }
+
+    @Override
+    public Channel newUnixDomainSocketChannel() {
+        return new KQueueDomainSocketChannel();
+    }
+
+    @Override
+    public SocketAddress newUnixDomainSocketAddress(String path) {
+        return new DomainSocketAddress(path);
+    }
 }
@@ -15,11 +15,15 @@
  */
 package org.asynchttpclient.netty.channel;
 
+import io.netty.util.Timer;
 import org.asynchttpclient.exception.TooManyConnectionsException;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Semaphore;
-import java.util.concurrent.TimeUnit;
 
 import static org.asynchttpclient.util.ThrowableUtil.unknownStackTrace;
 
@@ -34,17 +38,34 @@ public class MaxConnectionSemaphore implements ConnectionSemaphore {
     protected final Semaphore freeChannels;
     protected final IOException tooManyConnections;
     protected final int acquireTimeout;
+    protected final @Nullable Timer nettyTimer;
+    private final QueuedPermits queuedFreeChannels;
 
     MaxConnectionSemaphore(int maxConnections, int acquireTimeout) {
+        this(maxConnections, acquireTimeout, null);
+    }
+
+    MaxConnectionSemaphore(int maxConnections, int acquireTimeout, @Nullable Timer nettyTimer) {
+        this(maxConnections, acquireTimeout, nettyTimer, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param continuationExecutor the executor on which a queued acquisition is completed once a permit is released, so that its
+     *                             continuation doesn't run on the releasing thread
+     */
+    MaxConnectionSemaphore(int maxConnections, int acquireTimeout, @Nullable Timer nettyTimer, Executor continuationExecutor) {
         tooManyConnections = unknownStackTrace(new TooManyConnectionsException(maxConnections), MaxConnectionSemaphore.class, "acquireChannelLock");
         freeChannels = maxConnections > 0 ? new Semaphore(maxConnections) : InfiniteSemaphore.INSTANCE;
+        queuedFreeChannels = new QueuedPermits(freeChannels, continuationExecutor);
         this.acquireTimeout = Math.max(0, acquireTimeout);
+        this.nettyTimer = nettyTimer;
     }
 
     @Override
     public void acquireChannelLock(Object partitionKey) throws IOException {
         try {
-            if (!freeChannels.tryAcquire(acquireTimeout, TimeUnit.MILLISECONDS)) {
+            // queue behind the asynchronous waiters instead of barging in front of them
+            if (!queuedFreeChannels.acquireBlocking(acquireTimeout)) {
                 throw tooManyConnections;
             }
         } catch (InterruptedException e) {
@@ -52,8 +73,22 @@ public class MaxConnectionSemaphore implements ConnectionSemaphore {
         }
     }
 
+    @Override
+    public CompletableFuture<Void> acquireChannelLockAsync(Object partitionKey) {
+        return acquireChannelLockAsync(partitionKey, acquireTimeout);
+    }
+
+    @Override
+    public boolean tryAcquireChannelLock(Object partitionKey) {
+        return !acquireChannelLockAsync(partitionKey, 0).isCompletedExceptionally();
+    }
+
+    CompletableFuture<Void> acquireChannelLockAsync(Object partitionKey, long timeout) {
+        return queuedFreeChannels.acquire(nettyTimer, timeout, tooManyConnections);
+    }
+
     @Override
     public void releaseChannelLock(Object partitionKey) {
-        freeChannels.release();
+        queuedFreeChannels.release();
     }
 }
@@ -0,0 +1,63 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntFunction;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The minimum number of idle channels of a partition, topped up by the idle channel detector of the pool.
+ */
+final class MinIdle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MinIdle.class);
+
+    final int minIdle;
+    private final IntFunction<CompletableFuture<Integer>> connector;
+    private final AtomicBoolean toppingUp = new AtomicBoolean(false);
+
+    MinIdle(int minIdle, IntFunction<CompletableFuture<Integer>> connector) {
+        this.minIdle = minIdle;
+        this.connector = requireNonNull(connector, "connector");
+    }
+
+    void topUp(Object partitionKey, int idle) {
+        int missing = minIdle - idle;
+        // don't stack top-ups while the previous one is still connecting
+        if (missing <= 0 || !toppingUp.compareAndSet(false, true)) {
+            return;
+        }
+
+        LOGGER.debug("Opening {} channels to top up partition {}", missing, partitionKey);
+        try {
+            connector.apply(missing).whenComplete((offered, t) -> {
+                toppingUp.set(false);
+                if (t != null) {
+                    LOGGER.debug("Failed to top up partition {}", partitionKey, t);
+                }
+            });
+        } catch (Exception e) {
+            toppingUp.set(false);
+            LOGGER.debug("Failed to top up partition {}", partitionKey, e);
+        }
+    }
+}
@@ -17,16 +17,25 @@ package org.asynchttpclient.netty.channel;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
 import org.asynchttpclient.AsyncHandler;
 import org.asynchttpclient.AsyncHttpClientState;
 import org.asynchttpclient.netty.SimpleChannelFutureListener;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.Inet6Address;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 public class NettyChannelConnector {
@@ -40,13 +49,74 @@ public class NettyChannelConnector {
     private final InetSocketAddress localAddress;
     private final List<InetSocketAddress> remoteAddresses;
     private final AsyncHttpClientState clientState;
+    private final @Nullable Timer nettyTimer;
+    private final long connectionAttemptDelay;
+    private final @Nullable SocketAddress unixDomainSocketAddress;
     private volatile int i;
 
     public NettyChannelConnector(InetAddress localAddress, List<InetSocketAddress> remoteAddresses, AsyncHandler<?> asyncHandler, AsyncHttpClientState clientState) {
+        this(localAddress, remoteAddresses, asyncHandler, clientState, null, 0);
+    }
+
+    /**
+     * @param nettyTimer             the timer used to stagger concurrent connect attempts
+     * @param connectionAttemptDelay the delay, in millis, after which the next address is tried while the previous attempts are still pending,
+     *                               zero or negative to try addresses one after the other
+     */
+    public NettyChannelConnector(InetAddress localAddress, List<InetSocketAddress> remoteAddresses, AsyncHandler<?> asyncHandler, AsyncHttpClientState clientState,
+                                 @Nullable Timer nettyTimer, long connectionAttemptDelay) {
         this.localAddress = localAddress != null ? new InetSocketAddress(localAddress, 0) : null;
         this.remoteAddresses = remoteAddresses;
         this.asyncHandler = asyncHandler;
         this.clientState = clientState;
+        this.nettyTimer = nettyTimer;
+        this.connectionAttemptDelay = connectionAttemptDelay;
+        unixDomainSocketAddress = null;
+    }
+
+    /**
+     * @param unixDomainSocketAddress the address of the Unix domain socket to connect to
+     * @param remoteAddress           the unresolved host and port of the uri, reported to the {@link AsyncHandler} connect callbacks
+     */
+    public NettyChannelConnector(SocketAddress unixDomainSocketAddress, InetSocketAddress remoteAddress, AsyncHandler<?> asyncHandler, AsyncHttpClientState clientState) {
+        this.unixDomainSocketAddress = unixDomainSocketAddress;
+        localAddress = null;
+        remoteAddresses = Collections.singletonList(remoteAddress);
+        this.asyncHandler = asyncHandler;
+        this.clientState = clientState;
+        nettyTimer = null;
+        connectionAttemptDelay = 0;
+    }
+
+    /**
+     * Interleave address families, starting with the family of the first address, as recommended by RFC 8305.
+     */
+    static List<InetSocketAddress> interleaveAddressFamilies(List<InetSocketAddress> addresses) {
+        if (addresses.size() < 2) {
+            return addresses;
+        }
+
+        boolean firstIsIpV6 = addresses.get(0).getAddress() instanceof Inet6Address;
+        List<InetSocketAddress> preferred = new ArrayList<>(addresses.size());
+        List<InetSocketAddress> other = new ArrayList<>(addresses.size());
+        for (InetSocketAddress address : addresses) {
+            if (address.getAddress() instanceof Inet6Address == firstIsIpV6) {
+                preferred.add(address);
+            } else {
+                other.add(address);
+            }
+        }
+
+        List<InetSocketAddress> interleaved = new ArrayList<>(addresses.size());
+        for (int j = 0; j < Math.max(preferred.size(), other.size()); j++) {
+            if (j < preferred.size()) {
+                interleaved.add(preferred.get(j));
+            }
+            if (j < other.size()) {
+                interleaved.add(other.get(j));
+            }
+        }
+        return interleaved;
     }
 
     private boolean pickNextRemoteAddress() {
@@ -55,6 +125,11 @@ public class NettyChannelConnector {
     }
 
     public void connect(final Bootstrap bootstrap, final NettyConnectListener<?> connectListener) {
+        if (nettyTimer != null && connectionAttemptDelay > 0 && remoteAddresses.size() > 1) {
+            new ConnectRace(bootstrap, connectListener, interleaveAddressFamilies(remoteAddresses)).startNextAttempt();
+            return;
+        }
+
         final InetSocketAddress remoteAddress = remoteAddresses.get(i);
 
         try {
@@ -77,36 +152,231 @@ public class NettyChannelConnector {
     }
 
     private void connect0(Bootstrap bootstrap, final NettyConnectListener<?> connectListener, InetSocketAddress remoteAddress) {
-        bootstrap.connect(remoteAddress, localAddress)
-                .addListener(new SimpleChannelFutureListener() {
-                    @Override
-                    public void onSuccess(Channel channel) {
-                        try {
-                            asyncHandler.onTcpConnectSuccess(remoteAddress, channel);
-                        } catch (Exception e) {
-                            LOGGER.error("onTcpConnectSuccess crashed", e);
-                            connectListener.onFailure(channel, e);
-                            return;
-                        }
-                        connectListener.onSuccess(channel, remoteAddress);
+        if (unixDomainSocketAddress != null) {
+            bootstrap.connect(unixDomainSocketAddress).addListener(new ConnectAttemptListener(bootstrap, connectListener, remoteAddress, null));
+        } else if (connectListener.isTcpFastOpen()) {
+            // the request is written before connecting, so that it's sent along with the SYN
+            bootstrap.register().addListener((ChannelFuture whenRegistered) -> {
+                if (whenRegistered.isSuccess()) {
+                    Channel channel = whenRegistered.channel();
+                    ChannelFuture earlyDataWrite = connectListener.writeEarlyData(channel);
+                    channel.connect(remoteAddress, localAddress).addListener(new ConnectAttemptListener(bootstrap, connectListener, remoteAddress, earlyDataWrite));
+                } else {
+                    new ConnectAttemptListener(bootstrap, connectListener, remoteAddress, null).operationComplete(whenRegistered);
+                }
+            });
+        } else {
+            bootstrap.connect(remoteAddress, localAddress).addListener(new ConnectAttemptListener(bootstrap, connectListener, remoteAddress, null));
+        }
+    }
+
+    private final class ConnectAttemptListener extends SimpleChannelFutureListener {
+
+        private final Bootstrap bootstrap;
+        private final NettyConnectListener<?> connectListener;
+        private final InetSocketAddress remoteAddress;
+        private final @Nullable ChannelFuture earlyDataWrite;
+
+        private ConnectAttemptListener(Bootstrap bootstrap, NettyConnectListener<?> connectListener, InetSocketAddress remoteAddress,
+                                       @Nullable ChannelFuture earlyDataWrite) {
+            this.bootstrap = bootstrap;
+            this.connectListener = connectListener;
+            this.remoteAddress = remoteAddress;
+            this.earlyDataWrite = earlyDataWrite;
+        }
+
+        @Override
+        public void onSuccess(Channel channel) {
+            if (earlyDataWrite != null) {
+                try {
+                    // the write completing only means the kernel took the data, ask it whether the server acknowledged it
+                    asyncHandler.onTcpFastOpen(remoteAddress, connectListener.isEarlyDataAccepted(channel));
+                } catch (Exception e) {
+                    LOGGER.error("onTcpFastOpen crashed", e);
+                    connectListener.onFailure(channel, e);
+                    return;
+                }
+            }
+
+            try {
+                asyncHandler.onTcpConnectSuccess(remoteAddress, channel);
+            } catch (Exception e) {
+                LOGGER.error("onTcpConnectSuccess crashed", e);
+                connectListener.onFailure(channel, e);
+                return;
+            }
+            connectListener.onSuccess(channel, remoteAddress);
+        }
+
+        @Override
+        public void onFailure(Channel channel, Throwable t) {
+            connectListener.onConnectAttemptFailure(remoteAddress, t);
+            try {
+                asyncHandler.onTcpConnectFailure(remoteAddress, t);
+            } catch (Exception e) {
+                LOGGER.error("onTcpConnectFailure crashed", e);
+                connectListener.onFailure(channel, e);
+                return;
+            }
+            boolean retry = pickNextRemoteAddress();
+            if (retry) {
+                connect(bootstrap, connectListener);
+            } else {
+                connectListener.onFailure(channel, t);
+            }
+        }
+    }
+
+    private static void abandon(ChannelFuture attempt) {
+        attempt.cancel(false);
+        attempt.channel().close();
+    }
+
+    /**
+     * Happy Eyeballs connect: a new attempt is started every {@code connectionAttemptDelay}, or as soon as the previous one fails,
+     * and the first channel that connects wins. Every attempt is reported with {@link AsyncHandler#onTcpConnectAttempt(InetSocketAddress)}
+     * and attempts failing before a winner is elected with {@link AsyncHandler#onTcpConnectFailure(InetSocketAddress, Throwable)}.
+     * Attempts still pending once a winner is elected are cancelled and their channels closed silently,
+     * so the {@link AsyncHandler} doesn't get any connect notification after {@link AsyncHandler#onTcpConnectSuccess(InetSocketAddress, Channel)}.
+     */
+    private final class ConnectRace {
+
+        private final Bootstrap bootstrap;
+        private final NettyConnectListener<?> connectListener;
+        private final List<InetSocketAddress> addresses;
+        private final List<ChannelFuture> pendingAttempts = new ArrayList<>();
+        // guarded by this
+        private int nextAddress;
+        private boolean done;
+        private @Nullable Timeout nextAttemptTimeout;
+
+        private ConnectRace(Bootstrap bootstrap, NettyConnectListener<?> connectListener, List<InetSocketAddress> addresses) {
+            this.bootstrap = bootstrap;
+            this.connectListener = connectListener;
+            this.addresses = addresses;
+        }
+
+        private void startNextAttempt() {
+            final InetSocketAddress remoteAddress;
+            synchronized (this) {
+                if (done || nextAddress >= addresses.size()) {
+                    return;
+                }
+                remoteAddress = addresses.get(nextAddress++);
+                if (nextAttemptTimeout != null) {
+                    nextAttemptTimeout.cancel();
+                    nextAttemptTimeout = null;
+                }
+                if (nextAddress < addresses.size()) {
+                    nextAttemptTimeout = nettyTimer.newTimeout(timeout -> startNextAttempt(), connectionAttemptDelay, TimeUnit.MILLISECONDS);
+                }
+            }
+
+            try {
+                asyncHandler.onTcpConnectAttempt(remoteAddress);
+            } catch (Exception e) {
+                LOGGER.error("onTcpConnectAttempt crashed", e);
+                fail(null, e);
+                return;
+            }
+
+            final ChannelFuture whenConnected;
+            try {
+                whenConnected = bootstrap.connect(remoteAddress, localAddress);
+            } catch (RejectedExecutionException e) {
+                if (clientState.isClosed()) {
+                    LOGGER.info("Connect crash but engine is shutting down");
+                    terminate(null);
+                } else {
+                    fail(null, e);
+                }
+                return;
+            }
+
+            synchronized (this) {
+                if (done) {
+                    abandon(whenConnected);
+                    return;
+                }
+                pendingAttempts.add(whenConnected);
+            }
+
+            whenConnected.addListener(new SimpleChannelFutureListener() {
+                @Override
+                public void onSuccess(Channel channel) {
+                    if (!win(whenConnected)) {
+                        // lost the race
+                        Channels.silentlyCloseChannel(channel);
+                        return;
+                    }
+
+                    try {
+                        asyncHandler.onTcpConnectSuccess(remoteAddress, channel);
+                    } catch (Exception e) {
+                        LOGGER.error("onTcpConnectSuccess crashed", e);
+                        connectListener.onFailure(channel, e);
+                        return;
                     }
+                    connectListener.onSuccess(channel, remoteAddress);
+                }
 
-                    @Override
-                    public void onFailure(Channel channel, Throwable t) {
-                        try {
-                            asyncHandler.onTcpConnectFailure(remoteAddress, t);
-                        } catch (Exception e) {
-                            LOGGER.error("onTcpConnectFailure crashed", e);
-                            connectListener.onFailure(channel, e);
+                @Override
+                public void onFailure(Channel channel, Throwable t) {
+                    boolean lastAttempt;
+                    synchronized (ConnectRace.this) {
+                        if (done) {
                             return;
                         }
-                        boolean retry = pickNextRemoteAddress();
-                        if (retry) {
-                            connect(bootstrap, connectListener);
-                        } else {
-                            connectListener.onFailure(channel, t);
-                        }
+                        pendingAttempts.remove(whenConnected);
+                        lastAttempt = pendingAttempts.isEmpty() && nextAddress >= addresses.size();
                     }
-                });
+
+                    connectListener.onConnectAttemptFailure(remoteAddress, t);
+                    try {
+                        asyncHandler.onTcpConnectFailure(remoteAddress, t);
+                    } catch (Exception e) {
+                        LOGGER.error("onTcpConnectFailure crashed", e);
+                        fail(channel, e);
+                        return;
+                    }
+
+                    if (lastAttempt) {
+                        fail(channel, t);
+                    } else {
+                        // don't wait for the delay to expire, try the next address right away
+                        startNextAttempt();
+                    }
+                }
+            });
+        }
+
+        private boolean win(ChannelFuture winner) {
+            return terminate(winner);
+        }
+
+        private void fail(@Nullable Channel channel, Throwable cause) {
+            if (terminate(null)) {
+                connectListener.onFailure(channel, cause);
+            }
+        }
+
+        private boolean terminate(@Nullable ChannelFuture winner) {
+            List<ChannelFuture> losers;
+            synchronized (this) {
+                if (done) {
+                    return false;
+                }
+                done = true;
+                pendingAttempts.remove(winner);
+                losers = new ArrayList<>(pendingAttempts);
+                pendingAttempts.clear();
+                if (nextAttemptTimeout != null) {
+                    nextAttemptTimeout.cancel();
+                    nextAttemptTimeout = null;
+                }
+            }
+            losers.forEach(NettyChannelConnector::abandon);
+            return true;
+        }
     }
 }
@@ -16,6 +16,7 @@
 package org.asynchttpclient.netty.channel;
 
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.ssl.SslHandler;
 import org.asynchttpclient.AsyncHandler;
@@ -78,6 +79,40 @@ public final class NettyConnectListener<T> {
         requestSender.writeRequest(future, channel);
     }
 
+    private void writeRequestOnHttp2Stream(Channel connection) {
+        if (futureIsAlreadyCancelled(connection)) {
+            return;
+        }
+
+        LOGGER.debug("Using new HTTP/2 Channel '{}'", connection);
+
+        channelManager.registerOpenChannel(connection);
+        channelManager.upgradePipelineToHttp2(connection, future.getPartitionKey());
+        requestSender.sendRequestOnHttp2Stream(future, connection);
+    }
+
+    boolean isTcpFastOpen() {
+        return channelManager.isTcpFastOpen(future);
+    }
+
+    /**
+     * @return the write of the request on the channel that isn't connected yet, or null if the future is already done
+     */
+    ChannelFuture writeEarlyData(Channel channel) {
+        return future.isDone() ? null : requestSender.writeEarlyData(future, channel);
+    }
+
+    boolean isEarlyDataAccepted(Channel channel) {
+        return channelManager.isEarlyDataAccepted(channel);
+    }
+
+    /**
+     * Notify that connecting to one of the resolved addresses failed, before either trying the next one or {@link #onFailure(Channel, Throwable)}.
+     */
+    void onConnectAttemptFailure(InetSocketAddress remoteAddress, Throwable cause) {
+        channelManager.onConnectFailure(remoteAddress, cause);
+    }
+
     public void onSuccess(Channel channel, InetSocketAddress remoteAddress) {
         if (connectionSemaphore != null) {
             // transfer lock from future to channel
@@ -89,6 +124,7 @@ public final class NettyConnectListener<T> {
         }
 
         Channels.setActiveToken(channel);
+        channelManager.onConnected(channel, remoteAddress);
         TimeoutsHolder timeoutsHolder = future.getTimeoutsHolder();
 
         if (futureIsAlreadyCancelled(channel)) {
@@ -130,7 +166,11 @@ public final class NettyConnectListener<T> {
                         NettyConnectListener.this.onFailure(channel, e);
                         return;
                     }
-                    writeRequest(channel);
+                    if (channelManager.isHttp2Negotiated(sslHandler)) {
+                        writeRequestOnHttp2Stream(channel);
+                    } else {
+                        writeRequest(channel);
+                    }
                 }
 
                 @Override
@@ -146,6 +186,8 @@ public final class NettyConnectListener<T> {
                 }
             });
 
+        } else if (channelManager.isHttp2PriorKnowledge(uri, proxyServer)) {
+            writeRequestOnHttp2Stream(channel);
         } else {
             writeRequest(channel);
         }
@@ -156,15 +198,11 @@ public final class NettyConnectListener<T> {
         // beware, channel can be null
         Channels.silentlyCloseChannel(channel);
 
-        boolean canRetry = future.incrementRetryAndCheck();
+        boolean canRetry = cause != null // FIXME when can we have a null cause?
+                && (future.getChannelState() != ChannelState.NEW || StackTraceInspector.recoverOnNettyDisconnectException(cause));
         LOGGER.debug("Trying to recover from failing to connect channel {} with a retry value of {} ", channel, canRetry);
-        if (canRetry//
-                && cause != null // FIXME when can we have a null cause?
-                && (future.getChannelState() != ChannelState.NEW || StackTraceInspector.recoverOnNettyDisconnectException(cause))) {
-
-            if (requestSender.retry(future)) {
-                return;
-            }
+        if (canRetry && requestSender.retry(future, cause, false)) {
+            return;
         }
 
         LOGGER.debug("Failed to recover from connect exception: {} with channel {}", cause, channel);
@@ -172,6 +210,7 @@ public final class NettyConnectListener<T> {
         String message = cause.getMessage() != null ? cause.getMessage() : future.getUri().getBaseUrl();
         ConnectException e = new ConnectException(message);
         e.initCause(cause);
+        channelManager.onRequestFailed(future, e);
         future.abort(e);
     }
 }
@@ -26,6 +26,11 @@ public class NoopConnectionSemaphore implements ConnectionSemaphore {
     public void acquireChannelLock(Object partitionKey) throws IOException {
     }
 
+    @Override
+    public boolean tryAcquireChannelLock(Object partitionKey) {
+        return true;
+    }
+
     @Override
     public void releaseChannelLock(Object partitionKey) {
     }
@@ -15,12 +15,16 @@
  */
 package org.asynchttpclient.netty.channel;
 
+import io.netty.util.Timer;
 import org.asynchttpclient.exception.TooManyConnectionsPerHostException;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Semaphore;
-import java.util.concurrent.TimeUnit;
 
 import static org.asynchttpclient.util.ThrowableUtil.unknownStackTrace;
 
@@ -29,22 +33,41 @@ import static org.asynchttpclient.util.ThrowableUtil.unknownStackTrace;
  */
 public class PerHostConnectionSemaphore implements ConnectionSemaphore {
 
-    protected final ConcurrentHashMap<Object, Semaphore> freeChannelsPerHost = new ConcurrentHashMap<>();
+    // never parks a waiter, so never hands a permit over
+    private static final QueuedPermits INFINITE_PERMITS = new QueuedPermits(InfiniteSemaphore.INSTANCE, Runnable::run);
+
+    private final ConcurrentHashMap<Object, QueuedPermits> freeChannelsPerHost = new ConcurrentHashMap<>();
     protected final int maxConnectionsPerHost;
     protected final IOException tooManyConnectionsPerHost;
     protected final int acquireTimeout;
+    protected final @Nullable Timer nettyTimer;
+    private final Executor continuationExecutor;
 
     PerHostConnectionSemaphore(int maxConnectionsPerHost, int acquireTimeout) {
+        this(maxConnectionsPerHost, acquireTimeout, null);
+    }
+
+    PerHostConnectionSemaphore(int maxConnectionsPerHost, int acquireTimeout, @Nullable Timer nettyTimer) {
+        this(maxConnectionsPerHost, acquireTimeout, nettyTimer, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param continuationExecutor the executor on which a queued acquisition is completed once a permit is released, so that its
+     *                             continuation doesn't run on the releasing thread
+     */
+    PerHostConnectionSemaphore(int maxConnectionsPerHost, int acquireTimeout, @Nullable Timer nettyTimer, Executor continuationExecutor) {
         tooManyConnectionsPerHost = unknownStackTrace(new TooManyConnectionsPerHostException(maxConnectionsPerHost),
                 PerHostConnectionSemaphore.class, "acquireChannelLock");
         this.maxConnectionsPerHost = maxConnectionsPerHost;
         this.acquireTimeout = Math.max(0, acquireTimeout);
+        this.nettyTimer = nettyTimer;
+        this.continuationExecutor = continuationExecutor;
     }
 
     @Override
     public void acquireChannelLock(Object partitionKey) throws IOException {
         try {
-            if (!getFreeConnectionsForHost(partitionKey).tryAcquire(acquireTimeout, TimeUnit.MILLISECONDS)) {
+            if (!acquirePerHost(partitionKey, acquireTimeout)) {
                 throw tooManyConnectionsPerHost;
             }
         } catch (InterruptedException e) {
@@ -52,14 +75,39 @@ public class PerHostConnectionSemaphore implements ConnectionSemaphore {
         }
     }
 
+    @Override
+    public CompletableFuture<Void> acquireChannelLockAsync(Object partitionKey) {
+        return acquirePerHostAsync(partitionKey, acquireTimeout);
+    }
+
+    @Override
+    public boolean tryAcquireChannelLock(Object partitionKey) {
+        return !acquirePerHostAsync(partitionKey, 0).isCompletedExceptionally();
+    }
+
+    /**
+     * Block until a permit for the host is acquired, queued behind the asynchronous waiters.
+     */
+    protected boolean acquirePerHost(Object partitionKey, long timeout) throws InterruptedException {
+        return getQueuedFreeConnectionsForHost(partitionKey).acquireBlocking(timeout);
+    }
+
+    protected CompletableFuture<Void> acquirePerHostAsync(Object partitionKey, long timeout) {
+        return getQueuedFreeConnectionsForHost(partitionKey).acquire(nettyTimer, timeout, tooManyConnectionsPerHost);
+    }
+
     @Override
     public void releaseChannelLock(Object partitionKey) {
-        getFreeConnectionsForHost(partitionKey).release();
+        getQueuedFreeConnectionsForHost(partitionKey).release();
     }
 
     protected Semaphore getFreeConnectionsForHost(Object partitionKey) {
+        return getQueuedFreeConnectionsForHost(partitionKey).semaphore();
+    }
+
+    private QueuedPermits getQueuedFreeConnectionsForHost(Object partitionKey) {
         return maxConnectionsPerHost > 0 ?
-                freeChannelsPerHost.computeIfAbsent(partitionKey, pk -> new Semaphore(maxConnectionsPerHost)) :
-                InfiniteSemaphore.INSTANCE;
+                freeChannelsPerHost.computeIfAbsent(partitionKey, pk -> new QueuedPermits(new Semaphore(maxConnectionsPerHost), continuationExecutor)) :
+                INFINITE_PERMITS;
     }
 }
@@ -0,0 +1,208 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+import org.asynchttpclient.netty.NettyResponseFuture;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The HTTP/1.1 connections requests are pipelined on, per partition.
+ * <p>
+ * A connection starts being pipelined on once a pipelinable request has been written on it: the following pipelinable requests of the
+ * partition are then written right away on that connection instead of waiting for the responses, as long as there are less than
+ * {@code maxPipelinedRequests} requests in flight. As the server answers in order, the futures of the requests written after the one
+ * whose response is being received are queued, and the connection is handed over to the next one once a response is complete.
+ * When no future is waiting anymore, the connection stops being pipelined on and goes back to the pool.
+ * <p>
+ * If the connection gets closed, the requests still waiting for their response haven't been answered and can be retried.
+ */
+final class PipelinedConnections {
+
+    private static final AttributeKey<Pipeline> PIPELINE = AttributeKey.valueOf("pipeline");
+
+    private final ConcurrentHashMap<Object, Queue<Channel>> connectionsPerPartition = new ConcurrentHashMap<>();
+    private final int maxPipelinedRequests;
+
+    PipelinedConnections(int maxPipelinedRequests) {
+        this.maxPipelinedRequests = maxPipelinedRequests;
+    }
+
+    /**
+     * Make the connection available to the next pipelinable requests, once the request whose response comes first has been written.
+     */
+    void open(Channel connection, Object partitionKey) {
+        Pipeline pipeline = new Pipeline(partitionKey);
+        if (!connection.attr(PIPELINE).compareAndSet(null, pipeline)) {
+            // already pipelined on
+            return;
+        }
+        connectionsPerPartition.compute(partitionKey, (pk, connections) -> {
+            if (connections == null) {
+                connections = new ConcurrentLinkedQueue<>();
+            }
+            connections.add(connection);
+            return connections;
+        });
+    }
+
+    /**
+     * @return the connection of the partition the future has been queued on, or null if they are all full. The request must then be
+     * written on the connection, once the requests queued before it have been.
+     */
+    @Nullable
+    Channel enqueue(Object partitionKey, NettyResponseFuture<?> future) {
+        Queue<Channel> connections = connectionsPerPartition.get(partitionKey);
+        if (connections != null) {
+            for (Channel connection : connections) {
+                Pipeline pipeline = connection.attr(PIPELINE).get();
+                if (pipeline != null && connection.isActive() && pipeline.tryEnqueue(future, maxPipelinedRequests)) {
+                    return connection;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the next queued future whose request hasn't been written yet, in order
+     */
+    @Nullable
+    NettyResponseFuture<?> pollUnwritten(Channel connection) {
+        Pipeline pipeline = connection.attr(PIPELINE).get();
+        return pipeline != null ? pipeline.pollUnwritten() : null;
+    }
+
+    /**
+     * To be called once the response being received on the connection is complete.
+     *
+     * @return the future whose response comes next, or null if none, in which case the connection isn't pipelined on anymore
+     */
+    @Nullable
+    NettyResponseFuture<?> next(Channel connection) {
+        Pipeline pipeline = connection.attr(PIPELINE).get();
+        if (pipeline == null) {
+            return null;
+        }
+
+        NettyResponseFuture<?> next;
+        synchronized (pipeline) {
+            next = pipeline.waiting.poll();
+            if (next == null) {
+                pipeline.open = false;
+            }
+        }
+        if (next == null) {
+            remove(connection, pipeline);
+        }
+        return next;
+    }
+
+    /**
+     * Stop queuing requests on the connection, e.g. because the next request of the current exchange must be sent on it.
+     *
+     * @return true if requests are still waiting for their response on the connection
+     */
+    boolean stop(Channel connection) {
+        Pipeline pipeline = connection.attr(PIPELINE).get();
+        if (pipeline == null) {
+            return false;
+        }
+
+        boolean waiting;
+        synchronized (pipeline) {
+            pipeline.open = false;
+            waiting = !pipeline.waiting.isEmpty();
+        }
+        if (!waiting) {
+            remove(connection, pipeline);
+        }
+        return waiting;
+    }
+
+    /**
+     * To be called once the connection is closed.
+     *
+     * @return the futures of the requests that were waiting for their response
+     */
+    List<NettyResponseFuture<?>> close(Channel connection) {
+        Pipeline pipeline = connection.attr(PIPELINE).get();
+        if (pipeline == null) {
+            return Collections.emptyList();
+        }
+
+        List<NettyResponseFuture<?>> unanswered;
+        synchronized (pipeline) {
+            pipeline.open = false;
+            unanswered = new ArrayList<>(pipeline.waiting);
+            pipeline.waiting.clear();
+            pipeline.unwritten.clear();
+        }
+        remove(connection, pipeline);
+        return unanswered;
+    }
+
+    private void remove(Channel connection, Pipeline pipeline) {
+        connection.attr(PIPELINE).compareAndSet(pipeline, null);
+        connectionsPerPartition.computeIfPresent(pipeline.partitionKey, (pk, connections) -> {
+            connections.remove(connection);
+            return connections.isEmpty() ? null : connections;
+        });
+    }
+
+    private static final class Pipeline {
+
+        private final Object partitionKey;
+        // guarded by this
+        private final Queue<NettyResponseFuture<?>> waiting = new ArrayDeque<>();
+        private final Queue<NettyResponseFuture<?>> unwritten = new ArrayDeque<>();
+        private boolean open = true;
+
+        private Pipeline(Object partitionKey) {
+            this.partitionKey = partitionKey;
+        }
+
+        private synchronized boolean tryEnqueue(NettyResponseFuture<?> future, int maxPipelinedRequests) {
+            // the request whose response is being received is in flight too
+            if (!open || waiting.size() + 1 >= maxPipelinedRequests) {
+                return false;
+            }
+            waiting.add(future);
+            unwritten.add(future);
+            return true;
+        }
+
+        private synchronized @Nullable NettyResponseFuture<?> pollUnwritten() {
+            for (;;) {
+                NettyResponseFuture<?> future = unwritten.poll();
+                if (future == null || !future.isDone()) {
+                    return future;
+                }
+                // aborted before being written, e.g. because of a timeout: no response will come for it
+                waiting.remove(future);
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * A {@link Semaphore} with a FIFO queue of waiters.
+ * <p>
+ * Asynchronous waiters are parked in the queue instead of blocking a thread, and are handed a permit as soon as one is released. Their
+ * continuation, e.g. resolving and connecting, doesn't run on the thread releasing the permit, often an event loop, but on the given
+ * executor, the event loop group of the client by default. Acquire timeouts are driven by the Netty {@link Timer}.
+ * <p>
+ * Blocking acquires queue behind the parked waiters too, so that the permits are handed out in order whichever way they're requested.
+ */
+final class QueuedPermits {
+
+    private final Semaphore permits;
+    private final Executor continuationExecutor;
+    private final ConcurrentLinkedQueue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param permits              the permits to hand out
+     * @param continuationExecutor the executor on which the asynchronous waiters are handed their permit
+     */
+    QueuedPermits(Semaphore permits, Executor continuationExecutor) {
+        this.permits = permits;
+        this.continuationExecutor = continuationExecutor;
+    }
+
+    Semaphore semaphore() {
+        return permits;
+    }
+
+    /**
+     * @param timer            the timer used to expire waiters, if null, waiters never expire
+     * @param timeoutMs        the maximum time to wait for a permit, 0 means fail immediately if none is available
+     * @param timeoutException the exception used to fail waiters that couldn't get a permit in time
+     * @return a future completed once the permit is acquired
+     */
+    CompletableFuture<Void> acquire(@Nullable Timer timer, long timeoutMs, IOException timeoutException) {
+        // don't barge in front of parked waiters
+        if (waiters.isEmpty() && permits.tryAcquire()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (timeoutMs <= 0) {
+            return CompletableFuture.failedFuture(timeoutException);
+        }
+
+        Waiter waiter = new Waiter(true);
+        waiters.offer(waiter);
+        if (timer != null) {
+            waiter.timeout = timer.newTimeout(timeout -> {
+                if (waiter.claim()) {
+                    waiters.remove(waiter);
+                    waiter.completeExceptionally(timeoutException);
+                }
+            }, timeoutMs, TimeUnit.MILLISECONDS);
+        }
+
+        // a permit might have been released in-between
+        drain();
+        return waiter;
+    }
+
+    /**
+     * Block the calling thread until a permit is acquired, behind the waiters already queued.
+     *
+     * @param timeoutMs the maximum time to wait for a permit, 0 means fail immediately if none is available
+     * @return true if the permit was acquired, false if it couldn't be in time
+     */
+    boolean acquireBlocking(long timeoutMs) throws InterruptedException {
+        if (waiters.isEmpty() && permits.tryAcquire()) {
+            return true;
+        }
+
+        if (timeoutMs <= 0) {
+            return false;
+        }
+
+        Waiter waiter = new Waiter(false);
+        waiters.offer(waiter);
+        drain();
+        try {
+            waiter.get(timeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            if (waiter.claim()) {
+                waiters.remove(waiter);
+                return false;
+            }
+            // the permit was handed over meanwhile
+            waiter.join();
+            return true;
+        } catch (InterruptedException e) {
+            if (waiter.claim()) {
+                waiters.remove(waiter);
+            } else {
+                // the permit was handed over meanwhile, give it back
+                waiter.join();
+                release();
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            // blocking waiters are never completed exceptionally
+            throw new IllegalStateException(e);
+        }
+    }
+
+    void release() {
+        permits.release();
+        drain();
+    }
+
+    int waiting() {
+        return waiters.size();
+    }
+
+    private void drain() {
+        while (!waiters.isEmpty() && permits.tryAcquire()) {
+            Waiter waiter = waiters.poll();
+            if (waiter == null || !waiter.claim()) {
+                // no waiter left or waiter already expired, give the permit back
+                permits.release();
+                continue;
+            }
+            if (waiter.timeout != null) {
+                waiter.timeout.cancel();
+            }
+            if (waiter.async) {
+                // don't run the continuation of the waiter on the thread releasing the permit
+                try {
+                    continuationExecutor.execute(() -> grant(waiter));
+                } catch (RejectedExecutionException e) {
+                    // the client is shutting down, hand the permit over on this thread rather than leaving the waiter hanging
+                    grant(waiter);
+                }
+            } else {
+                grant(waiter);
+            }
+        }
+    }
+
+    private void grant(Waiter waiter) {
+        if (!waiter.complete(null)) {
+            // the waiter was cancelled by its owner
+            release();
+        }
+    }
+
+    private static final class Waiter extends CompletableFuture<Void> {
+
+        private static final AtomicIntegerFieldUpdater<Waiter> CLAIMED_FIELD = AtomicIntegerFieldUpdater.newUpdater(Waiter.class, "claimed");
+
+        private final boolean async;
+        private volatile @Nullable Timeout timeout;
+        @SuppressWarnings("unused")
+        private volatile int claimed;
+
+        Waiter(boolean async) {
+            this.async = async;
+        }
+
+        /**
+         * @return true if the caller is the one deciding the outcome of the waiter, either handing it a permit or expiring it
+         */
+        boolean claim() {
+            return CLAIMED_FIELD.getAndSet(this, 1) == 0;
+        }
+    }
+}
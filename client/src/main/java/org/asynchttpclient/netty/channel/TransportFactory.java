@@ -24,4 +24,22 @@ import java.util.concurrent.ThreadFactory;
 public interface TransportFactory<C extends Channel, L extends EventLoopGroup> extends ChannelFactory<C> {
 
     L newEventLoopGroup(int ioThreadsCount, ThreadFactory threadFactory);
+
+    /**
+     * Query the kernel for the state of the connection of a channel, without reading from it.
+     *
+     * @return true if the connection was closed or half-closed by the peer, false if it's established or if the transport can't tell
+     */
+    default boolean isRemotelyClosed(Channel channel) {
+        return false;
+    }
+
+    /**
+     * Query the kernel for whether the server acknowledged the data sent along with the SYN of a connection opened with TCP Fast Open.
+     *
+     * @return true if it did, false if it didn't, e.g. because the client had no Fast Open cookie for it yet, or if the transport can't tell
+     */
+    default boolean isEarlyDataAccepted(Channel channel) {
+        return false;
+    }
 }
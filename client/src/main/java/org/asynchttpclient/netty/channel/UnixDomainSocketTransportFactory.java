@@ -0,0 +1,31 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import io.netty.channel.Channel;
+
+import java.net.SocketAddress;
+
+/**
+ * Implemented by the {@link TransportFactory}s whose event loops can also serve Unix domain socket channels.
+ * The native classes are only referenced by the implementations, so they are only loaded along with the native transport.
+ */
+interface UnixDomainSocketTransportFactory {
+
+    Channel newUnixDomainSocketChannel();
+
+    SocketAddress newUnixDomainSocketAddress(String path);
+}
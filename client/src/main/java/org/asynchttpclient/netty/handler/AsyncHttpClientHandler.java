@@ -48,6 +48,7 @@ public abstract class AsyncHttpClientHandler extends ChannelInboundHandlerAdapte
     protected final NettyRequestSender requestSender;
     final Interceptors interceptors;
     final boolean hasIOExceptionFilters;
+    private final boolean validatePooledConnections;
 
     AsyncHttpClientHandler(AsyncHttpClientConfig config,
                            ChannelManager channelManager,
@@ -57,6 +58,7 @@ public abstract class AsyncHttpClientHandler extends ChannelInboundHandlerAdapte
         this.requestSender = requestSender;
         interceptors = new Interceptors(config, channelManager, requestSender);
         hasIOExceptionFilters = !config.getIoExceptionFilters().isEmpty();
+        validatePooledConnections = config.isValidatePooledConnections();
     }
 
     @Override
@@ -77,6 +79,10 @@ public abstract class AsyncHttpClientHandler extends ChannelInboundHandlerAdapte
                 // unhandled message
                 logger.debug("Orphan channel {} with attribute {} received message {}, closing", channel, attribute, msg);
                 Channels.silentlyCloseChannel(channel);
+            } else if (validatePooledConnections) {
+                // an idle connection isn't expected to receive anything, e.g. a 408 sent before closing it, it can't be leased anymore
+                logger.debug("Idle channel {} received message {}, closing", channel, msg);
+                Channels.silentlyCloseChannel(channel);
             }
         } finally {
             ReferenceCountUtil.release(msg);
@@ -90,6 +96,8 @@ public abstract class AsyncHttpClientHandler extends ChannelInboundHandlerAdapte
         }
 
         Channel channel = ctx.channel();
+        // the requests pipelined behind the one being answered, if any, were never answered
+        requestSender.retryUnansweredPipelinedRequests(channel);
         channelManager.removeAll(channel);
 
         Object attribute = Channels.getAttribute(channel);
@@ -187,7 +195,7 @@ public abstract class AsyncHttpClientHandler extends ChannelInboundHandlerAdapte
         if (close) {
             channelManager.closeChannel(channel);
         } else {
-            channelManager.tryToOfferChannelToPool(channel, future.getAsyncHandler(), true, future.getPartitionKey());
+            channelManager.tryToOfferChannelToPool(channel, future, true, future.getPartitionKey());
         }
 
         try {
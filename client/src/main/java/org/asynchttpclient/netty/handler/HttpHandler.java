@@ -31,10 +31,10 @@ import org.asynchttpclient.HttpResponseBodyPart;
 import org.asynchttpclient.netty.NettyResponseFuture;
 import org.asynchttpclient.netty.NettyResponseStatus;
 import org.asynchttpclient.netty.channel.ChannelManager;
+import org.asynchttpclient.netty.channel.Channels;
 import org.asynchttpclient.netty.request.NettyRequestSender;
 
 import java.io.IOException;
-import java.net.InetSocketAddress;
 
 @Sharable
 public final class HttpHandler extends AsyncHttpClientHandler {
@@ -54,8 +54,12 @@ public final class HttpHandler extends AsyncHttpClientHandler {
     private void handleHttpResponse(final HttpResponse response, final Channel channel, final NettyResponseFuture<?> future, AsyncHandler<?> handler) throws Exception {
         HttpRequest httpRequest = future.getNettyRequest().getHttpRequest();
         logger.debug("\n\nRequest {}\n\nResponse {}\n", httpRequest, response);
+        channelManager.onResponseReceived(future);
 
-        future.setKeepAlive(config.getKeepAliveStrategy().keepAlive((InetSocketAddress) channel.remoteAddress(), future.getTargetRequest(), httpRequest, response));
+        future.setKeepAlive(config.getKeepAliveStrategy().keepAlive(Channels.getRemoteAddress(channel, future.getUri()), future.getTargetRequest(), httpRequest, response));
+        if (future.isKeepAlive()) {
+            channelManager.onKeepAliveHints(channel, response.headers());
+        }
 
         NettyResponseStatus status = new NettyResponseStatus(future.getUri(), response, channel);
         HttpHeaders responseHeaders = response.headers();
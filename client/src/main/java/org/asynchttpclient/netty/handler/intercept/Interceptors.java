@@ -42,6 +42,7 @@ import static org.asynchttpclient.util.HttpConstants.ResponseStatusCodes.UNAUTHO
 public class Interceptors {
 
     private final AsyncHttpClientConfig config;
+    private final NettyRequestSender requestSender;
     private final Unauthorized401Interceptor unauthorized401Interceptor;
     private final ProxyUnauthorized407Interceptor proxyUnauthorized407Interceptor;
     private final Continue100Interceptor continue100Interceptor;
@@ -55,6 +56,7 @@ public class Interceptors {
                         ChannelManager channelManager,
                         NettyRequestSender requestSender) {
         this.config = config;
+        this.requestSender = requestSender;
         unauthorized401Interceptor = new Unauthorized401Interceptor(channelManager, requestSender);
         proxyUnauthorized407Interceptor = new ProxyUnauthorized407Interceptor(channelManager, requestSender);
         continue100Interceptor = new Continue100Interceptor(requestSender);
@@ -109,6 +111,7 @@ public class Interceptors {
         if (httpRequest.method() == HttpMethod.CONNECT && statusCode == OK_200) {
             return connectSuccessInterceptor.exitAfterHandlingConnect(channel, future, request, proxyServer);
         }
-        return false;
+
+        return requestSender.retryOnStatus(channel, future, status, responseHeaders);
     }
 }
@@ -152,8 +152,9 @@ public class Redirect30xInterceptor {
 
                 boolean sameBase = request.getUri().isSameBase(newUri);
                 if (sameBase) {
-                    // we can only assume the virtual host is still valid if the baseUrl is the same
+                    // we can only assume the virtual host and the Unix domain socket are still valid if the baseUrl is the same
                     requestBuilder.setVirtualHost(request.getVirtualHost());
+                    requestBuilder.setUnixDomainSocketPath(request.getUnixDomainSocketPath());
                 }
 
                 final Request nextRequest = requestBuilder.setUri(newUri).build();
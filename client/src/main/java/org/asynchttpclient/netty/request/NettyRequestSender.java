@@ -19,12 +19,15 @@ import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelProgressivePromise;
-import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.resolver.NameResolver;
+import io.netty.util.ReferenceCountUtil;
 import io.netty.util.Timer;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.ImmediateEventExecutor;
@@ -32,10 +35,14 @@ import io.netty.util.concurrent.Promise;
 import org.asynchttpclient.AsyncHandler;
 import org.asynchttpclient.AsyncHttpClientConfig;
 import org.asynchttpclient.AsyncHttpClientState;
+import org.asynchttpclient.DefaultRetryPolicy;
+import org.asynchttpclient.HttpResponseStatus;
 import org.asynchttpclient.ListenableFuture;
 import org.asynchttpclient.Realm;
 import org.asynchttpclient.Realm.AuthScheme;
 import org.asynchttpclient.Request;
+import org.asynchttpclient.RequestBuilderBase;
+import org.asynchttpclient.RetryPolicy;
 import org.asynchttpclient.exception.FilterException;
 import org.asynchttpclient.exception.PoolAlreadyClosedException;
 import org.asynchttpclient.exception.RemotelyClosedException;
@@ -46,6 +53,7 @@ import org.asynchttpclient.netty.NettyResponseFuture;
 import org.asynchttpclient.netty.OnLastHttpContentCallback;
 import org.asynchttpclient.netty.SimpleFutureListener;
 import org.asynchttpclient.netty.channel.ChannelManager;
+import org.asynchttpclient.netty.channel.ChannelPrewarmer;
 import org.asynchttpclient.netty.channel.ChannelState;
 import org.asynchttpclient.netty.channel.Channels;
 import org.asynchttpclient.netty.channel.ConnectionSemaphore;
@@ -61,9 +69,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.EXPECT;
 import static java.util.Collections.singletonList;
@@ -85,16 +98,108 @@ public final class NettyRequestSender {
     private final Timer nettyTimer;
     private final AsyncHttpClientState clientState;
     private final NettyRequestFactory requestFactory;
+    private final ChannelPrewarmer channelPrewarmer;
+    private final RetryPolicy retryPolicy;
+    private final RetryBudget retryBudget;
 
     public NettyRequestSender(AsyncHttpClientConfig config, ChannelManager channelManager, Timer nettyTimer, AsyncHttpClientState clientState) {
         this.config = config;
         this.channelManager = channelManager;
         connectionSemaphore = config.getConnectionSemaphoreFactory() == null
-                ? new DefaultConnectionSemaphoreFactory().newConnectionSemaphore(config)
-                : config.getConnectionSemaphoreFactory().newConnectionSemaphore(config);
+                ? new DefaultConnectionSemaphoreFactory().newConnectionSemaphore(config, nettyTimer, channelManager.getEventLoopGroup())
+                : config.getConnectionSemaphoreFactory().newConnectionSemaphore(config, nettyTimer, channelManager.getEventLoopGroup());
         this.nettyTimer = nettyTimer;
         this.clientState = clientState;
         requestFactory = new NettyRequestFactory(config);
+        channelPrewarmer = new ChannelPrewarmer(channelManager, connectionSemaphore);
+        retryPolicy = config.getRetryPolicy() != null ? config.getRetryPolicy() : new DefaultRetryPolicy(config.getRetryBackoff(), config.getRetryMaxBackoff());
+        retryBudget = config.getRetryBudgetPercent() >= 0 ? new RetryBudget(config.getRetryBudgetPercent()) : null;
+    }
+
+    /**
+     * Open up to {@code count} new connections for the request's partition and offer them to the pool.
+     * <p>
+     * Connections are only opened as long as permits are immediately available, so pre-warming never delays or fails actual requests.
+     * Connections tunneled through an HTTP proxy, WebSocket connections and connections to Unix domain sockets can't be pre-warmed.
+     *
+     * @param request the request whose target, virtual host and proxy define the partition
+     * @param count   the number of connections to open
+     * @return a future completed with the number of connections added to the pool
+     */
+    public CompletableFuture<Integer> prewarm(Request request, int count) {
+        if (isClosed()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Closed"));
+        }
+
+        Uri uri = request.getUri();
+        ProxyServer proxy = getProxyServer(config, request);
+        boolean httpProxy = proxy != null && proxy.getProxyType().isHttp();
+        if (uri.isWebSocket() || httpProxy && uri.isSecured() || request.getUnixDomainSocketPath() != null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Can't pre-warm WebSocket, tunneled or Unix domain socket connections to " + uri));
+        }
+
+        Object partitionKey = request.getChannelPoolPartitioning().getPartitionKey(uri, request.getVirtualHost(), proxy);
+        int permits = channelPrewarmer.acquirePermits(partitionKey, count);
+        if (permits == 0) {
+            return CompletableFuture.completedFuture(0);
+        }
+
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        Future<List<InetSocketAddress>> whenAddresses;
+        if (proxy != null && httpProxy) {
+            whenAddresses = resolve(request, proxy.getHost(), proxy.getPort());
+        } else if (request.getAddress() != null) {
+            whenAddresses = ImmediateEventExecutor.INSTANCE.<List<InetSocketAddress>>newPromise()
+                    .setSuccess(singletonList(new InetSocketAddress(request.getAddress(), uri.getExplicitPort())));
+        } else {
+            whenAddresses = resolve(request, uri.getHost(), uri.getExplicitPort());
+        }
+
+        whenAddresses.addListener((Future<List<InetSocketAddress>> whenResolved) -> {
+            if (!whenResolved.isSuccess()) {
+                channelPrewarmer.releasePermits(partitionKey, permits);
+                result.completeExceptionally(whenResolved.cause());
+                return;
+            }
+            channelManager.getBootstrap(uri, nameResolver(request), proxy).addListener((Future<Bootstrap> whenBootstrap) -> {
+                if (whenBootstrap.isSuccess()) {
+                    channelPrewarmer.openChannels(whenBootstrap.getNow(), channelManager.selectAddresses(whenResolved.getNow()), request.getLocalAddress(), uri, request.getVirtualHost(), proxy,
+                            partitionKey, permits).whenComplete((offered, t) -> result.complete(offered));
+                } else {
+                    channelPrewarmer.releasePermits(partitionKey, permits);
+                    result.completeExceptionally(whenBootstrap.cause());
+                }
+            });
+        });
+        return result;
+    }
+
+    /**
+     * Keep at least {@code minIdle} idle connections in the request's partition, topped up in the background by the pool.
+     *
+     * @param request the request whose target, virtual host and proxy define the partition
+     * @param minIdle the minimum number of idle connections, 0 to stop maintaining the partition
+     * @see #prewarm(Request, int)
+     */
+    public void setMinIdleConnections(Request request, int minIdle) {
+        Object partitionKey = request.getChannelPoolPartitioning().getPartitionKey(request.getUri(), request.getVirtualHost(), getProxyServer(config, request));
+        channelManager.getChannelPool().setMinIdle(partitionKey, minIdle, missing -> prewarm(request, missing));
+    }
+
+    private Future<List<InetSocketAddress>> resolve(Request request, String host, int port) {
+        Promise<List<InetSocketAddress>> promise = ImmediateEventExecutor.INSTANCE.newPromise();
+        nameResolver(request).resolveAll(host).addListener((Future<List<InetAddress>> whenResolved) -> {
+            if (whenResolved.isSuccess()) {
+                List<InetSocketAddress> addresses = new ArrayList<>(whenResolved.getNow().size());
+                for (InetAddress address : whenResolved.getNow()) {
+                    addresses.add(new InetSocketAddress(address, port));
+                }
+                promise.trySuccess(addresses);
+            } else {
+                promise.tryFailure(whenResolved.cause());
+            }
+        });
+        return promise;
     }
 
     public <T> ListenableFuture<T> sendRequest(final Request request, final AsyncHandler<T> asyncHandler, NettyResponseFuture<T> future) {
@@ -138,6 +243,19 @@ public final class NettyRequestSender {
     private <T> ListenableFuture<T> sendRequestWithCertainForceConnect(Request request, AsyncHandler<T> asyncHandler, NettyResponseFuture<T> future,
                                                                        ProxyServer proxyServer, boolean performConnectRequest) {
         NettyResponseFuture<T> newFuture = newNettyRequestAndResponseFuture(request, asyncHandler, future, proxyServer, performConnectRequest);
+
+        Channel http2Connection = channelManager.pollHttp2Connection(request.getUri(), request.getVirtualHost(), proxyServer, request.getChannelPoolPartitioning());
+        if (http2Connection != null) {
+            return sendRequestWithHttp2Connection(newFuture, http2Connection);
+        }
+
+        if (channelManager.isPipelinable(newFuture)) {
+            Channel pipelinedChannel = channelManager.enqueuePipelinedRequest(newFuture);
+            if (pipelinedChannel != null) {
+                return sendRequestWithPipelinedChannel(newFuture, pipelinedChannel);
+            }
+        }
+
         Channel channel = getOpenChannel(future, request, proxyServer, asyncHandler);
         return Channels.isChannelActive(channel)
                 ? sendRequestWithOpenChannel(newFuture, asyncHandler, channel)
@@ -211,7 +329,8 @@ public final class NettyRequestSender {
     }
 
     private Channel getOpenChannel(NettyResponseFuture<?> future, Request request, ProxyServer proxyServer, AsyncHandler<?> asyncHandler) {
-        if (future != null && future.isReuseChannel() && Channels.isChannelActive(future.channel())) {
+        // an HTTP/2 stream only carries a single request
+        if (future != null && future.isReuseChannel() && Channels.isChannelActive(future.channel()) && !ChannelManager.isHttp2Stream(future.channel())) {
             return future.channel();
         } else {
             return pollPooledChannel(request, proxyServer, asyncHandler);
@@ -227,10 +346,10 @@ public final class NettyRequestSender {
             return future;
         }
 
-        SocketAddress channelRemoteAddress = channel.remoteAddress();
+        InetSocketAddress channelRemoteAddress = Channels.getRemoteAddress(channel, future.getUri());
         if (channelRemoteAddress != null) {
             // otherwise, bad luck, the channel was closed, see bellow
-            scheduleRequestTimeout(future, (InetSocketAddress) channelRemoteAddress);
+            scheduleRequestTimeout(future, channelRemoteAddress);
         }
 
         future.setChannelState(ChannelState.POOLED);
@@ -258,6 +377,98 @@ public final class NettyRequestSender {
         return future;
     }
 
+    private <T> ListenableFuture<T> sendRequestWithHttp2Connection(NettyResponseFuture<T> future, Channel connection) {
+        InetSocketAddress connectionRemoteAddress = Channels.getRemoteAddress(connection, future.getUri());
+        if (connectionRemoteAddress != null) {
+            scheduleRequestTimeout(future, connectionRemoteAddress);
+        }
+        future.setChannelState(ChannelState.POOLED);
+        sendRequestOnHttp2Stream(future, connection);
+        return future;
+    }
+
+    private <T> ListenableFuture<T> sendRequestWithPipelinedChannel(NettyResponseFuture<T> future, Channel channel) {
+        InetSocketAddress channelRemoteAddress = Channels.getRemoteAddress(channel, future.getUri());
+        if (channelRemoteAddress != null) {
+            scheduleRequestTimeout(future, channelRemoteAddress);
+        }
+        future.setChannelState(ChannelState.POOLED);
+        future.attachChannel(channel, false);
+
+        try {
+            future.getAsyncHandler().onConnectionPooled(channel);
+        } catch (Exception e) {
+            LOGGER.error("onConnectionPooled crashed", e);
+            // the request is dropped before being written
+            abort(null, future, e);
+        }
+
+        if (LOGGER.isDebugEnabled()) {
+            HttpRequest httpRequest = future.getNettyRequest().getHttpRequest();
+            LOGGER.debug("Pipelining {} '{}' on Channel {}", httpRequest.method(), httpRequest.uri(), channel);
+        }
+
+        // the requests must be written in the order they were queued in, as that's the order the responses will come in
+        channel.eventLoop().execute(() -> writePipelinedRequests(channel));
+        return future;
+    }
+
+    private void writePipelinedRequests(Channel channel) {
+        NettyResponseFuture<?> future;
+        while ((future = channelManager.pollUnwrittenPipelinedRequest(channel)) != null) {
+            writeRequest(future, channel);
+        }
+    }
+
+    /**
+     * Retry the pipelined requests that were waiting for their response on a channel that got closed: the server never answered them.
+     */
+    public void retryUnansweredPipelinedRequests(Channel channel) {
+        for (NettyResponseFuture<?> future : channelManager.removeUnansweredPipelinedRequests(channel)) {
+            if (future.isDone()) {
+                continue;
+            }
+            if (!retry(future, RemotelyClosedException.INSTANCE, true)) {
+                abort(null, future, RemotelyClosedException.INSTANCE);
+            }
+        }
+    }
+
+    /**
+     * Send the request on a new stream of an HTTP/2 connection on which a stream has been reserved.
+     * The stream, and not the connection, is the channel attached to the future and notified with {@link AsyncHandler#onConnectionPooled(Channel)}.
+     */
+    public <T> void sendRequestOnHttp2Stream(NettyResponseFuture<T> future, Channel connection) {
+        channelManager.openHttp2Stream(connection).addListener((Future<Http2StreamChannel> whenStream) -> {
+            if (!whenStream.isSuccess()) {
+                // e.g. the connection was closed in-between
+                if (!retry(future, whenStream.cause(), false)) {
+                    abort(null, future, whenStream.cause());
+                }
+                return;
+            }
+
+            Channel stream = whenStream.getNow();
+            try {
+                future.getAsyncHandler().onConnectionPooled(stream);
+            } catch (Exception e) {
+                LOGGER.error("onConnectionPooled crashed", e);
+                abort(stream, future, e);
+                return;
+            }
+
+            if (LOGGER.isDebugEnabled()) {
+                HttpRequest httpRequest = future.getNettyRequest().getHttpRequest();
+                LOGGER.debug("Using HTTP/2 stream {} for {} '{}'", stream, httpRequest.method(), httpRequest.uri());
+            }
+
+            Channels.setActiveToken(stream);
+            future.attachChannel(stream, false);
+            Channels.setAttribute(stream, future);
+            writeRequest(future, stream);
+        });
+    }
+
     private <T> ListenableFuture<T> sendRequestWithNewChannel(Request request, ProxyServer proxy, NettyResponseFuture<T> future, AsyncHandler<T> asyncHandler) {
         // some headers are only set when performing the first request
         HttpHeaders headers = future.getNettyRequest().getHttpRequest().headers();
@@ -275,30 +486,50 @@ public final class NettyRequestSender {
         future.setInAuth(realm != null && realm.isUsePreemptiveAuth() && realm.getScheme() != AuthScheme.NTLM);
         future.setInProxyAuth(proxyRealm != null && proxyRealm.isUsePreemptiveAuth() && proxyRealm.getScheme() != AuthScheme.NTLM);
 
-        try {
-            if (!channelManager.isOpen()) {
-                throw PoolAlreadyClosedException.INSTANCE;
-            }
+        if (!channelManager.isOpen()) {
+            abort(null, future, PoolAlreadyClosedException.INSTANCE);
+            return future;
+        }
 
-            // Do not throw an exception when we need an extra connection for a
-            // redirect.
-            future.acquirePartitionLockLazily();
-        } catch (Throwable t) {
-            abort(null, future, getCause(t));
-            // exit and don't try to resolve address
+        // fail fast instead of holding a permit while waiting for a backend that's down to time out
+        IOException circuitBreakerOpen = channelManager.checkCircuitBreaker(future);
+        if (circuitBreakerOpen != null) {
+            abort(null, future, circuitBreakerOpen);
             return future;
         }
 
+        // Do not block when we need an extra connection for a redirect:
+        // the future is parked until a permit is released or the acquire timeout expires.
+        future.acquirePartitionLockLazilyAsync().whenComplete((v, t) -> {
+            if (t != null) {
+                abort(null, future, getCause(t));
+                // exit and don't try to resolve address
+            } else if (!future.isDone()) {
+                resolveAndConnect(request, proxy, future, asyncHandler);
+            }
+        });
+
+        return future;
+    }
+
+    private <T> void resolveAndConnect(Request request, ProxyServer proxy, NettyResponseFuture<T> future, AsyncHandler<T> asyncHandler) {
+        String unixDomainSocketPath = request.getUnixDomainSocketPath();
+        if (unixDomainSocketPath != null) {
+            connectToUnixDomainSocket(request, unixDomainSocketPath, future, asyncHandler);
+            return;
+        }
+
         resolveAddresses(request, proxy, future, asyncHandler).addListener(new SimpleFutureListener<List<InetSocketAddress>>() {
 
             @Override
             protected void onSuccess(List<InetSocketAddress> addresses) {
                 NettyConnectListener<T> connectListener = new NettyConnectListener<>(future, NettyRequestSender.this, channelManager, connectionSemaphore);
-                NettyChannelConnector connector = new NettyChannelConnector(request.getLocalAddress(), addresses, asyncHandler, clientState);
+                NettyChannelConnector connector = new NettyChannelConnector(request.getLocalAddress(), channelManager.selectAddresses(addresses), asyncHandler, clientState,
+                        nettyTimer, config.getConnectionAttemptDelay().toMillis());
                 if (!future.isDone()) {
                     // Do not throw an exception when we need an extra connection for a redirect
                     // FIXME why? This violate the max connection per host handling, right?
-                    channelManager.getBootstrap(request.getUri(), request.getNameResolver(), proxy).addListener((Future<Bootstrap> whenBootstrap) -> {
+                    channelManager.getBootstrap(request.getUri(), nameResolver(request), proxy).addListener((Future<Bootstrap> whenBootstrap) -> {
                         if (whenBootstrap.isSuccess()) {
                             connector.connect(whenBootstrap.get(), connectListener);
                         } else {
@@ -313,8 +544,26 @@ public final class NettyRequestSender {
                 abort(null, future, getCause(cause));
             }
         });
+    }
 
-        return future;
+    private <T> void connectToUnixDomainSocket(Request request, String path, NettyResponseFuture<T> future, AsyncHandler<T> asyncHandler) {
+        Uri uri = request.getUri();
+        // no name resolution, the uri's host and port are only used in the request and reported to the AsyncHandler
+        InetSocketAddress unresolvedRemoteAddress = InetSocketAddress.createUnresolved(uri.getHost(), uri.getExplicitPort());
+        scheduleRequestTimeout(future, unresolvedRemoteAddress);
+
+        Bootstrap bootstrap;
+        SocketAddress unixDomainSocketAddress;
+        try {
+            bootstrap = channelManager.getUnixDomainSocketBootstrap(uri, path);
+            unixDomainSocketAddress = channelManager.newUnixDomainSocketAddress(path);
+        } catch (UnsupportedOperationException e) {
+            abort(null, future, e);
+            return;
+        }
+
+        NettyConnectListener<T> connectListener = new NettyConnectListener<>(future, this, channelManager, connectionSemaphore);
+        new NettyChannelConnector(unixDomainSocketAddress, unresolvedRemoteAddress, asyncHandler, clientState).connect(bootstrap, connectListener);
     }
 
     private <T> Future<List<InetSocketAddress>> resolveAddresses(Request request, ProxyServer proxy, NettyResponseFuture<T> future, AsyncHandler<T> asyncHandler) {
@@ -325,7 +574,7 @@ public final class NettyRequestSender {
             int port = uri.isSecured() ? proxy.getSecuredPort() : proxy.getPort();
             InetSocketAddress unresolvedRemoteAddress = InetSocketAddress.createUnresolved(proxy.getHost(), port);
             scheduleRequestTimeout(future, unresolvedRemoteAddress);
-            return RequestHostnameResolver.INSTANCE.resolve(request.getNameResolver(), unresolvedRemoteAddress, asyncHandler);
+            return RequestHostnameResolver.INSTANCE.resolve(nameResolver(request), unresolvedRemoteAddress, asyncHandler);
         } else {
             int port = uri.getExplicitPort();
 
@@ -337,11 +586,20 @@ public final class NettyRequestSender {
                 InetSocketAddress inetSocketAddress = new InetSocketAddress(request.getAddress(), port);
                 return promise.setSuccess(singletonList(inetSocketAddress));
             } else {
-                return RequestHostnameResolver.INSTANCE.resolve(request.getNameResolver(), unresolvedRemoteAddress, asyncHandler);
+                return RequestHostnameResolver.INSTANCE.resolve(nameResolver(request), unresolvedRemoteAddress, asyncHandler);
             }
         }
     }
 
+    private NameResolver<InetAddress> nameResolver(Request request) {
+        // the client wide resolver only replaces the default one, not one explicitly set on the request
+        NameResolver<InetAddress> nameResolver = request.getNameResolver();
+        if (nameResolver == RequestBuilderBase.DEFAULT_NAME_RESOLVER && config.getNameResolver() != null) {
+            return config.getNameResolver();
+        }
+        return nameResolver;
+    }
+
     private <T> NettyResponseFuture<T> newNettyResponseFuture(Request request, AsyncHandler<T> asyncHandler, NettyRequest nettyRequest, ProxyServer proxyServer) {
         NettyResponseFuture<T> future = new NettyResponseFuture<>(
                 request,
@@ -356,6 +614,9 @@ public final class NettyRequestSender {
         if (HttpHeaderValues.CONTINUE.contentEqualsIgnoreCase(expectHeader)) {
             future.setDontWriteBodyBecauseExpectContinue(true);
         }
+        if (retryBudget != null) {
+            retryBudget.onRequest(future.getPartitionKey());
+        }
         return future;
     }
 
@@ -385,6 +646,7 @@ public final class NettyRequestSender {
                     abort(channel, future, e);
                     return;
                 }
+                channelManager.onRequestWritten(future, channel);
 
                 // if the request has a body, we want to track progress
                 if (writeBody) {
@@ -394,9 +656,23 @@ public final class NettyRequestSender {
                     f.addListener(new WriteProgressListener(future, true, 0L));
                 } else {
                     // we can just track write completion
-                    ChannelPromise promise = channel.newPromise();
-                    ChannelFuture f = channel.writeAndFlush(httpRequest, promise);
+                    ChannelFuture f = future.takeEarlyDataWrite();
+                    if (f != null && f.channel() == channel) {
+                        // its duplicate was already written before connecting, flush what didn't fit in the SYN
+                        ReferenceCountUtil.release(httpRequest);
+                        channel.flush();
+                    } else {
+                        f = channel.writeAndFlush(httpRequest, channel.newPromise());
+                    }
                     f.addListener(new WriteCompleteListener(future));
+                    if (channelManager.isPipelinable(future) && !ChannelManager.isHttp2Stream(channel)) {
+                        // the next requests can only be written behind this one once it has been
+                        f.addListener(whenWritten -> {
+                            if (whenWritten.isSuccess()) {
+                                channelManager.startPipelining(channel, future.getPartitionKey());
+                            }
+                        });
+                    }
                 }
             }
 
@@ -415,6 +691,23 @@ public final class NettyRequestSender {
         }
     }
 
+    /**
+     * Write the request, without flushing it, on a new channel that isn't connected yet, so that it's sent along with the SYN when connecting
+     * with TCP Fast Open. The write is then completed by {@link #writeRequest(NettyResponseFuture, Channel)} once connected.
+     *
+     * A duplicate of the request is written, so that the request is still intact when this connect attempt fails and the next address is tried:
+     * the content of the duplicate is released along with the channel.
+     *
+     * @return the future of the write
+     */
+    public <T> ChannelFuture writeEarlyData(NettyResponseFuture<T> future, Channel channel) {
+        HttpRequest httpRequest = future.getNettyRequest().getHttpRequest();
+        Object earlyData = httpRequest instanceof FullHttpRequest ? ((FullHttpRequest) httpRequest).retainedDuplicate() : httpRequest;
+        ChannelFuture write = channel.write(earlyData);
+        future.setEarlyDataWrite(write);
+        return write;
+    }
+
     private static void configureTransferAdapter(AsyncHandler<?> handler, HttpRequest httpRequest) {
         HttpHeaders h = new DefaultHttpHeaders().set(httpRequest.headers());
         ((TransferCompletionHandler) handler).headers(h);
@@ -450,6 +743,7 @@ public final class NettyRequestSender {
             future.setChannelState(ChannelState.CLOSED);
             LOGGER.debug("Aborting Future {}\n", future);
             LOGGER.debug(t.getMessage(), t);
+            channelManager.onRequestFailed(future, t);
             future.abort(t);
         }
     }
@@ -458,43 +752,112 @@ public final class NettyRequestSender {
         if (Channels.isActiveTokenSet(channel)) {
             if (future.isDone()) {
                 channelManager.closeChannel(channel);
-            } else if (future.incrementRetryAndCheck() && retry(future)) {
+                return;
+            }
+            Throwable cause = future.pendingException != null ? future.pendingException : RemotelyClosedException.INSTANCE;
+            if (retry(future, cause, true)) {
                 future.pendingException = null;
             } else {
-                abort(channel, future, future.pendingException != null ? future.pendingException : RemotelyClosedException.INSTANCE);
+                abort(channel, future, cause);
             }
         }
     }
 
-    public boolean retry(NettyResponseFuture<?> future) {
-        if (isClosed()) {
+    /**
+     * Retry the request of the future that failed without a response, if it can be sent again and the {@link RetryPolicy} allows it.
+     *
+     * @param cause       the cause of the failure
+     * @param requestSent false if the request failed before being written, true if it may have reached the server
+     * @return true if the request is being retried, possibly after a delay
+     */
+    public boolean retry(NettyResponseFuture<?> future, Throwable cause, boolean requestSent) {
+        if (isClosed() || !future.incrementRetryAndCheck()) {
             return false;
         }
 
-        if (future.isReplayPossible()) {
-            future.setChannelState(ChannelState.RECONNECTED);
+        if (!future.isReplayPossible()) {
+            LOGGER.debug("Unable to recover future {}\n", future);
+            return false;
+        }
 
-            LOGGER.debug("Trying to recover request {}\n", future.getNettyRequest().getHttpRequest());
-            try {
-                future.getAsyncHandler().onRetry();
-            } catch (Exception e) {
-                LOGGER.error("onRetry crashed", e);
-                abort(future.channel(), future, e);
-                return false;
-            }
+        Duration delay = retryPolicy.retryDelayOnFailure(future.getCurrentRequest(), cause, requestSent, future.getCurrentRetry() - 1);
+        if (delay == null || retryBudget != null && !retryBudget.tryAcquire(future.getPartitionKey())) {
+            LOGGER.debug("Not retrying future {} failed with {}\n", future, cause);
+            return false;
+        }
 
-            try {
-                sendNextRequest(future.getCurrentRequest(), future);
-                return true;
+        future.setChannelState(ChannelState.RECONNECTED);
 
-            } catch (Exception e) {
-                abort(future.channel(), future, e);
-                return false;
-            }
-        } else {
-            LOGGER.debug("Unable to recover future {}\n", future);
+        LOGGER.debug("Trying to recover request {}\n", future.getNettyRequest().getHttpRequest());
+        try {
+            future.getAsyncHandler().onRetry();
+        } catch (Exception e) {
+            LOGGER.error("onRetry crashed", e);
+            abort(future.channel(), future, e);
             return false;
         }
+
+        channelManager.onRetry(future);
+        sendRetry(future, delay);
+        return true;
+    }
+
+    /**
+     * Retry the request of the future instead of handing over the response it received, if the {@link RetryPolicy} allows it.
+     * The response is then drained and discarded.
+     *
+     * @return true if the request is being retried, possibly after a delay
+     */
+    public boolean retryOnStatus(Channel channel, NettyResponseFuture<?> future, HttpResponseStatus status, HttpHeaders responseHeaders) {
+        Request request = future.getCurrentRequest();
+        // the body of the request must be sent again, and WebSockets and proxy tunnels have their own lifecycle
+        if (isClosed() || request.getStreamData() != null || request.getBodyGenerator() != null || request.getUri().isWebSocket()
+                || future.getNettyRequest().getHttpRequest().method() == HttpMethod.CONNECT) {
+            return false;
+        }
+
+        Duration delay = retryPolicy.retryDelayOnStatus(request, status, responseHeaders, future.getCurrentRetry());
+        if (delay == null || !future.incrementRetryAndCheck() || retryBudget != null && !retryBudget.tryAcquire(future.getPartitionKey())) {
+            return false;
+        }
+
+        future.setChannelState(ChannelState.NEW);
+
+        LOGGER.debug("Retrying request {} after receiving status {}\n", future.getNettyRequest().getHttpRequest(), status.getStatusCode());
+        try {
+            future.getAsyncHandler().onRetry();
+        } catch (Exception e) {
+            LOGGER.error("onRetry crashed", e);
+            abort(channel, future, e);
+            return true;
+        }
+
+        channelManager.onRetry(future);
+        channelManager.drainChannelAndOffer(channel, future);
+        sendRetry(future, delay);
+        return true;
+    }
+
+    private void sendRetry(NettyResponseFuture<?> future, Duration delay) {
+        future.touch();
+        if (delay.isZero() || delay.isNegative()) {
+            sendRetryNow(future);
+        } else {
+            LOGGER.debug("Retrying future {} in {}\n", future, delay);
+            nettyTimer.newTimeout(timeout -> sendRetryNow(future), delay.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void sendRetryNow(NettyResponseFuture<?> future) {
+        if (future.isDone()) {
+            // e.g. the request timed out, or was cancelled, during the backoff
+            return;
+        }
+        try {
+            sendNextRequest(future.getCurrentRequest(), future);
+        } catch (Exception e) {
+            abort(future.channel(), future, e);
+        }
     }
 
     public boolean applyIoExceptionFiltersAndReplayRequest(NettyResponseFuture<?> future, IOException e, Channel channel) {
@@ -583,6 +946,11 @@ public final class NettyRequestSender {
         Channels.setAttribute(channel, new OnLastHttpContentCallback(future) {
             @Override
             public void call() {
+                if (channelManager.stopPipelining(channel)) {
+                    // the channel is busy with the pipelined requests waiting for their responses, send the next request on another one
+                    future.setReuseChannel(false);
+                    channelManager.tryToOfferChannelToPool(channel, future, true, future.getPartitionKey());
+                }
                 sendNextRequest(nextRequest, future);
             }
         });
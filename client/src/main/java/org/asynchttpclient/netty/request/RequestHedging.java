@@ -0,0 +1,588 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.request;
+
+import io.netty.channel.Channel;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import org.asynchttpclient.AsyncHandler;
+import org.asynchttpclient.AsyncHttpClientConfig;
+import org.asynchttpclient.HttpResponseBodyPart;
+import org.asynchttpclient.HttpResponseStatus;
+import org.asynchttpclient.ListenableFuture;
+import org.asynchttpclient.Request;
+import org.asynchttpclient.handler.ProgressAsyncHandler;
+import org.asynchttpclient.handler.TransferCompletionHandler;
+import org.asynchttpclient.handler.resumable.ResumableAsyncHandler;
+import org.asynchttpclient.ws.WebSocketUpgradeHandler;
+
+import javax.net.ssl.SSLSession;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.asynchttpclient.util.HttpUtils.isIdempotent;
+
+/**
+ * Races a duplicate of the idempotent requests that are slow to get their response against the original one.
+ * <p>
+ * The duplicate is sent once the hedging delay has elapsed, or once the request has been waiting for longer than the configured percentile
+ * of the recent latencies of the host. Being sent while the original request is in flight, it goes on another pooled connection or on
+ * a new one. The first attempt to receive its response status wins: the other one is cancelled, closing its connection, and only the
+ * winner is seen by the {@link AsyncHandler}. The number of duplicates is capped by a budget, replenished by each hedgeable request.
+ */
+public final class RequestHedging {
+
+    // the budget is counted in hundredths of a duplicate, so that each request can deposit its percentage
+    private static final int HEDGE_COST = 100;
+    private static final int MAX_BUDGET = 10 * HEDGE_COST;
+
+    private final NettyRequestSender requestSender;
+    private final Timer nettyTimer;
+    private final long hedgingDelayNanos;
+    private final int latencyPercentile;
+    private final int budgetPercent;
+    private final AtomicInteger budget = new AtomicInteger();
+    private final ConcurrentHashMap<String, Latencies> latenciesPerHost = new ConcurrentHashMap<>();
+
+    public RequestHedging(AsyncHttpClientConfig config, NettyRequestSender requestSender, Timer nettyTimer) {
+        this.requestSender = requestSender;
+        this.nettyTimer = nettyTimer;
+        hedgingDelayNanos = config.getHedgingDelay().toNanos();
+        latencyPercentile = config.getHedgingLatencyPercentile();
+        budgetPercent = config.getHedgingBudgetPercent();
+    }
+
+    public static boolean isEnabled(AsyncHttpClientConfig config) {
+        return config.getHedgingDelay().toNanos() > 0 || config.getHedgingLatencyPercentile() > 0;
+    }
+
+    /**
+     * @return true if the request is idempotent and its body can be sent twice, and the handler doesn't need to see every attempt
+     * nor to be seen as is by the filters, like the {@link ResumableAsyncHandler} the resumable filter recognizes
+     */
+    public boolean isHedgeable(Request request, AsyncHandler<?> asyncHandler) {
+        return isIdempotent(request.getMethod())
+                && request.getStreamData() == null
+                && request.getBodyGenerator() == null
+                && !request.getUri().isWebSocket()
+                && !(asyncHandler instanceof TransferCompletionHandler)
+                && !(asyncHandler instanceof ResumableAsyncHandler)
+                && !(asyncHandler instanceof WebSocketUpgradeHandler);
+    }
+
+    public <T> ListenableFuture<T> sendRequest(Request request, AsyncHandler<T> asyncHandler) {
+        budget.getAndUpdate(b -> Math.min(b + budgetPercent, MAX_BUDGET));
+        HedgedResponseFuture<T> future = new HedgedResponseFuture<>(request, asyncHandler);
+        future.start();
+        return future;
+    }
+
+    private boolean tryWithdrawBudget() {
+        int b;
+        do {
+            b = budget.get();
+            if (b < HEDGE_COST) {
+                return false;
+            }
+        } while (!budget.compareAndSet(b, b - HEDGE_COST));
+        return true;
+    }
+
+    private long hedgingDelayNanos(String host) {
+        if (latencyPercentile > 0) {
+            Latencies latencies = latenciesPerHost.get(host);
+            long percentileNanos = latencies != null ? latencies.percentile(latencyPercentile) : -1;
+            if (percentileNanos > 0) {
+                return percentileNanos;
+            }
+        }
+        return hedgingDelayNanos;
+    }
+
+    private void recordLatency(String host, long latencyNanos) {
+        if (latencyPercentile > 0) {
+            latenciesPerHost.computeIfAbsent(host, h -> new Latencies()).record(latencyNanos);
+        }
+    }
+
+    /**
+     * The time to the response status of the last requests to a host.
+     */
+    private static final class Latencies {
+
+        private static final int MAX_SAMPLES = 100;
+        // fewer samples don't make a meaningful percentile
+        private static final int MIN_SAMPLES = 20;
+        private static final int RECOMPUTE_EVERY = 10;
+
+        private final long[] samples = new long[MAX_SAMPLES];
+        private int count;
+        private int next;
+        private int newSamples;
+        private long percentileNanos = -1;
+
+        private synchronized void record(long latencyNanos) {
+            samples[next] = latencyNanos;
+            next = (next + 1) % MAX_SAMPLES;
+            count = Math.min(count + 1, MAX_SAMPLES);
+            newSamples++;
+        }
+
+        private synchronized long percentile(int percentile) {
+            if (count < MIN_SAMPLES) {
+                return -1;
+            }
+            if (percentileNanos < 0 || newSamples >= RECOMPUTE_EVERY) {
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                int rank = (int) Math.ceil(percentile / 100.0 * count);
+                percentileNanos = sorted[Math.max(Math.min(rank, count) - 1, 0)];
+                newSamples = 0;
+            }
+            return percentileNanos;
+        }
+    }
+
+    private final class HedgedResponseFuture<T> implements ListenableFuture<T> {
+
+        private static final int ORIGINAL = 0;
+        private static final int DUPLICATE = 1;
+
+        private final Request request;
+        private final AsyncHandler<T> asyncHandler;
+        private final String host;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final AtomicLongArray startNanos = new AtomicLongArray(2);
+        // guarded by this
+        private ListenableFuture<T> original;
+        private ListenableFuture<T> duplicate;
+        private Timeout hedgeTimeout;
+        private boolean duplicateSent;
+        private int failedAttempts;
+        private boolean failed;
+        private volatile int winner = -1;
+
+        private HedgedResponseFuture(Request request, AsyncHandler<T> asyncHandler) {
+            this.request = request;
+            this.asyncHandler = asyncHandler;
+            host = request.getUri().getBaseUrl();
+        }
+
+        private void start() {
+            ListenableFuture<T> originalFuture = send(ORIGINAL);
+            long delayNanos = hedgingDelayNanos(host);
+            synchronized (this) {
+                original = originalFuture;
+                if (delayNanos > 0 && winner == -1 && !failed) {
+                    hedgeTimeout = nettyTimer.newTimeout(timeout -> sendDuplicate(), delayNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+
+        private ListenableFuture<T> send(int attempt) {
+            startNanos.set(attempt, System.nanoTime());
+            ListenableFuture<T> future = requestSender.sendRequest(request, new AttemptHandler(attempt), null);
+            future.toCompletableFuture().whenComplete((value, t) -> onAttemptDone(attempt, value, t));
+            return future;
+        }
+
+        private void sendDuplicate() {
+            synchronized (this) {
+                if (winner != -1 || failed || result.isDone() || !tryWithdrawBudget()) {
+                    return;
+                }
+                duplicateSent = true;
+            }
+
+            ListenableFuture<T> duplicateFuture;
+            try {
+                duplicateFuture = send(DUPLICATE);
+            } catch (Exception e) {
+                onAttemptDone(DUPLICATE, null, e);
+                return;
+            }
+
+            boolean lost;
+            synchronized (this) {
+                duplicate = duplicateFuture;
+                lost = winner == ORIGINAL;
+            }
+            if (lost) {
+                duplicateFuture.cancel(true);
+            }
+        }
+
+        /**
+         * @return true if the attempt is the one whose response is seen by the handler
+         */
+        private boolean claim(int attempt) {
+            ListenableFuture<T> loser;
+            synchronized (this) {
+                if (winner != -1 || failed) {
+                    return winner == attempt;
+                }
+                winner = attempt;
+                if (hedgeTimeout != null) {
+                    hedgeTimeout.cancel();
+                }
+                loser = attempt == ORIGINAL ? duplicate : original;
+            }
+            long now = System.nanoTime();
+            recordLatency(host, now - startNanos.get(attempt));
+            if (attempt == DUPLICATE) {
+                // the original would have taken at least this long, leaving it out would bias the percentile low
+                recordLatency(host, now - startNanos.get(ORIGINAL));
+            }
+            if (loser != null) {
+                loser.cancel(true);
+            }
+            return true;
+        }
+
+        private void onAttemptDone(int attempt, T value, Throwable t) {
+            if (winner == attempt) {
+                if (t == null) {
+                    result.complete(value);
+                } else {
+                    result.completeExceptionally(t);
+                }
+                return;
+            }
+
+            synchronized (this) {
+                if (winner != -1 || failed || t == null) {
+                    return;
+                }
+                failedAttempts++;
+                if (failedAttempts < (duplicateSent ? 2 : 1)) {
+                    // the other attempt may still succeed
+                    return;
+                }
+                failed = true;
+                if (hedgeTimeout != null) {
+                    hedgeTimeout.cancel();
+                }
+            }
+
+            try {
+                asyncHandler.onThrowable(t);
+            } finally {
+                result.completeExceptionally(t);
+            }
+        }
+
+        private boolean isCurrent(int attempt) {
+            int w = winner;
+            return w == -1 || w == attempt;
+        }
+
+        private synchronized ListenableFuture<T>[] attempts() {
+            @SuppressWarnings("unchecked")
+            ListenableFuture<T>[] attempts = new ListenableFuture[]{original, duplicate};
+            return attempts;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            for (ListenableFuture<T> attempt : attempts()) {
+                if (attempt != null) {
+                    attempt.cancel(mayInterruptIfRunning);
+                }
+            }
+            return result.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return result.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return result.isDone();
+        }
+
+        @Override
+        public T get() throws InterruptedException, ExecutionException {
+            return result.get();
+        }
+
+        @Override
+        public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            return result.get(timeout, unit);
+        }
+
+        @Override
+        public void done() {
+            ListenableFuture<T>[] attempts = attempts();
+            int w = winner;
+            ListenableFuture<T> attempt = attempts[w == -1 ? ORIGINAL : w];
+            if (attempt != null) {
+                attempt.done();
+            }
+        }
+
+        @Override
+        public void abort(Throwable t) {
+            for (ListenableFuture<T> attempt : attempts()) {
+                if (attempt != null) {
+                    attempt.abort(t);
+                }
+            }
+        }
+
+        @Override
+        public void touch() {
+            for (ListenableFuture<T> attempt : attempts()) {
+                if (attempt != null) {
+                    attempt.touch();
+                }
+            }
+        }
+
+        @Override
+        public ListenableFuture<T> addListener(Runnable listener, Executor exec) {
+            if (exec == null) {
+                exec = Runnable::run;
+            }
+            result.whenCompleteAsync((r, v) -> listener.run(), exec);
+            return this;
+        }
+
+        @Override
+        public CompletableFuture<T> toCompletableFuture() {
+            return result;
+        }
+
+        /**
+         * Forwards the callbacks of an attempt to the handler: the connection ones as long as there's no winner, like for retries,
+         * the response ones only for the winner.
+         * <p>
+         * The callbacks handing over the channel are only forwarded for the original attempt until there's a winner, as handlers like
+         * {@link org.asynchttpclient.handler.InputStreamAsyncHandler} apply backpressure to the last channel they were given.
+         * When the duplicate wins, its channel is handed over before its response.
+         */
+        private final class AttemptHandler implements ProgressAsyncHandler<T> {
+
+            private final int attempt;
+            private volatile InetSocketAddress connectedAddress;
+            private volatile Channel connection;
+            private volatile boolean connectionForwarded;
+
+            private AttemptHandler(int attempt) {
+                this.attempt = attempt;
+            }
+
+            private boolean forwardsConnection() {
+                int w = winner;
+                return w == attempt || w == -1 && attempt == ORIGINAL;
+            }
+
+            private boolean claimHandler() {
+                if (!claim(attempt)) {
+                    return false;
+                }
+                if (!connectionForwarded && connection != null) {
+                    connectionForwarded = true;
+                    if (connectedAddress != null) {
+                        asyncHandler.onTcpConnectSuccess(connectedAddress, connection);
+                    } else {
+                        asyncHandler.onConnectionPooled(connection);
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public State onStatusReceived(HttpResponseStatus responseStatus) throws Exception {
+                if (claimHandler()) {
+                    return asyncHandler.onStatusReceived(responseStatus);
+                }
+                // the response of the loser made it before it got cancelled, it's still a sample of the latency of the host
+                recordLatency(host, System.nanoTime() - startNanos.get(attempt));
+                // the loser is aborted, which closes its connection
+                return State.ABORT;
+            }
+
+            @Override
+            public State onHeadersReceived(HttpHeaders headers) throws Exception {
+                return winner == attempt ? asyncHandler.onHeadersReceived(headers) : State.ABORT;
+            }
+
+            @Override
+            public State onBodyPartReceived(HttpResponseBodyPart bodyPart) throws Exception {
+                return winner == attempt ? asyncHandler.onBodyPartReceived(bodyPart) : State.ABORT;
+            }
+
+            @Override
+            public State onTrailingHeadersReceived(HttpHeaders headers) throws Exception {
+                return winner == attempt ? asyncHandler.onTrailingHeadersReceived(headers) : State.ABORT;
+            }
+
+            @Override
+            public void onThrowable(Throwable t) {
+                // failures before a winner is elected are handled once both attempts are done
+                if (winner == attempt) {
+                    asyncHandler.onThrowable(t);
+                }
+            }
+
+            @Override
+            public T onCompleted() throws Exception {
+                return claimHandler() ? asyncHandler.onCompleted() : null;
+            }
+
+            @Override
+            public State onHeadersWritten() {
+                return isCurrent(attempt) && asyncHandler instanceof ProgressAsyncHandler
+                        ? ((ProgressAsyncHandler<T>) asyncHandler).onHeadersWritten() : State.CONTINUE;
+            }
+
+            @Override
+            public State onContentWritten() {
+                return isCurrent(attempt) && asyncHandler instanceof ProgressAsyncHandler
+                        ? ((ProgressAsyncHandler<T>) asyncHandler).onContentWritten() : State.CONTINUE;
+            }
+
+            @Override
+            public State onContentWriteProgress(long amount, long current, long total) {
+                return isCurrent(attempt) && asyncHandler instanceof ProgressAsyncHandler
+                        ? ((ProgressAsyncHandler<T>) asyncHandler).onContentWriteProgress(amount, current, total) : State.CONTINUE;
+            }
+
+            @Override
+            public void onHostnameResolutionAttempt(String name) {
+                if (isCurrent(attempt)) {
+                    asyncHandler.onHostnameResolutionAttempt(name);
+                }
+            }
+
+            @Override
+            public void onHostnameResolutionSuccess(String name, List<InetSocketAddress> addresses) {
+                if (isCurrent(attempt)) {
+                    asyncHandler.onHostnameResolutionSuccess(name, addresses);
+                }
+            }
+
+            @Override
+            public void onHostnameResolutionFailure(String name, Throwable cause) {
+                if (isCurrent(attempt)) {
+                    asyncHandler.onHostnameResolutionFailure(name, cause);
+                }
+            }
+
+            @Override
+            public void onTcpConnectAttempt(InetSocketAddress remoteAddress) {
+                if (isCurrent(attempt)) {
+                    asyncHandler.onTcpConnectAttempt(remoteAddress);
+                }
+            }
+
+            @Override
+            public void onTcpFastOpen(InetSocketAddress remoteAddress, boolean earlyDataSent) {
+                if (isCurrent(attempt)) {
+                    asyncHandler.onTcpFastOpen(remoteAddress, earlyDataSent);
+                }
+            }
+
+            @Override
+            public void onTcpConnectSuccess(InetSocketAddress remoteAddress, Channel connection) {
+                connectedAddress = remoteAddress;
+                this.connection = connection;
+                connectionForwarded = forwardsConnection();
+                if (connectionForwarded) {
+                    asyncHandler.onTcpConnectSuccess(remoteAddress, connection);
+                }
+            }
+
+            @Override
+            public void onTcpConnectFailure(InetSocketAddress remoteAddress, Throwable cause) {
+                if (isCurrent(attempt)) {
+                    asyncHandler.onTcpConnectFailure(remoteAddress, cause);
+                }
+            }
+
+            @Override
+            public void onTlsHandshakeAttempt() {
+                if (isCurrent(attempt)) {
+                    asyncHandler.onTlsHandshakeAttempt();
+                }
+            }
+
+            @Override
+            public void onTlsHandshakeSuccess(SSLSession sslSession) {
+                if (isCurrent(attempt)) {
+                    asyncHandler.onTlsHandshakeSuccess(sslSession);
+                }
+            }
+
+            @Override
+            public void onTlsHandshakeFailure(Throwable cause) {
+                if (isCurrent(attempt)) {
+                    asyncHandler.onTlsHandshakeFailure(cause);
+                }
+            }
+
+            @Override
+            public void onConnectionPoolAttempt() {
+                if (isCurrent(attempt)) {
+                    asyncHandler.onConnectionPoolAttempt();
+                }
+            }
+
+            @Override
+            public void onConnectionPooled(Channel connection) {
+                connectedAddress = null;
+                this.connection = connection;
+                connectionForwarded = forwardsConnection();
+                if (connectionForwarded) {
+                    asyncHandler.onConnectionPooled(connection);
+                }
+            }
+
+            @Override
+            public void onConnectionOffer(Channel connection) {
+                if (isCurrent(attempt)) {
+                    asyncHandler.onConnectionOffer(connection);
+                }
+            }
+
+            @Override
+            public void onRequestSend(NettyRequest request) {
+                if (isCurrent(attempt)) {
+                    asyncHandler.onRequestSend(request);
+                }
+            }
+
+            @Override
+            public void onRetry() {
+                if (isCurrent(attempt)) {
+                    asyncHandler.onRetry();
+                }
+            }
+        }
+    }
+}
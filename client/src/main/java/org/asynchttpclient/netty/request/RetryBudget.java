@@ -0,0 +1,79 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.request;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps the retries, for the whole client and for each pool partition, at a percentage of the requests.
+ * <p>
+ * Each budget is a token bucket: every request deposits its percentage of a retry, every retry withdraws a whole one. The buckets start
+ * full, so that a few retries are always possible. A partition is only tracked once one of its requests was retried, and forgotten once its
+ * bucket is full again.
+ */
+final class RetryBudget {
+
+    // the budgets are counted in hundredths of a retry, so that each request can deposit its percentage
+    static final int RETRY_COST = 100;
+    static final int MAX_BUDGET = 10 * RETRY_COST;
+
+    private final int budgetPercent;
+    private final AtomicInteger clientBudget = new AtomicInteger(MAX_BUDGET);
+    private final ConcurrentHashMap<Object, AtomicInteger> budgetsPerPartition = new ConcurrentHashMap<>();
+
+    RetryBudget(int budgetPercent) {
+        this.budgetPercent = budgetPercent;
+    }
+
+    void onRequest(Object partitionKey) {
+        deposit(clientBudget, budgetPercent);
+        AtomicInteger partitionBudget = budgetsPerPartition.get(partitionKey);
+        if (partitionBudget != null && deposit(partitionBudget, budgetPercent) == MAX_BUDGET) {
+            budgetsPerPartition.remove(partitionKey, partitionBudget);
+        }
+    }
+
+    /**
+     * @return true if a request of the partition can be retried
+     */
+    boolean tryAcquire(Object partitionKey) {
+        AtomicInteger partitionBudget = budgetsPerPartition.computeIfAbsent(partitionKey, k -> new AtomicInteger(MAX_BUDGET));
+        if (!withdraw(partitionBudget)) {
+            return false;
+        }
+        if (!withdraw(clientBudget)) {
+            deposit(partitionBudget, RETRY_COST);
+            return false;
+        }
+        return true;
+    }
+
+    private static int deposit(AtomicInteger budget, int amount) {
+        return budget.updateAndGet(b -> Math.min(b + amount, MAX_BUDGET));
+    }
+
+    private static boolean withdraw(AtomicInteger budget) {
+        int b;
+        do {
+            b = budget.get();
+            if (b < RETRY_COST) {
+                return false;
+            }
+        } while (!budget.compareAndSet(b, b - RETRY_COST));
+        return true;
+    }
+}
@@ -54,7 +54,8 @@ public class NettyBodyBody implements NettyBody {
     public void write(final Channel channel, NettyResponseFuture<?> future) {
 
         Object msg;
-        if (body instanceof RandomAccessBody && !ChannelManager.isSslHandlerConfigured(channel.pipeline()) && !config.isDisableZeroCopy() && getContentLength() > 0) {
+        if (body instanceof RandomAccessBody && !ChannelManager.isSslHandlerConfigured(channel.pipeline()) && !ChannelManager.isHttp2Stream(channel)
+                && !config.isDisableZeroCopy() && getContentLength() > 0) {
             msg = new BodyFileRegion((RandomAccessBody) body);
 
         } else {
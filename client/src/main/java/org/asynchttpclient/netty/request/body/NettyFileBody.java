@@ -64,7 +64,7 @@ public class NettyFileBody implements NettyBody {
         @SuppressWarnings("resource")
         // netty will close the FileChannel
         FileChannel fileChannel = new RandomAccessFile(file, "r").getChannel();
-        boolean noZeroCopy = ChannelManager.isSslHandlerConfigured(channel.pipeline()) || config.isDisableZeroCopy();
+        boolean noZeroCopy = ChannelManager.isSslHandlerConfigured(channel.pipeline()) || ChannelManager.isHttp2Stream(channel) || config.isDisableZeroCopy();
         Object body = noZeroCopy ? new ChunkedNioFile(fileChannel, offset, length, config.getChunkedFileChunkSize()) : new DefaultFileRegion(fileChannel, offset, length);
 
         channel.write(body, channel.newProgressivePromise())
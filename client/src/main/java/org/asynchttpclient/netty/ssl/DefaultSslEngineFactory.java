@@ -16,6 +16,8 @@
 package org.asynchttpclient.netty.ssl;
 
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.IdentityCipherSuiteFilter;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
@@ -33,8 +35,10 @@ import static org.asynchttpclient.util.MiscUtils.isNonEmpty;
 public class DefaultSslEngineFactory extends SslEngineFactoryBase {
 
     private volatile SslContext sslContext;
+    // only set when HTTP/2 is enabled and no context is provided, offers h2 with ALPN
+    private volatile SslContext http2SslContext;
 
-    private SslContext buildSslContext(AsyncHttpClientConfig config) throws SSLException {
+    private SslContext buildSslContext(AsyncHttpClientConfig config, boolean http2) throws SSLException {
         if (config.getSslContext() != null) {
             return config.getSslContext();
         }
@@ -58,26 +62,45 @@ public class DefaultSslEngineFactory extends SslEngineFactoryBase {
             sslContextBuilder.trustManager(InsecureTrustManagerFactory.INSTANCE);
         }
 
+        if (http2) {
+            sslContextBuilder.applicationProtocolConfig(new ApplicationProtocolConfig(
+                    ApplicationProtocolConfig.Protocol.ALPN,
+                    ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                    ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                    ApplicationProtocolNames.HTTP_2,
+                    ApplicationProtocolNames.HTTP_1_1));
+        }
+
         return configureSslContextBuilder(sslContextBuilder).build();
     }
 
     @Override
     public SSLEngine newSslEngine(AsyncHttpClientConfig config, String peerHost, int peerPort) {
+        return newSslEngine(config, peerHost, peerPort, false);
+    }
+
+    @Override
+    public SSLEngine newSslEngine(AsyncHttpClientConfig config, String peerHost, int peerPort, boolean allowHttp2) {
+        SslContext context = allowHttp2 && http2SslContext != null ? http2SslContext : sslContext;
         SSLEngine sslEngine = config.isDisableHttpsEndpointIdentificationAlgorithm() ?
-                sslContext.newEngine(ByteBufAllocator.DEFAULT) :
-                sslContext.newEngine(ByteBufAllocator.DEFAULT, domain(peerHost), peerPort);
+                context.newEngine(ByteBufAllocator.DEFAULT) :
+                context.newEngine(ByteBufAllocator.DEFAULT, domain(peerHost), peerPort);
         configureSslEngine(sslEngine, config);
         return sslEngine;
     }
 
     @Override
     public void init(AsyncHttpClientConfig config) throws SSLException {
-        sslContext = buildSslContext(config);
+        sslContext = buildSslContext(config, false);
+        if (config.isHttp2Enabled() && config.getSslContext() == null) {
+            http2SslContext = buildSslContext(config, true);
+        }
     }
 
     @Override
     public void destroy() {
         ReferenceCountUtil.release(sslContext);
+        ReferenceCountUtil.release(http2SslContext);
     }
 
     /**
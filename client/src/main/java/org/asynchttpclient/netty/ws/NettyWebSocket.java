@@ -18,6 +18,7 @@ package org.asynchttpclient.netty.ws;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.CloseWebSocketFrame;
@@ -54,6 +55,9 @@ public final class NettyWebSocket implements WebSocket {
     // no need for volatile because only mutated in IO thread
     private boolean ready;
     private List<WebSocketFrame> bufferedFrames;
+    private volatile FlushMode flushMode = FlushMode.IMMEDIATE;
+    // only accessed from the event loop
+    private boolean flushScheduled;
 
     public NettyWebSocket(Channel channel, HttpHeaders upgradeHeaders) {
         this(channel, upgradeHeaders, new ConcurrentLinkedQueue<>());
@@ -87,12 +91,12 @@ public final class NettyWebSocket implements WebSocket {
 
     @Override
     public Future<Void> sendTextFrame(String payload, boolean finalFragment, int rsv) {
-        return channel.writeAndFlush(new TextWebSocketFrame(finalFragment, rsv, payload));
+        return send(new TextWebSocketFrame(finalFragment, rsv, payload));
     }
 
     @Override
     public Future<Void> sendTextFrame(ByteBuf payload, boolean finalFragment, int rsv) {
-        return channel.writeAndFlush(new TextWebSocketFrame(finalFragment, rsv, payload));
+        return send(new TextWebSocketFrame(finalFragment, rsv, payload));
     }
 
     @Override
@@ -107,12 +111,12 @@ public final class NettyWebSocket implements WebSocket {
 
     @Override
     public Future<Void> sendBinaryFrame(ByteBuf payload, boolean finalFragment, int rsv) {
-        return channel.writeAndFlush(new BinaryWebSocketFrame(finalFragment, rsv, payload));
+        return send(new BinaryWebSocketFrame(finalFragment, rsv, payload));
     }
 
     @Override
     public Future<Void> sendContinuationFrame(String payload, boolean finalFragment, int rsv) {
-        return channel.writeAndFlush(new ContinuationWebSocketFrame(finalFragment, rsv, payload));
+        return send(new ContinuationWebSocketFrame(finalFragment, rsv, payload));
     }
 
     @Override
@@ -122,12 +126,12 @@ public final class NettyWebSocket implements WebSocket {
 
     @Override
     public Future<Void> sendContinuationFrame(ByteBuf payload, boolean finalFragment, int rsv) {
-        return channel.writeAndFlush(new ContinuationWebSocketFrame(finalFragment, rsv, payload));
+        return send(new ContinuationWebSocketFrame(finalFragment, rsv, payload));
     }
 
     @Override
     public Future<Void> sendPingFrame() {
-        return channel.writeAndFlush(new PingWebSocketFrame());
+        return send(new PingWebSocketFrame());
     }
 
     @Override
@@ -137,12 +141,12 @@ public final class NettyWebSocket implements WebSocket {
 
     @Override
     public Future<Void> sendPingFrame(ByteBuf payload) {
-        return channel.writeAndFlush(new PingWebSocketFrame(payload));
+        return send(new PingWebSocketFrame(payload));
     }
 
     @Override
     public Future<Void> sendPongFrame() {
-        return channel.writeAndFlush(new PongWebSocketFrame());
+        return send(new PongWebSocketFrame());
     }
 
     @Override
@@ -152,7 +156,7 @@ public final class NettyWebSocket implements WebSocket {
 
     @Override
     public Future<Void> sendPongFrame(ByteBuf payload) {
-        return channel.writeAndFlush(new PongWebSocketFrame(wrappedBuffer(payload)));
+        return send(new PongWebSocketFrame(wrappedBuffer(payload)));
     }
 
     @Override
@@ -168,6 +172,52 @@ public final class NettyWebSocket implements WebSocket {
         return ImmediateEventExecutor.INSTANCE.newSucceededFuture(null);
     }
 
+    @Override
+    public FlushMode getFlushMode() {
+        return flushMode;
+    }
+
+    @Override
+    public WebSocket setFlushMode(FlushMode flushMode) {
+        this.flushMode = flushMode;
+        return this;
+    }
+
+    @Override
+    public WebSocket flush() {
+        channel.flush();
+        return this;
+    }
+
+    private Future<Void> send(WebSocketFrame frame) {
+        switch (flushMode) {
+            case EXPLICIT:
+                return channel.write(frame);
+            case CONSOLIDATED:
+                ChannelPromise promise = channel.newPromise();
+                if (channel.eventLoop().inEventLoop()) {
+                    writeAndScheduleFlush(frame, promise);
+                } else {
+                    channel.eventLoop().execute(() -> writeAndScheduleFlush(frame, promise));
+                }
+                return promise;
+            default:
+                return channel.writeAndFlush(frame);
+        }
+    }
+
+    // writes are performed on the event loop so that the flush task is guaranteed to run after all the writes of the current tick
+    private void writeAndScheduleFlush(WebSocketFrame frame, ChannelPromise promise) {
+        channel.write(frame, promise);
+        if (!flushScheduled) {
+            flushScheduled = true;
+            channel.eventLoop().execute(() -> {
+                flushScheduled = false;
+                channel.flush();
+            });
+        }
+    }
+
     @Override
     public boolean isOpen() {
         return channel.isOpen();
@@ -0,0 +1,253 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.resolver;
+
+import io.netty.resolver.NameResolver;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.requireNonNull;
+import static org.asynchttpclient.util.DateUtils.unpreciseMillisTime;
+
+/**
+ * A {@link NameResolver} that caches the results of another one.
+ * <p>
+ * Successful lookups are cached for {@code ttl}, failed ones for {@code negativeTtl}, and the least recently used entries are evicted once
+ * {@code maxEntries} is reached. Concurrent lookups for the same host are coalesced into a single lookup on the underlying resolver.
+ */
+public class CachingNameResolver implements NameResolver<InetAddress> {
+
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+    public static final Duration DEFAULT_TTL = Duration.ofSeconds(30);
+    public static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofSeconds(5);
+
+    private final NameResolver<InetAddress> delegate;
+    private final long ttl;
+    private final long negativeTtl;
+    // guarded by itself
+    private final Map<String, CacheEntry> cache;
+    private final ConcurrentHashMap<String, Promise<List<InetAddress>>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public CachingNameResolver(NameResolver<InetAddress> delegate) {
+        this(delegate, DEFAULT_MAX_ENTRIES, DEFAULT_TTL, DEFAULT_NEGATIVE_TTL);
+    }
+
+    /**
+     * @param delegate    the resolver performing the actual lookups
+     * @param maxEntries  the maximum number of cached hosts
+     * @param ttl         how long successful lookups are cached
+     * @param negativeTtl how long failed lookups are cached, zero or negative to not cache failures
+     */
+    public CachingNameResolver(NameResolver<InetAddress> delegate, int maxEntries, Duration ttl, Duration negativeTtl) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be > 0");
+        }
+        this.delegate = requireNonNull(delegate, "delegate");
+        this.ttl = ttl.toMillis();
+        this.negativeTtl = negativeTtl.toMillis();
+        cache = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public Future<InetAddress> resolve(String inetHost) {
+        return resolve(inetHost, ImmediateEventExecutor.INSTANCE.newPromise());
+    }
+
+    @Override
+    public Future<InetAddress> resolve(String inetHost, Promise<InetAddress> promise) {
+        resolveAll(inetHost).addListener((Future<List<InetAddress>> whenResolved) -> {
+            if (whenResolved.isSuccess()) {
+                promise.trySuccess(whenResolved.getNow().get(0));
+            } else {
+                promise.tryFailure(whenResolved.cause());
+            }
+        });
+        return promise;
+    }
+
+    @Override
+    public Future<List<InetAddress>> resolveAll(String inetHost) {
+        return resolveAll(inetHost, ImmediateEventExecutor.INSTANCE.newPromise());
+    }
+
+    @Override
+    public Future<List<InetAddress>> resolveAll(String inetHost, Promise<List<InetAddress>> promise) {
+        CacheEntry entry = getCacheEntry(inetHost);
+        if (entry != null) {
+            hits.increment();
+            return entry.complete(promise);
+        }
+
+        Promise<List<InetAddress>> lookup = inFlight.get(inetHost);
+        if (lookup != null) {
+            coalesced.increment();
+        } else {
+            Promise<List<InetAddress>> newLookup = ImmediateEventExecutor.INSTANCE.newPromise();
+            lookup = inFlight.putIfAbsent(inetHost, newLookup);
+            if (lookup != null) {
+                coalesced.increment();
+            } else {
+                misses.increment();
+                lookup = newLookup;
+                lookup(inetHost, newLookup);
+            }
+        }
+
+        lookup.addListener((Future<List<InetAddress>> whenResolved) -> {
+            if (whenResolved.isSuccess()) {
+                promise.trySuccess(whenResolved.getNow());
+            } else {
+                promise.tryFailure(whenResolved.cause());
+            }
+        });
+        return promise;
+    }
+
+    private void lookup(String inetHost, Promise<List<InetAddress>> lookup) {
+        Future<List<InetAddress>> whenResolved;
+        try {
+            whenResolved = delegate.resolveAll(inetHost);
+        } catch (Throwable t) {
+            // don't leave the lookup in flight, the lookups coalesced onto it would never complete
+            inFlight.remove(inetHost, lookup);
+            lookup.tryFailure(t);
+            return;
+        }
+        whenResolved.addListener((Future<List<InetAddress>> whenResolved) -> {
+            if (whenResolved.isSuccess()) {
+                List<InetAddress> addresses = Collections.unmodifiableList(whenResolved.getNow());
+                if (ttl > 0 && !addresses.isEmpty()) {
+                    putCacheEntry(inetHost, new CacheEntry(addresses, null, unpreciseMillisTime() + ttl));
+                }
+                inFlight.remove(inetHost, lookup);
+                lookup.trySuccess(addresses);
+            } else {
+                if (negativeTtl > 0) {
+                    putCacheEntry(inetHost, new CacheEntry(null, whenResolved.cause(), unpreciseMillisTime() + negativeTtl));
+                }
+                inFlight.remove(inetHost, lookup);
+                lookup.tryFailure(whenResolved.cause());
+            }
+        });
+    }
+
+    private @Nullable CacheEntry getCacheEntry(String inetHost) {
+        synchronized (cache) {
+            CacheEntry entry = cache.get(inetHost);
+            if (entry != null && entry.expiration <= unpreciseMillisTime()) {
+                cache.remove(inetHost);
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    private void putCacheEntry(String inetHost, CacheEntry entry) {
+        synchronized (cache) {
+            cache.put(inetHost, entry);
+        }
+    }
+
+    /**
+     * Evict the given host from the cache, for example after failing to connect to all its addresses.
+     *
+     * @param inetHost the host to evict
+     */
+    public void invalidate(String inetHost) {
+        synchronized (cache) {
+            cache.remove(inetHost);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * @return the number of lookups served from the cache
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups forwarded to the underlying resolver
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of lookups that joined an identical in-flight lookup
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * @return the number of cached hosts, including expired entries that haven't been evicted yet
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    @Override
+    public void close() {
+        invalidateAll();
+        delegate.close();
+    }
+
+    private static final class CacheEntry {
+        private final @Nullable List<InetAddress> addresses;
+        private final @Nullable Throwable cause;
+        private final long expiration;
+
+        private CacheEntry(@Nullable List<InetAddress> addresses, @Nullable Throwable cause, long expiration) {
+            this.addresses = addresses;
+            this.cause = cause;
+            this.expiration = expiration;
+        }
+
+        private Future<List<InetAddress>> complete(Promise<List<InetAddress>> promise) {
+            return cause == null ? promise.setSuccess(addresses) : promise.setFailure(cause);
+        }
+    }
+}
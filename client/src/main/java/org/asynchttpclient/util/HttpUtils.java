@@ -24,11 +24,20 @@ import org.jetbrains.annotations.Nullable;
 import java.net.URLEncoder;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static java.nio.charset.StandardCharsets.US_ASCII;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.asynchttpclient.util.HttpConstants.Methods.DELETE;
+import static org.asynchttpclient.util.HttpConstants.Methods.GET;
+import static org.asynchttpclient.util.HttpConstants.Methods.HEAD;
+import static org.asynchttpclient.util.HttpConstants.Methods.OPTIONS;
+import static org.asynchttpclient.util.HttpConstants.Methods.PUT;
+import static org.asynchttpclient.util.HttpConstants.Methods.TRACE;
 
 /**
  * {@link AsyncHttpClient} common utilities.
@@ -41,6 +50,7 @@ public final class HttpUtils {
     private static final String CONTENT_TYPE_BOUNDARY_ATTRIBUTE = "boundary=";
     private static final String BROTLY_ACCEPT_ENCODING_SUFFIX = ", br";
     private static final String ZSTD_ACCEPT_ENCODING_SUFFIX = ", zstd";
+    private static final Set<String> IDEMPOTENT_METHODS = new HashSet<>(Arrays.asList(GET, HEAD, OPTIONS, PUT, DELETE, TRACE));
 
     private HttpUtils() {
         // Prevent outside initialization
@@ -136,6 +146,39 @@ public final class HttpUtils {
         return request.getFollowRedirect() != null ? request.getFollowRedirect() : config.isFollowRedirect();
     }
 
+    /**
+     * @return true if sending a request with this method several times has the same effect as sending it once, as defined by RFC 9110
+     */
+    public static boolean isIdempotent(String method) {
+        return IDEMPOTENT_METHODS.contains(method);
+    }
+
+    /**
+     * @param keepAlive the value of a {@code Keep-Alive} response header, e.g. {@code timeout=5, max=100}
+     * @param parameter the name of the parameter, e.g. {@code timeout} or {@code max}
+     * @return the value of the parameter, or -1 if it's missing or isn't a non-negative integer
+     */
+    public static int extractKeepAliveParameter(@Nullable String keepAlive, String parameter) {
+        if (keepAlive == null) {
+            return -1;
+        }
+        for (String token : keepAlive.split(",")) {
+            int eq = token.indexOf('=');
+            if (eq > 0 && token.substring(0, eq).trim().equalsIgnoreCase(parameter)) {
+                String value = token.substring(eq + 1).trim();
+                if (value.length() > 1 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"') {
+                    value = value.substring(1, value.length() - 1);
+                }
+                try {
+                    return Math.max(Integer.parseInt(value), -1);
+                } catch (NumberFormatException e) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
     public static ByteBuffer urlEncodeFormParams(List<Param> params, Charset charset) {
         return StringUtils.charSequence2ByteBuffer(urlEncodeFormParams0(params, charset), US_ASCII);
     }
@@ -79,9 +79,12 @@ public final class ProxyUtils {
     /**
      * @param config  the global config
      * @param request the request
-     * @return the proxy server to be used for this request (can be null)
+     * @return the proxy server to be used for this request (can be null), never one for a request to a Unix domain socket
      */
     public static @Nullable ProxyServer getProxyServer(AsyncHttpClientConfig config, Request request) {
+        if (request.getUnixDomainSocketPath() != null) {
+            return null;
+        }
         ProxyServer proxyServer = request.getProxyServer();
         if (proxyServer == null) {
             ProxyServerSelector selector = config.getProxyServerSelector();
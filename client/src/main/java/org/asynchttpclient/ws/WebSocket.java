@@ -193,6 +193,39 @@ public interface WebSocket {
      */
     Future<Void> sendCloseFrame(int statusCode, String reasonText);
 
+    /**
+     * @return the way frames are flushed to the wire, {@link FlushMode#IMMEDIATE} for the implementations that don't batch flushes
+     */
+    default FlushMode getFlushMode() {
+        return FlushMode.IMMEDIATE;
+    }
+
+    /**
+     * Set the way the frames sent afterward are flushed to the wire. Default is {@link FlushMode#IMMEDIATE}.
+     * <p>
+     * The implementations that don't batch flushes only support {@link FlushMode#IMMEDIATE}.
+     *
+     * @param flushMode the flush mode
+     * @return this
+     * @throws UnsupportedOperationException if the implementation doesn't support the flush mode
+     */
+    default WebSocket setFlushMode(FlushMode flushMode) {
+        if (flushMode != FlushMode.IMMEDIATE) {
+            throw new UnsupportedOperationException("Flush mode " + flushMode + " isn't supported by " + getClass().getName());
+        }
+        return this;
+    }
+
+    /**
+     * Flush the frames that have been written but not flushed yet, typically in {@link FlushMode#EXPLICIT} mode. The implementations that
+     * don't batch flushes have nothing to flush.
+     *
+     * @return this
+     */
+    default WebSocket flush() {
+        return this;
+    }
+
     /**
      * @return {@code true} if the WebSocket is open/connected.
      */
@@ -213,4 +246,26 @@ public interface WebSocket {
      * @return this
      */
     WebSocket removeWebSocketListener(WebSocketListener l);
+
+    /**
+     * How frames are flushed to the wire. Batching frames saves a syscall, and a TLS record when using TLS, per frame.
+     * Whatever the mode, the future returned when sending a frame completes once this very frame has been written.
+     */
+    enum FlushMode {
+
+        /**
+         * Every frame is flushed as soon as it's sent.
+         */
+        IMMEDIATE,
+
+        /**
+         * Frames are only written, and are flushed when {@link WebSocket#flush()} is called. Close frames are always flushed.
+         */
+        EXPLICIT,
+
+        /**
+         * Frames are flushed once per event loop tick, so that all the frames sent in the meantime are flushed together.
+         */
+        CONSOLIDATED
+    }
 }
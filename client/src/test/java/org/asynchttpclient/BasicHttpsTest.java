@@ -112,6 +112,22 @@ public class BasicHttpsTest extends HttpTest {
         logger.debug("<<< multipleSequentialPostRequestsOverHttps");
     }
 
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void tlsSessionIsResumedOnNewConnection() throws Throwable {
+        withClient(config().setSslEngineFactory(createSslEngineFactory()).setKeepAlive(false)).run(client ->
+                withServer(server).run(server -> {
+                    server.enqueueEcho();
+                    server.enqueueEcho();
+
+                    assertEquals(200, client.prepareGet(getTargetUrl()).execute().get(TIMEOUT, SECONDS).getStatusCode());
+                    assertEquals(200, client.prepareGet(getTargetUrl()).execute().get(TIMEOUT, SECONDS).getStatusCode());
+
+                    ClientStats stats = client.getClientStats();
+                    assertEquals(1, stats.getTlsFullHandshakeCount());
+                    assertEquals(1, stats.getTlsSessionResumedCount());
+                }));
+    }
+
     @RepeatedIfExceptionsTest(repeats = 5)
     public void multipleConcurrentPostRequestsOverHttpsWithDisabledKeepAliveStrategy() throws Throwable {
         logger.debug(">>> multipleConcurrentPostRequestsOverHttpsWithDisabledKeepAliveStrategy");
@@ -188,8 +204,17 @@ public class BasicHttpsTest extends HttpTest {
     @RepeatedIfExceptionsTest(repeats = 5)
     public void testNormalEventsFired() throws Throwable {
         logger.debug(">>> testNormalEventsFired");
+        assertNormalEventsFired(config().setSslEngineFactory(createSslEngineFactory()));
+        logger.debug("<<< testNormalEventsFired");
+    }
 
-        withClient(config().setSslEngineFactory(createSslEngineFactory())).run(client ->
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void testNormalEventsFiredWithOffloadedHandshake() throws Throwable {
+        assertNormalEventsFired(config().setSslEngineFactory(createSslEngineFactory()).setSslHandshakeThreads(2));
+    }
+
+    private void assertNormalEventsFired(DefaultAsyncHttpClientConfig.Builder config) throws Throwable {
+        withClient(config).run(client ->
                 withServer(server).run(server -> {
                     EventCollectingHandler handler = new EventCollectingHandler();
 
@@ -214,6 +239,5 @@ public class BasicHttpsTest extends HttpTest {
 
                     assertArrayEquals(handler.firedEvents.toArray(), expectedEvents, "Got " + Arrays.toString(handler.firedEvents.toArray()));
                 }));
-        logger.debug("<<< testNormalEventsFired");
     }
 }
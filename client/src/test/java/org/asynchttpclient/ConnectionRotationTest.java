@@ -0,0 +1,100 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import io.github.artsok.RepeatedIfExceptionsTest;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.HashedWheelTimer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.asynchttpclient.netty.channel.DefaultChannelPool;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+import static org.asynchttpclient.Dsl.config;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConnectionRotationTest extends AbstractBasicTest {
+
+    @Override
+    public AbstractHandler configureHandler() throws Exception {
+        return new RemotePortHandler();
+    }
+
+    private Set<String> remotePorts(AsyncHttpClient client, int requests) throws Exception {
+        Set<String> ports = new HashSet<>();
+        for (int i = 0; i < requests; i++) {
+            Response response = client.prepareGet(getTargetUrl()).execute().get(10, TimeUnit.SECONDS);
+            assertEquals(200, response.getStatusCode());
+            ports.add(response.getResponseBody());
+        }
+        return ports;
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void connectionIsRotatedAfterMaxRequests() throws Exception {
+        try (AsyncHttpClient client = asyncHttpClient(config().setMaxRequestsPerConnection(2))) {
+            assertEquals(3, remotePorts(client, 6).size());
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void connectionIsReusedWithoutMaxRequests() throws Exception {
+        try (AsyncHttpClient client = asyncHttpClient()) {
+            assertEquals(1, remotePorts(client, 6).size());
+        }
+    }
+
+    @Test
+    public void expiredChannelIsNotLeased() throws Exception {
+        HashedWheelTimer timer = new HashedWheelTimer();
+        DefaultChannelPool pool = new DefaultChannelPool(Duration.ZERO, Duration.ofMillis(100), Duration.ofMillis(50),
+                DefaultChannelPool.PoolLeaseStrategy.LIFO, timer, Duration.ofHours(1));
+        try {
+            EmbeddedChannel channel = new EmbeddedChannel();
+            assertTrue(pool.offer(channel, "key"));
+            Thread.sleep(200);
+
+            assertNull(pool.poll("key"));
+            assertFalse(channel.isOpen());
+        } finally {
+            pool.destroy();
+            timer.stop();
+        }
+    }
+
+    private static final class RemotePortHandler extends AbstractHandler {
+
+        @Override
+        public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.getOutputStream().print(request.getRemotePort());
+            response.getOutputStream().flush();
+            baseRequest.setHandled(true);
+        }
+    }
+}
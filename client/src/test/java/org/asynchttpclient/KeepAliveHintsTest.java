@@ -0,0 +1,102 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import io.github.artsok.RepeatedIfExceptionsTest;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class KeepAliveHintsTest extends AbstractBasicTest {
+
+    @Override
+    public AbstractHandler configureHandler() throws Exception {
+        return new KeepAliveHandler();
+    }
+
+    private Set<String> remotePorts(AsyncHttpClient client, String keepAlive, int requests, long pauseMillis) throws Exception {
+        Set<String> ports = new HashSet<>();
+        for (int i = 0; i < requests; i++) {
+            if (i > 0) {
+                Thread.sleep(pauseMillis);
+            }
+            BoundRequestBuilder request = client.prepareGet(getTargetUrl());
+            if (keepAlive != null) {
+                request.addQueryParam("keepAlive", keepAlive);
+            }
+            Response response = request.execute().get(10, TimeUnit.SECONDS);
+            assertEquals(200, response.getStatusCode());
+            ports.add(response.getResponseBody());
+        }
+        return ports;
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void connectionIsReusedWithinServerHints() throws Exception {
+        try (AsyncHttpClient client = asyncHttpClient()) {
+            assertEquals(1, remotePorts(client, "timeout=5, max=100", 3, 0).size());
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void connectionIsNotReusedWhenServerMaxIsReached() throws Exception {
+        try (AsyncHttpClient client = asyncHttpClient()) {
+            assertEquals(3, remotePorts(client, "timeout=5, max=0", 3, 0).size());
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void connectionIsNotReusedPastServerTimeout() throws Exception {
+        // the pool expires the connection before the 1 second timeout of the server
+        try (AsyncHttpClient client = asyncHttpClient()) {
+            assertEquals(3, remotePorts(client, "timeout=1", 3, 700).size());
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void hintsAreClearedByResponseWithoutKeepAliveHeader() throws Exception {
+        try (AsyncHttpClient client = asyncHttpClient()) {
+            Set<String> ports = remotePorts(client, "timeout=1", 1, 0);
+            // the second response drops the 1 second timeout of the first one
+            ports.addAll(remotePorts(client, null, 2, 700));
+            assertEquals(1, ports.size());
+        }
+    }
+
+    private static final class KeepAliveHandler extends AbstractHandler {
+
+        @Override
+        public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
+            response.setStatus(HttpServletResponse.SC_OK);
+            String keepAlive = request.getParameter("keepAlive");
+            if (keepAlive != null) {
+                response.setHeader("Keep-Alive", keepAlive);
+            }
+            response.getOutputStream().print(request.getRemotePort());
+            response.getOutputStream().flush();
+            baseRequest.setHandled(true);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import io.github.artsok.RepeatedIfExceptionsTest;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+import static org.asynchttpclient.Dsl.config;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PooledConnectionValidationTest extends AbstractBasicTest {
+
+    @Override
+    public AbstractHandler configureHandler() throws Exception {
+        return new RemotePortHandler();
+    }
+
+    private Set<String> remotePorts(AsyncHttpClient client, int requests) throws Exception {
+        Set<String> ports = new HashSet<>();
+        for (int i = 0; i < requests; i++) {
+            Response response = client.prepareGet(getTargetUrl()).execute().get(10, TimeUnit.SECONDS);
+            assertEquals(200, response.getStatusCode());
+            ports.add(response.getResponseBody());
+        }
+        return ports;
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void validConnectionIsReused() throws Exception {
+        try (AsyncHttpClient client = asyncHttpClient(config().setValidatePooledConnections(true))) {
+            assertEquals(1, remotePorts(client, 3).size());
+            assertEquals(0, client.getClientStats().getStaleConnectionDiscardedCount());
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void connectionIdlePastStrictValidationIdleTimeIsKeptWhenTransportCantProbeIt() throws Exception {
+        // NIO can't query the socket state, the connections that look active are kept
+        try (AsyncHttpClient client = asyncHttpClient(config()
+                .setValidatePooledConnections(true)
+                .setPooledConnectionStrictValidationIdleTime(Duration.ZERO))) {
+            assertEquals(1, remotePorts(client, 3).size());
+            assertEquals(0, client.getClientStats().getStaleConnectionDiscardedCount());
+        }
+    }
+
+    private static final class RemotePortHandler extends AbstractHandler {
+
+        @Override
+        public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.getOutputStream().print(request.getRemotePort());
+            response.getOutputStream().flush();
+            baseRequest.setHandled(true);
+        }
+    }
+}
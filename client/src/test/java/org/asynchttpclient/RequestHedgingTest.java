@@ -0,0 +1,182 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import io.github.artsok.RepeatedIfExceptionsTest;
+import io.netty.channel.Channel;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.asynchttpclient.handler.resumable.ResumableAsyncHandler;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+import static org.asynchttpclient.Dsl.config;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RequestHedgingTest extends AbstractBasicTest {
+
+    private static final int SLOW_RESPONSE_MILLIS = 2000;
+
+    private final ConcurrentHashMap<String, AtomicInteger> attemptsPerId = new ConcurrentHashMap<>();
+
+    @Override
+    public AbstractHandler configureHandler() throws Exception {
+        return new FirstAttemptIsSlowHandler();
+    }
+
+    private String url(String id) {
+        return getTargetUrl() + "?id=" + id;
+    }
+
+    private int attempts(String id) {
+        return attemptsPerId.get(id).get();
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void slowRequestIsHedged() throws Exception {
+        String id = "hedged-" + System.nanoTime();
+        try (AsyncHttpClient client = asyncHttpClient(config().setHedgingDelay(Duration.ofMillis(200)).setHedgingBudgetPercent(100))) {
+            StatusCountingHandler handler = new StatusCountingHandler();
+            long start = System.nanoTime();
+            Response response = client.prepareGet(url(id)).execute(handler).get(10, TimeUnit.SECONDS);
+
+            assertEquals("2", response.getResponseBody());
+            assertEquals(1, handler.statuses.get());
+            assertEquals(2, attempts(id));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < SLOW_RESPONSE_MILLIS);
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void hedgingIsCappedByBudget() throws Exception {
+        String id = "budget-" + System.nanoTime();
+        try (AsyncHttpClient client = asyncHttpClient(config().setHedgingDelay(Duration.ofMillis(200)).setHedgingBudgetPercent(0))) {
+            Response response = client.prepareGet(url(id)).execute().get(10, TimeUnit.SECONDS);
+            assertEquals("1", response.getResponseBody());
+            assertEquals(1, attempts(id));
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void nonIdempotentRequestIsNotHedged() throws Exception {
+        String id = "post-" + System.nanoTime();
+        try (AsyncHttpClient client = asyncHttpClient(config().setHedgingDelay(Duration.ofMillis(200)).setHedgingBudgetPercent(100))) {
+            Response response = client.preparePost(url(id)).setBody("body").execute().get(10, TimeUnit.SECONDS);
+            assertEquals("1", response.getResponseBody());
+            assertEquals(1, attempts(id));
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void resumableRequestIsNotHedged() throws Exception {
+        String id = "resumable-" + System.nanoTime();
+        try (AsyncHttpClient client = asyncHttpClient(config().setHedgingDelay(Duration.ofMillis(200)).setHedgingBudgetPercent(100))) {
+            Response response = client.prepareGet(url(id)).execute(new ResumableAsyncHandler(true)).get(10, TimeUnit.SECONDS);
+            assertEquals("1", response.getResponseBody());
+            assertEquals(1, attempts(id));
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void handlerOnlySeesTheChannelOfTheWinner() throws Exception {
+        String id = "winner-" + System.nanoTime();
+        try (AsyncHttpClient client = asyncHttpClient(config().setHedgingDelay(Duration.ofMillis(200)).setHedgingBudgetPercent(100))) {
+            // the duplicate wins and its channel is handed over once it does
+            ChannelRecordingHandler handler = new ChannelRecordingHandler();
+            assertEquals("2", client.prepareGet(url(id)).execute(handler).get(10, TimeUnit.SECONDS).getResponseBody());
+            assertEquals(2, attempts(id));
+            assertEquals(2, handler.channels.size());
+            assertSame(handler.channels.get(1), handler.channelOnStatus);
+
+            // the original wins while the duplicate is in flight, the channel of the duplicate is never handed over
+            String slowDuplicateId = "slow-duplicate-" + System.nanoTime();
+            handler = new ChannelRecordingHandler();
+            assertEquals("1", client.prepareGet(url(slowDuplicateId) + "&slowDuplicate=true").execute(handler).get(10, TimeUnit.SECONDS).getResponseBody());
+            assertEquals(2, attempts(slowDuplicateId));
+            assertEquals(1, handler.channels.size());
+            assertSame(handler.channels.get(0), handler.channelOnStatus);
+        }
+    }
+
+    private static final class ChannelRecordingHandler extends AsyncCompletionHandlerAdapter {
+
+        private final List<Channel> channels = new CopyOnWriteArrayList<>();
+        private volatile Channel channelOnStatus;
+
+        @Override
+        public void onTcpConnectSuccess(InetSocketAddress remoteAddress, Channel connection) {
+            channels.add(connection);
+        }
+
+        @Override
+        public void onConnectionPooled(Channel connection) {
+            channels.add(connection);
+        }
+
+        @Override
+        public State onStatusReceived(HttpResponseStatus status) throws Exception {
+            channelOnStatus = channels.get(channels.size() - 1);
+            return super.onStatusReceived(status);
+        }
+    }
+
+    private static final class StatusCountingHandler extends AsyncCompletionHandlerAdapter {
+
+        private final AtomicInteger statuses = new AtomicInteger();
+
+        @Override
+        public State onStatusReceived(HttpResponseStatus status) throws Exception {
+            statuses.incrementAndGet();
+            return super.onStatusReceived(status);
+        }
+    }
+
+    private final class FirstAttemptIsSlowHandler extends AbstractHandler {
+
+        @Override
+        public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
+            int attempt = attemptsPerId.computeIfAbsent(request.getParameter("id"), id -> new AtomicInteger()).incrementAndGet();
+            long delay;
+            if (request.getParameter("slowDuplicate") != null) {
+                // slower than the hedging delay, but faster than the duplicate
+                delay = attempt == 1 ? 600 : SLOW_RESPONSE_MILLIS;
+            } else {
+                delay = attempt == 1 ? SLOW_RESPONSE_MILLIS : 0;
+            }
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.getOutputStream().print(attempt);
+            response.getOutputStream().flush();
+            baseRequest.setHandled(true);
+        }
+    }
+}
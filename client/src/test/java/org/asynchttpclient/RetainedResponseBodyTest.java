@@ -0,0 +1,80 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import io.github.artsok.RepeatedIfExceptionsTest;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.asynchttpclient.AsyncHttpClientConfig.ResponseBodyPartFactory;
+import org.asynchttpclient.netty.RetainedNettyResponse;
+import org.asynchttpclient.netty.RetainedResponseBodyPart;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+import static org.asynchttpclient.Dsl.config;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RetainedResponseBodyTest extends AbstractBasicTest {
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void retainedBodyIsNotCopied() throws Exception {
+        byte[] body = new byte[200 * 1024];
+        Arrays.fill(body, (byte) 'a');
+
+        try (AsyncHttpClient client = asyncHttpClient(config().setResponseBodyPartFactory(ResponseBodyPartFactory.RETAINED))) {
+            Response response = client.preparePost(getTargetUrl()).setBody(body).execute().get();
+            RetainedNettyResponse retained = assertInstanceOf(RetainedNettyResponse.class, response);
+            try {
+                assertEquals(200, response.getStatusCode());
+                assertEquals(new String(body, UTF_8), response.getResponseBody());
+
+                int length = 0;
+                for (ByteBuffer buffer : retained.getResponseBodyAsByteBuffers()) {
+                    assertTrue(buffer.isReadOnly());
+                    length += buffer.remaining();
+                }
+                assertEquals(body.length, length);
+                assertArrayEquals(body, response.getResponseBodyAsBytes());
+            } finally {
+                assertTrue(retained.release());
+            }
+        }
+    }
+
+    @Test
+    public void bodyPartsAreReleasedWhenCompletionHandlerFails() throws Exception {
+        ByteBuf buf = Unpooled.copiedBuffer("hello", UTF_8);
+        AsyncCompletionHandlerBase handler = new AsyncCompletionHandlerBase();
+
+        assertEquals(AsyncHandler.State.CONTINUE, handler.onBodyPartReceived(new RetainedResponseBodyPart(buf, false)));
+        assertEquals(2, buf.refCnt());
+        handler.onThrowable(new IOException("boom"));
+        assertEquals(1, buf.refCnt());
+
+        // a part delivered after the failure, e.g. racing a timeout, is released right away
+        assertEquals(AsyncHandler.State.ABORT, handler.onBodyPartReceived(new RetainedResponseBodyPart(buf, true)));
+        assertEquals(1, buf.refCnt());
+        assertTrue(buf.release());
+    }
+}
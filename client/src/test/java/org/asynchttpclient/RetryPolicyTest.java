@@ -0,0 +1,249 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient;
+
+import io.github.artsok.RepeatedIfExceptionsTest;
+import io.netty.handler.codec.http.HttpHeaders;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+import static org.asynchttpclient.Dsl.config;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RetryPolicyTest extends AbstractBasicTest {
+
+    private static final Duration FIXED_DELAY = Duration.ofMillis(200);
+
+    private final ConcurrentHashMap<String, AtomicInteger> attemptsPerId = new ConcurrentHashMap<>();
+
+    @Override
+    public AbstractHandler configureHandler() throws Exception {
+        return new UnavailableHandler();
+    }
+
+    private String url(String id, int unavailableAttempts) {
+        return getTargetUrl() + "?id=" + id + "&unavailable=" + unavailableAttempts;
+    }
+
+    private int attempts(String id) {
+        return attemptsPerId.get(id).get();
+    }
+
+    private static DefaultRetryPolicy retryOn503(Duration backoff, Duration maxBackoff) {
+        return new DefaultRetryPolicy(backoff, maxBackoff, Collections.singleton(503));
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void retryableStatusIsRetriedAfterDelay() throws Exception {
+        String id = "delayed-" + System.nanoTime();
+        try (AsyncHttpClient client = asyncHttpClient(config().setRetryPolicy(new FixedDelayRetryPolicy()))) {
+            RetryCountingHandler handler = new RetryCountingHandler();
+            long start = System.nanoTime();
+            Response response = client.prepareGet(url(id, 2)).execute(handler).get(10, TimeUnit.SECONDS);
+
+            assertEquals(200, response.getStatusCode());
+            assertEquals("3", response.getResponseBody());
+            assertEquals(3, attempts(id));
+            // the unavailable responses are never seen by the handler
+            assertEquals(1, handler.statuses.get());
+            assertEquals(2, handler.retries.get());
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 2 * FIXED_DELAY.toMillis());
+            assertEquals(2, client.getClientStats().getTotalRetryCount());
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void retryAfterHeaderIsHonored() throws Exception {
+        String id = "retry-after-" + System.nanoTime();
+        try (AsyncHttpClient client = asyncHttpClient(config().setRetryPolicy(retryOn503(Duration.ofMillis(1), Duration.ofSeconds(5))))) {
+            long start = System.nanoTime();
+            Response response = client.prepareGet(url(id, 1) + "&retryAfter=1").execute().get(10, TimeUnit.SECONDS);
+
+            assertEquals(200, response.getStatusCode());
+            assertEquals(2, attempts(id));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 1000);
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void retryAfterHeaderExceedingMaxBackoffIsNotRetried() throws Exception {
+        String id = "retry-after-too-long-" + System.nanoTime();
+        try (AsyncHttpClient client = asyncHttpClient(config().setRetryPolicy(retryOn503(Duration.ofMillis(1), Duration.ofSeconds(1))))) {
+            Response response = client.prepareGet(url(id, 1) + "&retryAfter=60").execute().get(10, TimeUnit.SECONDS);
+
+            assertEquals(503, response.getStatusCode());
+            assertEquals(1, attempts(id));
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void nonIdempotentRequestIsNotRetriedOnStatus() throws Exception {
+        String id = "post-" + System.nanoTime();
+        try (AsyncHttpClient client = asyncHttpClient(config().setRetryPolicy(retryOn503(Duration.ofMillis(1), Duration.ofMillis(10))))) {
+            Response response = client.preparePost(url(id, 1)).setBody("body").execute().get(10, TimeUnit.SECONDS);
+
+            assertEquals(503, response.getStatusCode());
+            assertEquals(1, attempts(id));
+            assertEquals(0, client.getClientStats().getTotalRetryCount());
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void retriesAreCappedByBudget() throws Exception {
+        String prefix = "budget-" + System.nanoTime() + '-';
+        try (AsyncHttpClient client = asyncHttpClient(config()
+                .setMaxRequestRetry(5)
+                .setRetryBudgetPercent(0)
+                .setRetryPolicy(retryOn503(Duration.ofMillis(1), Duration.ofMillis(10))))) {
+
+            // the initial budget allows 10 retries, and requests don't replenish it
+            for (int i = 0; i < 3; i++) {
+                Response response = client.prepareGet(url(prefix + i, Integer.MAX_VALUE)).execute().get(10, TimeUnit.SECONDS);
+                assertEquals(503, response.getStatusCode());
+            }
+
+            assertEquals(6, attempts(prefix + 0));
+            assertEquals(6, attempts(prefix + 1));
+            assertEquals(1, attempts(prefix + 2));
+            assertEquals(10, client.getClientStats().getTotalRetryCount());
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void concurrentRetriesAreNotCappedByDefault() throws Exception {
+        String prefix = "restart-" + System.nanoTime() + '-';
+        try (AsyncHttpClient client = asyncHttpClient()) {
+            // way more than the initial allowance of the retry budget, which is only enforced when configured
+            List<ListenableFuture<Response>> futures = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                futures.add(client.prepareGet(url(prefix + i, 0) + "&closed=1").execute());
+            }
+            for (ListenableFuture<Response> future : futures) {
+                assertEquals(200, future.get(10, TimeUnit.SECONDS).getStatusCode());
+            }
+
+            for (int i = 0; i < 30; i++) {
+                assertEquals(2, attempts(prefix + i));
+            }
+            assertEquals(30, client.getClientStats().getTotalRetryCount());
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void nonIdempotentRequestIsRetriedOnFailureByDefault() throws Exception {
+        String id = "post-closed-" + System.nanoTime();
+        try (AsyncHttpClient client = asyncHttpClient()) {
+            Response response = client.preparePost(url(id, 0) + "&closed=1").setBody("body").execute().get(10, TimeUnit.SECONDS);
+
+            assertEquals(200, response.getStatusCode());
+            assertEquals(2, attempts(id));
+            assertEquals(1, client.getClientStats().getTotalRetryCount());
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void nonIdempotentRequestIsNotRetriedOnFailureOnceSentWhenIdempotentOnly() throws Exception {
+        String postId = "post-closed-" + System.nanoTime();
+        String getId = "get-closed-" + System.nanoTime();
+        DefaultRetryPolicy idempotentOnly = new DefaultRetryPolicy(Duration.ofMillis(1), Duration.ofMillis(10), Collections.emptySet(), true);
+        try (AsyncHttpClient client = asyncHttpClient(config().setRetryPolicy(idempotentOnly))) {
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> client.preparePost(url(postId, 0) + "&closed=1").setBody("body").execute().get(10, TimeUnit.SECONDS));
+            assertInstanceOf(IOException.class, e.getCause());
+            assertEquals(1, attempts(postId));
+
+            // idempotent requests are still retried
+            Response response = client.prepareGet(url(getId, 0) + "&closed=1").execute().get(10, TimeUnit.SECONDS);
+            assertEquals(200, response.getStatusCode());
+            assertEquals(2, attempts(getId));
+            assertEquals(1, client.getClientStats().getTotalRetryCount());
+        }
+    }
+
+    private static final class FixedDelayRetryPolicy implements RetryPolicy {
+
+        @Override
+        public @Nullable Duration retryDelayOnFailure(org.asynchttpclient.Request request, Throwable cause, boolean requestSent, int retryCount) {
+            return null;
+        }
+
+        @Override
+        public @Nullable Duration retryDelayOnStatus(org.asynchttpclient.Request request, HttpResponseStatus status, HttpHeaders headers, int retryCount) {
+            return status.getStatusCode() == 503 ? FIXED_DELAY : null;
+        }
+    }
+
+    private static final class RetryCountingHandler extends AsyncCompletionHandlerAdapter {
+
+        private final AtomicInteger statuses = new AtomicInteger();
+        private final AtomicInteger retries = new AtomicInteger();
+
+        @Override
+        public State onStatusReceived(HttpResponseStatus status) throws Exception {
+            statuses.incrementAndGet();
+            return super.onStatusReceived(status);
+        }
+
+        @Override
+        public void onRetry() {
+            retries.incrementAndGet();
+        }
+    }
+
+    private final class UnavailableHandler extends AbstractHandler {
+
+        @Override
+        public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
+            int attempt = attemptsPerId.computeIfAbsent(request.getParameter("id"), id -> new AtomicInteger()).incrementAndGet();
+            String closed = request.getParameter("closed");
+            if (closed != null && attempt <= Integer.parseInt(closed)) {
+                // like a server restarting, the request fails without a response
+                baseRequest.getHttpChannel().getEndPoint().close();
+                baseRequest.setHandled(true);
+                return;
+            }
+            if (attempt <= Integer.parseInt(request.getParameter("unavailable"))) {
+                response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                String retryAfter = request.getParameter("retryAfter");
+                if (retryAfter != null) {
+                    response.setHeader("Retry-After", retryAfter);
+                }
+            } else {
+                response.setStatus(HttpServletResponse.SC_OK);
+            }
+            response.getOutputStream().print(attempt);
+            response.getOutputStream().flush();
+            baseRequest.setHandled(true);
+        }
+    }
+}
@@ -23,6 +23,7 @@ import org.asynchttpclient.AsyncHttpClient;
 import org.asynchttpclient.ListenableFuture;
 import org.asynchttpclient.RequestBuilder;
 import org.asynchttpclient.Response;
+import org.asynchttpclient.netty.channel.ConnectionSemaphore;
 import org.asynchttpclient.test.EventCollectingHandler;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
@@ -264,4 +265,71 @@ public class ConnectionPoolTest extends AbstractBasicTest {
             assertArrayEquals(secondHandler.firedEvents.toArray(), expectedEvents, "Got " + Arrays.toString(secondHandler.firedEvents.toArray()));
         }
     }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void testPrewarmFillsPool() throws Exception {
+        try (AsyncHttpClient client = asyncHttpClient(config().setKeepAlive(true))) {
+            int pooled = client.prewarm(get(getTargetUrl()).build(), 3).get(3, TimeUnit.SECONDS);
+
+            assertEquals(3, pooled);
+            assertEquals(3, client.getClientStats().getTotalIdleConnectionCount());
+
+            EventCollectingHandler handler = new EventCollectingHandler();
+            client.executeRequest(get(getTargetUrl()), handler).get(3, TimeUnit.SECONDS);
+            handler.waitForCompletion(3, TimeUnit.SECONDS);
+            assertEquals(CONNECTION_POOLED_EVENT, handler.firedEvents.toArray()[1]);
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void testPrewarmRespectsMaxConnectionsPerHost() throws Exception {
+        try (AsyncHttpClient client = asyncHttpClient(config().setKeepAlive(true).setMaxConnectionsPerHost(2))) {
+            int pooled = client.prewarm(get(getTargetUrl()).build(), 5).get(3, TimeUnit.SECONDS);
+
+            assertEquals(2, pooled);
+            assertEquals(2, client.getClientStats().getTotalIdleConnectionCount());
+            // pooled connections still hold their permits, requests reuse them
+            assertNotNull(client.prepareGet(getTargetUrl()).execute().get(3, TimeUnit.SECONDS));
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void testMinIdleConnectionsAreToppedUp() throws Exception {
+        try (AsyncHttpClient client = asyncHttpClient(config().setKeepAlive(true).setConnectionPoolCleanerPeriod(Duration.ofMillis(100)))) {
+            client.setMinIdleConnections(get(getTargetUrl()).build(), 2);
+
+            long deadline = System.currentTimeMillis() + 3000;
+            while (client.getClientStats().getTotalIdleConnectionCount() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals(2, client.getClientStats().getTotalIdleConnectionCount());
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void testMinIdleConnectionsRequireKeepAlive() throws Exception {
+        try (AsyncHttpClient client = asyncHttpClient(config().setKeepAlive(false))) {
+            assertThrows(IllegalStateException.class, () -> client.setMinIdleConnections(get(getTargetUrl()).build(), 2));
+            assertDoesNotThrow(() -> client.setMinIdleConnections(get(getTargetUrl()).build(), 0));
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void testPrewarmNeverWaitsForSemaphoreWithoutTryAcquire() throws Exception {
+        // only supports blocking acquisitions, which would never complete
+        ConnectionSemaphore blockingSemaphore = new ConnectionSemaphore() {
+            @Override
+            public void acquireChannelLock(Object partitionKey) {
+                throw new AssertionError("Pre-warming must not block");
+            }
+
+            @Override
+            public void releaseChannelLock(Object partitionKey) {
+            }
+        };
+        try (AsyncHttpClient client = asyncHttpClient(config().setKeepAlive(true).setConnectionSemaphoreFactory(config -> blockingSemaphore))) {
+            assertEquals(0, client.prewarm(get(getTargetUrl()).build(), 2).get(3, TimeUnit.SECONDS));
+            assertEquals(0, client.getClientStats().getTotalIdleConnectionCount());
+        }
+    }
 }
@@ -0,0 +1,125 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.channel;
+
+import org.asynchttpclient.channel.DefaultAddressSelectionPolicy.Strategy;
+import org.junit.jupiter.api.Test;
+
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DefaultAddressSelectionPolicyTest {
+
+    private static final InetSocketAddress ADDRESS1 = new InetSocketAddress("127.0.0.1", 8080);
+    private static final InetSocketAddress ADDRESS2 = new InetSocketAddress("127.0.0.2", 8080);
+    private static final InetSocketAddress ADDRESS3 = new InetSocketAddress("127.0.0.3", 8080);
+    private static final List<InetSocketAddress> ADDRESSES = Arrays.asList(ADDRESS1, ADDRESS2, ADDRESS3);
+
+    @Test
+    public void roundRobinRotatesTheFirstAddress() {
+        DefaultAddressSelectionPolicy policy = new DefaultAddressSelectionPolicy(Strategy.ROUND_ROBIN);
+        Set<InetSocketAddress> firsts = new HashSet<>();
+        for (int i = 0; i < ADDRESSES.size(); i++) {
+            List<InetSocketAddress> selected = policy.select(ADDRESSES);
+            assertEquals(ADDRESSES.size(), selected.size());
+            firsts.add(selected.get(0));
+        }
+        assertEquals(new HashSet<>(ADDRESSES), firsts);
+    }
+
+    @Test
+    public void leastOutstandingStartsWithTheLeastBusyAddress() {
+        DefaultAddressSelectionPolicy policy = new DefaultAddressSelectionPolicy(Strategy.LEAST_OUTSTANDING);
+        policy.onRequestSent(ADDRESS1);
+        policy.onRequestSent(ADDRESS1);
+        policy.onRequestSent(ADDRESS2);
+        assertEquals(Arrays.asList(ADDRESS3, ADDRESS2, ADDRESS1), policy.select(ADDRESSES));
+
+        policy.onResponseReceived(ADDRESS1, 1_000_000);
+        policy.onResponseReceived(ADDRESS1, 1_000_000);
+        assertEquals(ADDRESS2, policy.select(ADDRESSES).get(2));
+    }
+
+    @Test
+    public void powerOfTwoChoicesAvoidsTheSlowAddress() {
+        DefaultAddressSelectionPolicy policy = new DefaultAddressSelectionPolicy(Strategy.POWER_OF_TWO_CHOICES);
+        policy.onRequestSent(ADDRESS1);
+        policy.onResponseReceived(ADDRESS1, 1_000_000_000);
+        policy.onRequestSent(ADDRESS2);
+        policy.onResponseReceived(ADDRESS2, 1_000_000);
+        policy.onRequestSent(ADDRESS3);
+        policy.onResponseReceived(ADDRESS3, 1_000_000);
+
+        // whichever pair is drawn, the slow address never wins
+        for (int i = 0; i < 100; i++) {
+            assertNotEquals(ADDRESS1, policy.select(ADDRESSES).get(0));
+        }
+    }
+
+    @Test
+    public void addressIsEjectedAfterConsecutiveFailures() throws Exception {
+        DefaultAddressSelectionPolicy policy = new DefaultAddressSelectionPolicy(Strategy.ROUND_ROBIN, 2, Duration.ofMillis(200));
+        policy.onConnectFailure(ADDRESS1, new ConnectException());
+        assertTrue(policy.isAvailable(ADDRESS1));
+
+        policy.onRequestSent(ADDRESS1);
+        policy.onRequestFailed(ADDRESS1, null);
+        assertFalse(policy.isAvailable(ADDRESS1));
+        for (int i = 0; i < ADDRESSES.size(); i++) {
+            assertEquals(ADDRESS1, policy.select(ADDRESSES).get(2));
+        }
+
+        Thread.sleep(300);
+        assertTrue(policy.isAvailable(ADDRESS1));
+
+        // still on probation: one more failure ejects it again
+        policy.onConnectFailure(ADDRESS1, new ConnectException());
+        assertFalse(policy.isAvailable(ADDRESS1));
+    }
+
+    @Test
+    public void successResetsConsecutiveFailures() {
+        DefaultAddressSelectionPolicy policy = new DefaultAddressSelectionPolicy(Strategy.ROUND_ROBIN, 2, Duration.ofSeconds(30));
+        policy.onConnectFailure(ADDRESS1, new ConnectException());
+        policy.onRequestSent(ADDRESS1);
+        policy.onResponseReceived(ADDRESS1, 1_000_000);
+        policy.onConnectFailure(ADDRESS1, new ConnectException());
+        assertTrue(policy.isAvailable(ADDRESS1));
+    }
+
+    @Test
+    public void cancelledRequestIsNoLongerOutstandingNorAFailure() {
+        DefaultAddressSelectionPolicy policy = new DefaultAddressSelectionPolicy(Strategy.LEAST_OUTSTANDING, 1, Duration.ofSeconds(30));
+        policy.onRequestSent(ADDRESS2);
+        policy.onRequestSent(ADDRESS3);
+        for (int i = 0; i < 3; i++) {
+            policy.onRequestSent(ADDRESS1);
+            policy.onRequestCancelled(ADDRESS1);
+        }
+        assertTrue(policy.isAvailable(ADDRESS1));
+        assertEquals(ADDRESS1, policy.select(ADDRESSES).get(0));
+    }
+}
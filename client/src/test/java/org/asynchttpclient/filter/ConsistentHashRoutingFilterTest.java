@@ -0,0 +1,104 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.filter;
+
+import org.asynchttpclient.AsyncCompletionHandlerBase;
+import org.asynchttpclient.Request;
+import org.asynchttpclient.Response;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.asynchttpclient.Dsl.get;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConsistentHashRoutingFilterTest {
+
+    private static final List<String> BACKENDS = Arrays.asList("http://cache1:8080", "http://cache2:8080", "http://cache3:8080");
+
+    private static ConsistentHashRoutingFilter newFilter() {
+        return new ConsistentHashRoutingFilter(BACKENDS, request -> request.getUri().getPath());
+    }
+
+    @Test
+    public void requestIsRoutedToTheBackendOfItsKey() throws Exception {
+        ConsistentHashRoutingFilter filter = newFilter();
+        Request request = get("http://cache/items/42?fields=all").build();
+        FilterContext<Response> ctx = filter.filter(new FilterContext.FilterContextBuilder<>(new AsyncCompletionHandlerBase(), request).build());
+
+        assertEquals(filter.select("/items/42") + "/items/42?fields=all", ctx.getRequest().getUrl());
+        // the same key always goes to the same backend
+        assertEquals(ctx.getRequest().getUrl(), filter.filter(new FilterContext.FilterContextBuilder<>(new AsyncCompletionHandlerBase(), request).build())
+                .getRequest().getUrl());
+    }
+
+    @Test
+    public void requestWithoutKeyIsLeftUntouched() throws Exception {
+        ConsistentHashRoutingFilter filter = new ConsistentHashRoutingFilter(BACKENDS, request -> null);
+        FilterContext<Response> ctx = new FilterContext.FilterContextBuilder<>(new AsyncCompletionHandlerBase(), get("http://cache/items/42").build()).build();
+        assertSame(ctx, filter.filter(ctx));
+    }
+
+    @Test
+    public void keysAreSpreadAcrossBackends() {
+        ConsistentHashRoutingFilter filter = newFilter();
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            counts.merge(filter.select("/items/" + i), 1, Integer::sum);
+        }
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(count > 600, "Unbalanced ring " + counts));
+    }
+
+    @Test
+    public void onlyTheKeysOfADownBackendMove() {
+        ConsistentHashRoutingFilter filter = newFilter();
+        Map<String, String> before = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            before.put("/items/" + i, filter.select("/items/" + i));
+        }
+
+        filter.markDown("http://cache2:8080");
+        before.forEach((key, backend) -> {
+            String after = filter.select(key);
+            if (backend.equals("http://cache2:8080")) {
+                assertNotEquals(backend, after);
+            } else {
+                assertEquals(backend, after);
+            }
+        });
+
+        filter.markUp("http://cache2:8080");
+        before.forEach((key, backend) -> assertEquals(backend, filter.select(key)));
+    }
+
+    @Test
+    public void allBackendsDown() {
+        ConsistentHashRoutingFilter filter = newFilter();
+        BACKENDS.forEach(filter::markDown);
+        assertNull(filter.select("/items/42"));
+        assertThrows(FilterException.class, () -> filter.filter(
+                new FilterContext.FilterContextBuilder<>(new AsyncCompletionHandlerBase(), get("http://cache/items/42").build()).build()));
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.handler;
+
+import io.github.artsok.RepeatedIfExceptionsTest;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.apache.commons.io.IOUtils;
+import org.asynchttpclient.AbstractBasicTest;
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.ListenableFuture;
+import org.asynchttpclient.Response;
+import org.asynchttpclient.netty.EagerResponseBodyPart;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InputStreamAsyncHandlerTest extends AbstractBasicTest {
+
+    private static byte[] body(int length) {
+        byte[] body = new byte[length];
+        Arrays.fill(body, (byte) 'a');
+        return body;
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void streamsBodyWithBackpressure() throws Exception {
+        byte[] body = body(1024 * 1024);
+
+        try (AsyncHttpClient client = asyncHttpClient()) {
+            Channel[] connection = new Channel[1];
+            InputStreamAsyncHandler handler = new InputStreamAsyncHandler(2) {
+                @Override
+                public void onTcpConnectSuccess(InetSocketAddress remoteAddress, Channel channel) {
+                    connection[0] = channel;
+                    super.onTcpConnectSuccess(remoteAddress, channel);
+                }
+            };
+            ListenableFuture<Response> future = client.preparePost(getTargetUrl()).setBody(body).execute(handler);
+
+            Response response = handler.getResponse().get(10, TimeUnit.SECONDS);
+            assertEquals(200, response.getStatusCode());
+            assertFalse(response.hasResponseBody());
+
+            // let the queue fill up so that reading gets suspended
+            Thread.sleep(200);
+            assertFalse(connection[0].config().isAutoRead());
+            try (InputStream in = handler.getInputStream()) {
+                assertArrayEquals(body, IOUtils.toByteArray(in));
+            }
+            future.get(10, TimeUnit.SECONDS);
+            assertTrue(connection[0].config().isAutoRead());
+
+            // the connection must have been offered back to the pool with auto-read restored
+            Response next = client.preparePost(getTargetUrl()).setBody(body).execute().get(10, TimeUnit.SECONDS);
+            assertArrayEquals(body, next.getResponseBodyAsBytes());
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void closingStreamAbortsRequest() throws Exception {
+        byte[] body = body(1024 * 1024);
+
+        try (AsyncHttpClient client = asyncHttpClient()) {
+            InputStreamAsyncHandler handler = new InputStreamAsyncHandler(1);
+            ListenableFuture<Response> future = client.preparePost(getTargetUrl()).setBody(body).execute(handler);
+
+            assertEquals(200, handler.getResponse().get(10, TimeUnit.SECONDS).getStatusCode());
+            handler.getInputStream().close();
+
+            // the request must complete even though the body is never read
+            future.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void suspendsReadingAboveMaxQueuedChunksAndResumesOnceHalfDrained() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        InputStreamAsyncHandler handler = new InputStreamAsyncHandler(4);
+        handler.onTcpConnectSuccess(new InetSocketAddress("localhost", 80), channel);
+
+        for (int i = 0; i < 3; i++) {
+            handler.onBodyPartReceived(new EagerResponseBodyPart(Unpooled.wrappedBuffer(body(10)), false));
+            assertTrue(channel.config().isAutoRead());
+        }
+        handler.onBodyPartReceived(new EagerResponseBodyPart(Unpooled.wrappedBuffer(body(10)), false));
+        assertFalse(channel.config().isAutoRead());
+
+        InputStream in = handler.getInputStream();
+        byte[] chunk = new byte[10];
+        // 3 chunks left, still above half of maxQueuedChunks
+        assertEquals(10, in.read(chunk));
+        channel.runPendingTasks();
+        assertFalse(channel.config().isAutoRead());
+
+        // resumed from the event loop once half drained
+        assertEquals(10, in.read(chunk));
+        channel.runPendingTasks();
+        assertTrue(channel.config().isAutoRead());
+
+        // and suspended again once the queue fills up
+        handler.onBodyPartReceived(new EagerResponseBodyPart(Unpooled.wrappedBuffer(body(10)), false));
+        handler.onBodyPartReceived(new EagerResponseBodyPart(Unpooled.wrappedBuffer(body(10)), false));
+        assertFalse(channel.config().isAutoRead());
+
+        handler.onBodyPartReceived(new EagerResponseBodyPart(Unpooled.wrappedBuffer(body(10)), true));
+        assertTrue(channel.config().isAutoRead());
+        channel.finishAndReleaseAll();
+    }
+}
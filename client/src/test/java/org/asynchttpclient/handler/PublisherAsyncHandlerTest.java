@@ -0,0 +1,136 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.handler;
+
+import io.github.artsok.RepeatedIfExceptionsTest;
+import org.asynchttpclient.AbstractBasicTest;
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.ListenableFuture;
+import org.asynchttpclient.Response;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class PublisherAsyncHandlerTest extends AbstractBasicTest {
+
+    private static byte[] body(int length) {
+        byte[] body = new byte[length];
+        Arrays.fill(body, (byte) 'a');
+        return body;
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void publishesBodyOnDemand() throws Exception {
+        byte[] body = body(1024 * 1024);
+
+        try (AsyncHttpClient client = asyncHttpClient()) {
+            PublisherAsyncHandler handler = new PublisherAsyncHandler();
+            ListenableFuture<Response> future = client.preparePost(getTargetUrl()).setBody(body).execute(handler);
+            assertEquals(200, handler.getResponse().get(10, TimeUnit.SECONDS).getStatusCode());
+
+            OneByOneSubscriber subscriber = new OneByOneSubscriber(Integer.MAX_VALUE);
+            handler.subscribe(subscriber);
+
+            assertArrayEquals(body, subscriber.done.get(10, TimeUnit.SECONDS));
+            assertFalse(subscriber.overflow.get());
+            future.get(10, TimeUnit.SECONDS);
+
+            // the connection must have been offered back to the pool with auto-read restored
+            Response next = client.preparePost(getTargetUrl()).setBody(body).execute().get(10, TimeUnit.SECONDS);
+            assertArrayEquals(body, next.getResponseBodyAsBytes());
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void cancellingAbortsRequest() throws Exception {
+        byte[] body = body(1024 * 1024);
+
+        try (AsyncHttpClient client = asyncHttpClient()) {
+            PublisherAsyncHandler handler = new PublisherAsyncHandler();
+            ListenableFuture<Response> future = client.preparePost(getTargetUrl()).setBody(body).execute(handler);
+
+            OneByOneSubscriber subscriber = new OneByOneSubscriber(1);
+            handler.subscribe(subscriber);
+
+            // the request must complete even though the body is never fully consumed
+            future.get(10, TimeUnit.SECONDS);
+            assertEquals(1, subscriber.received.get());
+        }
+    }
+
+    private static final class OneByOneSubscriber implements Subscriber<ByteBuffer> {
+
+        private final int cancelAfter;
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicBoolean overflow = new AtomicBoolean();
+        private final AtomicInteger received = new AtomicInteger();
+        private final CompletableFuture<byte[]> done = new CompletableFuture<>();
+        private Subscription subscription;
+
+        private OneByOneSubscriber(int cancelAfter) {
+            this.cancelAfter = cancelAfter;
+        }
+
+        private void request() {
+            outstanding.incrementAndGet();
+            subscription.request(1);
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            request();
+        }
+
+        @Override
+        public void onNext(ByteBuffer item) {
+            if (outstanding.decrementAndGet() < 0) {
+                overflow.set(true);
+            }
+            byte[] chunk = new byte[item.remaining()];
+            item.get(chunk);
+            bytes.write(chunk, 0, chunk.length);
+            if (received.incrementAndGet() == cancelAfter) {
+                subscription.cancel();
+            } else {
+                request();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            done.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(bytes.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty;
+
+import io.github.artsok.RepeatedIfExceptionsTest;
+import io.netty.channel.Channel;
+import io.netty.resolver.InetNameResolver;
+import io.netty.resolver.NameResolver;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import org.asynchttpclient.AbstractBasicTest;
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.Response;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+import static org.asynchttpclient.Dsl.config;
+import static org.asynchttpclient.test.TestUtils.addHttpConnector;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The whole 127.0.0.0/8 block is routed to the loopback interface on Linux: the server only listens on 127.0.0.1, connecting to
+ * 127.0.0.2 is refused, and connecting to 127.0.0.3 hangs since the accept queue of the socket listening there is full.
+ */
+@EnabledOnOs(OS.LINUX)
+public class ConnectRaceTest extends AbstractBasicTest {
+
+    private static final String SERVER = "127.0.0.1";
+    private static final String REFUSING = "127.0.0.2";
+    private static final String NOT_RESPONDING = "127.0.0.3";
+
+    private final List<Channel> channels = new CopyOnWriteArrayList<>();
+    private final List<Socket> backlogFillers = new ArrayList<>();
+    private Server loopbackServer;
+    private ServerSocket notResponding;
+    private int loopbackPort;
+
+    @BeforeEach
+    public void startLoopbackServer() throws Exception {
+        loopbackServer = new Server();
+        ServerConnector connector = addHttpConnector(loopbackServer);
+        connector.setHost(SERVER);
+        loopbackServer.setHandler(configureHandler());
+        loopbackServer.start();
+        loopbackPort = connector.getLocalPort();
+
+        // never accepts, so that the SYNs are dropped once its accept queue is full
+        notResponding = new ServerSocket(loopbackPort, 1, InetAddress.getByName(NOT_RESPONDING));
+        for (int i = 0; i < 10; i++) {
+            Socket filler = new Socket();
+            backlogFillers.add(filler);
+            try {
+                filler.connect(notResponding.getLocalSocketAddress(), 500);
+            } catch (SocketTimeoutException e) {
+                break;
+            }
+        }
+    }
+
+    @AfterEach
+    public void stopLoopbackServer() throws Exception {
+        for (Socket filler : backlogFillers) {
+            filler.close();
+        }
+        notResponding.close();
+        loopbackServer.stop();
+    }
+
+    private static NameResolver<InetAddress> resolver(String... ips) {
+        return new InetNameResolver(ImmediateEventExecutor.INSTANCE) {
+            @Override
+            protected void doResolve(String inetHost, Promise<InetAddress> promise) throws Exception {
+                promise.setSuccess(InetAddress.getByName(ips[0]));
+            }
+
+            @Override
+            protected void doResolveAll(String inetHost, Promise<List<InetAddress>> promise) throws Exception {
+                List<InetAddress> addresses = new ArrayList<>();
+                for (String ip : ips) {
+                    addresses.add(InetAddress.getByName(ip));
+                }
+                promise.setSuccess(addresses);
+            }
+        };
+    }
+
+    private AsyncHttpClient racingClient(Duration connectionAttemptDelay) {
+        return asyncHttpClient(config()
+                .setConnectionAttemptDelay(connectionAttemptDelay)
+                .setMaxRequestRetry(0)
+                // every attempt gets its own channel
+                .setHttpAdditionalChannelInitializer(channels::add));
+    }
+
+    private ConnectRecordingHandler execute(AsyncHttpClient client, ConnectRecordingHandler handler, String... ips) throws Exception {
+        client.prepareGet("http://localhost:" + loopbackPort + "/foo/test")
+                .setNameResolver(resolver(ips))
+                .execute(handler)
+                .get(10, TimeUnit.SECONDS);
+        return handler;
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void staggersAttemptsAndClosesTheLosers() throws Exception {
+        try (AsyncHttpClient client = racingClient(Duration.ofMillis(300))) {
+            ConnectRecordingHandler handler = execute(client, new ConnectRecordingHandler(), NOT_RESPONDING, SERVER);
+
+            assertEquals(200, handler.status);
+            assertEquals(Arrays.asList(NOT_RESPONDING, SERVER), handler.attempts);
+            // the second attempt only starts once the delay expired, the first one being still pending
+            assertTrue(handler.attemptNanos.get(1) - handler.attemptNanos.get(0) >= TimeUnit.MILLISECONDS.toNanos(250));
+            assertEquals(SERVER, handler.connectedAddress);
+            // the pending attempt was abandoned silently
+            assertEquals(List.of(), handler.failures);
+
+            assertEquals(2, channels.size());
+            Channel loser = channels.get(0);
+            assertSame(handler.connectedChannel, channels.get(1));
+            assertNotSame(handler.connectedChannel, loser);
+            assertTrue(loser.closeFuture().await(1000));
+            assertTrue(handler.connectedChannel.isActive());
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void firstConnectedAttemptWins() throws Exception {
+        try (AsyncHttpClient client = racingClient(Duration.ofMillis(300))) {
+            ConnectRecordingHandler handler = execute(client, new ConnectRecordingHandler(), SERVER, NOT_RESPONDING);
+
+            assertEquals(200, handler.status);
+            assertEquals(SERVER, handler.connectedAddress);
+            // connected before the delay expired, the next address was never tried
+            assertEquals(List.of(SERVER), handler.attempts);
+            assertEquals(1, channels.size());
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void failedAttemptStartsTheNextOneRightAway() throws Exception {
+        try (AsyncHttpClient client = racingClient(Duration.ofSeconds(5))) {
+            long start = System.nanoTime();
+            ConnectRecordingHandler handler = execute(client, new ConnectRecordingHandler(), REFUSING, SERVER);
+
+            assertEquals(200, handler.status);
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+            assertEquals(Arrays.asList(REFUSING, SERVER), handler.attempts);
+            assertEquals(List.of(REFUSING), handler.failures);
+            assertEquals(SERVER, handler.connectedAddress);
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void reportsTheErrorOnceAllAttemptsFailed() throws Exception {
+        try (AsyncHttpClient client = racingClient(Duration.ofMillis(300))) {
+            ConnectRecordingHandler handler = new ConnectRecordingHandler();
+            ExecutionException e = assertThrows(ExecutionException.class, () -> execute(client, handler, REFUSING, "127.0.0.4"));
+
+            assertInstanceOf(ConnectException.class, e.getCause());
+            assertEquals(Arrays.asList(REFUSING, "127.0.0.4"), handler.attempts);
+            assertEquals(Arrays.asList(REFUSING, "127.0.0.4"), handler.failures);
+            assertNull(handler.connectedAddress);
+        }
+    }
+
+    private static final class ConnectRecordingHandler extends AsyncCompletionHandlerAdapter {
+
+        private final List<String> attempts = new CopyOnWriteArrayList<>();
+        private final List<Long> attemptNanos = new CopyOnWriteArrayList<>();
+        private final List<String> failures = new CopyOnWriteArrayList<>();
+        private volatile String connectedAddress;
+        private volatile Channel connectedChannel;
+        private volatile int status;
+
+        @Override
+        public void onTcpConnectAttempt(InetSocketAddress remoteAddress) {
+            attemptNanos.add(System.nanoTime());
+            attempts.add(remoteAddress.getAddress().getHostAddress());
+        }
+
+        @Override
+        public void onTcpConnectSuccess(InetSocketAddress remoteAddress, Channel connection) {
+            connectedAddress = remoteAddress.getAddress().getHostAddress();
+            connectedChannel = connection;
+        }
+
+        @Override
+        public void onTcpConnectFailure(InetSocketAddress remoteAddress, Throwable cause) {
+            failures.add(remoteAddress.getAddress().getHostAddress());
+        }
+
+        @Override
+        public Response onCompleted(Response response) throws Exception {
+            status = response.getStatusCode();
+            return super.onCompleted(response);
+        }
+    }
+}
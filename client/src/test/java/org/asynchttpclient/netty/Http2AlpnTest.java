@@ -0,0 +1,186 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty;
+
+import io.github.nettyplus.leakdetector.junit.NettyLeakDetectorExtension;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.ListenableFuture;
+import org.asynchttpclient.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import javax.net.ssl.KeyManagerFactory;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+import static org.asynchttpclient.Dsl.config;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(NettyLeakDetectorExtension.class)
+public class Http2AlpnTest {
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private NioEventLoopGroup serverGroup;
+    private Channel serverChannel;
+    private int port;
+
+    /**
+     * Start a TLS server answering each request with the protocol negotiated with ALPN.
+     */
+    private void startServer(String... protocols) throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("JKS");
+        try (InputStream keyStoreStream = Http2AlpnTest.class.getClassLoader().getResourceAsStream("ssltest-keystore.jks")) {
+            keyStore.load(keyStoreStream, "changeit".toCharArray());
+        }
+        KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagerFactory.init(keyStore, "changeit".toCharArray());
+        SslContext sslContext = SslContextBuilder.forServer(keyManagerFactory)
+                .applicationProtocolConfig(new ApplicationProtocolConfig(
+                        ApplicationProtocolConfig.Protocol.ALPN,
+                        ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                        ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                        protocols))
+                .build();
+
+        serverGroup = new NioEventLoopGroup(1);
+        serverChannel = new ServerBootstrap()
+                .group(serverGroup)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<Channel>() {
+                    @Override
+                    protected void initChannel(Channel ch) {
+                        connections.incrementAndGet();
+                        ch.pipeline().addLast(sslContext.newHandler(ch.alloc()), new ApplicationProtocolNegotiationHandler(ApplicationProtocolNames.HTTP_1_1) {
+                            @Override
+                            protected void configurePipeline(ChannelHandlerContext ctx, String protocol) {
+                                if (ApplicationProtocolNames.HTTP_2.equals(protocol)) {
+                                    ctx.pipeline().addLast(
+                                            Http2FrameCodecBuilder.forServer().build(),
+                                            new Http2MultiplexHandler(new ChannelInitializer<Channel>() {
+                                                @Override
+                                                protected void initChannel(Channel stream) {
+                                                    stream.pipeline().addLast(new Http2StreamFrameToHttpObjectCodec(true), new HttpObjectAggregator(1024 * 1024),
+                                                            new ProtocolHandler(protocol));
+                                                }
+                                            }));
+                                } else {
+                                    ctx.pipeline().addLast(new HttpServerCodec(), new HttpObjectAggregator(1024 * 1024), new ProtocolHandler(protocol));
+                                }
+                            }
+                        });
+                    }
+                })
+                .bind(0).sync().channel();
+        port = ((InetSocketAddress) serverChannel.localAddress()).getPort();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        if (serverChannel != null) {
+            serverChannel.close();
+            serverGroup.shutdownGracefully();
+        }
+    }
+
+    private static AsyncHttpClient http2Client() {
+        return asyncHttpClient(config().setHttp2Enabled(true).setUseInsecureTrustManager(true));
+    }
+
+    @Test
+    public void negotiatesHttp2AndMultiplexesRequests() throws Exception {
+        startServer(ApplicationProtocolNames.HTTP_2, ApplicationProtocolNames.HTTP_1_1);
+
+        try (AsyncHttpClient client = http2Client()) {
+            // open the connection and negotiate the protocol first
+            assertEquals(ApplicationProtocolNames.HTTP_2,
+                    client.prepareGet("https://localhost:" + port + "/").execute().get(10, TimeUnit.SECONDS).getResponseBody());
+
+            List<ListenableFuture<Response>> futures = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                futures.add(client.prepareGet("https://localhost:" + port + "/").execute());
+            }
+            for (ListenableFuture<Response> future : futures) {
+                assertEquals(ApplicationProtocolNames.HTTP_2, future.get(10, TimeUnit.SECONDS).getResponseBody());
+            }
+            assertEquals(1, connections.get());
+        }
+    }
+
+    @Test
+    public void fallsBackToHttp11WhenHttp2IsNotNegotiated() throws Exception {
+        startServer(ApplicationProtocolNames.HTTP_1_1);
+
+        try (AsyncHttpClient client = http2Client()) {
+            Response response = client.prepareGet("https://localhost:" + port + "/").execute().get(10, TimeUnit.SECONDS);
+            assertEquals(200, response.getStatusCode());
+            assertEquals(ApplicationProtocolNames.HTTP_1_1, response.getResponseBody());
+
+            // the HTTP/1.1 connection was pooled as usual
+            assertEquals(ApplicationProtocolNames.HTTP_1_1,
+                    client.prepareGet("https://localhost:" + port + "/").execute().get(10, TimeUnit.SECONDS).getResponseBody());
+            assertEquals(1, connections.get());
+        }
+    }
+
+    private static final class ProtocolHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+
+        private final String protocol;
+
+        ProtocolHandler(String protocol) {
+            this.protocol = protocol;
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+            FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                    Unpooled.copiedBuffer(protocol, StandardCharsets.UTF_8));
+            response.headers().setInt(HttpHeaderNames.CONTENT_LENGTH, response.content().readableBytes());
+            ctx.writeAndFlush(response);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty;
+
+import io.github.nettyplus.leakdetector.junit.NettyLeakDetectorExtension;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.ListenableFuture;
+import org.asynchttpclient.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+import static org.asynchttpclient.Dsl.config;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(NettyLeakDetectorExtension.class)
+public class Http2PriorKnowledgeTest {
+
+    private static final int MAX_CONCURRENT_STREAMS = 10;
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger closedConnections = new AtomicInteger();
+    private NioEventLoopGroup serverGroup;
+    private Channel serverChannel;
+    private int port;
+
+    @BeforeEach
+    public void startServer() throws Exception {
+        serverGroup = new NioEventLoopGroup(1);
+        serverChannel = new ServerBootstrap()
+                .group(serverGroup)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<Channel>() {
+                    @Override
+                    protected void initChannel(Channel ch) {
+                        connections.incrementAndGet();
+                        ch.closeFuture().addListener(f -> closedConnections.incrementAndGet());
+                        ch.pipeline().addLast(
+                                Http2FrameCodecBuilder.forServer().initialSettings(Http2Settings.defaultSettings().maxConcurrentStreams(MAX_CONCURRENT_STREAMS)).build(),
+                                new Http2MultiplexHandler(new ChannelInitializer<Channel>() {
+                                    @Override
+                                    protected void initChannel(Channel stream) {
+                                        stream.pipeline().addLast(new Http2StreamFrameToHttpObjectCodec(true), new HttpObjectAggregator(1024 * 1024), new EchoHandler());
+                                    }
+                                }));
+                    }
+                })
+                .bind(0).sync().channel();
+        port = ((InetSocketAddress) serverChannel.localAddress()).getPort();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        serverChannel.close();
+        serverGroup.shutdownGracefully();
+    }
+
+    @Test
+    public void multiplexesConcurrentRequestsOverOneConnection() throws Exception {
+        try (AsyncHttpClient client = asyncHttpClient(config().setHttp2Enabled(true).setHttp2PriorKnowledge(true))) {
+            // open the connection and receive the server settings first
+            assertEquals("warmup", client.preparePost("http://localhost:" + port + "/").setBody("warmup").execute().get(10, TimeUnit.SECONDS).getResponseBody());
+
+            List<ListenableFuture<Response>> futures = new ArrayList<>();
+            for (int i = 0; i < MAX_CONCURRENT_STREAMS; i++) {
+                futures.add(client.preparePost("http://localhost:" + port + "/").setBody("body" + i).execute());
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                Response response = futures.get(i).get(10, TimeUnit.SECONDS);
+                assertEquals(200, response.getStatusCode());
+                assertEquals("body" + i, response.getResponseBody());
+            }
+            assertEquals(1, connections.get());
+        }
+    }
+
+    @Test
+    public void opensAnotherConnectionOnceMaxConcurrentStreamsIsReached() throws Exception {
+        try (AsyncHttpClient client = asyncHttpClient(config().setHttp2Enabled(true).setHttp2PriorKnowledge(true))) {
+            client.prepareGet("http://localhost:" + port + "/").execute().get(10, TimeUnit.SECONDS);
+
+            List<ListenableFuture<Response>> futures = new ArrayList<>();
+            for (int i = 0; i < MAX_CONCURRENT_STREAMS + 1; i++) {
+                futures.add(client.preparePost("http://localhost:" + port + "/").setBody("body" + i).execute());
+            }
+            for (ListenableFuture<Response> future : futures) {
+                assertEquals(200, future.get(10, TimeUnit.SECONDS).getStatusCode());
+            }
+            assertEquals(2, connections.get());
+        }
+    }
+
+    @Test
+    public void closesIdleConnections() throws Exception {
+        try (AsyncHttpClient client = asyncHttpClient(config().setHttp2Enabled(true).setHttp2PriorKnowledge(true)
+                .setPooledConnectionIdleTimeout(Duration.ofMillis(300))
+                .setConnectionPoolCleanerPeriod(Duration.ofMillis(50)))) {
+            assertEquals(200, client.prepareGet("http://localhost:" + port + "/").execute().get(10, TimeUnit.SECONDS).getStatusCode());
+
+            Thread.sleep(1000);
+            assertEquals(1, closedConnections.get());
+
+            assertEquals(200, client.prepareGet("http://localhost:" + port + "/").execute().get(10, TimeUnit.SECONDS).getStatusCode());
+            assertEquals(2, connections.get());
+        }
+    }
+
+    @Test
+    public void closesConnectionsPastTheirTtl() throws Exception {
+        try (AsyncHttpClient client = asyncHttpClient(config().setHttp2Enabled(true).setHttp2PriorKnowledge(true)
+                .setConnectionTtl(Duration.ofMillis(500))
+                .setConnectionPoolCleanerPeriod(Duration.ofMillis(50)))) {
+            assertEquals(200, client.prepareGet("http://localhost:" + port + "/").execute().get(10, TimeUnit.SECONDS).getStatusCode());
+
+            // way before the pooled connection idle timeout
+            Thread.sleep(1000);
+            assertEquals(1, closedConnections.get());
+
+            assertEquals(200, client.prepareGet("http://localhost:" + port + "/").execute().get(10, TimeUnit.SECONDS).getStatusCode());
+            assertEquals(2, connections.get());
+        }
+    }
+
+    private static final class EchoHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+            FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, request.content().retain());
+            response.headers().setInt(HttpHeaderNames.CONTENT_LENGTH, response.content().readableBytes());
+            // keep the streams open long enough for the requests to be concurrent
+            ctx.executor().schedule(() -> ctx.writeAndFlush(response), 200, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty;
+
+import io.github.nettyplus.leakdetector.junit.NettyLeakDetectorExtension;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpVersion;
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.ListenableFuture;
+import org.asynchttpclient.Response;
+import org.asynchttpclient.exception.TooManyConnectionsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+import static org.asynchttpclient.Dsl.config;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(NettyLeakDetectorExtension.class)
+public class HttpPipeliningTest {
+
+    private static final int MAX_PIPELINED_REQUESTS = 4;
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final CountDownLatch firstRequestReceived = new CountDownLatch(1);
+    // only accessed from the server's event loop: the responses are held until this many requests were received
+    private final List<Runnable> heldResponses = new ArrayList<>();
+    private int expectedRequests;
+    private int receivedRequests;
+    private NioEventLoopGroup serverGroup;
+    private Channel serverChannel;
+    private int port;
+
+    @BeforeEach
+    public void startServer() throws Exception {
+        serverGroup = new NioEventLoopGroup(1);
+        serverChannel = new ServerBootstrap()
+                .group(serverGroup)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<Channel>() {
+                    @Override
+                    protected void initChannel(Channel ch) {
+                        connections.incrementAndGet();
+                        ch.pipeline().addLast(new HttpServerCodec(), new HttpObjectAggregator(1024 * 1024), new PathEchoHandler());
+                    }
+                })
+                .bind(0).sync().channel();
+        port = ((InetSocketAddress) serverChannel.localAddress()).getPort();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        serverChannel.close();
+        serverGroup.shutdownGracefully();
+    }
+
+    private AsyncHttpClient pipeliningClient() {
+        return asyncHttpClient(config().setPipeliningHosts(Set.of("localhost")).setMaxPipelinedRequests(MAX_PIPELINED_REQUESTS));
+    }
+
+    /**
+     * The server only answers once it received all the requests, so they can only complete if they were sent without waiting for
+     * the responses to the previous ones.
+     */
+    private List<ListenableFuture<Response>> executePipelined(AsyncHttpClient client, String... paths) throws InterruptedException {
+        serverGroup.submit(() -> expectedRequests = paths.length).syncUninterruptibly();
+        List<ListenableFuture<Response>> futures = new ArrayList<>();
+        futures.add(client.prepareGet("http://localhost:" + port + paths[0]).execute());
+        // the first request must have been written for the next ones to get pipelined behind it
+        assertTrue(firstRequestReceived.await(10, TimeUnit.SECONDS));
+        for (int i = 1; i < paths.length; i++) {
+            futures.add(client.prepareGet("http://localhost:" + port + paths[i]).execute());
+        }
+        return futures;
+    }
+
+    @Test
+    public void pipelinesRequestsOnOneConnection() throws Exception {
+        try (AsyncHttpClient client = pipeliningClient()) {
+            List<ListenableFuture<Response>> futures = executePipelined(client, "/0", "/1", "/2", "/3");
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals("/" + i, futures.get(i).get(10, TimeUnit.SECONDS).getResponseBody());
+            }
+            assertEquals(1, connections.get());
+        }
+    }
+
+    @Test
+    public void opensAnotherConnectionOnceMaxPipelinedRequestsIsReached() throws Exception {
+        try (AsyncHttpClient client = pipeliningClient()) {
+            List<ListenableFuture<Response>> futures = executePipelined(client, "/0", "/1", "/2", "/3", "/4");
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals("/" + i, futures.get(i).get(10, TimeUnit.SECONDS).getResponseBody());
+            }
+            assertEquals(2, connections.get());
+        }
+    }
+
+    @Test
+    public void connectionHoldsItsPermitUntilPipelinedRequestsAreAnswered() throws Exception {
+        try (AsyncHttpClient client = asyncHttpClient(config()
+                .setPipeliningHosts(Set.of("localhost"))
+                .setMaxPipelinedRequests(MAX_PIPELINED_REQUESTS)
+                .setMaxConnections(1))) {
+            List<ListenableFuture<Response>> futures = executePipelined(client, "/0", "/slow");
+            assertEquals("/0", futures.get(0).get(10, TimeUnit.SECONDS).getResponseBody());
+
+            // the connection is still busy with the pipelined request, a POST can't open another one
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> client.preparePost("http://localhost:" + port + "/post").setBody("body").execute().get(10, TimeUnit.SECONDS));
+            assertInstanceOf(TooManyConnectionsException.class, e.getCause());
+
+            assertEquals("/slow", futures.get(1).get(10, TimeUnit.SECONDS).getResponseBody());
+            assertEquals(1, connections.get());
+        }
+    }
+
+    @Test
+    public void retriesUnansweredRequestsWhenConnectionIsClosed() throws Exception {
+        try (AsyncHttpClient client = pipeliningClient()) {
+            List<ListenableFuture<Response>> futures = executePipelined(client, "/close", "/1", "/2");
+            assertEquals("/close", futures.get(0).get(10, TimeUnit.SECONDS).getResponseBody());
+            assertEquals("/1", futures.get(1).get(10, TimeUnit.SECONDS).getResponseBody());
+            assertEquals("/2", futures.get(2).get(10, TimeUnit.SECONDS).getResponseBody());
+        }
+    }
+
+    private final class PathEchoHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+            firstRequestReceived.countDown();
+            String path = request.uri();
+            FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                    Unpooled.copiedBuffer(path, StandardCharsets.UTF_8));
+            response.headers().setInt(HttpHeaderNames.CONTENT_LENGTH, response.content().readableBytes());
+            boolean close = "/close".equals(path);
+            if (close) {
+                response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+            }
+            Runnable respond = () -> {
+                if (ctx.channel().isActive()) {
+                    ctx.writeAndFlush(response).addListener(close ? ChannelFutureListener.CLOSE : ChannelFutureListener.CLOSE_ON_FAILURE);
+                } else {
+                    response.release();
+                }
+            };
+            if ("/slow".equals(path)) {
+                // still in flight once the response to the previous one was received
+                Runnable respondNow = respond;
+                respond = () -> ctx.executor().schedule(respondNow, 1, TimeUnit.SECONDS);
+            }
+
+            // the server has a single thread, the responses are written in the order the requests were received in
+            heldResponses.add(respond);
+            if (++receivedRequests >= expectedRequests) {
+                heldResponses.forEach(Runnable::run);
+                heldResponses.clear();
+            }
+        }
+    }
+}
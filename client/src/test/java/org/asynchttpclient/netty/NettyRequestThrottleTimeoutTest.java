@@ -13,6 +13,9 @@
 package org.asynchttpclient.netty;
 
 import io.github.artsok.RepeatedIfExceptionsTest;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
 import jakarta.servlet.AsyncContext;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,6 +23,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.asynchttpclient.AbstractBasicTest;
 import org.asynchttpclient.AsyncCompletionHandler;
 import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.ListenableFuture;
 import org.asynchttpclient.Response;
 import org.eclipse.jetty.server.Request;
 import org.eclipse.jetty.server.handler.AbstractHandler;
@@ -29,6 +33,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Future;
 import java.util.concurrent.Semaphore;
@@ -37,6 +42,8 @@ import java.util.concurrent.TimeUnit;
 import static org.asynchttpclient.Dsl.asyncHttpClient;
 import static org.asynchttpclient.Dsl.config;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class NettyRequestThrottleTimeoutTest extends AbstractBasicTest {
@@ -109,6 +116,51 @@ public class NettyRequestThrottleTimeoutTest extends AbstractBasicTest {
         }
     }
 
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void parkedRequestResumesOnTheEventLoopGroup() throws Exception {
+        EventLoopGroup eventLoopGroup = new NioEventLoopGroup(2);
+        try (AsyncHttpClient client = asyncHttpClient(config()
+                .setEventLoopGroup(eventLoopGroup)
+                .setMaxConnections(1)
+                .setAcquireFreeChannelTimeout(5000)
+                // the permit is only released once the connection of the first request is closed
+                .setKeepAlive(false))) {
+
+            ListenableFuture<Response> first = client.prepareGet(getTargetUrl()).execute();
+            CompletableFuture<Thread> resumedOn = new CompletableFuture<>();
+            ListenableFuture<Response> parked = client.prepareGet(getTargetUrl()).execute(new AsyncCompletionHandler<Response>() {
+
+                @Override
+                public void onHostnameResolutionAttempt(String name) {
+                    resumedOn.complete(Thread.currentThread());
+                }
+
+                @Override
+                public Response onCompleted(Response response) {
+                    return response;
+                }
+            });
+            // waiting for the permit held by the first request
+            assertFalse(resumedOn.isDone());
+
+            assertEquals(200, first.get(10, TimeUnit.SECONDS).getStatusCode());
+            Thread thread = resumedOn.get(10, TimeUnit.SECONDS);
+            assertTrue(isEventLoop(eventLoopGroup, thread), "Parked request resumed on " + thread.getName());
+            assertEquals(200, parked.get(10, TimeUnit.SECONDS).getStatusCode());
+        } finally {
+            eventLoopGroup.shutdownGracefully();
+        }
+    }
+
+    private static boolean isEventLoop(EventLoopGroup eventLoopGroup, Thread thread) {
+        for (EventExecutor eventLoop : eventLoopGroup) {
+            if (eventLoop.inEventLoop(thread)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private static class SlowHandler extends AbstractHandler {
 
         @Override
@@ -17,7 +17,10 @@ package org.asynchttpclient.netty;
 
 import io.github.artsok.RepeatedIfExceptionsTest;
 import org.asynchttpclient.AsyncHandler;
+import org.asynchttpclient.channel.AddressSelectionPolicy;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 
@@ -27,6 +30,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -42,6 +46,39 @@ public class NettyResponseFutureTest {
         assertTrue(nettyResponseFuture.isCancelled(), "isCancelled should return true for a cancelled Future");
     }
 
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void testCancelEndsExchange() {
+        AsyncHandler<?> asyncHandler = mock(AsyncHandler.class);
+        AddressSelectionPolicy policy = mock(AddressSelectionPolicy.class);
+        InetSocketAddress address = new InetSocketAddress("127.0.0.1", 8080);
+        NettyResponseFuture<?> nettyResponseFuture = new NettyResponseFuture<>(null, asyncHandler, null, 3, null, null, null);
+        nettyResponseFuture.startExchange(address, policy);
+        nettyResponseFuture.cancel(false);
+        nettyResponseFuture.cancel(false);
+        verify(policy).onRequestCancelled(address);
+        verify(policy, never()).onRequestFailed(any(), any());
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void testAbortEndsExchangeOnlyOnce() {
+        AsyncHandler<?> asyncHandler = mock(AsyncHandler.class);
+        AddressSelectionPolicy policy = mock(AddressSelectionPolicy.class);
+        InetSocketAddress address = new InetSocketAddress("127.0.0.1", 8080);
+        IOException cause = new IOException();
+        NettyResponseFuture<?> nettyResponseFuture = new NettyResponseFuture<>(null, asyncHandler, null, 3, null, null, null);
+        nettyResponseFuture.startExchange(address, policy);
+        // already ended, e.g. by the request sender, before the future is aborted
+        assertEquals(address, nettyResponseFuture.endExchange());
+        nettyResponseFuture.abort(cause);
+        verify(policy, never()).onRequestFailed(any(), any());
+
+        NettyResponseFuture<?> other = new NettyResponseFuture<>(null, asyncHandler, null, 3, null, null, null);
+        other.startExchange(address, policy);
+        other.abort(cause);
+        verify(policy).onRequestFailed(address, cause);
+        verify(policy, never()).onRequestCancelled(any());
+    }
+
     @RepeatedIfExceptionsTest(repeats = 5)
     public void testCancelOnAlreadyCancelled() {
         AsyncHandler<?> asyncHandler = mock(AsyncHandler.class);
@@ -0,0 +1,125 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty;
+
+import io.github.artsok.RepeatedIfExceptionsTest;
+import io.netty.resolver.InetNameResolver;
+import io.netty.resolver.NameResolver;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import org.asynchttpclient.AbstractBasicTest;
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.Response;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+import static org.asynchttpclient.Dsl.config;
+import static org.asynchttpclient.test.TestUtils.addHttpConnector;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TcpFastOpenTest extends AbstractBasicTest {
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    @EnabledOnOs(OS.LINUX)
+    public void requestsAreSentWithOrWithoutFastOpenCookie() throws Exception {
+        try (AsyncHttpClient client = asyncHttpClient(config()
+                .setUseNativeTransport(true)
+                .setUseOnlyEpollNativeTransport(true)
+                .setTcpFastOpen(true)
+                .setKeepAlive(false))) {
+
+            // whether the data makes it into the SYN depends on the net.ipv4.tcp_fastopen sysctl, the requests must go through either way
+            for (int i = 0; i < 3; i++) {
+                FastOpenCountingHandler handler = new FastOpenCountingHandler();
+                Response response = client.preparePost(getTargetUrl()).setBody("body" + i).execute(handler).get(10, TimeUnit.SECONDS);
+                assertEquals(200, response.getStatusCode());
+                assertEquals("body" + i, response.getResponseBody());
+                assertEquals(1, handler.fastOpenConnects.get());
+            }
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    @EnabledOnOs(OS.LINUX)
+    public void requestIsIntactWhenNextAddressIsTried() throws Exception {
+        // only listening on 127.0.0.1, so that connecting to 127.0.0.2 is refused after the request was written on the channel
+        Server loopbackServer = new Server();
+        ServerConnector connector = addHttpConnector(loopbackServer);
+        connector.setHost("127.0.0.1");
+        loopbackServer.setHandler(configureHandler());
+        loopbackServer.start();
+
+        NameResolver<InetAddress> resolver = new InetNameResolver(ImmediateEventExecutor.INSTANCE) {
+            @Override
+            protected void doResolve(String inetHost, Promise<InetAddress> promise) throws Exception {
+                promise.setSuccess(InetAddress.getByName("127.0.0.2"));
+            }
+
+            @Override
+            protected void doResolveAll(String inetHost, Promise<List<InetAddress>> promise) throws Exception {
+                promise.setSuccess(Arrays.asList(InetAddress.getByName("127.0.0.2"), InetAddress.getByName("127.0.0.1")));
+            }
+        };
+
+        try (AsyncHttpClient client = asyncHttpClient(config()
+                .setUseNativeTransport(true)
+                .setUseOnlyEpollNativeTransport(true)
+                .setTcpFastOpen(true)
+                .setKeepAlive(false))) {
+            FastOpenCountingHandler handler = new FastOpenCountingHandler();
+            Response response = client.preparePost("http://localhost:" + connector.getLocalPort() + "/foo/test")
+                    .setNameResolver(resolver)
+                    .setBody("body")
+                    .execute(handler)
+                    .get(10, TimeUnit.SECONDS);
+            assertEquals(200, response.getStatusCode());
+            assertEquals("body", response.getResponseBody());
+            assertEquals(1, handler.fastOpenConnects.get());
+        } finally {
+            loopbackServer.stop();
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void fastOpenIsIgnoredOnNio() throws Exception {
+        try (AsyncHttpClient client = asyncHttpClient(config().setTcpFastOpen(true))) {
+            FastOpenCountingHandler handler = new FastOpenCountingHandler();
+            Response response = client.prepareGet(getTargetUrl()).execute(handler).get(10, TimeUnit.SECONDS);
+            assertEquals(200, response.getStatusCode());
+            assertEquals(0, handler.fastOpenConnects.get());
+        }
+    }
+
+    private static final class FastOpenCountingHandler extends AsyncCompletionHandlerAdapter {
+
+        private final AtomicInteger fastOpenConnects = new AtomicInteger();
+
+        @Override
+        public void onTcpFastOpen(InetSocketAddress remoteAddress, boolean earlyDataSent) {
+            fastOpenConnects.incrementAndGet();
+        }
+    }
+}
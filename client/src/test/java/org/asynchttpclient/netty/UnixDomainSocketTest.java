@@ -0,0 +1,131 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty;
+
+import io.github.nettyplus.leakdetector.junit.NettyLeakDetectorExtension;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerDomainSocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpVersion;
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.Response;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+import static org.asynchttpclient.Dsl.config;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(NettyLeakDetectorExtension.class)
+public class UnixDomainSocketTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static Channel startServer(EpollEventLoopGroup serverGroup, String path, String name, AtomicInteger connections) throws InterruptedException {
+        return new ServerBootstrap()
+                .group(serverGroup)
+                .channel(EpollServerDomainSocketChannel.class)
+                .childHandler(new ChannelInitializer<Channel>() {
+                    @Override
+                    protected void initChannel(Channel ch) {
+                        connections.incrementAndGet();
+                        ch.pipeline().addLast(new HttpServerCodec(), new HttpObjectAggregator(1024 * 1024), new NameHandler(name));
+                    }
+                })
+                .bind(new DomainSocketAddress(path)).sync().channel();
+    }
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    public void requestsArePooledPerSocketPath() throws Exception {
+        String path1 = tempDir.resolve("server1.sock").toString();
+        String path2 = tempDir.resolve("server2.sock").toString();
+        AtomicInteger connections1 = new AtomicInteger();
+        AtomicInteger connections2 = new AtomicInteger();
+        EpollEventLoopGroup serverGroup = new EpollEventLoopGroup(1);
+        try {
+            Channel server1 = startServer(serverGroup, path1, "server1", connections1);
+            Channel server2 = startServer(serverGroup, path2, "server2", connections2);
+
+            try (AsyncHttpClient client = asyncHttpClient(config().setUseNativeTransport(true).setUseOnlyEpollNativeTransport(true))) {
+                for (int i = 0; i < 3; i++) {
+                    Response response1 = client.prepareGet("http://localhost/").setUnixDomainSocketPath(path1).execute().get(10, TimeUnit.SECONDS);
+                    assertEquals("server1", response1.getResponseBody());
+                    Response response2 = client.prepareGet("http://localhost/").setUnixDomainSocketPath(path2).execute().get(10, TimeUnit.SECONDS);
+                    assertEquals("server2", response2.getResponseBody());
+                }
+            }
+
+            assertEquals(1, connections1.get());
+            assertEquals(1, connections2.get());
+            server1.close();
+            server2.close();
+        } finally {
+            serverGroup.shutdownGracefully();
+        }
+    }
+
+    @Test
+    public void nioTransportDoesNotSupportUnixDomainSockets() throws Exception {
+        try (AsyncHttpClient client = asyncHttpClient()) {
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> client.prepareGet("http://localhost/").setUnixDomainSocketPath(tempDir.resolve("none.sock").toString()).execute().get(10, TimeUnit.SECONDS));
+            assertInstanceOf(UnsupportedOperationException.class, e.getCause());
+        }
+    }
+
+    private static final class NameHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+
+        private final String name;
+
+        private NameHandler(String name) {
+            this.name = name;
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+            FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                    Unpooled.copiedBuffer(name, StandardCharsets.UTF_8));
+            response.headers().setInt(HttpHeaderNames.CONTENT_LENGTH, response.content().readableBytes());
+            ctx.writeAndFlush(response);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.CircuitBreakerState;
+import org.asynchttpclient.ClientStats;
+import org.asynchttpclient.exception.CircuitBreakerOpenException;
+import org.junit.jupiter.api.Test;
+
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.asynchttpclient.Dsl.asyncHttpClient;
+import static org.asynchttpclient.Dsl.config;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CircuitBreakersTest {
+
+    private static final String PARTITION = "http://localhost:8080";
+
+    private static CircuitBreakers newCircuitBreakers(Duration openDuration) {
+        return new CircuitBreakers(config()
+                .setCircuitBreakerFailureRateThreshold(50)
+                .setCircuitBreakerMinimumRequests(4)
+                .setCircuitBreakerWindow(Duration.ofMinutes(1))
+                .setCircuitBreakerOpenDuration(openDuration)
+                .setCircuitBreakerHalfOpenProbes(1)
+                .build());
+    }
+
+    @Test
+    public void circuitOpensOnceFailureRateIsReached() {
+        CircuitBreakers circuitBreakers = newCircuitBreakers(Duration.ofMinutes(1));
+        circuitBreakers.onFailure(PARTITION);
+        circuitBreakers.onSuccess(PARTITION);
+        circuitBreakers.onSuccess(PARTITION);
+        // 1 failure out of 3, and not enough requests anyway
+        assertNull(circuitBreakers.tryAcquire(PARTITION));
+
+        circuitBreakers.onFailure(PARTITION);
+        assertEquals(Collections.singletonMap(PARTITION, CircuitBreakerState.OPEN), circuitBreakers.getStatesPerPartition());
+        assertNotNull(circuitBreakers.tryAcquire(PARTITION));
+        assertNull(circuitBreakers.tryAcquire("http://localhost:8081"));
+        assertEquals(1, circuitBreakers.getRejectedCount());
+    }
+
+    @Test
+    public void halfOpenCircuitLetsProbesThrough() throws Exception {
+        CircuitBreakers circuitBreakers = newCircuitBreakers(Duration.ofMillis(100));
+        for (int i = 0; i < 4; i++) {
+            circuitBreakers.onFailure(PARTITION);
+        }
+        assertNotNull(circuitBreakers.tryAcquire(PARTITION));
+
+        Thread.sleep(200);
+        assertNull(circuitBreakers.tryAcquire(PARTITION));
+        assertEquals(CircuitBreakerState.HALF_OPEN, circuitBreakers.getStatesPerPartition().get(PARTITION));
+        // only one probe at a time
+        assertNotNull(circuitBreakers.tryAcquire(PARTITION));
+
+        // a failed probe opens the circuit again
+        circuitBreakers.onFailure(PARTITION);
+        assertEquals(CircuitBreakerState.OPEN, circuitBreakers.getStatesPerPartition().get(PARTITION));
+
+        Thread.sleep(200);
+        assertNull(circuitBreakers.tryAcquire(PARTITION));
+        // a successful probe closes it, and the partition isn't tracked anymore
+        circuitBreakers.onSuccess(PARTITION);
+        assertTrue(circuitBreakers.getStatesPerPartition().isEmpty());
+        assertNull(circuitBreakers.tryAcquire(PARTITION));
+    }
+
+    @Test
+    public void requestsToDeadBackendFailFast() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        String url = "http://localhost:" + port + "/";
+
+        try (AsyncHttpClient client = asyncHttpClient(config()
+                .setMaxRequestRetry(0)
+                .setCircuitBreakerFailureRateThreshold(100)
+                .setCircuitBreakerMinimumRequests(2)
+                .setCircuitBreakerOpenDuration(Duration.ofMinutes(1)))) {
+
+            for (int i = 0; i < 2; i++) {
+                ExecutionException e = assertThrows(ExecutionException.class, () -> client.prepareGet(url).execute().get(10, TimeUnit.SECONDS));
+                assertInstanceOf(ConnectException.class, e.getCause());
+            }
+
+            ExecutionException e = assertThrows(ExecutionException.class, () -> client.prepareGet(url).execute().get(10, TimeUnit.SECONDS));
+            assertInstanceOf(CircuitBreakerOpenException.class, e.getCause());
+
+            ClientStats stats = client.getClientStats();
+            assertEquals(1, stats.getCircuitBreakerRejectedCount());
+            assertEquals(Collections.singletonMap("http://localhost:" + port, CircuitBreakerState.OPEN), stats.getCircuitBreakerStatesPerPartition());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import io.netty.channel.Channel;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoop;
+import io.netty.util.AttributeKey;
+import io.netty.util.DefaultAttributeMap;
+import io.netty.util.HashedWheelTimer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class EventLoopAffineChannelPoolTest {
+
+    private DefaultEventLoopGroup eventLoopGroup;
+    private HashedWheelTimer timer;
+    private EventLoopAffineChannelPool pool;
+
+    @BeforeEach
+    public void setUp() {
+        eventLoopGroup = new DefaultEventLoopGroup(2);
+        timer = new HashedWheelTimer();
+        pool = new EventLoopAffineChannelPool(new DefaultChannelPool(Duration.ZERO, Duration.ZERO, timer, Duration.ofSeconds(1)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.destroy();
+        timer.stop();
+        eventLoopGroup.shutdownGracefully();
+    }
+
+    private static Channel channelOn(EventLoop eventLoop) {
+        Channel channel = mock(Channel.class);
+        when(channel.eventLoop()).thenReturn(eventLoop);
+        when(channel.isActive()).thenReturn(true);
+        // the pools read the Keep-Alive hints from the channel attributes
+        DefaultAttributeMap attributes = new DefaultAttributeMap();
+        when(channel.attr(any())).thenAnswer(invocation -> attributes.attr(invocation.<AttributeKey<?>>getArgument(0)));
+        when(channel.hasAttr(any())).thenAnswer(invocation -> attributes.hasAttr(invocation.<AttributeKey<?>>getArgument(0)));
+        return channel;
+    }
+
+    @Test
+    public void prefersChannelOnCallerEventLoop() throws Exception {
+        EventLoop first = eventLoopGroup.next();
+        EventLoop second = eventLoopGroup.next();
+        Channel onFirst = channelOn(first);
+        Channel onSecond = channelOn(second);
+
+        pool.offer(onFirst, "key");
+        pool.offer(onSecond, "key");
+
+        assertSame(onSecond, second.submit(() -> pool.poll("key")).get());
+        assertSame(onFirst, first.submit(() -> pool.poll("key")).get());
+    }
+
+    @Test
+    public void stealsFromOtherEventLoops() throws Exception {
+        EventLoop first = eventLoopGroup.next();
+        EventLoop second = eventLoopGroup.next();
+        Channel onFirst = channelOn(first);
+
+        pool.offer(onFirst, "key");
+
+        assertSame(onFirst, second.submit(() -> pool.poll("key")).get());
+        assertNull(second.submit(() -> pool.poll("key")).get());
+    }
+
+    @Test
+    public void pollsFromNonEventLoopThread() {
+        Channel channel = channelOn(eventLoopGroup.next());
+
+        pool.offer(channel, "key");
+
+        assertSame(channel, pool.poll("key"));
+        assertNull(pool.poll("other"));
+    }
+
+    @Test
+    public void minIdleCountsTheChannelsOfAllEventLoops() throws Exception {
+        EventLoop first = eventLoopGroup.next();
+        EventLoop second = eventLoopGroup.next();
+        pool.offer(channelOn(first), "key");
+
+        List<Integer> topUps = new CopyOnWriteArrayList<>();
+        CountDownLatch toppedUp = new CountDownLatch(1);
+        pool.setMinIdle("key", 3, missing -> {
+            topUps.add(missing);
+            // new channels are spread over the event loops
+            for (int i = 0; i < missing; i++) {
+                pool.offer(channelOn(i % 2 == 0 ? second : first), "key");
+            }
+            toppedUp.countDown();
+            return CompletableFuture.completedFuture(missing);
+        });
+
+        assertTrue(toppedUp.await(5, TimeUnit.SECONDS));
+        // let the delegate run its idle channel detector once more, the partition has enough idle channels
+        Thread.sleep(1500);
+        assertEquals(List.of(2), topUps);
+        assertEquals(3, pool.getIdleChannelCount("key"));
+
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(pool.poll("key"));
+        }
+        assertNull(pool.poll("key"));
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.HashedWheelTimer;
+import org.asynchttpclient.netty.channel.DefaultChannelPool.PoolLeaseStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IdleOrderedChannelPoolTest {
+
+    private HashedWheelTimer timer;
+
+    @BeforeEach
+    public void setUp() {
+        timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        timer.stop();
+    }
+
+    private IdleOrderedChannelPool newPool(Duration maxIdleTime, PoolLeaseStrategy poolLeaseStrategy) {
+        return new IdleOrderedChannelPool(maxIdleTime, Duration.ZERO, poolLeaseStrategy, timer, Duration.ofMillis(20));
+    }
+
+    @Test
+    public void leasesLifo() {
+        IdleOrderedChannelPool pool = newPool(Duration.ofMinutes(1), PoolLeaseStrategy.LIFO);
+        Channel first = new EmbeddedChannel();
+        Channel second = new EmbeddedChannel();
+
+        assertTrue(pool.offer(first, "key"));
+        assertTrue(pool.offer(second, "key"));
+
+        assertSame(second, pool.poll("key"));
+        assertSame(first, pool.poll("key"));
+        assertNull(pool.poll("key"));
+    }
+
+    @Test
+    public void leasesFifo() {
+        IdleOrderedChannelPool pool = newPool(Duration.ofMinutes(1), PoolLeaseStrategy.FIFO);
+        Channel first = new EmbeddedChannel();
+        Channel second = new EmbeddedChannel();
+
+        pool.offer(first, "key");
+        pool.offer(second, "key");
+
+        assertSame(first, pool.poll("key"));
+        assertSame(second, pool.poll("key"));
+    }
+
+    @Test
+    public void cannotOfferTwice() {
+        IdleOrderedChannelPool pool = newPool(Duration.ofMinutes(1), PoolLeaseStrategy.LIFO);
+        Channel channel = new EmbeddedChannel();
+
+        assertTrue(pool.offer(channel, "key"));
+        assertFalse(pool.offer(channel, "key"));
+
+        // the idle entry is reused once the channel is leased
+        assertSame(channel, pool.poll("key"));
+        assertTrue(pool.offer(channel, "key"));
+    }
+
+    @Test
+    public void closedChannelsAreRemoved() {
+        IdleOrderedChannelPool pool = newPool(Duration.ofMinutes(1), PoolLeaseStrategy.LIFO);
+        Channel channel = new EmbeddedChannel();
+
+        pool.offer(channel, "key");
+        channel.close();
+
+        assertFalse(pool.removeAll(channel));
+        assertNull(pool.poll("key"));
+    }
+
+    @Test
+    public void removeAll() {
+        IdleOrderedChannelPool pool = newPool(Duration.ofMinutes(1), PoolLeaseStrategy.LIFO);
+        Channel channel = new EmbeddedChannel();
+
+        pool.offer(channel, "key");
+
+        assertTrue(pool.removeAll(channel));
+        assertFalse(pool.removeAll(channel));
+        assertNull(pool.poll("key"));
+    }
+
+    @Test
+    public void idleChannelsAreClosed() throws Exception {
+        IdleOrderedChannelPool pool = newPool(Duration.ofMillis(50), PoolLeaseStrategy.LIFO);
+        Channel channel = new EmbeddedChannel();
+
+        pool.offer(channel, "key");
+
+        assertTrue(channel.closeFuture().await(1000));
+        assertNull(pool.poll("key"));
+    }
+
+    @Test
+    public void keepAliveTimeoutShortensIdleTime() throws Exception {
+        // no idle timeout, only the server Keep-Alive timeout expires the channel
+        IdleOrderedChannelPool pool = newPool(Duration.ZERO, PoolLeaseStrategy.LIFO);
+        Channel channel = new EmbeddedChannel();
+        Channels.setKeepAliveTimeout(channel, 200L);
+
+        pool.offer(channel, "key");
+
+        assertTrue(channel.closeFuture().await(1000));
+        assertNull(pool.poll("key"));
+    }
+
+    @Test
+    public void idleChannelsPastTheirTtlAreClosed() throws Exception {
+        IdleOrderedChannelPool pool = new IdleOrderedChannelPool(Duration.ofMinutes(1), Duration.ofMillis(100), PoolLeaseStrategy.LIFO, timer,
+                Duration.ofMillis(20));
+        Channel channel = new EmbeddedChannel();
+
+        pool.offer(channel, "key");
+
+        assertTrue(channel.closeFuture().await(1000));
+        assertNull(pool.poll("key"));
+    }
+
+    @Test
+    public void leasedChannelsAreNotExpired() throws Exception {
+        IdleOrderedChannelPool pool = newPool(Duration.ofMinutes(1), PoolLeaseStrategy.LIFO);
+        Channel channel = new EmbeddedChannel();
+        Channels.setKeepAliveTimeout(channel, 200L);
+
+        pool.offer(channel, "key");
+        assertSame(channel, pool.poll("key"));
+
+        // the timeout of the idle entry was cancelled with the lease
+        assertFalse(channel.closeFuture().await(300));
+        assertTrue(channel.isActive());
+    }
+
+    @Test
+    public void minIdleTopsUpPartition() throws Exception {
+        IdleOrderedChannelPool pool = newPool(Duration.ofMinutes(1), PoolLeaseStrategy.LIFO);
+        List<Integer> topUps = new CopyOnWriteArrayList<>();
+        pool.offer(new EmbeddedChannel(), "key");
+
+        pool.setMinIdle("key", 3, missing -> {
+            topUps.add(missing);
+            for (int i = 0; i < missing; i++) {
+                pool.offer(new EmbeddedChannel(), "key");
+            }
+            return CompletableFuture.completedFuture(missing);
+        });
+        Thread.sleep(200);
+
+        // topped up once, the partition has enough idle channels since
+        assertEquals(List.of(2), topUps);
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(pool.poll("key"));
+        }
+        assertNull(pool.poll("key"));
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.netty.channel;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class NettyChannelConnectorTest {
+
+    private static InetSocketAddress address(String ip) throws UnknownHostException {
+        return new InetSocketAddress(InetAddress.getByName(ip), 80);
+    }
+
+    @Test
+    public void interleaveAddressFamiliesStartingWithIpV6() throws Exception {
+        InetSocketAddress v6a = address("2001:db8::1");
+        InetSocketAddress v6b = address("2001:db8::2");
+        InetSocketAddress v6c = address("2001:db8::3");
+        InetSocketAddress v4a = address("192.0.2.1");
+        InetSocketAddress v4b = address("192.0.2.2");
+
+        List<InetSocketAddress> interleaved = NettyChannelConnector.interleaveAddressFamilies(Arrays.asList(v6a, v6b, v6c, v4a, v4b));
+        assertEquals(Arrays.asList(v6a, v4a, v6b, v4b, v6c), interleaved);
+    }
+
+    @Test
+    public void interleaveAddressFamiliesStartingWithIpV4() throws Exception {
+        InetSocketAddress v4a = address("192.0.2.1");
+        InetSocketAddress v4b = address("192.0.2.2");
+        InetSocketAddress v6a = address("2001:db8::1");
+
+        List<InetSocketAddress> interleaved = NettyChannelConnector.interleaveAddressFamilies(Arrays.asList(v4a, v4b, v6a));
+        assertEquals(Arrays.asList(v4a, v6a, v4b), interleaved);
+    }
+
+    @Test
+    public void interleaveSingleFamilyKeepsOrder() throws Exception {
+        List<InetSocketAddress> addresses = Arrays.asList(address("192.0.2.1"), address("192.0.2.2"), address("192.0.2.3"));
+        assertEquals(addresses, NettyChannelConnector.interleaveAddressFamilies(addresses));
+    }
+}
@@ -16,8 +16,10 @@
 package org.asynchttpclient.netty.channel;
 
 import io.github.artsok.RepeatedIfExceptionsTest;
+import io.netty.util.HashedWheelTimer;
 import org.asynchttpclient.exception.TooManyConnectionsException;
 import org.asynchttpclient.exception.TooManyConnectionsPerHostException;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.Timeout;
@@ -25,14 +27,23 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -45,6 +56,14 @@ public class SemaphoreTest {
     static final int NON_DETERMINISTIC__SUCCESS_PERCENT = 70;
 
     private final Object PK = new Object();
+    private final HashedWheelTimer timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS);
+    private final ExecutorService continuationExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "continuation"));
+
+    @AfterAll
+    public void stopTimer() {
+        timer.stop();
+        continuationExecutor.shutdown();
+    }
 
     public Object[][] permitsAndRunnersCount() {
         Object[][] objects = new Object[100][];
@@ -171,4 +190,119 @@ public class SemaphoreTest {
         }
         assertFalse(tooManyCaught);
     }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    @Timeout(unit = TimeUnit.MILLISECONDS, value = 1000)
+    public void maxConnectionAsyncAcquireIsFifo() throws Exception {
+        checkAsyncAcquireIsFifo(new MaxConnectionSemaphore(1, 500, timer, continuationExecutor));
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    @Timeout(unit = TimeUnit.MILLISECONDS, value = 1000)
+    public void perHostAsyncAcquireIsFifo() throws Exception {
+        checkAsyncAcquireIsFifo(new PerHostConnectionSemaphore(1, 500, timer, continuationExecutor));
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    @Timeout(unit = TimeUnit.MILLISECONDS, value = 1000)
+    public void combinedAsyncAcquireIsFifo() throws Exception {
+        checkAsyncAcquireIsFifo(new CombinedConnectionSemaphore(1, 1, 500, timer, continuationExecutor));
+    }
+
+    private void checkAsyncAcquireIsFifo(ConnectionSemaphore semaphore) throws Exception {
+        semaphore.acquireChannelLockAsync(PK).get();
+
+        List<CompletableFuture<Void>> waiters = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            waiters.add(semaphore.acquireChannelLockAsync(PK));
+        }
+        waiters.forEach(waiter -> assertFalse(waiter.isDone()));
+
+        List<CompletableFuture<Thread>> continuationThreads = waiters.stream()
+                .map(waiter -> waiter.thenApply(v -> Thread.currentThread()))
+                .collect(Collectors.toList());
+        for (int i = 0; i < waiters.size(); i++) {
+            semaphore.releaseChannelLock(PK);
+            // permit is handed over to the oldest waiter, whose continuation runs on the given executor, not on the releasing thread
+            Thread continuationThread = continuationThreads.get(i).get(500, TimeUnit.MILLISECONDS);
+            assertNotSame(Thread.currentThread(), continuationThread);
+            assertEquals("continuation", continuationThread.getName());
+            for (int j = i + 1; j < waiters.size(); j++) {
+                assertFalse(waiters.get(j).isDone());
+            }
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    @Timeout(unit = TimeUnit.MILLISECONDS, value = 2000)
+    public void maxConnectionBlockingAcquireQueuesBehindWaiters() throws Exception {
+        checkBlockingAcquireQueuesBehindWaiters(new MaxConnectionSemaphore(1, 1000, timer));
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    @Timeout(unit = TimeUnit.MILLISECONDS, value = 2000)
+    public void perHostBlockingAcquireQueuesBehindWaiters() throws Exception {
+        checkBlockingAcquireQueuesBehindWaiters(new PerHostConnectionSemaphore(1, 1000, timer));
+    }
+
+    private void checkBlockingAcquireQueuesBehindWaiters(ConnectionSemaphore semaphore) throws Exception {
+        semaphore.acquireChannelLockAsync(PK).get();
+        CompletableFuture<Void> waiter = semaphore.acquireChannelLockAsync(PK);
+
+        CountDownLatch blockingAcquired = new CountDownLatch(1);
+        Thread blocking = new Thread(() -> {
+            try {
+                semaphore.acquireChannelLock(PK);
+                blockingAcquired.countDown();
+            } catch (IOException e) {
+                // not acquired, the latch stays closed
+            }
+        });
+        blocking.start();
+
+        // the first released permit goes to the parked waiter, not to the thread that asked for one afterward
+        semaphore.releaseChannelLock(PK);
+        waiter.get(500, TimeUnit.MILLISECONDS);
+        assertFalse(blockingAcquired.await(100, TimeUnit.MILLISECONDS));
+
+        semaphore.releaseChannelLock(PK);
+        assertTrue(blockingAcquired.await(500, TimeUnit.MILLISECONDS));
+        blocking.join();
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    @Timeout(unit = TimeUnit.MILLISECONDS, value = 1000)
+    public void maxConnectionAsyncAcquireTimesOut() throws Exception {
+        checkAsyncAcquireTimesOut(new MaxConnectionSemaphore(1, CHECK_ACQUIRE_TIME__TIMEOUT, timer));
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    @Timeout(unit = TimeUnit.MILLISECONDS, value = 1000)
+    public void perHostAsyncAcquireTimesOut() throws Exception {
+        checkAsyncAcquireTimesOut(new PerHostConnectionSemaphore(1, CHECK_ACQUIRE_TIME__TIMEOUT, timer));
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    @Timeout(unit = TimeUnit.MILLISECONDS, value = 1000)
+    public void combinedAsyncAcquireTimesOut() throws Exception {
+        checkAsyncAcquireTimesOut(new CombinedConnectionSemaphore(1, 1, CHECK_ACQUIRE_TIME__TIMEOUT, timer));
+    }
+
+    private void checkAsyncAcquireTimesOut(ConnectionSemaphore semaphore) throws Exception {
+        semaphore.acquireChannelLockAsync(PK).get();
+
+        long acquireStartTime = System.currentTimeMillis();
+        CompletableFuture<Void> waiter = semaphore.acquireChannelLockAsync(PK);
+        // the calling thread isn't blocked
+        assertFalse(waiter.isDone());
+
+        ExecutionException e = assertThrows(ExecutionException.class, waiter::get);
+        long timeToFail = System.currentTimeMillis() - acquireStartTime;
+        assertInstanceOf(IOException.class, e.getCause());
+        assertTrue(timeToFail >= CHECK_ACQUIRE_TIME__TIMEOUT - 50, "Acquire failed too soon: " + timeToFail + " ms");
+
+        // expired waiter must not swallow the released permit
+        semaphore.releaseChannelLock(PK);
+        semaphore.acquireChannelLockAsync(PK).get();
+    }
 }
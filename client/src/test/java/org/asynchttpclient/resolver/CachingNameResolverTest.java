@@ -0,0 +1,193 @@
+/*
+ *    Copyright (c) 2024 AsyncHttpClient Project. All rights reserved.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.asynchttpclient.resolver;
+
+import io.netty.resolver.NameResolver;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CachingNameResolverTest {
+
+    private static final InetAddress LOCALHOST = InetAddress.getLoopbackAddress();
+
+    @Test
+    public void cachesSuccessfulLookups() {
+        RecordingResolver delegate = new RecordingResolver();
+        CachingNameResolver resolver = new CachingNameResolver(delegate);
+
+        Future<List<InetAddress>> first = resolver.resolveAll("foo");
+        delegate.complete(0, LOCALHOST);
+        Future<List<InetAddress>> second = resolver.resolveAll("foo");
+
+        assertTrue(second.isSuccess());
+        assertEquals(first.getNow(), second.getNow());
+        assertEquals(1, delegate.lookups.size());
+        assertEquals(1, resolver.getMissCount());
+        assertEquals(1, resolver.getHitCount());
+    }
+
+    @Test
+    public void cachesFailedLookups() {
+        RecordingResolver delegate = new RecordingResolver();
+        CachingNameResolver resolver = new CachingNameResolver(delegate);
+
+        UnknownHostException cause = new UnknownHostException("foo");
+        resolver.resolveAll("foo");
+        delegate.lookups.get(0).setFailure(cause);
+        Future<List<InetAddress>> second = resolver.resolveAll("foo");
+
+        assertFalse(second.isSuccess());
+        assertSame(cause, second.cause());
+        assertEquals(1, delegate.lookups.size());
+    }
+
+    @Test
+    public void doesNotCacheFailedLookupsWithoutNegativeTtl() {
+        RecordingResolver delegate = new RecordingResolver();
+        CachingNameResolver resolver = new CachingNameResolver(delegate, 16, Duration.ofMinutes(1), Duration.ZERO);
+
+        resolver.resolveAll("foo");
+        delegate.lookups.get(0).setFailure(new UnknownHostException("foo"));
+        resolver.resolveAll("foo");
+
+        assertEquals(2, delegate.lookups.size());
+    }
+
+    @Test
+    public void coalescesConcurrentLookups() {
+        RecordingResolver delegate = new RecordingResolver();
+        CachingNameResolver resolver = new CachingNameResolver(delegate);
+
+        Future<List<InetAddress>> first = resolver.resolveAll("foo");
+        Future<InetAddress> second = resolver.resolve("foo");
+        assertFalse(first.isDone());
+        assertFalse(second.isDone());
+
+        delegate.complete(0, LOCALHOST);
+
+        assertEquals(Collections.singletonList(LOCALHOST), first.getNow());
+        assertEquals(LOCALHOST, second.getNow());
+        assertEquals(1, delegate.lookups.size());
+        assertEquals(1, resolver.getCoalescedCount());
+    }
+
+    @Test
+    public void lookupThrowingSynchronouslyIsNotLeftInFlight() {
+        RecordingResolver delegate = new RecordingResolver();
+        CachingNameResolver resolver = new CachingNameResolver(delegate);
+
+        IllegalStateException cause = new IllegalStateException("resolver closed");
+        delegate.failure = cause;
+        Future<List<InetAddress>> first = resolver.resolveAll("foo");
+        assertFalse(first.isSuccess());
+        assertSame(cause, first.cause());
+
+        delegate.failure = null;
+        Future<List<InetAddress>> second = resolver.resolveAll("foo");
+        delegate.complete(0, LOCALHOST);
+        assertEquals(Collections.singletonList(LOCALHOST), second.getNow());
+        assertEquals(0, resolver.getCoalescedCount());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedEntries() {
+        RecordingResolver delegate = new RecordingResolver();
+        CachingNameResolver resolver = new CachingNameResolver(delegate, 2, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+        resolver.resolveAll("a");
+        delegate.complete(0, LOCALHOST);
+        resolver.resolveAll("b");
+        delegate.complete(1, LOCALHOST);
+        // touch a so that b is the eldest
+        resolver.resolveAll("a");
+        resolver.resolveAll("c");
+        delegate.complete(2, LOCALHOST);
+
+        assertEquals(2, resolver.size());
+        resolver.resolveAll("a");
+        assertEquals(3, delegate.lookups.size());
+        resolver.resolveAll("b");
+        assertEquals(4, delegate.lookups.size());
+    }
+
+    @Test
+    public void invalidateForcesNewLookup() {
+        RecordingResolver delegate = new RecordingResolver();
+        CachingNameResolver resolver = new CachingNameResolver(delegate);
+
+        resolver.resolveAll("foo");
+        delegate.complete(0, LOCALHOST);
+        resolver.invalidate("foo");
+        resolver.resolveAll("foo");
+
+        assertEquals(2, delegate.lookups.size());
+    }
+
+    /**
+     * A resolver whose lookups are completed by the test.
+     */
+    private static final class RecordingResolver implements NameResolver<InetAddress> {
+
+        private final List<Promise<List<InetAddress>>> lookups = new ArrayList<>();
+        private RuntimeException failure;
+
+        void complete(int index, InetAddress address) {
+            lookups.get(index).setSuccess(Collections.singletonList(address));
+        }
+
+        @Override
+        public Future<InetAddress> resolve(String inetHost) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Future<InetAddress> resolve(String inetHost, Promise<InetAddress> promise) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Future<List<InetAddress>> resolveAll(String inetHost) {
+            return resolveAll(inetHost, ImmediateEventExecutor.INSTANCE.newPromise());
+        }
+
+        @Override
+        public Future<List<InetAddress>> resolveAll(String inetHost, Promise<List<InetAddress>> promise) {
+            if (failure != null) {
+                throw failure;
+            }
+            lookups.add(promise);
+            return promise;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -169,4 +169,19 @@ public class HttpUtilsTest {
     public void computeOriginForSecuredUriWithNonDefaultPort() {
         assertEquals("https://foo.com:444", HttpUtils.originHeader(Uri.create("wss://foo.com:444/bar")));
     }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void extractKeepAliveParameters() {
+        assertEquals(5, HttpUtils.extractKeepAliveParameter("timeout=5, max=100", "timeout"));
+        assertEquals(100, HttpUtils.extractKeepAliveParameter("timeout=5, max=100", "max"));
+        assertEquals(0, HttpUtils.extractKeepAliveParameter("Max=\"0\"", "max"));
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    public void extractMissingOrInvalidKeepAliveParameter() {
+        assertEquals(-1, HttpUtils.extractKeepAliveParameter(null, "timeout"));
+        assertEquals(-1, HttpUtils.extractKeepAliveParameter("max=100", "timeout"));
+        assertEquals(-1, HttpUtils.extractKeepAliveParameter("timeout=five", "timeout"));
+        assertEquals(-1, HttpUtils.extractKeepAliveParameter("timeout=-3", "timeout"));
+    }
 }
@@ -16,13 +16,17 @@
 package org.asynchttpclient.ws;
 
 import io.github.artsok.RepeatedIfExceptionsTest;
+import io.netty.util.concurrent.Future;
 import org.asynchttpclient.AsyncHttpClient;
 import org.junit.jupiter.api.Timeout;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import static org.asynchttpclient.Dsl.asyncHttpClient;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class WebSocketWriteFutureTest extends AbstractBasicWebSocketTest {
@@ -146,6 +150,36 @@ public class WebSocketWriteFutureTest extends AbstractBasicWebSocketTest {
         }
     }
 
+    @RepeatedIfExceptionsTest(repeats = 5)
+    @Timeout(unit = TimeUnit.MILLISECONDS, value = 60000)
+    public void explicitFlush() throws Exception {
+        try (AsyncHttpClient c = asyncHttpClient()) {
+            WebSocket websocket = getWebSocket(c).setFlushMode(WebSocket.FlushMode.EXPLICIT);
+            Future<Void> first = websocket.sendTextFrame("FIRST");
+            Future<Void> second = websocket.sendBinaryFrame("SECOND".getBytes());
+            assertFalse(first.await(500, TimeUnit.MILLISECONDS));
+
+            websocket.flush();
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @RepeatedIfExceptionsTest(repeats = 5)
+    @Timeout(unit = TimeUnit.MILLISECONDS, value = 60000)
+    public void consolidatedFlush() throws Exception {
+        try (AsyncHttpClient c = asyncHttpClient()) {
+            WebSocket websocket = getWebSocket(c).setFlushMode(WebSocket.FlushMode.CONSOLIDATED);
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                futures.add(websocket.sendTextFrame("TEXT" + i));
+            }
+            for (Future<Void> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+
     private WebSocket getWebSocket(final AsyncHttpClient c) throws Exception {
         return c.prepareGet(getTargetUrl()).execute(new WebSocketUpgradeHandler.Builder().build()).get();
     }